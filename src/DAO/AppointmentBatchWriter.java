@@ -0,0 +1,72 @@
+package DAO;
+
+import helper.JDBC;
+import model.Appointment;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserts large numbers of appointments using JDBC batches. Recurrence rules for recurring appointments are
+ * batched alongside them, in the same transaction.
+ */
+public class AppointmentBatchWriter extends BatchWriter<Appointment> {
+
+    /**
+     * Statement for recurrence rule rows.
+     */
+    private final PreparedStatement recurrenceStatement;
+
+    /**
+     * Constructs an AppointmentBatchWriter and begins its unit of work.
+     *
+     * @param batchSize  Number of appointments sent to the database per batch.
+     * @param commitSize Number of appointments written per transaction.
+     * @throws SQLException If the statements cannot be prepared.
+     */
+    public AppointmentBatchWriter(int batchSize, int commitSize) throws SQLException {
+        super(AppointmentDAO.INSERT_APPOINTMENT_SQL, true, AppointmentDAO::bindAppointment, batchSize, commitSize);
+        try {
+            recurrenceStatement = JDBC.getConnection().prepareStatement(RecurrenceDAO.SAVE_RECURRENCE_RULE_SQL);
+        } catch (SQLException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the recurrence rules for any recurring appointments in the batch, linked by their generated keys.
+     *
+     * @param batch The appointments in the batch.
+     * @throws SQLException If a generated key is missing or the rules cannot be written.
+     */
+    @Override
+    protected void afterBatch(List<Appointment> batch) throws SQLException {
+        // Generated keys are only needed to link recurrence rules to their appointments
+        if (batch.stream().noneMatch(Appointment::isRecurring)) {
+            return;
+        }
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            for (Appointment appointment : batch) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("Missing generated key for imported appointment.");
+                }
+                if (appointment.isRecurring()) {
+                    RecurrenceDAO.bindRecurrenceRule(recurrenceStatement, generatedKeys.getInt(1),
+                            appointment.getRecurrenceRule(), appointment.getStartTime(), appointment.getEndTime());
+                    recurrenceStatement.addBatch();
+                }
+            }
+        }
+        recurrenceStatement.executeBatch();
+    }
+
+    @Override
+    protected void closeStatements() throws SQLException {
+        if (recurrenceStatement != null) {
+            recurrenceStatement.close();
+        }
+    }
+}
@@ -2,51 +2,99 @@ package DAO;
 
 import controller.UserLogin;
 import helper.JDBC;
+import helper.Log;
+import helper.TimeConversion;
+import helper.UnitOfWork;
 import model.Appointment;
 import model.Contact;
+import model.OptimisticLock;
+import model.UpdateResult;
 import model.User;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 
 /**
  * Handles data access operations for appointment data.
+ * Appointment start, end, and creation times are stored in UTC. They are converted from the user's local time when
+ * written and back to local time when read, so the rest of the application works in local time.
+ * <p></p>
+ * Recurring appointments are stored as a single row holding the series' first occurrence, with its rule in the
+ * appointment_recurrences table. Queries for a date range expand only the occurrences that fall within that range.
+ * Queries that are not bounded by date return each series once.
  */
 @SuppressWarnings("SqlNoDataSourceInspection")
 public class AppointmentDAO {
 
     /**
-     * Inserts a new appointment into the appointments table.
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(AppointmentDAO.class);
+
+    /**
+     * Selects appointments together with their recurrence rules, if any.
+     */
+    private static final String SELECT_APPOINTMENTS = "SELECT a.*, " + RecurrenceDAO.RECURRENCE_COLUMNS +
+            " FROM client_schedule.appointments a LEFT JOIN client_schedule.appointment_recurrences r" +
+            " ON r.Appointment_ID = a.Appointment_ID";
+
+    /**
+     * Selects recurring appointments whose series starts before the end of a range and has not ended before the
+     * start of the range. Takes the UTC range end and start as its first two parameters.
+     */
+    private static final String SELECT_SERIES_IN_RANGE = "SELECT a.*, " + RecurrenceDAO.RECURRENCE_COLUMNS +
+            " FROM client_schedule.appointments a JOIN client_schedule.appointment_recurrences r" +
+            " ON r.Appointment_ID = a.Appointment_ID" +
+            " WHERE a.Start < ? AND (r.Series_End IS NULL OR r.Series_End > ?)";
+
+    /**
+     * Inserts an appointment. Parameters are bound by {@link #bindAppointment}.
+     */
+    static final String INSERT_APPOINTMENT_SQL = "INSERT INTO client_schedule.appointments (Title, Description, " +
+            "Location, Type, Start, End, Create_Date, Created_By, Last_Update, Last_Updated_By, Customer_ID, User_ID, " +
+            "Contact_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Inserts a new appointment into the appointments table, and sets the appointment's ID to the one generated for
+     * it. If the appointment repeats, its recurrence rule is inserted in the same transaction.
      *
      * @param appointment The appointment object to be inserted.
      * @return True if the insertion is successful, false otherwise.
      */
     public static boolean insertAppointment(Appointment appointment) {
-        String sql = "INSERT INTO client_schedule.appointments (Title, Description, Location, Type, Start, End, " +
-                "Create_Date, Created_By, Last_Update, Last_Updated_By, Customer_ID, User_ID, Contact_ID) VALUES (?, " +
-                "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setString(1, appointment.getTitle());
-            statement.setString(2, appointment.getDescription());
-            statement.setString(3, appointment.getLocation());
-            statement.setString(4, appointment.getType());
-            statement.setTimestamp(5, Timestamp.valueOf(appointment.getStartTime()));
-            statement.setTimestamp(6, Timestamp.valueOf(appointment.getEndTime()));
-            statement.setTimestamp(7, Timestamp.valueOf(appointment.getCreateDate()));
-            statement.setString(8, appointment.getCreatedBy());
-            statement.setTimestamp(9, appointment.getLastUpdate());
-            statement.setString(10, appointment.getLastUpdatedBy());
-            statement.setInt(11, appointment.getCustomerId());
-            statement.setInt(12, appointment.getUserId());
-            statement.setInt(13, appointment.getContactId());
-            return statement.executeUpdate() > 0;
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(INSERT_APPOINTMENT_SQL,
+                    Statement.RETURN_GENERATED_KEYS);
+            bindAppointment(statement, appointment);
+            if (statement.executeUpdate() == 0) {
+                return false;
+            }
+
+            ResultSet generatedKeys = statement.getGeneratedKeys();
+            if (!generatedKeys.next()) {
+                return false;
+            }
+            int appointmentId = generatedKeys.getInt(1);
+            if (appointment.isRecurring()) {
+                work.queue(RecurrenceDAO.SAVE_RECURRENCE_RULE_SQL, rule -> RecurrenceDAO.bindRecurrenceRule(rule,
+                        appointmentId, appointment.getRecurrenceRule(), appointment.getStartTime(),
+                        appointment.getEndTime()));
+            }
+            work.commit();
+            appointment.setId(appointmentId);
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -55,72 +103,72 @@ public class AppointmentDAO {
 
 
     /**
-     * Gets all appointments from the appointments table.
+     * Gets all appointments from the appointments table. Each recurring series is returned once, as its first
+     * occurrence.
      *
      * @return A list of all appointment objects in the appointments table.
      */
     public static List<Appointment> selectAllAppointments() {
-        List<Appointment> appointments = new ArrayList<>();
-        String sql = "SELECT * FROM client_schedule.appointments";
-
-        try (PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-             ResultSet resultSet = statement.executeQuery()) {
-
-            while (resultSet.next()) {
-                appointments.add(createAppointmentFromResultSet(resultSet));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return appointments;
+        return JDBC.readOnly(() -> selectAppointments(SELECT_APPOINTMENTS));
     }
 
     /**
-     * Updates an existing appointment in the appointments table.
+     * Updates an existing appointment in the appointments table, provided nobody else has updated it since it was
+     * read. The check compares the row's Last_Update with the time the caller read, so no lock is held while the user
+     * edits. The appointment's recurrence rule is saved, or removed if it no longer repeats, in the same transaction.
      *
-     * @param appointment The appointment object with updated details.
-     * @return True if the update is successful, false otherwise.
+     * @param appointment        The appointment object with updated details.
+     * @param expectedLastUpdate The appointment's Last_Update when it was read.
+     * @return The result of the update, with the current appointment if someone else changed it first.
      */
-    public static boolean updateAppointment(Appointment appointment) {
+    public static UpdateResult<Appointment> updateAppointment(Appointment appointment,
+                                                              Timestamp expectedLastUpdate) {
         String sql = "UPDATE client_schedule.appointments SET Title = ?, Description = ?, Location = ?, Type = ?, " +
                 "Start = ?, End = ?, Create_Date = ?, Created_By = ?, Last_Update = ?, Last_Updated_By = ?, " +
-                "Customer_ID = ?, User_ID = ?, Contact_ID = ? WHERE Appointment_ID = ?";
-        try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setString(1, appointment.getTitle());
-            statement.setString(2, appointment.getDescription());
-            statement.setString(3, appointment.getLocation());
-            statement.setString(4, appointment.getType());
-            statement.setTimestamp(5, Timestamp.valueOf(appointment.getStartTime()));
-            statement.setTimestamp(6, Timestamp.valueOf(appointment.getEndTime()));
-            statement.setTimestamp(7, Timestamp.valueOf(appointment.getCreateDate()));
-            statement.setString(8, appointment.getCreatedBy());
-            statement.setTimestamp(9, appointment.getLastUpdate());
-            statement.setString(10, appointment.getLastUpdatedBy());
-            statement.setInt(11, appointment.getCustomerId());
-            statement.setInt(12, appointment.getUserId());
-            statement.setInt(13, appointment.getContactId());
+                "Customer_ID = ?, User_ID = ?, Contact_ID = ? WHERE Appointment_ID = ? AND " +
+                OptimisticLock.LAST_UPDATE_UNCHANGED;
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
+            bindAppointment(statement, appointment);
             statement.setInt(14, appointment.getId());
-            return statement.executeUpdate() > 0;
+            statement.setTimestamp(15, expectedLastUpdate);
+            statement.setTimestamp(16, expectedLastUpdate);
+            if (statement.executeUpdate() == 0) {
+                Appointment current = selectAppointmentById(appointment.getId());
+                log.trace(() -> "                 Update conflict for appointment " + appointment.getId());
+                return current == null ? UpdateResult.notFound() : UpdateResult.conflict(current);
+            }
+
+            if (appointment.isRecurring()) {
+                work.queue(RecurrenceDAO.SAVE_RECURRENCE_RULE_SQL, rule -> RecurrenceDAO.bindRecurrenceRule(rule,
+                        appointment.getId(), appointment.getRecurrenceRule(), appointment.getStartTime(),
+                        appointment.getEndTime()));
+            } else {
+                work.queue(RecurrenceDAO.DELETE_RECURRENCE_RULE_SQL, rule -> rule.setInt(1, appointment.getId()));
+            }
+            work.commit();
+            return UpdateResult.updated(appointment);
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return UpdateResult.failed();
         }
     }
 
 
     /**
-     * Deletes an appointment from the appointments table by its Appointment_ID.
+     * Deletes an appointment from the appointments table by its Appointment_ID. For a recurring appointment, this
+     * deletes the whole series along with its recurrence rule.
      *
      * @param appointmentId The ID of the appointment to be deleted.
      * @return True if the deletion is successful, false otherwise.
      */
     public static boolean deleteAppointment(int appointmentId) {
         String sql = "DELETE FROM client_schedule.appointments WHERE Appointment_ID = ?";
-        try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setInt(1, appointmentId);
-            return statement.executeUpdate() > 0;
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            work.queue(RecurrenceDAO.DELETE_RECURRENCE_RULE_SQL, statement -> statement.setInt(1, appointmentId));
+            work.queueSingleRowUpdate(sql, statement -> statement.setInt(1, appointmentId));
+            work.commit();
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -128,25 +176,123 @@ public class AppointmentDAO {
     }
 
     /**
-     * Gets all appointments for a given customer from the appointments table.
+     * Deletes a set of appointments in a single transaction, using IN lists of up to
+     * {@link app.Global#DELETE_CHUNK_SIZE} IDs. Recurring appointments are deleted with their whole series and
+     * recurrence rules. If any statement fails, none of the appointments are deleted.
      *
-     * @param customerId The ID of the customer.
-     * @return A list of all appointment objects for the specified customer.
+     * @param appointmentIds The IDs of the appointments to delete.
+     * @return The number of appointments deleted, or -1 if the deletion failed.
      */
-    public static List<Appointment> selectAppointmentsByCustomerId(int customerId) {
-        List<Appointment> appointments = new ArrayList<>();
-        String sql = "SELECT * FROM client_schedule.appointments WHERE Customer_ID = ?";
-        try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setInt(1, customerId);
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                appointments.add(createAppointmentFromResultSet(resultSet));
+    public static int deleteAppointments(List<Integer> appointmentIds) {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            JDBC.executeUpdateForIds("DELETE FROM client_schedule.appointment_recurrences WHERE Appointment_ID IN (?)",
+                    appointmentIds);
+            int deleted = JDBC.executeUpdateForIds("DELETE FROM client_schedule.appointments WHERE " +
+                    "Appointment_ID IN (?)", appointmentIds);
+            work.commit();
+            return deleted;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Moves and reassigns a set of appointments in a single transaction. The start, end, contact, and last update
+     * columns of each appointment are written in one JDBC batch. Each update only matches a row whose Last_Update is
+     * still the one previewed, so appointments changed or deleted since the preview are left as they are.
+     *
+     * @param appointments         The appointments with their new times and contacts. Recurring series are not
+     *                             supported.
+     * @param previewedLastUpdates The Last_Update each appointment had when the change was previewed, by ID.
+     * @return The appointments not changed because they were changed or deleted since the preview, or null if the
+     * transaction failed and nothing was changed.
+     */
+    public static List<Appointment> rescheduleAppointments(List<Appointment> appointments,
+                                                           Map<Integer, Timestamp> previewedLastUpdates) {
+        String sql = "UPDATE client_schedule.appointments SET Start = ?, End = ?, Contact_ID = ?, Last_Update = ?, " +
+                "Last_Updated_By = ? WHERE Appointment_ID = ? AND " + OptimisticLock.LAST_UPDATE_UNCHANGED;
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            int[] counts;
+            try (PreparedStatement statement = work.getConnection().prepareStatement(sql)) {
+                for (Appointment appointment : appointments) {
+                    Timestamp previewedLastUpdate = previewedLastUpdates.get(appointment.getId());
+                    statement.setObject(1, TimeConversion.toUtc(appointment.getStartTime()));
+                    statement.setObject(2, TimeConversion.toUtc(appointment.getEndTime()));
+                    statement.setInt(3, appointment.getContactId());
+                    statement.setTimestamp(4, appointment.getLastUpdate());
+                    statement.setString(5, appointment.getLastUpdatedBy());
+                    statement.setInt(6, appointment.getId());
+                    statement.setTimestamp(7, previewedLastUpdate);
+                    statement.setTimestamp(8, previewedLastUpdate);
+                    statement.addBatch();
+                }
+                counts = statement.executeBatch();
             }
+            work.commit();
+
+            List<Appointment> changedSincePreview = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    changedSincePreview.add(appointments.get(i));
+                }
+            }
+            log.trace(() -> "                 Appointments changed since the preview: " + changedSincePreview.size());
+            return changedSincePreview;
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
         }
-        return appointments;
+    }
+
+    /**
+     * Cancels a single occurrence of a recurring appointment by adding its date to the series' exceptions. The rest
+     * of the series is unchanged.
+     *
+     * @param occurrence The occurrence to cancel.
+     * @return True if the occurrence was cancelled, false otherwise.
+     */
+    public static boolean cancelOccurrence(Appointment occurrence) {
+        if (!occurrence.isRecurring()) {
+            return false;
+        }
+        return RecurrenceDAO.saveRecurrenceRule(occurrence.getId(),
+                occurrence.getRecurrenceRule().withException(occurrence.getStartTime().toLocalDate()),
+                occurrence.getSeriesStartTime(), occurrence.getSeriesEndTime());
+    }
+
+    /**
+     * Gets an appointment by its ID. A recurring appointment is returned as its series' first occurrence.
+     *
+     * @param appointmentId The ID of the appointment.
+     * @return The appointment, or null if not found.
+     */
+    public static Appointment selectAppointmentById(int appointmentId) {
+        List<Appointment> appointments = selectAppointments(SELECT_APPOINTMENTS + " WHERE a.Appointment_ID = ?",
+                appointmentId);
+        return appointments.isEmpty() ? null : appointments.get(0);
+    }
+
+    /**
+     * Gets the appointments last updated at or after a given time, for synchronizing a local replica. Each recurring
+     * series is returned once, as its first occurrence.
+     *
+     * @param since The earliest last update time to include.
+     * @return The appointments updated since the given time.
+     */
+    public static List<Appointment> selectAppointmentsUpdatedSince(Timestamp since) {
+        return selectAppointments(SELECT_APPOINTMENTS + " WHERE a.Last_Update >= ?", since);
+    }
+
+    /**
+     * Gets all appointments for a given customer from the appointments table. Each recurring series is returned
+     * once, as its first occurrence.
+     *
+     * @param customerId The ID of the customer.
+     * @return A list of all appointment objects for the specified customer.
+     */
+    public static List<Appointment> selectAppointmentsByCustomerId(int customerId) {
+        return JDBC.readOnly(() -> selectAppointments(SELECT_APPOINTMENTS + " WHERE a.Customer_ID = ?", customerId));
     }
 
     /**
@@ -161,8 +307,8 @@ public class AppointmentDAO {
      */
     public static List<Appointment> selectUpcomingAppointmentsForCurrentUser() {
         List<Appointment> appointments = new ArrayList<>();
-        String sql = "SELECT * FROM client_schedule.appointments WHERE Start BETWEEN UTC_TIMESTAMP() AND DATE_ADD" +
-                "(UTC_TIMESTAMP(), INTERVAL 15 MINUTE) AND User_ID = ?";
+        String sql = SELECT_APPOINTMENTS + " WHERE r.Appointment_ID IS NULL AND a.Start BETWEEN ? AND ? AND " +
+                "a.User_ID = ?";
 
         User user = UserDAO.selectUserByUsername(UserLogin.currentUser);
         if (user == null) {
@@ -171,9 +317,12 @@ public class AppointmentDAO {
         }
 
         int userId = user.getId();
+        LocalDateTime utcNow = TimeConversion.utcNow();
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setInt(1, userId);  // Use setInt instead of setString for a numeric ID.
+            PreparedStatement statement = JDBC.getReadConnection().prepareStatement(sql);
+            statement.setObject(1, utcNow);
+            statement.setObject(2, utcNow.plusMinutes(15));
+            statement.setInt(3, userId);  // Use setInt instead of setString for a numeric ID.
             ResultSet resultSet = statement.executeQuery();
 
             while (resultSet.next()) {
@@ -183,36 +332,35 @@ public class AppointmentDAO {
             System.err.println("SQL Error: " + e.getMessage());
         }
 
+        // Add occurrences of the user's recurring appointments that start in the same window
+        LocalDateTime localNow = TimeConversion.fromUtc(utcNow);
+        LocalDateTime localWindowEnd = localNow.plusMinutes(15);
+        for (Appointment series : selectSeriesInRange(" AND a.User_ID = ?", localNow, localWindowEnd, userId)) {
+            appointments.addAll(series.occurrencesStartingBetween(localNow, localWindowEnd));
+        }
+        appointments.sort(Comparator.comparing(Appointment::getStartTime));
+
         return appointments;
     }
 
 
     /**
-     * Gets all appointments for a given contact from the appointments table.
+     * Gets all appointments for a given contact from the appointments table. Each recurring series is returned once,
+     * as its first occurrence.
      *
      * @param contactId The ID of the contact.
      * @return A list of all appointment objects for the specified contact.
      */
     public static List<Appointment> selectAppointmentsByContactId(int contactId) {
-        List<Appointment> appointments = new ArrayList<>();
-        String sql = "SELECT * FROM client_schedule.appointments WHERE Contact_ID = ?";
-        try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setInt(1, contactId);
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                appointments.add(createAppointmentFromResultSet(resultSet));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return appointments;
+        return JDBC.readOnly(() -> selectAppointments(SELECT_APPOINTMENTS + " WHERE a.Contact_ID = ?", contactId));
     }
 
 
     /**
      * Gets the list of appointments that conflict with a desired time range for a given customer.
-     * Checks for overlapping appointments based on start and end times using SQL queries.
+     * Two appointments overlap when each one starts before the other ends, which covers appointments that overlap
+     * the start, the end, or fall entirely within the desired range. Occurrences of the customer's recurring
+     * appointments are expanded for the desired range only.
      *
      * @param customerId the customer id that the user entered
      * @param desiredStartDateTime the start date and time that the user entered
@@ -223,75 +371,157 @@ public class AppointmentDAO {
                                                                                      LocalDateTime desiredStartDateTime, LocalDateTime desiredEndDateTime) {
         List<Appointment> appointments = new ArrayList<>();
 
-        System.out.println("                 Checking database for appointments with range conflict for desired start and end " +
+        log.trace("                 Checking database for appointments with range conflict for desired start and end " +
                 "date/time...");
-        String sql = "SELECT * FROM client_schedule.appointments" +
-                " WHERE Customer_ID = ?" +
-                " AND (" +
-                "      (Start < ? AND End > ?) OR" +  // overlaps the start
-                "      (Start >= ? AND End <= ?) OR" + // entirely within
-                "      (Start < ? AND End > ?)" + // overlaps the end
-                "     )";
+        String sql = SELECT_APPOINTMENTS +
+                " WHERE r.Appointment_ID IS NULL AND a.Customer_ID = ?" +
+                " AND a.Start < ? AND a.End > ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, customerId);
-            statement.setTimestamp(2, Timestamp.valueOf(desiredEndDateTime));
-            statement.setTimestamp(3, Timestamp.valueOf(desiredStartDateTime));
-            statement.setTimestamp(4, Timestamp.valueOf(desiredStartDateTime));
-            statement.setTimestamp(5, Timestamp.valueOf(desiredEndDateTime));
-            statement.setTimestamp(6, Timestamp.valueOf(desiredStartDateTime));
-            statement.setTimestamp(7, Timestamp.valueOf(desiredEndDateTime));
+            statement.setObject(2, TimeConversion.toUtc(desiredEndDateTime));
+            statement.setObject(3, TimeConversion.toUtc(desiredStartDateTime));
             ResultSet resultSet = statement.executeQuery();
 
             while (resultSet.next()) {
                 appointments.add(createAppointmentFromResultSet(resultSet));
             }
-            System.out.println("                 Size of conflict list: " + appointments.size());
         } catch (SQLException e) {
             e.printStackTrace();
         }
+
+        for (Appointment series : selectSeriesInRange(" AND a.Customer_ID = ?", desiredStartDateTime,
+                desiredEndDateTime, customerId)) {
+            appointments.addAll(series.occurrencesOverlapping(desiredStartDateTime, desiredEndDateTime));
+        }
+        log.trace(() -> "                 Size of conflict list: " + appointments.size());
         return appointments;
     }
 
     /**
-     * Gets all appointments for the current week from the appointments table.
+     * Gets all appointments starting within a local date-time range from the appointments table, including the
+     * occurrences of recurring appointments that start within the range.
      *
-     * @return A list of all appointment objects for the current week.
+     * @param rangeStart The local start of the range, inclusive.
+     * @param rangeEnd   The local end of the range, exclusive.
+     * @return A list of all appointment objects starting within the range, in order of start time.
      */
-    public static List<Appointment> selectAppointmentsForCurrentWeek() {
-        List<Appointment> appointments = new ArrayList<>();
-        String sql = "SELECT * FROM client_schedule.appointments WHERE WEEK(Start) = WEEK(CURDATE()) AND YEAR(Start) " +
-                "= YEAR(CURDATE())";
-        try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                appointments.add(createAppointmentFromResultSet(resultSet));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    public static List<Appointment> selectAppointmentsStartingBetween(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        List<Appointment> appointments = selectAppointments(SELECT_APPOINTMENTS +
+                        " WHERE r.Appointment_ID IS NULL AND a.Start >= ? AND a.Start < ?",
+                TimeConversion.toUtc(rangeStart), TimeConversion.toUtc(rangeEnd));
+
+        for (Appointment series : selectSeriesInRange("", rangeStart, rangeEnd)) {
+            appointments.addAll(series.occurrencesStartingBetween(rangeStart, rangeEnd));
         }
+        appointments.sort(Comparator.comparing(Appointment::getStartTime));
         return appointments;
     }
 
     /**
-     * Gets all appointments for the current month from the appointments table.
+     * Gets the appointments for a contact starting within a local date-time range, including the occurrences of the
+     * contact's recurring appointments that start within the range.
+     *
+     * @param contactId  The ID of the contact.
+     * @param rangeStart The local start of the range, inclusive.
+     * @param rangeEnd   The local end of the range, exclusive.
+     * @return A list of the contact's appointments starting within the range, in order of start time.
+     */
+    public static List<Appointment> selectAppointmentsForContactStartingBetween(int contactId,
+                                                                                LocalDateTime rangeStart,
+                                                                                LocalDateTime rangeEnd) {
+        List<Appointment> appointments = selectAppointments(SELECT_APPOINTMENTS +
+                        " WHERE r.Appointment_ID IS NULL AND a.Contact_ID = ? AND a.Start >= ? AND a.Start < ?",
+                contactId, TimeConversion.toUtc(rangeStart), TimeConversion.toUtc(rangeEnd));
+
+        for (Appointment series : selectSeriesInRange(" AND a.Contact_ID = ?", rangeStart, rangeEnd, contactId)) {
+            appointments.addAll(series.occurrencesStartingBetween(rangeStart, rangeEnd));
+        }
+        appointments.sort(Comparator.comparing(Appointment::getStartTime));
+        return appointments;
+    }
+
+    /**
+     * Gets all appointments that overlap a local date-time range, including the occurrences of recurring
+     * appointments that overlap the range. Used to check a set of changes for conflicts with one query.
+     *
+     * @param rangeStart The local start of the range.
+     * @param rangeEnd   The local end of the range.
+     * @return A list of all appointment objects overlapping the range.
+     */
+    public static List<Appointment> selectAppointmentsOverlapping(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        List<Appointment> appointments = selectAppointments(SELECT_APPOINTMENTS +
+                        " WHERE r.Appointment_ID IS NULL AND a.Start < ? AND a.End > ?",
+                TimeConversion.toUtc(rangeEnd), TimeConversion.toUtc(rangeStart));
+
+        for (Appointment series : selectSeriesInRange("", rangeStart, rangeEnd)) {
+            appointments.addAll(series.occurrencesOverlapping(rangeStart, rangeEnd));
+        }
+        return appointments;
+    }
+
+    /**
+     * Gets all appointments for the current week, Sunday through Saturday in the user's local time, from the
+     * appointments table.
+     *
+     * @return A list of all appointment objects for the current week.
+     */
+    public static List<Appointment> selectAppointmentsForCurrentWeek() {
+        LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        return JDBC.readOnly(() -> selectAppointmentsStartingBetween(weekStart.atStartOfDay(),
+                weekStart.plusWeeks(1).atStartOfDay()));
+    }
+
+    /**
+     * Gets all appointments for the current month, in the user's local time, from the appointments table.
      *
      * @return A list of all appointment objects for the current month.
      */
 
     public static List<Appointment> selectAppointmentsForCurrentMonth() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        List<Appointment> appointments = JDBC.readOnly(() -> selectAppointmentsStartingBetween(
+                monthStart.atStartOfDay(), monthStart.plusMonths(1).atStartOfDay()));
+        log.trace(() -> "                 Appointments for current month: " + appointments.size());
+        return appointments;
+    }
+
+    /**
+     * Gets the recurring appointments whose series may have occurrences within a local date-time range. The
+     * returned appointments are the stored first occurrences; callers expand the occurrences they need.
+     *
+     * @param condition  Extra SQL conditions appended to the query, starting with " AND", or an empty string.
+     * @param rangeStart The local start of the range.
+     * @param rangeEnd   The local end of the range.
+     * @param parameters Values for the parameters in the extra conditions.
+     * @return A list of recurring appointments.
+     */
+    private static List<Appointment> selectSeriesInRange(String condition, LocalDateTime rangeStart,
+                                                         LocalDateTime rangeEnd, Object... parameters) {
+        Object[] allParameters = new Object[parameters.length + 2];
+        allParameters[0] = TimeConversion.toUtc(rangeEnd);
+        allParameters[1] = TimeConversion.toUtc(rangeStart);
+        System.arraycopy(parameters, 0, allParameters, 2, parameters.length);
+        return selectAppointments(SELECT_SERIES_IN_RANGE + condition, allParameters);
+    }
+
+    /**
+     * Runs an appointment query and creates an Appointment object for each row.
+     *
+     * @param sql        The query, selecting appointment and recurrence columns.
+     * @param parameters Values for the query's parameters, in order.
+     * @return A list of appointment objects; empty if none found or an error occurred.
+     */
+    private static List<Appointment> selectAppointments(String sql, Object... parameters) {
         List<Appointment> appointments = new ArrayList<>();
-        String sql = "SELECT * FROM client_schedule.appointments WHERE MONTH(Start) = MONTH(CURDATE()) AND YEAR" +
-                "(Start) = YEAR(CURDATE())";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
             ResultSet resultSet = statement.executeQuery();
-            int apptCount = 0;
             while (resultSet.next()) {
                 appointments.add(createAppointmentFromResultSet(resultSet));
-                apptCount++;
-                System.out.println("Adding appt to list for current month. Count so far: " + apptCount);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -299,6 +529,30 @@ public class AppointmentDAO {
         return appointments;
     }
 
+    /**
+     * Binds the column values of an appointment to the first 13 parameters of an insert or update statement, in the
+     * column order of {@link #INSERT_APPOINTMENT_SQL}.
+     *
+     * @param statement   The statement to bind.
+     * @param appointment The appointment supplying the values.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    static void bindAppointment(PreparedStatement statement, Appointment appointment) throws SQLException {
+        statement.setString(1, appointment.getTitle());
+        statement.setString(2, appointment.getDescription());
+        statement.setString(3, appointment.getLocation());
+        statement.setString(4, appointment.getType());
+        statement.setObject(5, TimeConversion.toUtc(appointment.getStartTime()));
+        statement.setObject(6, TimeConversion.toUtc(appointment.getEndTime()));
+        statement.setObject(7, TimeConversion.toUtc(appointment.getCreateDate()));
+        statement.setString(8, appointment.getCreatedBy());
+        statement.setTimestamp(9, appointment.getLastUpdate());
+        statement.setString(10, appointment.getLastUpdatedBy());
+        statement.setInt(11, appointment.getCustomerId());
+        statement.setInt(12, appointment.getUserId());
+        statement.setInt(13, appointment.getContactId());
+    }
+
     /**
      * Extracts appointment details from the ResultSet and creates an Appointment object.
      *
@@ -309,20 +563,20 @@ public class AppointmentDAO {
     private static Appointment createAppointmentFromResultSet(ResultSet resultSet) throws SQLException {
         Integer contactId = resultSet.getObject("Contact_ID", Integer.class); // null-safe fetch added for contactId
 
-        // If contactId is not null, get Contact object, otherwise set contact object to null
-        Contact contact = (contactId != null) ? ContactDAO.selectContactById(contactId) : null;
+        // If contactId is not null, get Contact object from the reference data cache, otherwise set contact object to null
+        Contact contact = (contactId != null) ? ReferenceDataCache.getContactById(contactId) : null;
         // If contact is not null, get its name, otherwise set contactName to "Null Contact"
         String contactName = (contact != null) ? contact.getName() : "Null Contact";
 
-        // Adding some more null checks before converting Timestamps to LocalDateTime
-        LocalDateTime start = resultSet.getTimestamp("Start") != null ? resultSet.getTimestamp("Start").toLocalDateTime() : null;
-        LocalDateTime end = resultSet.getTimestamp("End") != null ? resultSet.getTimestamp("End").toLocalDateTime() : null;
-        LocalDateTime createDate = resultSet.getTimestamp("Create_Date") != null ? resultSet.getTimestamp("Create_Date").toLocalDateTime() : null;
+        // Stored times are UTC, convert them to local time (null-safe)
+        LocalDateTime start = TimeConversion.fromUtc(resultSet.getObject("Start", LocalDateTime.class));
+        LocalDateTime end = TimeConversion.fromUtc(resultSet.getObject("End", LocalDateTime.class));
+        LocalDateTime createDate = TimeConversion.fromUtc(resultSet.getObject("Create_Date", LocalDateTime.class));
 
         // Was still getting a warning about potential NPE, so now if it's null it'll just assign the value -1 instead.
         int extraNullSafeContactId = (contactId != null) ? contactId : -1;
 
-        return new Appointment(
+        Appointment appointment = new Appointment(
                 resultSet.getInt("Appointment_ID"),
                 resultSet.getString("Title"),
                 resultSet.getString("Description"),
@@ -339,6 +593,8 @@ public class AppointmentDAO {
                 extraNullSafeContactId,
                 contactName
         );
+        appointment.setRecurrenceRule(RecurrenceDAO.readRecurrenceRule(resultSet));
+        return appointment;
     }
 }
 
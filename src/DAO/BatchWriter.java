@@ -0,0 +1,236 @@
+package DAO;
+
+import helper.JDBC;
+import helper.UnitOfWork;
+import repository.RecordWriter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts large numbers of rows using JDBC batches. Rows are sent to the database every {@code batchSize} items and
+ * committed every {@code commitSize} items, so a failure only rolls back the rows written since the last commit.
+ * <p></p>
+ * The writer runs in a {@link UnitOfWork} that stays open until the writer is closed or aborted. If a unit of work is
+ * already open on the thread, the writer joins it and its rows are committed with the rest of that unit.
+ *
+ * @param <T> The type of item written.
+ */
+public class BatchWriter<T> implements RecordWriter<T> {
+
+    /**
+     * Binds the values of one item to the parameters of the insert statement.
+     *
+     * @param <T> The type of item bound.
+     */
+    @FunctionalInterface
+    public interface Binder<T> {
+
+        /**
+         * Binds an item's values.
+         *
+         * @param statement The insert statement.
+         * @param item      The item supplying the values.
+         * @throws SQLException If a parameter cannot be set.
+         */
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+
+    /**
+     * The unit of work the rows are written in.
+     */
+    private final UnitOfWork work;
+
+    /**
+     * The insert statement.
+     */
+    protected final PreparedStatement statement;
+
+    /**
+     * Binds items to the insert statement.
+     */
+    private final Binder<T> binder;
+
+    /**
+     * Number of items sent to the database per batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of items written per transaction.
+     */
+    private final int commitSize;
+
+    /**
+     * Items added to the current batch, in the order they were added.
+     */
+    private final List<T> pendingBatch = new ArrayList<>();
+
+    /**
+     * Items sent to the database but not yet committed.
+     */
+    private int uncommittedCount = 0;
+
+    /**
+     * Items committed so far.
+     */
+    private int committedCount = 0;
+
+    /**
+     * Whether the statements and the unit of work have been closed.
+     */
+    private boolean released = false;
+
+    /**
+     * Constructs a BatchWriter and begins its unit of work.
+     *
+     * @param sql                 The insert statement.
+     * @param returnGeneratedKeys Whether generated keys are needed after each batch.
+     * @param binder              Binds items to the insert statement.
+     * @param batchSize           Number of items sent to the database per batch.
+     * @param commitSize          Number of items written per transaction.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public BatchWriter(String sql, boolean returnGeneratedKeys, Binder<T> binder, int batchSize, int commitSize)
+            throws SQLException {
+        this.binder = binder;
+        this.batchSize = Math.max(batchSize, 1);
+        this.commitSize = Math.max(commitSize, this.batchSize);
+        work = UnitOfWork.begin();
+        try {
+            statement = returnGeneratedKeys ?
+                    JDBC.getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) :
+                    JDBC.getConnection().prepareStatement(sql);
+        } catch (SQLException e) {
+            work.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds an item to the current batch, sending the batch once it is full.
+     *
+     * @param item The item to insert.
+     * @throws SQLException If sending or committing a batch fails.
+     */
+    @Override
+    public void add(T item) throws SQLException {
+        binder.bind(statement, item);
+        statement.addBatch();
+        pendingBatch.add(item);
+        if (pendingBatch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the number of items committed so far.
+     *
+     * @return the committed count
+     */
+    @Override
+    public int getCommittedCount() {
+        return committedCount;
+    }
+
+    /**
+     * Sends the remaining batch and commits it, then closes the unit of work.
+     *
+     * @throws SQLException If the final batch or commit fails. Uncommitted rows are rolled back.
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            commit();
+        } catch (SQLException e) {
+            abort();
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Rolls back the rows written since the last commit and closes the unit of work.
+     */
+    @Override
+    public void abort() {
+        if (released) {
+            return;
+        }
+        work.rollback();
+        uncommittedCount = 0;
+        pendingBatch.clear();
+        release();
+    }
+
+    /**
+     * Called after each batch has been sent, before it may be committed, so subclasses can write related rows in
+     * the same transaction.
+     *
+     * @param batch The items in the batch, in the order they were added.
+     * @throws SQLException If writing related rows fails.
+     */
+    protected void afterBatch(List<T> batch) throws SQLException {
+    }
+
+    /**
+     * Closes any statements opened by a subclass.
+     *
+     * @throws SQLException If a statement cannot be closed.
+     */
+    protected void closeStatements() throws SQLException {
+    }
+
+    /**
+     * Sends the current batch and commits if enough rows have been written since the last commit.
+     *
+     * @throws SQLException If the batch fails.
+     */
+    private void flush() throws SQLException {
+        if (pendingBatch.isEmpty()) {
+            return;
+        }
+        statement.executeBatch();
+        afterBatch(pendingBatch);
+
+        uncommittedCount += pendingBatch.size();
+        pendingBatch.clear();
+        if (uncommittedCount >= commitSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Commits the rows written since the last commit.
+     *
+     * @throws SQLException If the commit fails.
+     */
+    private void commit() throws SQLException {
+        work.commit();
+        committedCount += uncommittedCount;
+        uncommittedCount = 0;
+    }
+
+    /**
+     * Closes the statements and the unit of work.
+     */
+    private void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        try {
+            statement.close();
+            closeStatements();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            work.close();
+        }
+    }
+}
@@ -23,10 +23,10 @@ public class ContactDAO {
     public static boolean insertContact(Contact contact) {
         String sql = "INSERT INTO client_schedule.contacts (Contact_Name, Email) VALUES (?, ?)";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, contact.getName());
             statement.setString(2, contact.getEmail());
-            return statement.executeUpdate() > 0;
+            return invalidateReferenceDataIfChanged(statement.executeUpdate());
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -42,7 +42,7 @@ public class ContactDAO {
     public static Contact selectContactById(int contactId) {
         String sql = "SELECT * FROM client_schedule.contacts WHERE Contact_ID = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, contactId);
             ResultSet resultSet = statement.executeQuery();
 
@@ -65,7 +65,7 @@ public class ContactDAO {
     public static Contact selectContactByName(String contactName) {
         String sql = "SELECT * FROM client_schedule.contacts WHERE Contact_Name = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, contactName);
             ResultSet resultSet = statement.executeQuery();
 
@@ -89,7 +89,7 @@ public class ContactDAO {
         List<Contact> contacts = new ArrayList<>();
         String sql = "SELECT * FROM client_schedule.contacts";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             ResultSet resultSet = statement.executeQuery();
 
             while (resultSet.next()) {
@@ -111,11 +111,11 @@ public class ContactDAO {
     public static boolean updateContact(Contact contact) {
         String sql = "UPDATE client_schedule.contacts SET Contact_Name = ?, Email = ? WHERE Contact_ID = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, contact.getName());
             statement.setString(2, contact.getEmail());
             statement.setInt(3, contact.getId());
-            return statement.executeUpdate() > 0;
+            return invalidateReferenceDataIfChanged(statement.executeUpdate());
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -131,13 +131,28 @@ public class ContactDAO {
     public static boolean deleteContact(int contactId) {
         String sql = "DELETE FROM client_schedule.contacts WHERE Contact_ID = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, contactId);
-            return statement.executeUpdate() > 0;
+            return invalidateReferenceDataIfChanged(statement.executeUpdate());
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
-}
 
+    /**
+     * Records the write and discards the cached contact list if a write changed any rows, so the next lookup sees
+     * the change.
+     *
+     * @param rowsAffected The number of rows affected by the write.
+     * @return True if any rows were affected, false otherwise.
+     */
+    private static boolean invalidateReferenceDataIfChanged(int rowsAffected) {
+        if (rowsAffected > 0) {
+            JDBC.recordWrite();
+            ReferenceDataCache.invalidate();
+            return true;
+        }
+        return false;
+    }
+}
@@ -27,7 +27,7 @@ public class CountryDAO {
         String sql = "SELECT Country FROM client_schedule.countries WHERE Country_ID = ?";
 
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, id);
             ResultSet resultSet = statement.executeQuery();
 
@@ -42,6 +42,29 @@ public class CountryDAO {
     }
 
 
+    /**
+     * Selects all country records from the database.
+     *
+     * @return A list of all countries; empty if none found or an error occurred.
+     */
+    public static List<Country> selectAllCountries() {
+        List<Country> countries = new ArrayList<>();
+
+        String sql = "SELECT Country_ID, Country FROM client_schedule.countries";
+
+        try {
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                countries.add(new Country(resultSet.getInt("Country_ID"), resultSet.getString("Country")));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error while fetching countries: " + e.getMessage());
+        }
+        return countries;
+    }
+
     /**
      * Selects all country names from the database
      *
@@ -52,7 +75,7 @@ public class CountryDAO {
 
         try {
             String sql = "SELECT Country FROM client_schedule.countries";
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             ResultSet resultSet = statement.executeQuery();
 
             while (resultSet.next()) {
@@ -79,7 +102,7 @@ public class CountryDAO {
         String sql = "SELECT Country_ID FROM client_schedule.countries WHERE Country = ?";
 
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, countryName);
             ResultSet resultSet = statement.executeQuery();
 
@@ -1,13 +1,19 @@
 package DAO;
 
 import helper.JDBC;
+import helper.Log;
+import helper.TimeConversion;
+import helper.UnitOfWork;
 import model.Country;
 import model.Customer;
 import model.Division;
+import model.OptimisticLock;
+import model.UpdateResult;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -19,27 +25,36 @@ import java.util.List;
 public class CustomerDAO {
 
     /**
-     * Inserts a new customer into the database.
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(CustomerDAO.class);
+
+    /**
+     * Inserts a customer. Parameters are bound by {@link #bindCustomer}.
+     */
+    static final String INSERT_CUSTOMER_SQL = "INSERT INTO client_schedule.customers (Customer_Name, " +
+            "Address, Phone, Division_ID, Postal_Code, Create_Date, Created_By, Last_Update, Last_Updated_By) VALUES " +
+            "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Inserts a new customer into the database, and sets the customer's ID to the one generated for it.
      *
      * @param customer The customer object to insert.
      * @return True if the insertion was successful, false otherwise.
      */
     public static boolean insertCustomer(Customer customer) {
-        String sql = "INSERT INTO client_schedule.customers (Customer_Name, Address, Phone, Division_ID, Postal_Code," +
-                " Create_Date, Created_By, Last_Update, Last_Updated_By) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setString(1, customer.getName());
-            statement.setString(2, customer.getAddress());
-            statement.setString(3, customer.getPhone());
-            statement.setInt(4, DivisionDAO.selectDivisionIdByName(customer.getStateProvince()));
-            statement.setString(5, customer.getPostalCode());
-            statement.setTimestamp(6, Timestamp.valueOf(customer.getCreateDate())); // this line
-            statement.setString(7, customer.getCreatedBy());
-            statement.setTimestamp(8, customer.getLastUpdate()); // this line
-            statement.setString(9, customer.getLastUpdatedBy());
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(INSERT_CUSTOMER_SQL,
+                    Statement.RETURN_GENERATED_KEYS);
+            bindCustomer(statement, customer);
 
-            return statement.executeUpdate() > 0;
+            boolean inserted = statement.executeUpdate() > 0;
+            JDBC.recordWrite();
+            ResultSet generatedKeys = statement.getGeneratedKeys();
+            if (inserted && generatedKeys.next()) {
+                customer.setId(generatedKeys.getInt(1));
+            }
+            return inserted;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -47,48 +62,107 @@ public class CustomerDAO {
     }
 
     /**
-     * Updates a customer record in the database.
+     * Updates a customer record in the database, provided nobody else has updated it since it was read. The check
+     * compares the row's Last_Update with the time the caller read, so no lock is held while the user edits.
      *
-     * @param customer The customer object containing updated data.
-     * @return True if the update was successful, false otherwise.
+     * @param customer           The customer object containing updated data.
+     * @param expectedLastUpdate The customer's Last_Update when it was read.
+     * @return The result of the update, with the current customer if someone else changed it first.
      */
-    public static boolean updateCustomer(Customer customer) {
+    public static UpdateResult<Customer> updateCustomer(Customer customer, Timestamp expectedLastUpdate) {
         String sql = "UPDATE client_schedule.customers SET Customer_Name = ?, Address = ?, Phone = ?, Division_ID = " +
-                "?, Postal_Code = ?, Last_Update = ?, Last_Updated_By = ? WHERE Customer_ID = ?";
+                "?, Postal_Code = ?, Last_Update = ?, Last_Updated_By = ? WHERE Customer_ID = ? AND " +
+                OptimisticLock.LAST_UPDATE_UNCHANGED;
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, customer.getName());
             statement.setString(2, customer.getAddress());
             statement.setString(3, customer.getPhone());
-            statement.setInt(4, DivisionDAO.selectDivisionIdByName(customer.getStateProvince()));
+            statement.setInt(4, ReferenceDataCache.getDivisionIdFor(customer));
             statement.setString(5, customer.getPostalCode());
             statement.setTimestamp(6, customer.getLastUpdate());
             statement.setString(7, customer.getLastUpdatedBy());
             statement.setInt(8, customer.getId());
+            statement.setTimestamp(9, expectedLastUpdate);
+            statement.setTimestamp(10, expectedLastUpdate);
 
-            return statement.executeUpdate() > 0;
+            if (statement.executeUpdate() > 0) {
+                JDBC.recordWrite();
+                return UpdateResult.updated(customer);
+            }
+            Customer current = selectCustomerById(customer.getId());
+            log.trace(() -> "                 Update conflict for customer " + customer.getId());
+            return current == null ? UpdateResult.notFound() : UpdateResult.conflict(current);
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return UpdateResult.failed();
         }
     }
 
     /**
-     * Deletes the customer record from the database associated with the provided unique ID.
+     * Opens a writer that inserts customers in JDBC batches, for bulk imports.
+     *
+     * @param batchSize  Number of customers sent to the database per batch.
+     * @param commitSize Number of customers written per transaction.
+     * @return The batch writer. The caller must close or abort it.
+     * @throws SQLException If the insert statement cannot be prepared.
+     */
+    public static BatchWriter<Customer> openBatchWriter(int batchSize, int commitSize) throws SQLException {
+        return new BatchWriter<>(INSERT_CUSTOMER_SQL, false, CustomerDAO::bindCustomer, batchSize, commitSize);
+    }
+
+    /**
+     * Binds the column values of a customer to the parameters of {@link #INSERT_CUSTOMER_SQL}. The division ID is
+     * the one the customer carries, or else is resolved from the customer's state/province name through the
+     * reference data cache.
+     *
+     * @param statement The insert statement.
+     * @param customer  The customer supplying the values.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    static void bindCustomer(PreparedStatement statement, Customer customer) throws SQLException {
+        statement.setString(1, customer.getName());
+        statement.setString(2, customer.getAddress());
+        statement.setString(3, customer.getPhone());
+        statement.setInt(4, ReferenceDataCache.getDivisionIdFor(customer));
+        statement.setString(5, customer.getPostalCode());
+        statement.setObject(6, TimeConversion.toUtc(customer.getCreateDate()));
+        statement.setString(7, customer.getCreatedBy());
+        statement.setTimestamp(8, customer.getLastUpdate());
+        statement.setString(9, customer.getLastUpdatedBy());
+    }
+
+    /**
+     * Deletes the customer record from the database associated with the provided unique ID, along with the
+     * customer's appointments.
      *
      * @param id The id of the customer to be deleted.
      * @return True if the deletion was successful, false otherwise.
      */
     public static boolean deleteCustomer(int id) {
-        String sql = "DELETE FROM client_schedule.customers WHERE Customer_ID = ?";
-        try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
-            statement.setInt(1, id);
+        return deleteCustomers(List.of(id)) > 0;
+    }
 
-            return statement.executeUpdate() > 0;
+    /**
+     * Deletes a set of customers in a single transaction, together with their appointments and the recurrence rules
+     * of those appointments. IDs are bound in IN lists of up to {@link app.Global#DELETE_CHUNK_SIZE} at a time. If
+     * any statement fails, nothing is deleted.
+     *
+     * @param ids The IDs of the customers to delete.
+     * @return The number of customers deleted, or -1 if the deletion failed.
+     */
+    public static int deleteCustomers(List<Integer> ids) {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            JDBC.executeUpdateForIds("DELETE FROM client_schedule.appointment_recurrences WHERE Appointment_ID IN " +
+                    "(SELECT Appointment_ID FROM client_schedule.appointments WHERE Customer_ID IN (?))", ids);
+            JDBC.executeUpdateForIds("DELETE FROM client_schedule.appointments WHERE Customer_ID IN (?)", ids);
+            int deleted = JDBC.executeUpdateForIds("DELETE FROM client_schedule.customers WHERE Customer_ID IN (?)",
+                    ids);
+            work.commit();
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return -1;
         }
     }
 
@@ -99,15 +173,36 @@ public class CustomerDAO {
      * @return The list of all customers in the database, or null if no customer records were found.
      */
     public static List<Customer> selectAllCustomers() {
+        return selectCustomers("SELECT * FROM client_schedule.customers");
+    }
+
+    /**
+     * Fetches the customers last updated at or after a given time, for synchronizing a local replica.
+     *
+     * @param since The earliest last update time to include.
+     * @return The customers updated since the given time.
+     */
+    public static List<Customer> selectCustomersUpdatedSince(Timestamp since) {
+        return selectCustomers("SELECT * FROM client_schedule.customers WHERE Last_Update >= ?", since);
+    }
+
+    /**
+     * Fetches the customers selected by a query, resolving their division and country names.
+     *
+     * @param sql        The query, selecting all columns of the customers table.
+     * @param parameters Values for the query's parameters.
+     * @return The customers.
+     */
+    private static List<Customer> selectCustomers(String sql, Object... parameters) {
         // Create empty list
         List<Customer> customers = new ArrayList<>();
 
-        // SQL Used
-        String sql = "SELECT * FROM client_schedule.customers";
-
-        // Use established JDBC connection to query database with sql string
+        // Listings can be read from the replica
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getReadConnection().prepareStatement(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
             ResultSet resultSet = statement.executeQuery();
 
             // Process resultSet
@@ -117,7 +212,8 @@ public class CustomerDAO {
                 String address = resultSet.getString("Address");
                 String postalCode = resultSet.getString("Postal_Code");
                 String phone = resultSet.getString("Phone");
-                LocalDateTime createDate = resultSet.getObject("Create_Date", LocalDateTime.class);
+                LocalDateTime createDate = TimeConversion.fromUtc(resultSet.getObject("Create_Date",
+                        LocalDateTime.class));
                 String createdBy = resultSet.getString("Created_By");
                 Timestamp lastUpdate = resultSet.getTimestamp("Last_Update");
                 String lastUpdatedBy = resultSet.getString("Last_Updated_By");
@@ -129,8 +225,8 @@ public class CustomerDAO {
                  * To retrieve these values I need to:
                  */
 
-                // 1. Query first_level_divisions with Division_ID, retrieve Country_ID
-                Division division = DivisionDAO.selectDivisionById(divisionId);
+                // 1. Look up the division by Division_ID in the reference data cache, retrieve Country_ID
+                Division division = ReferenceDataCache.getDivisionById(divisionId);
                 if (division == null) {
                     // Handle case where division is null
                     System.err.println("No division found for division ID: " + divisionId);
@@ -139,8 +235,8 @@ public class CustomerDAO {
                 String stateProvince = division.getDivisionName();
                 int countryId = division.getAssociatedCountryId();
 
-                // 2. Query countries with Country_ID, retrieve Country (name of country)
-                Country country = CountryDAO.select(countryId);
+                // 2. Look up the country by Country_ID in the reference data cache, retrieve Country (name of country)
+                Country country = ReferenceDataCache.getCountryById(countryId);
                 if (country == null) {
                     // Handle case where country is null
                     System.err.println("No country found for country ID: " + countryId);
@@ -150,8 +246,10 @@ public class CustomerDAO {
 
 
                 // Create new customer object and add it to the customers list
-                customers.add(new Customer(id, name, address, phone, stateProvince, postalCode, countryName,
-                        createDate, createdBy, lastUpdate, lastUpdatedBy));
+                Customer customer = new Customer(id, name, address, phone, stateProvince, postalCode, countryName,
+                        createDate, createdBy, lastUpdate, lastUpdatedBy);
+                customer.setDivisionId(divisionId);
+                customers.add(customer);
             }
         } catch (SQLException e) {
             System.err.println("Error while fetching customers: " + e.getMessage());
@@ -170,7 +268,7 @@ public class CustomerDAO {
     public static Customer selectCustomerById(int id) {
         String sql = "SELECT * FROM client_schedule.customers WHERE Customer_ID = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, id);
             ResultSet resultSet = statement.executeQuery();
 
@@ -180,21 +278,22 @@ public class CustomerDAO {
                 String address = resultSet.getString("Address");
                 String postalCode = resultSet.getString("Postal_Code");
                 String phone = resultSet.getString("Phone");
-                LocalDateTime createDate = resultSet.getTimestamp("Create_Date").toLocalDateTime();
+                LocalDateTime createDate = TimeConversion.fromUtc(resultSet.getObject("Create_Date",
+                        LocalDateTime.class));
                 String createdBy = resultSet.getString("Created_By");
                 Timestamp lastUpdate = resultSet.getTimestamp("Last_Update");
                 String lastUpdatedBy = resultSet.getString("Last_Updated_By");
                 int divisionId = resultSet.getInt("Division_ID");
 
                 // Get the Division object
-                Division division = DivisionDAO.selectDivisionById(divisionId);
+                Division division = ReferenceDataCache.getDivisionById(divisionId);
                 if (division == null) {
                     System.err.println("No division found for division ID: " + divisionId);
                     return null;
                 }
                 String stateProvince = division.getDivisionName();
                 // Get the Country object associated with the division
-                Country country = CountryDAO.select(division.getAssociatedCountryId());
+                Country country = ReferenceDataCache.getCountryById(division.getAssociatedCountryId());
                 if (country == null) {
                     System.err.println("No country found for country ID: " + division.getAssociatedCountryId());
                     return null;
@@ -203,7 +302,7 @@ public class CustomerDAO {
 
                 // Return the new Customer object
 
-                return new Customer(
+                Customer customer = new Customer(
                         customerId,
                         name,
                         address,
@@ -216,6 +315,8 @@ public class CustomerDAO {
                         lastUpdate,
                         lastUpdatedBy
                 );
+                customer.setDivisionId(divisionId);
+                return customer;
             }
         } catch (SQLException e) {
             e.printStackTrace();
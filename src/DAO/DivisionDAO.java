@@ -30,7 +30,7 @@ public class DivisionDAO {
 
         // Use established JDBC connection to query database with sql string
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, divisionId);
             ResultSet resultSet = statement.executeQuery();
 
@@ -47,6 +47,34 @@ public class DivisionDAO {
     }
 
 
+    /**
+     * Selects all division records from the database.
+     *
+     * @return A list of all divisions; empty if none found or an error occurred.
+     */
+    public static List<Division> selectAllDivisions() {
+
+        List<Division> divisions = new ArrayList<>();
+
+        // SQL Used
+        String sql = "SELECT Division_ID, Division, Country_ID FROM client_schedule.first_level_divisions";
+
+        // Use established JDBC connection to query database with sql string
+        try {
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
+            ResultSet resultSet = statement.executeQuery();
+
+            // Process resultSet
+            while (resultSet.next()) {
+                divisions.add(new Division(resultSet.getInt("Division_ID"), resultSet.getString("Division"),
+                        resultSet.getInt("Country_ID")));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error while fetching divisions: " + e.getMessage());
+        }
+        return divisions;
+    }
+
     /**
      * Selects the division ID from the database that matches the provided division name.
      *
@@ -61,7 +89,7 @@ public class DivisionDAO {
 
         // Use established JDBC connection to query database with sql string
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, divisionName);
             ResultSet resultSet = statement.executeQuery();
 
@@ -91,7 +119,7 @@ public class DivisionDAO {
 
         // Use established JDBC connection to query database with sql string
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, countryId);
             ResultSet resultSet = statement.executeQuery();
 
@@ -0,0 +1,296 @@
+package DAO;
+
+import helper.JDBC;
+import helper.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the database schema up to date at startup by applying numbered DDL scripts from {@code db/migration} on
+ * the classpath. Each applied script is recorded in the schema_migrations table with a SHA-256 checksum of its
+ * contents, so it is applied only once, and a script that was changed after being applied is reported instead of
+ * being silently skipped. Scripts are named {@code V<number>__<description>.sql} and are applied in order.
+ * <p>
+ * An embedded database starts out empty, so it first gets the baseline script that creates the client_schedule
+ * tables and their starter data. MySQL databases are created by the database setup script and skip the baseline.
+ * The local replica used in local-first mode also gets the scripts that create its synchronization tables, which are
+ * numbered from 1001 so they never collide with the shared scripts.
+ */
+public class MigrationRunner {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(MigrationRunner.class);
+
+    /**
+     * Classpath folder holding the migration scripts.
+     */
+    private static final String SCRIPT_FOLDER = "/db/migration/";
+
+    /**
+     * The migration scripts, in the order they are applied. New scripts are added to the end; applied scripts must
+     * not be changed. MySQL commits each DDL statement as it runs, so a script that fails partway keeps the changes
+     * made before the failure and fails on them when it is run again. A statement that cannot be repeated, such as
+     * CREATE INDEX, therefore goes in a script of its own.
+     */
+    private static final String[] SCRIPTS = {
+            "V001__create_appointment_recurrences.sql",
+            "V002__add_appointments_customer_start_end_index.sql",
+            "V003__add_appointments_contact_start_index.sql",
+            "V004__add_appointments_user_start_index.sql",
+            "V005__add_appointments_start_end_index.sql",
+            "V006__add_contacts_contact_name_index.sql",
+            "V007__add_divisions_division_index.sql",
+            "V008__add_countries_country_index.sql"
+    };
+
+    /**
+     * Creates the client_schedule tables in a new embedded database, before the other migrations.
+     */
+    private static final String EMBEDDED_BASELINE_SCRIPT = "V000__create_client_schedule.sql";
+
+    /**
+     * Scripts applied only to the local replica in local-first mode, after the shared scripts.
+     */
+    private static final String[] LOCAL_REPLICA_SCRIPTS = {
+            "V1001__create_sync_tables.sql",
+            "V1002__add_outbox_server_ids.sql"
+    };
+
+    /**
+     * Creates the table recording applied migrations.
+     */
+    private static final String CREATE_HISTORY_TABLE_SQL = "CREATE TABLE IF NOT EXISTS " +
+            "client_schedule.schema_migrations (" +
+            "Version INT NOT NULL PRIMARY KEY, " +
+            "Description VARCHAR(200) NOT NULL, " +
+            "Checksum CHAR(64) NOT NULL, " +
+            "Applied_At TIMESTAMP NOT NULL, " +
+            "Execution_Millis BIGINT NOT NULL)";
+
+    /**
+     * Applies the migrations that have not been applied yet. Stops at the first script that fails, or at an applied
+     * script whose checksum no longer matches, so later scripts never run against an unexpected schema.
+     *
+     * @return True if the schema is up to date, false otherwise.
+     */
+    public static boolean migrate() {
+        log.trace("[Method Call]    MigrationRunner.migrate");
+        try {
+            Connection connection = JDBC.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_HISTORY_TABLE_SQL);
+            }
+            Map<Integer, String> appliedChecksums = selectAppliedChecksums(connection);
+
+            List<String> scripts = new ArrayList<>();
+            if (JDBC.isEmbedded()) {
+                scripts.add(EMBEDDED_BASELINE_SCRIPT);
+            }
+            scripts.addAll(List.of(SCRIPTS));
+            if (JDBC.isLocalFirst()) {
+                scripts.addAll(List.of(LOCAL_REPLICA_SCRIPTS));
+            }
+            for (String script : scripts) {
+                Migration migration = Migration.load(script);
+                String appliedChecksum = appliedChecksums.get(migration.version);
+                if (appliedChecksum == null) {
+                    apply(connection, migration);
+                } else if (!appliedChecksum.equals(migration.checksum)) {
+                    System.err.println("Migration " + script + " has changed since it was applied (checksum " +
+                            appliedChecksum + ", now " + migration.checksum + "). Schema migration stopped.");
+                    return false;
+                }
+            }
+            return true;
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the checksum of each applied migration.
+     *
+     * @param connection The connection to query.
+     * @return The checksums, keyed by migration version.
+     * @throws SQLException If the query fails.
+     */
+    private static Map<Integer, String> selectAppliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, String> checksums = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT Version, Checksum FROM client_schedule.schema_migrations");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                checksums.put(resultSet.getInt("Version"), resultSet.getString("Checksum"));
+            }
+        }
+        return checksums;
+    }
+
+    /**
+     * Runs the statements of a migration and records it as applied. DDL statements commit implicitly, so a script
+     * that fails partway is not rolled back; it is left unrecorded so the failure is reported again at next startup.
+     *
+     * @param connection The connection to run the migration on.
+     * @param migration  The migration.
+     * @throws SQLException If a statement fails.
+     */
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        log.trace(() -> "                 Applying migration " + migration.version + ": " + migration.description);
+        long startNanos = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : migration.statements) {
+                statement.execute(sql);
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO client_schedule.schema_migrations " +
+                "(Version, Description, Checksum, Applied_At, Execution_Millis) VALUES (?, ?, ?, ?, ?)")) {
+            statement.setInt(1, migration.version);
+            statement.setString(2, migration.description);
+            statement.setString(3, migration.checksum);
+            statement.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+            statement.setLong(5, elapsedMillis);
+            statement.executeUpdate();
+        }
+        JDBC.recordWrite();
+    }
+
+    /**
+     * A migration script, parsed into its statements.
+     */
+    private static final class Migration {
+
+        /**
+         * The version number from the script name.
+         */
+        private final int version;
+
+        /**
+         * The description from the script name, with underscores replaced by spaces.
+         */
+        private final String description;
+
+        /**
+         * SHA-256 checksum of the script, as lowercase hex.
+         */
+        private final String checksum;
+
+        /**
+         * The SQL statements in the script, in order.
+         */
+        private final List<String> statements;
+
+        /**
+         * Constructs a Migration.
+         *
+         * @param version     The version number.
+         * @param description The description.
+         * @param checksum    The checksum of the script.
+         * @param statements  The SQL statements.
+         */
+        private Migration(int version, String description, String checksum, List<String> statements) {
+            this.version = version;
+            this.description = description;
+            this.checksum = checksum;
+            this.statements = statements;
+        }
+
+        /**
+         * Reads a migration script from the classpath. Line endings are normalized before the checksum is taken, so
+         * checking the scripts out on another platform does not change their checksums.
+         *
+         * @param script The script name, such as "V001__create_appointment_recurrences.sql".
+         * @return The migration.
+         * @throws IOException If the script cannot be read or its name is not a valid migration name.
+         */
+        private static Migration load(String script) throws IOException {
+            int separator = script.indexOf("__");
+            if (!script.startsWith("V") || separator < 0 || !script.endsWith(".sql")) {
+                throw new IOException("Invalid migration script name: " + script);
+            }
+            int version;
+            try {
+                version = Integer.parseInt(script.substring(1, separator));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid migration script name: " + script, e);
+            }
+            String description = script.substring(separator + 2, script.length() - ".sql".length())
+                    .replace('_', ' ');
+
+            String text;
+            try (InputStream in = MigrationRunner.class.getResourceAsStream(SCRIPT_FOLDER + script)) {
+                if (in == null) {
+                    throw new IOException("Migration script not found: " + SCRIPT_FOLDER + script);
+                }
+                text = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            }
+            return new Migration(version, description, sha256(text), splitStatements(text));
+        }
+
+        /**
+         * Splits a script into statements. Statements end with a semicolon at the end of a line, and lines starting
+         * with "--" are comments.
+         *
+         * @param text The script.
+         * @return The statements, without their semicolons.
+         */
+        private static List<String> splitStatements(String text) {
+            List<String> statements = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            for (String line : text.split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                if (current.length() > 0) {
+                    current.append('\n');
+                }
+                if (trimmed.endsWith(";")) {
+                    current.append(line, 0, line.lastIndexOf(';'));
+                    statements.add(current.toString().trim());
+                    current.setLength(0);
+                } else {
+                    current.append(line);
+                }
+            }
+            if (!current.toString().isBlank()) {
+                statements.add(current.toString().trim());
+            }
+            return statements;
+        }
+
+        /**
+         * Computes the SHA-256 checksum of a script.
+         *
+         * @param text The script.
+         * @return The checksum as lowercase hex.
+         */
+        private static String sha256(String text) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
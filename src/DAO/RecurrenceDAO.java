@@ -0,0 +1,169 @@
+package DAO;
+
+import helper.JDBC;
+import helper.TimeConversion;
+import model.RecurrenceFrequency;
+import model.RecurrenceRule;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Handles data access operations for appointment recurrence rules. Each recurring appointment has one row in the
+ * appointment_recurrences table, keyed by the ID of the appointment that holds the series' first occurrence.
+ * The row also stores when the series' last occurrence ends, so queries can skip series that ended before the range
+ * they are looking at.
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class RecurrenceDAO {
+
+    /**
+     * Columns selected alongside appointment columns when reading recurring appointments.
+     */
+    static final String RECURRENCE_COLUMNS = "r.Frequency, r.Repeat_Interval, r.Occurrence_Count, r.Until_Date, " +
+            "r.Exception_Dates";
+
+    /**
+     * Inserts or replaces a recurrence rule. Parameters are bound by {@link #bindRecurrenceRule}.
+     */
+    static final String SAVE_RECURRENCE_RULE_SQL = "INSERT INTO client_schedule.appointment_recurrences " +
+            "(Appointment_ID, Frequency, Repeat_Interval, Occurrence_Count, Until_Date, Exception_Dates, Series_End) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE Frequency = VALUES(Frequency), Repeat_Interval = " +
+            "VALUES(Repeat_Interval), Occurrence_Count = VALUES(Occurrence_Count), Until_Date = VALUES(Until_Date), " +
+            "Exception_Dates = VALUES(Exception_Dates), Series_End = VALUES(Series_End)";
+
+    /**
+     * Deletes the recurrence rule for an appointment. Takes the appointment ID as its only parameter.
+     */
+    static final String DELETE_RECURRENCE_RULE_SQL = "DELETE FROM client_schedule.appointment_recurrences " +
+            "WHERE Appointment_ID = ?";
+
+    /**
+     * Inserts or replaces the recurrence rule for an appointment.
+     *
+     * @param appointmentId The ID of the appointment holding the series' first occurrence.
+     * @param rule          The recurrence rule.
+     * @param seriesStart   The local start of the series' first occurrence.
+     * @param seriesEnd     The local end of the series' first occurrence.
+     * @return True if the rule was saved, false otherwise.
+     */
+    public static boolean saveRecurrenceRule(int appointmentId, RecurrenceRule rule, LocalDateTime seriesStart,
+                                             LocalDateTime seriesEnd) {
+        try {
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(SAVE_RECURRENCE_RULE_SQL);
+            bindRecurrenceRule(statement, appointmentId, rule, seriesStart, seriesEnd);
+            boolean saved = statement.executeUpdate() > 0;
+            JDBC.recordWrite();
+            return saved;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Binds a recurrence rule to the parameters of {@link #SAVE_RECURRENCE_RULE_SQL}.
+     *
+     * @param statement     The statement to bind.
+     * @param appointmentId The ID of the appointment holding the series' first occurrence.
+     * @param rule          The recurrence rule.
+     * @param seriesStart   The local start of the series' first occurrence.
+     * @param seriesEnd     The local end of the series' first occurrence.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    static void bindRecurrenceRule(PreparedStatement statement, int appointmentId, RecurrenceRule rule,
+                                   LocalDateTime seriesStart, LocalDateTime seriesEnd) throws SQLException {
+        // The end of the last occurrence, or null if the series repeats indefinitely
+        LocalDateTime lastStart = rule.lastOccurrenceStart(seriesStart);
+        LocalDateTime lastEnd = lastStart != null ? lastStart.plus(Duration.between(seriesStart, seriesEnd)) : null;
+
+        statement.setInt(1, appointmentId);
+        statement.setString(2, rule.getFrequency().name());
+        statement.setInt(3, rule.getInterval());
+        if (rule.getCount() != null) {
+            statement.setInt(4, rule.getCount());
+        } else {
+            statement.setNull(4, Types.INTEGER);
+        }
+        statement.setObject(5, rule.getUntil());
+        statement.setString(6, formatExceptions(rule.getExceptions()));
+        statement.setObject(7, TimeConversion.toUtc(lastEnd));
+    }
+
+    /**
+     * Deletes the recurrence rule for an appointment, if it has one.
+     *
+     * @param appointmentId The ID of the appointment.
+     * @return True if the statement ran successfully, whether or not a rule existed, false otherwise.
+     */
+    public static boolean deleteRecurrenceRule(int appointmentId) {
+        try {
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(DELETE_RECURRENCE_RULE_SQL);
+            statement.setInt(1, appointmentId);
+            statement.executeUpdate();
+            JDBC.recordWrite();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Reads the recurrence rule from a row selected with {@link #RECURRENCE_COLUMNS}.
+     *
+     * @param resultSet A row of appointment data joined with its recurrence rule.
+     * @return The recurrence rule, or null if the appointment does not repeat.
+     * @throws SQLException If a SQL error occurs during data extraction.
+     */
+    static RecurrenceRule readRecurrenceRule(ResultSet resultSet) throws SQLException {
+        String frequency = resultSet.getString("Frequency");
+        if (frequency == null) {
+            return null;
+        }
+        return new RecurrenceRule(
+                RecurrenceFrequency.valueOf(frequency),
+                resultSet.getInt("Repeat_Interval"),
+                resultSet.getObject("Occurrence_Count", Integer.class),
+                resultSet.getObject("Until_Date", LocalDate.class),
+                parseExceptions(resultSet.getString("Exception_Dates"))
+        );
+    }
+
+    /**
+     * Formats exception dates for storage as a comma-separated list of ISO dates.
+     *
+     * @param exceptions The exception dates.
+     * @return The formatted list, or null if there are no exceptions.
+     */
+    private static String formatExceptions(Set<LocalDate> exceptions) {
+        if (exceptions.isEmpty()) {
+            return null;
+        }
+        return exceptions.stream().map(LocalDate::toString).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Parses a stored comma-separated list of ISO exception dates.
+     *
+     * @param exceptionDates The stored list, or null.
+     * @return The exception dates.
+     */
+    private static Set<LocalDate> parseExceptions(String exceptionDates) {
+        Set<LocalDate> exceptions = new TreeSet<>();
+        if (exceptionDates != null && !exceptionDates.isBlank()) {
+            for (String date : exceptionDates.split(",")) {
+                exceptions.add(LocalDate.parse(date.trim()));
+            }
+        }
+        return exceptions;
+    }
+}
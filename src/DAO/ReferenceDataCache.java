@@ -0,0 +1,372 @@
+package DAO;
+
+import helper.CacheStats;
+import helper.JDBC;
+import model.Contact;
+import model.Country;
+import model.Customer;
+import model.Division;
+import repository.Repositories;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Holds an in-memory copy of the reference data used throughout the application: countries, first-level divisions,
+ * and contacts. The data is loaded once, either in the background during startup or on first use, and then served
+ * from memory so lookups do not require a database round trip. If a load fails, lookups return no data instead of
+ * retrying on every call; the load is tried again once the cache is invalidated or the database becomes available.
+ */
+public class ReferenceDataCache {
+
+    /**
+     * The currently loaded reference data, or null if it has not been loaded yet.
+     */
+    private static volatile Snapshot snapshot;
+
+    /**
+     * Whether the last load failed. Lookups do not reload while this is set.
+     */
+    private static volatile boolean loadFailed;
+
+    /**
+     * Hits and misses of lookups against the loaded reference data.
+     */
+    private static final CacheStats cacheStats = CacheStats.get("Reference data");
+
+    static {
+        // A load that failed while the database was unavailable is worth retrying once it is back
+        JDBC.addAvailabilityListener(available -> {
+            if (available) {
+                loadFailed = false;
+            }
+        });
+    }
+
+    /**
+     * Loads all reference data from the repositories, replacing any previously loaded data.
+     */
+    public static synchronized void load() {
+        List<Country> countries = Repositories.referenceData().selectAllCountries();
+        List<Division> divisions = Repositories.referenceData().selectAllDivisions();
+        List<Contact> contacts = Repositories.contacts().selectAllContacts();
+
+        // Countries are always present in the schema, so an empty list means the load failed. Leave the cache empty
+        // and remember the failure, so lookups do not reload all three tables until a retry is worthwhile.
+        if (countries.isEmpty()) {
+            System.err.println("Reference data could not be loaded.");
+            loadFailed = true;
+            return;
+        }
+        snapshot = new Snapshot(countries, divisions, contacts);
+        loadFailed = false;
+    }
+
+    /**
+     * Discards the loaded reference data, so that it is reloaded on next use. This also allows a failed load to be
+     * tried again.
+     */
+    public static void invalidate() {
+        snapshot = null;
+        loadFailed = false;
+    }
+
+    /**
+     * Checks whether reference data is currently loaded.
+     *
+     * @return true if reference data is loaded, false otherwise.
+     */
+    public static boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Returns the names of all countries.
+     *
+     * @return An unmodifiable list of country names.
+     */
+    public static List<String> getCountryNames() {
+        Snapshot data = ensureLoaded();
+        return data == null ? Collections.emptyList() : data.countryNames;
+    }
+
+    /**
+     * Returns the country with the given ID.
+     *
+     * @param countryId The ID of the country.
+     * @return The country, or null if not found.
+     */
+    public static Country getCountryById(int countryId) {
+        Snapshot data = ensureLoaded();
+        return data == null ? null : data.countriesById.get(countryId);
+    }
+
+    /**
+     * Returns the ID of the country with the given name.
+     *
+     * @param countryName The name of the country.
+     * @return The country ID, or null if not found.
+     */
+    public static Integer getCountryIdByName(String countryName) {
+        Snapshot data = ensureLoaded();
+        return data == null ? null : data.countryIdsByName.get(countryName);
+    }
+
+    /**
+     * Returns the division with the given ID.
+     *
+     * @param divisionId The ID of the division.
+     * @return The division, or null if not found.
+     */
+    public static Division getDivisionById(int divisionId) {
+        Snapshot data = ensureLoaded();
+        return data == null ? null : data.divisionsById.get(divisionId);
+    }
+
+    /**
+     * Returns the ID of the division with the given name.
+     *
+     * @param divisionName The name of the division.
+     * @return The division ID, or -1 if not found.
+     */
+    public static int getDivisionIdByName(String divisionName) {
+        Snapshot data = ensureLoaded();
+        Integer divisionId = data == null ? null : data.divisionIdsByName.get(divisionName);
+        return divisionId == null ? -1 : divisionId;
+    }
+
+    /**
+     * Returns the ID of a customer's division: the ID the customer carries, if any, or else the ID of the division
+     * with the customer's state/province name.
+     *
+     * @param customer The customer.
+     * @return The division ID, or -1 if not found.
+     */
+    public static int getDivisionIdFor(Customer customer) {
+        return customer.getDivisionId() != null ? customer.getDivisionId() :
+                getDivisionIdByName(customer.getStateProvince());
+    }
+
+    /**
+     * Returns the names of all divisions belonging to the given country.
+     *
+     * @param countryId The ID of the country.
+     * @return An unmodifiable list of division names; empty if none found.
+     */
+    public static List<String> getDivisionNamesByCountryId(int countryId) {
+        Snapshot data = ensureLoaded();
+        return data == null ? Collections.emptyList() :
+                data.divisionNamesByCountryId.getOrDefault(countryId, Collections.emptyList());
+    }
+
+    /**
+     * Returns all contacts.
+     *
+     * @return An unmodifiable list of contacts.
+     */
+    public static List<Contact> getContacts() {
+        Snapshot data = ensureLoaded();
+        return data == null ? Collections.emptyList() : data.contacts;
+    }
+
+    /**
+     * Returns the contact with the given ID.
+     *
+     * @param contactId The ID of the contact.
+     * @return The contact, or null if not found.
+     */
+    public static Contact getContactById(int contactId) {
+        Snapshot data = ensureLoaded();
+        return data == null ? null : data.contactsById.get(contactId);
+    }
+
+    /**
+     * Returns the contact with the given name.
+     *
+     * @param contactName The name of the contact.
+     * @return The contact, or null if not found.
+     */
+    public static Contact getContactByName(String contactName) {
+        Snapshot data = ensureLoaded();
+        return data == null ? null : data.contactsByName.get(contactName);
+    }
+
+    /**
+     * Finds a division by name, ignoring case, accents, punctuation, and extra spaces, so that "quebec" matches
+     * "Qu&eacute;bec". If divisions in more than one country share the name, the country name is used to choose
+     * between them.
+     *
+     * @param divisionName The division name to look up.
+     * @param countryName  The name of the division's country, or null or empty if not known.
+     * @return The matching division, or null if there is no match or the match is ambiguous.
+     */
+    public static Division findDivision(String divisionName, String countryName) {
+        Snapshot data = ensureLoaded();
+        if (data == null || divisionName == null) {
+            return null;
+        }
+        List<Division> matches = data.divisionsByNormalizedName.get(normalizeName(divisionName));
+        if (matches == null) {
+            return null;
+        }
+        if (countryName == null || countryName.isBlank()) {
+            return matches.size() == 1 ? matches.get(0) : null;
+        }
+        Integer countryId = data.countryIdsByNormalizedName.get(normalizeName(countryName));
+        for (Division division : matches) {
+            if (countryId != null && division.getAssociatedCountryId() == countryId) {
+                return division;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Normalizes a reference data name for matching: accents are removed, letters are lower-cased, punctuation is
+     * dropped, and runs of spaces are collapsed.
+     *
+     * @param name The name to normalize.
+     * @return The normalized name.
+     */
+    public static String normalizeName(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else if (Character.isWhitespace(c) || c == '-' || c == '_') {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the loaded reference data, loading it first if needed. If a background load is already running, this
+     * waits for it to finish instead of starting a second one. After a failed load, nothing is loaded until the cache
+     * is invalidated or the database becomes available again.
+     *
+     * @return The loaded reference data, or null if it could not be loaded.
+     */
+    private static Snapshot ensureLoaded() {
+        Snapshot data = snapshot;
+        cacheStats.record(data != null);
+        if (data == null && !loadFailed) {
+            synchronized (ReferenceDataCache.class) {
+                if (snapshot == null && !loadFailed) {
+                    load();
+                }
+                data = snapshot;
+            }
+        }
+        return data;
+    }
+
+    /**
+     * An immutable set of reference data with lookup indexes.
+     */
+    private static final class Snapshot {
+
+        /**
+         * Country names, in database order.
+         */
+        private final List<String> countryNames;
+
+        /**
+         * Countries keyed by ID.
+         */
+        private final Map<Integer, Country> countriesById = new HashMap<>();
+
+        /**
+         * Country IDs keyed by country name.
+         */
+        private final Map<String, Integer> countryIdsByName = new HashMap<>();
+
+        /**
+         * Country IDs keyed by normalized country name.
+         */
+        private final Map<String, Integer> countryIdsByNormalizedName = new HashMap<>();
+
+        /**
+         * Divisions keyed by ID.
+         */
+        private final Map<Integer, Division> divisionsById = new HashMap<>();
+
+        /**
+         * Division IDs keyed by division name.
+         */
+        private final Map<String, Integer> divisionIdsByName = new HashMap<>();
+
+        /**
+         * Divisions keyed by normalized division name. A name can belong to divisions in more than one country.
+         */
+        private final Map<String, List<Division>> divisionsByNormalizedName = new HashMap<>();
+
+        /**
+         * Division names grouped by country ID.
+         */
+        private final Map<Integer, List<String>> divisionNamesByCountryId = new HashMap<>();
+
+        /**
+         * Contacts, in database order.
+         */
+        private final List<Contact> contacts;
+
+        /**
+         * Contacts keyed by ID.
+         */
+        private final Map<Integer, Contact> contactsById = new HashMap<>();
+
+        /**
+         * Contacts keyed by name.
+         */
+        private final Map<String, Contact> contactsByName = new HashMap<>();
+
+        /**
+         * Builds the lookup indexes for the given reference data.
+         *
+         * @param countries All countries.
+         * @param divisions All first-level divisions.
+         * @param contacts  All contacts.
+         */
+        private Snapshot(List<Country> countries, List<Division> divisions, List<Contact> contacts) {
+            List<String> names = new ArrayList<>();
+            for (Country country : countries) {
+                names.add(country.getName());
+                countriesById.put(country.getId(), country);
+                countryIdsByName.put(country.getName(), country.getId());
+                countryIdsByNormalizedName.put(normalizeName(country.getName()), country.getId());
+            }
+            this.countryNames = Collections.unmodifiableList(names);
+
+            Map<Integer, List<String>> namesByCountry = new HashMap<>();
+            for (Division division : divisions) {
+                divisionsById.put(division.getDivisionId(), division);
+                divisionIdsByName.putIfAbsent(division.getDivisionName(), division.getDivisionId());
+                divisionsByNormalizedName.computeIfAbsent(normalizeName(division.getDivisionName()),
+                        name -> new ArrayList<>()).add(division);
+                namesByCountry.computeIfAbsent(division.getAssociatedCountryId(), id -> new ArrayList<>())
+                        .add(division.getDivisionName());
+            }
+            namesByCountry.forEach((countryId, divisionNames) ->
+                    divisionNamesByCountryId.put(countryId, Collections.unmodifiableList(divisionNames)));
+
+            this.contacts = Collections.unmodifiableList(new ArrayList<>(contacts));
+            for (Contact contact : contacts) {
+                contactsById.put(contact.getId(), contact);
+                contactsByName.putIfAbsent(contact.getName(), contact);
+            }
+        }
+    }
+}
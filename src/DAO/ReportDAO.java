@@ -12,16 +12,17 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Handles data access operations for reporting purposes.
+ * Handles data access operations for reporting purposes. Reports only read, so they run on the read replica when
+ * one is configured and up to date.
  */
 public class ReportDAO {
 
     public static List<Map<String, Object>> showNumAppointmentsByTypeAndMonth() {
+        // Ordered by month number rather than MySQL's FIELD(), so the query also runs on the embedded database
         String sql = "SELECT MONTHNAME(Start) as Month, Type, COUNT(*) as NumAppointments " +
                 "FROM client_schedule.appointments " +
-                "GROUP BY MONTHNAME(Start), Type " +
-                "ORDER BY FIELD(Month, 'January', 'February', 'March', 'April', 'May', 'June', 'July', 'August', " +
-                "'September', 'October', 'November', 'December'), Type";
+                "GROUP BY MONTH(Start), MONTHNAME(Start), Type " +
+                "ORDER BY MONTH(Start), Type";
 
         return runReport(sql);
     }
@@ -44,7 +45,7 @@ public class ReportDAO {
                 "ORDER BY c.Contact_Name";
 
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getReadConnection().prepareStatement(sql);
             ResultSet resultSet = statement.executeQuery();
 
             while (resultSet.next()) {
@@ -72,7 +73,7 @@ public class ReportDAO {
         List<Map<String, Object>> results = new ArrayList<>();
 
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getReadConnection().prepareStatement(sql);
 
             // Loop through SQL placeholders to fill with real values
             for (int i = 0; i < params.length; i++) {
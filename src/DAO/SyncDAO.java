@@ -0,0 +1,426 @@
+package DAO;
+
+import helper.JDBC;
+import model.Appointment;
+import model.Customer;
+import model.OutboxEntry;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Handles data access operations for synchronizing the local replica with the MySQL server in local-first mode:
+ * the outbox of local changes waiting to be pushed, the watermarks of pulled changes, and copies of server rows
+ * saved under their server IDs. Unlike the other DAOs, failures are thrown rather than reported as empty results,
+ * since the sync engine must not mistake a failed query for missing rows. Statements run on the connection
+ * {@link JDBC#getConnection()} returns, so queries against the server are made within {@link JDBC#remote}.
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class SyncDAO {
+
+    /**
+     * The appointment columns copied between the server and the replica, in the order bound by
+     * {@link AppointmentDAO#bindAppointment}.
+     */
+    private static final String APPOINTMENT_COLUMNS = "Title, Description, Location, Type, Start, End, Create_Date, " +
+            "Created_By, Last_Update, Last_Updated_By, Customer_ID, User_ID, Contact_ID";
+
+    /**
+     * The customer columns copied between the server and the replica, in the order bound by
+     * {@link CustomerDAO#bindCustomer}.
+     */
+    private static final String CUSTOMER_COLUMNS = "Customer_Name, Address, Phone, Division_ID, Postal_Code, " +
+            "Create_Date, Created_By, Last_Update, Last_Updated_By";
+
+    /**
+     * Overwrites an appointment with a copy, by ID. Parameters are bound by {@link AppointmentDAO#bindAppointment},
+     * followed by the appointment ID.
+     */
+    private static final String UPDATE_APPOINTMENT_COPY_SQL = "UPDATE client_schedule.appointments SET Title = ?, " +
+            "Description = ?, Location = ?, Type = ?, Start = ?, End = ?, Create_Date = ?, Created_By = ?, " +
+            "Last_Update = ?, Last_Updated_By = ?, Customer_ID = ?, User_ID = ?, Contact_ID = ? " +
+            "WHERE Appointment_ID = ?";
+
+    /**
+     * Inserts a copy of an appointment under its existing ID. Parameters are bound as for
+     * {@link #UPDATE_APPOINTMENT_COPY_SQL}.
+     */
+    private static final String INSERT_APPOINTMENT_COPY_SQL = "INSERT INTO client_schedule.appointments (" +
+            APPOINTMENT_COLUMNS + ", Appointment_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Overwrites a customer with a copy, by ID. Parameters are bound by {@link CustomerDAO#bindCustomer}, followed
+     * by the customer ID.
+     */
+    private static final String UPDATE_CUSTOMER_COPY_SQL = "UPDATE client_schedule.customers SET Customer_Name = ?, " +
+            "Address = ?, Phone = ?, Division_ID = ?, Postal_Code = ?, Create_Date = ?, Created_By = ?, " +
+            "Last_Update = ?, Last_Updated_By = ? WHERE Customer_ID = ?";
+
+    /**
+     * Inserts a copy of a customer under its existing ID. Parameters are bound as for
+     * {@link #UPDATE_CUSTOMER_COPY_SQL}.
+     */
+    private static final String INSERT_CUSTOMER_COPY_SQL = "INSERT INTO client_schedule.customers (" +
+            CUSTOMER_COLUMNS + ", Customer_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Adds a local change to the end of the outbox. Called in the unit of work that makes the change, so the change
+     * and its outbox entry are kept or discarded together.
+     *
+     * @param entity         The kind of row changed.
+     * @param entityId       The ID of the row changed.
+     * @param operation      Whether the row was saved or deleted.
+     * @param baseLastUpdate The row's Last_Update before the change, or null if the row is new.
+     * @throws SQLException If the entry cannot be added.
+     */
+    public static void enqueue(OutboxEntry.Entity entity, int entityId, OutboxEntry.Operation operation,
+                               Timestamp baseLastUpdate) throws SQLException {
+        String sql = "INSERT INTO client_schedule.sync_outbox (Entity, Entity_ID, Operation, Base_Last_Update, " +
+                "Queued_At) VALUES (?, ?, ?, ?, ?)";
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
+        statement.setString(1, entity.name());
+        statement.setInt(2, entityId);
+        statement.setString(3, operation.name());
+        statement.setTimestamp(4, baseLastUpdate);
+        statement.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+        statement.executeUpdate();
+    }
+
+    /**
+     * Gets the outbox entries waiting to be pushed, oldest first.
+     *
+     * @return The pending entries.
+     * @throws SQLException If the outbox cannot be read.
+     */
+    public static List<OutboxEntry> selectPendingEntries() throws SQLException {
+        String sql = "SELECT * FROM client_schedule.sync_outbox ORDER BY Outbox_ID";
+        ResultSet resultSet = JDBC.getConnection().prepareStatement(sql).executeQuery();
+        List<OutboxEntry> entries = new ArrayList<>();
+        while (resultSet.next()) {
+            entries.add(new OutboxEntry(resultSet.getLong("Outbox_ID"),
+                    OutboxEntry.Entity.valueOf(resultSet.getString("Entity")),
+                    resultSet.getInt("Entity_ID"),
+                    OutboxEntry.Operation.valueOf(resultSet.getString("Operation")),
+                    resultSet.getTimestamp("Base_Last_Update"),
+                    resultSet.getObject("Server_ID", Integer.class)));
+        }
+        return entries;
+    }
+
+    /**
+     * Records the ID reserved on the server for the row an outbox entry created, before the row is written there.
+     *
+     * @param outboxId The ID of the entry.
+     * @param serverId The reserved server ID.
+     * @throws SQLException If the ID cannot be recorded.
+     */
+    public static void saveServerId(long outboxId, int serverId) throws SQLException {
+        executeUpdate("UPDATE client_schedule.sync_outbox SET Server_ID = ? WHERE Outbox_ID = ?", serverId, outboxId);
+    }
+
+    /**
+     * Removes an entry from the outbox once it has been pushed.
+     *
+     * @param outboxId The ID of the entry.
+     * @throws SQLException If the entry cannot be removed.
+     */
+    public static void deleteEntry(long outboxId) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(
+                "DELETE FROM client_schedule.sync_outbox WHERE Outbox_ID = ?");
+        statement.setLong(1, outboxId);
+        statement.executeUpdate();
+    }
+
+    /**
+     * Gets the IDs of the rows of one kind with changes waiting to be pushed. Pulled changes to these rows are not
+     * applied, so local changes are not overwritten before they reach the server.
+     *
+     * @param entity The kind of row.
+     * @return The IDs of the rows with pending changes.
+     * @throws SQLException If the outbox cannot be read.
+     */
+    public static Set<Integer> selectPendingIds(OutboxEntry.Entity entity) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(
+                "SELECT DISTINCT Entity_ID FROM client_schedule.sync_outbox WHERE Entity = ?");
+        statement.setString(1, entity.name());
+        return readIds(statement.executeQuery());
+    }
+
+    /**
+     * Checks whether a row has been changed again since an outbox entry was added for it.
+     *
+     * @param entity   The kind of row.
+     * @param entityId The ID of the row.
+     * @param outboxId The ID of the outbox entry.
+     * @return True if a later entry for the row is waiting in the outbox.
+     * @throws SQLException If the outbox cannot be read.
+     */
+    public static boolean hasLaterEntry(OutboxEntry.Entity entity, int entityId, long outboxId)
+            throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement("SELECT COUNT(*) FROM " +
+                "client_schedule.sync_outbox WHERE Entity = ? AND Entity_ID = ? AND Outbox_ID > ?");
+        statement.setString(1, entity.name());
+        statement.setInt(2, entityId);
+        statement.setLong(3, outboxId);
+        ResultSet resultSet = statement.executeQuery();
+        return resultSet.next() && resultSet.getInt(1) > 0;
+    }
+
+    /**
+     * Counts the outbox entries waiting to be pushed.
+     *
+     * @return The number of pending entries.
+     * @throws SQLException If the outbox cannot be read.
+     */
+    public static int countPending() throws SQLException {
+        ResultSet resultSet = JDBC.getConnection().prepareStatement(
+                "SELECT COUNT(*) FROM client_schedule.sync_outbox").executeQuery();
+        return resultSet.next() ? resultSet.getInt(1) : 0;
+    }
+
+    /**
+     * Gets the latest server Last_Update pulled for one kind of row.
+     *
+     * @param entity The kind of row.
+     * @return The watermark, or null if nothing has been pulled yet.
+     * @throws SQLException If the watermark cannot be read.
+     */
+    public static Timestamp selectWatermark(OutboxEntry.Entity entity) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(
+                "SELECT Last_Update FROM client_schedule.sync_watermarks WHERE Entity = ?");
+        statement.setString(1, entity.name());
+        ResultSet resultSet = statement.executeQuery();
+        return resultSet.next() ? resultSet.getTimestamp(1) : null;
+    }
+
+    /**
+     * Records the latest server Last_Update pulled for one kind of row.
+     *
+     * @param entity    The kind of row.
+     * @param watermark The latest Last_Update pulled.
+     * @throws SQLException If the watermark cannot be saved.
+     */
+    public static void saveWatermark(OutboxEntry.Entity entity, Timestamp watermark) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement("INSERT INTO " +
+                "client_schedule.sync_watermarks (Entity, Last_Update) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE Last_Update = VALUES(Last_Update)");
+        statement.setString(1, entity.name());
+        statement.setTimestamp(2, watermark);
+        statement.executeUpdate();
+    }
+
+    /**
+     * Gets the IDs of all rows of one kind.
+     *
+     * @param entity The kind of row.
+     * @return The IDs.
+     * @throws SQLException If the IDs cannot be read.
+     */
+    public static Set<Integer> selectIds(OutboxEntry.Entity entity) throws SQLException {
+        return readIds(JDBC.getConnection().prepareStatement("SELECT " + keyColumn(entity) + " FROM " +
+                table(entity)).executeQuery());
+    }
+
+    /**
+     * Checks whether a row exists.
+     *
+     * @param entity The kind of row.
+     * @param id     The ID of the row.
+     * @return True if the row exists.
+     * @throws SQLException If the check fails.
+     */
+    public static boolean exists(OutboxEntry.Entity entity, int id) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement("SELECT 1 FROM " + table(entity) +
+                " WHERE " + keyColumn(entity) + " = ?");
+        statement.setInt(1, id);
+        return statement.executeQuery().next();
+    }
+
+    /**
+     * Saves a copy of an appointment under its ID, replacing the row if it exists, together with its recurrence
+     * rule. Used to apply server changes to the replica.
+     *
+     * @param appointment The appointment to copy.
+     * @throws SQLException If the copy cannot be saved.
+     */
+    public static void saveAppointmentCopy(Appointment appointment) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(UPDATE_APPOINTMENT_COPY_SQL);
+        AppointmentDAO.bindAppointment(statement, appointment);
+        statement.setInt(14, appointment.getId());
+        if (statement.executeUpdate() == 0) {
+            PreparedStatement insert = JDBC.getConnection().prepareStatement(INSERT_APPOINTMENT_COPY_SQL);
+            AppointmentDAO.bindAppointment(insert, appointment);
+            insert.setInt(14, appointment.getId());
+            insert.executeUpdate();
+        }
+
+        if (appointment.isRecurring()) {
+            PreparedStatement rule = JDBC.getConnection().prepareStatement(RecurrenceDAO.SAVE_RECURRENCE_RULE_SQL);
+            RecurrenceDAO.bindRecurrenceRule(rule, appointment.getId(), appointment.getRecurrenceRule(),
+                    appointment.getStartTime(), appointment.getEndTime());
+            rule.executeUpdate();
+        } else {
+            PreparedStatement rule = JDBC.getConnection().prepareStatement(RecurrenceDAO.DELETE_RECURRENCE_RULE_SQL);
+            rule.setInt(1, appointment.getId());
+            rule.executeUpdate();
+        }
+    }
+
+    /**
+     * Saves a copy of a customer under its ID, replacing the row if it exists. Used to apply server changes to the
+     * replica.
+     *
+     * @param customer The customer to copy.
+     * @throws SQLException If the copy cannot be saved.
+     */
+    public static void saveCustomerCopy(Customer customer) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(UPDATE_CUSTOMER_COPY_SQL);
+        CustomerDAO.bindCustomer(statement, customer);
+        statement.setInt(10, customer.getId());
+        if (statement.executeUpdate() == 0) {
+            PreparedStatement insert = JDBC.getConnection().prepareStatement(INSERT_CUSTOMER_COPY_SQL);
+            CustomerDAO.bindCustomer(insert, customer);
+            insert.setInt(10, customer.getId());
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves a row created in the replica to the ID the server gave it, along with the rows referring to it and its
+     * pending outbox entries.
+     *
+     * @param entity The kind of row.
+     * @param oldId  The ID the replica gave the row.
+     * @param newId  The ID the server gave the row.
+     * @throws SQLException If the row cannot be moved. Call within a unit of work so nothing is moved then.
+     */
+    public static void rekey(OutboxEntry.Entity entity, int oldId, int newId) throws SQLException {
+        String columns = entity == OutboxEntry.Entity.APPOINTMENT ? APPOINTMENT_COLUMNS : CUSTOMER_COLUMNS;
+        String key = keyColumn(entity);
+        executeUpdate("INSERT INTO " + table(entity) + " (" + columns + ", " + key + ") SELECT " + columns + ", ? " +
+                "FROM " + table(entity) + " WHERE " + key + " = ?", newId, oldId);
+        if (entity == OutboxEntry.Entity.APPOINTMENT) {
+            executeUpdate("UPDATE client_schedule.appointment_recurrences SET Appointment_ID = ? " +
+                    "WHERE Appointment_ID = ?", newId, oldId);
+        } else {
+            executeUpdate("UPDATE client_schedule.appointments SET Customer_ID = ? WHERE Customer_ID = ?", newId,
+                    oldId);
+        }
+        executeUpdate("DELETE FROM " + table(entity) + " WHERE " + key + " = ?", oldId);
+        executeUpdate("UPDATE client_schedule.sync_outbox SET Entity_ID = ? WHERE Entity = ? AND Entity_ID = ?",
+                newId, entity.name(), oldId);
+    }
+
+    /**
+     * Reads every row of a reference table, such as users or contacts, as column values keyed by column name.
+     * Timestamps are read as LocalDateTime values, so rows read from MySQL and H2 compare equal.
+     *
+     * @param table The table name, qualified with its schema.
+     * @return The rows.
+     * @throws SQLException If the table cannot be read.
+     */
+    public static List<Map<String, Object>> selectRows(String table) throws SQLException {
+        ResultSet resultSet = JDBC.getConnection().prepareStatement("SELECT * FROM " + table).executeQuery();
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                Object value = resultSet.getObject(column);
+                row.put(metaData.getColumnLabel(column), value instanceof Timestamp timestamp ?
+                        timestamp.toLocalDateTime() : value);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Inserts rows read by {@link #selectRows} into a reference table, replacing rows with the same key.
+     *
+     * @param table The table name, qualified with its schema.
+     * @param rows  The rows, all with the same columns.
+     * @throws SQLException If the rows cannot be saved.
+     */
+    public static void saveRows(String table, List<Map<String, Object>> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        List<String> updates = new ArrayList<>();
+        for (String column : columns) {
+            updates.add(column + " = VALUES(" + column + ")");
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" +
+                String.join(", ", Collections.nCopies(columns.size(), "?")) + ") ON DUPLICATE KEY UPDATE " +
+                String.join(", ", updates);
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
+        for (Map<String, Object> row : rows) {
+            for (int i = 0; i < columns.size(); i++) {
+                statement.setObject(i + 1, row.get(columns.get(i)));
+            }
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+
+    /**
+     * Runs an update with positional parameters.
+     *
+     * @param sql        The statement.
+     * @param parameters Values for its parameters.
+     * @throws SQLException If the statement fails.
+     */
+    private static void executeUpdate(String sql, Object... parameters) throws SQLException {
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        statement.executeUpdate();
+    }
+
+    /**
+     * Reads a single column of IDs.
+     *
+     * @param resultSet The query result.
+     * @return The IDs.
+     * @throws SQLException If the result cannot be read.
+     */
+    private static Set<Integer> readIds(ResultSet resultSet) throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        while (resultSet.next()) {
+            ids.add(resultSet.getInt(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the table holding one kind of row.
+     *
+     * @param entity The kind of row.
+     * @return The table name, qualified with its schema.
+     */
+    private static String table(OutboxEntry.Entity entity) {
+        return entity == OutboxEntry.Entity.APPOINTMENT ? "client_schedule.appointments" : "client_schedule.customers";
+    }
+
+    /**
+     * Returns the ID column of one kind of row.
+     *
+     * @param entity The kind of row.
+     * @return The column name.
+     */
+    private static String keyColumn(OutboxEntry.Entity entity) {
+        return entity == OutboxEntry.Entity.APPOINTMENT ? "Appointment_ID" : "Customer_ID";
+    }
+}
@@ -24,14 +24,16 @@ public class UserDAO {
         String sql = "INSERT INTO client_schedule.users (User_Name, Password, Create_Date, Created_By, Last_Update, " +
                 "Last_Updated_By) VALUES (?, ?, ?, ?, ?, ?)";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, user.getName());
             statement.setString(2, user.getPassword());
             statement.setTimestamp(3, user.getCreateDate());
             statement.setString(4, user.getCreatedBy());
             statement.setTimestamp(5, user.getLastUpdate());
             statement.setString(6, user.getLastUpdatedBy());
-            return statement.executeUpdate() > 0;
+            boolean changed = statement.executeUpdate() > 0;
+            JDBC.recordWrite();
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -47,7 +49,7 @@ public class UserDAO {
     public static User selectUserById(int userId) {
         String sql = "SELECT * FROM client_schedule.users WHERE User_ID = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, userId);
             ResultSet resultSet = statement.executeQuery();
 
@@ -71,7 +73,7 @@ public class UserDAO {
     public static User selectUserByUsername(String username) {
         String sql = "SELECT * FROM client_schedule.users WHERE User_Name = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, username);
             ResultSet resultSet = statement.executeQuery();
 
@@ -95,7 +97,7 @@ public class UserDAO {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM client_schedule.users";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             ResultSet resultSet = statement.executeQuery();
 
             while (resultSet.next()) {
@@ -120,13 +122,15 @@ public class UserDAO {
         String sql = "UPDATE client_schedule.users SET User_Name = ?, Password = ?, Last_Update = ?, Last_Updated_By " +
                 "= ? WHERE User_ID = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setString(1, user.getName());
             statement.setString(2, user.getPassword());
             statement.setTimestamp(3, user.getLastUpdate());
             statement.setString(4, user.getLastUpdatedBy());
             statement.setInt(5, user.getId());
-            return statement.executeUpdate() > 0;
+            boolean changed = statement.executeUpdate() > 0;
+            JDBC.recordWrite();
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -142,9 +146,11 @@ public class UserDAO {
     public static boolean deleteUser(int userId) {
         String sql = "DELETE FROM client_schedule.users WHERE User_ID = ?";
         try {
-            PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+            PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
             statement.setInt(1, userId);
-            return statement.executeUpdate() > 0;
+            boolean changed = statement.executeUpdate() > 0;
+            JDBC.recordWrite();
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -161,7 +167,7 @@ public class UserDAO {
      */
     public static boolean verifyLoginCredentials(String username, String password) throws SQLException {
         String sql = "SELECT Password FROM client_schedule.users WHERE User_Name = ?";
-        PreparedStatement statement = JDBC.connection.prepareStatement(sql);
+        PreparedStatement statement = JDBC.getConnection().prepareStatement(sql);
 
         statement.setString(1, username);
         ResultSet resultSet = statement.executeQuery();
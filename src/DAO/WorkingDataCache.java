@@ -0,0 +1,282 @@
+package DAO;
+
+import helper.CacheStats;
+import helper.JDBC;
+import helper.Log;
+import model.Appointment;
+import model.Customer;
+import repository.Repositories;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Holds the working data a user needs right after logging in: their upcoming appointments, the current week's
+ * appointments, and the customer list. {@link #prefetch()} starts loading all three as soon as credentials are
+ * verified, so the first views shown after login can render without waiting on the database. The loads share the
+ * primary's single connection, which runs one statement at a time, so the upcoming appointments shown by the first
+ * view are loaded first and the other two follow. If a view asks for data that is still loading, it waits for the
+ * in-flight load rather than starting another.
+ * <p>
+ * Every list loaded through this class is also remembered as the last known good copy. While the database is
+ * unavailable the repositories return empty lists, so the last known copy is returned instead and the views keep
+ * showing the data they last loaded.
+ */
+public class WorkingDataCache {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(WorkingDataCache.class);
+
+    /**
+     * Threads used for background prefetching.
+     */
+    private static final ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+        Thread thread = new Thread(runnable, "prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Prefetched upcoming appointments for the current user. Consumed by the first view that reads it.
+     */
+    private static volatile CompletableFuture<List<Appointment>> upcomingAppointments;
+
+    /**
+     * Appointments for the week they were loaded for, so they are reloaded once a new week starts.
+     */
+    private static volatile WeekLoad currentWeekAppointments;
+
+    /**
+     * All customers.
+     */
+    private static volatile CompletableFuture<List<Customer>> customers;
+
+    /**
+     * Hits and misses of the working data, counting a load that is still in flight as a hit.
+     */
+    private static final CacheStats cacheStats = CacheStats.get("Working data");
+
+    /**
+     * The last list successfully loaded for each kind of working data, returned while the database is unavailable.
+     * Kept when the cache is invalidated, and only discarded by {@link #clear()}.
+     */
+    private static final Map<String, List<?>> lastKnown = new ConcurrentHashMap<>();
+
+    static {
+        // Lists cached while the database was unavailable may be last known copies, so reload once it is back
+        JDBC.addAvailabilityListener(available -> {
+            if (available) {
+                invalidateAppointments();
+                invalidateCustomers();
+            }
+        });
+    }
+
+    /**
+     * Starts loading the current user's upcoming appointments, the current week's appointments, and the customer
+     * list in parallel. Called once the current user has been set after a successful login.
+     */
+    public static void prefetch() {
+        CompletableFuture<List<Appointment>> upcoming = loadAsync(WorkingDataCache::loadUpcomingAppointments);
+        upcomingAppointments = upcoming;
+        LocalDate weekStart = currentWeekStart();
+        currentWeekAppointments = new WeekLoad(weekStart,
+                upcoming.handleAsync((loaded, error) -> loadWeekAppointments(weekStart), executor));
+        customers = upcoming.handleAsync((loaded, error) -> loadWithFallback("customers",
+                () -> Repositories.customers().selectAllCustomers()), executor);
+    }
+
+    /**
+     * Returns the upcoming appointments for the current user without waiting for them: the prefetched load, which
+     * may still be running, or else a new load on the prefetch threads. Upcoming appointments depend on the current
+     * time, so the prefetched list is only handed out once.
+     *
+     * @return A future that completes with the upcoming appointments for the current user.
+     */
+    public static CompletableFuture<List<Appointment>> takeUpcomingAppointmentsAsync() {
+        CompletableFuture<List<Appointment>> prefetched = upcomingAppointments;
+        upcomingAppointments = null;
+        cacheStats.record(prefetched != null);
+        return prefetched != null ? prefetched : loadAsync(WorkingDataCache::loadUpcomingAppointments);
+    }
+
+    /**
+     * Returns the appointments for the current week, Sunday through Saturday, loading them if they are not cached or
+     * were cached for an earlier week.
+     *
+     * @return The appointments for the current week.
+     */
+    public static List<Appointment> getCurrentWeekAppointments() {
+        LocalDate weekStart = currentWeekStart();
+        WeekLoad cached = currentWeekAppointments;
+        boolean hit = cached != null && cached.weekStart.equals(weekStart);
+        cacheStats.record(hit);
+        if (!hit) {
+            cached = new WeekLoad(weekStart, CompletableFuture.completedFuture(loadWeekAppointments(weekStart)));
+            currentWeekAppointments = cached;
+        }
+        return cached.appointments.join();
+    }
+
+    /**
+     * Returns all customers, loading them if they are not cached.
+     *
+     * @return The list of all customers.
+     */
+    public static List<Customer> getCustomers() {
+        CompletableFuture<List<Customer>> cached = customers;
+        cacheStats.record(cached != null);
+        if (cached == null) {
+            cached = CompletableFuture.completedFuture(loadWithFallback("customers",
+                    () -> Repositories.customers().selectAllCustomers()));
+            customers = cached;
+        }
+        return cached.join();
+    }
+
+    /**
+     * Loads the appointments for the current month. These are not cached, but are remembered for when the database
+     * is unavailable.
+     *
+     * @return The appointments for the current month.
+     */
+    public static List<Appointment> getCurrentMonthAppointments() {
+        return loadWithFallback("currentMonthAppointments",
+                () -> Repositories.appointments().selectAppointmentsForCurrentMonth());
+    }
+
+    /**
+     * Loads all appointments. These are not cached, but are remembered for when the database is unavailable.
+     *
+     * @return All appointments.
+     */
+    public static List<Appointment> getAllAppointments() {
+        return loadWithFallback("allAppointments", () -> Repositories.appointments().selectAllAppointments());
+    }
+
+    /**
+     * Discards cached appointment data after appointments have been changed.
+     */
+    public static void invalidateAppointments() {
+        upcomingAppointments = null;
+        currentWeekAppointments = null;
+    }
+
+    /**
+     * Discards the cached customer list after customers have been changed.
+     */
+    public static void invalidateCustomers() {
+        customers = null;
+    }
+
+    /**
+     * Discards all cached working data, for example when the user logs out.
+     */
+    public static void clear() {
+        invalidateAppointments();
+        invalidateCustomers();
+        lastKnown.clear();
+    }
+
+    /**
+     * Runs a load and remembers its result, or returns the last known result if the load came back empty because
+     * the database is unavailable.
+     *
+     * @param key    Identifies the kind of data loaded.
+     * @param loader The repository call that loads the data.
+     * @param <T>    The type of the list elements.
+     * @return The loaded list, or the last known list while the database is unavailable.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> loadWithFallback(String key, Supplier<List<T>> loader) {
+        List<T> loaded = loader.get();
+        if (Repositories.isAvailable()) {
+            lastKnown.put(key, loaded);
+            return loaded;
+        }
+        List<T> fallback = (List<T>) lastKnown.get(key);
+        if (loaded.isEmpty() && fallback != null) {
+            log.trace(() -> "[Method Call]    WorkingDataCache.loadWithFallback " + key + " (last known data)");
+            return fallback;
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads the current user's upcoming appointments.
+     *
+     * @return The upcoming appointments, or the last known list while the database is unavailable.
+     */
+    private static List<Appointment> loadUpcomingAppointments() {
+        return loadWithFallback("upcomingAppointments",
+                () -> Repositories.appointments().selectUpcomingAppointmentsForCurrentUser());
+    }
+
+    /**
+     * Loads the appointments for a week.
+     *
+     * @param weekStart The Sunday the week starts on.
+     * @return The appointments, or the last known list while the database is unavailable.
+     */
+    private static List<Appointment> loadWeekAppointments(LocalDate weekStart) {
+        return loadWithFallback("currentWeekAppointments", () -> Repositories.appointments()
+                .selectAppointmentsStartingBetween(weekStart.atStartOfDay(), weekStart.plusWeeks(1).atStartOfDay()));
+    }
+
+    /**
+     * Returns the Sunday the current week starts on.
+     *
+     * @return The start of the current week.
+     */
+    private static LocalDate currentWeekStart() {
+        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+    }
+
+    /**
+     * Starts a load on the prefetch threads.
+     *
+     * @param loader The repository call that loads the data.
+     * @param <T>    The type of data loaded.
+     * @return A future that completes with the loaded data.
+     */
+    private static <T> CompletableFuture<T> loadAsync(Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(loader, executor);
+    }
+
+    /**
+     * A load of the appointments for one week.
+     */
+    private static final class WeekLoad {
+
+        /**
+         * The Sunday the week starts on.
+         */
+        private final LocalDate weekStart;
+
+        /**
+         * Completes with the week's appointments.
+         */
+        private final CompletableFuture<List<Appointment>> appointments;
+
+        /**
+         * Constructs a WeekLoad.
+         *
+         * @param weekStart    The Sunday the week starts on.
+         * @param appointments Completes with the week's appointments.
+         */
+        private WeekLoad(LocalDate weekStart, CompletableFuture<List<Appointment>> appointments) {
+            this.weekStart = weekStart;
+            this.appointments = appointments;
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package app;
 
+import helper.Log;
 import helper.SceneSwap;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.stage.Stage;
 
+import java.time.Duration;
 import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 public class Global {
 
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(Global.class);
+
     /**
      * Start time of operating hours.
      */
@@ -18,17 +27,214 @@ public class Global {
      * End time of operating hours.
      */
     public static final LocalTime COMPANY_END_TIME = LocalTime.of(22, 0);
+    /**
+     * Time zone of the company's operating hours.
+     */
+    public static final ZoneId COMPANY_ZONE = ZoneId.of("America/New_York");
+
+    /**
+     * Length of one appointment time slot.
+     */
+    public static final Duration APPOINTMENT_SLOT_LENGTH = Duration.ofMinutes(15);
+
+    /**
+     * Maximum number of date and zone combinations kept by the slot table cache.
+     */
+    public static final int SLOT_TABLE_CACHE_MAX_ENTRIES = 366;
+
+    /**
+     * How far ahead the occurrences of a recurring appointment that never ends are checked for scheduling conflicts.
+     */
+    public static final Period RECURRENCE_CONFLICT_HORIZON = Period.ofYears(1);
+
+    /**
+     * Number of imported records sent to the database per JDBC batch.
+     */
+    public static final int IMPORT_BATCH_SIZE = 1_000;
+
+    /**
+     * Number of imported records committed per transaction.
+     */
+    public static final int IMPORT_COMMIT_SIZE = 10_000;
+
+    /**
+     * Maximum number of IDs bound into a single IN list when deleting records in bulk.
+     */
+    public static final int DELETE_CHUNK_SIZE = 1_000;
+
+    /**
+     * How long a database connection is trusted after it was last checked before it is checked again.
+     */
+    public static final Duration CONNECTION_VALIDATION_INTERVAL = Duration.ofSeconds(10);
+
+    /**
+     * How long to wait for the database to answer a connection check.
+     */
+    public static final Duration CONNECTION_VALIDATION_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * How long to wait for the database to accept a new connection.
+     */
+    public static final Duration CONNECTION_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Number of consecutive failed connection attempts before further attempts are backed off.
+     */
+    public static final int RECONNECT_FAILURE_THRESHOLD = 2;
+
+    /**
+     * Delay before the first reconnect attempt once attempts are backed off. Doubles after each failed attempt.
+     */
+    public static final Duration RECONNECT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * Longest delay between reconnect attempts.
+     */
+    public static final Duration RECONNECT_MAX_BACKOFF = Duration.ofSeconds(60);
+
+    /**
+     * Minimum time after a write during which reads go to the primary rather than the read replica, so screens
+     * reloaded after a save show the change.
+     */
+    public static final Duration READ_AFTER_WRITE_WINDOW = Duration.ofSeconds(5);
+
+    /**
+     * Largest replication lag at which reads are still sent to the read replica.
+     */
+    public static final Duration REPLICA_MAX_LAG = Duration.ofSeconds(30);
+
+    /**
+     * How long a measurement of the read replica's lag is reused before the replica is asked again.
+     */
+    public static final Duration REPLICA_LAG_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+    /**
+     * Path of the embedded database file, without the ".mv.db" extension, used when the application runs without a
+     * MySQL server. Relative to the working directory.
+     */
+    public static final String EMBEDDED_DATABASE_PATH = "data/client_schedule";
+
+    /**
+     * Path of the local replica database file used in local-first mode, without the ".mv.db" extension. Relative to
+     * the working directory.
+     */
+    public static final String LOCAL_REPLICA_PATH = "data/local_replica";
+
+    /**
+     * Time between background synchronizations of the local replica with the MySQL server.
+     */
+    public static final Duration SYNC_INTERVAL = Duration.ofSeconds(15);
+
+    /**
+     * How far before the last synchronized update time changes are pulled again, so rows saved by clients whose
+     * clocks run slightly behind are not missed.
+     */
+    public static final Duration SYNC_PULL_OVERLAP = Duration.ofMinutes(5);
+
+    /**
+     * First ID given to appointments and customers created in the local replica. The server's IDs stay below it, so
+     * a row created offline never collides with a row pulled from the server before it is given its server ID.
+     */
+    public static final int LOCAL_ID_BASE = 1_000_000_000;
+
+    /**
+     * Application version, recorded alongside startup timings.
+     */
+    public static final String APP_VERSION = "v0.5";
 
     /**
      * File path for user log activity logging.
      */
     public static final String LOGINS_LOG_PATH = "login_activity.txt";
 
+    /**
+     * File path for startup phase timings.
+     */
+    public static final String STARTUP_LOG_PATH = "startup_timings.txt";
+
+    /**
+     * Path of the file the DAO call metrics are appended to when the application exits.
+     */
+    public static final String DAO_METRICS_PATH = "dao_metrics.txt";
+
+    /**
+     * SQL statements that take at least this long are written to the slow query log, unless overridden with
+     * -Ddb.slowQueryMillis.
+     */
+    public static final Duration SLOW_QUERY_THRESHOLD = Duration.ofMillis(250);
+
+    /**
+     * Path of the slow query log.
+     */
+    public static final String SLOW_QUERY_LOG_PATH = "slow_queries.txt";
+
+    /**
+     * Size at which the slow query log is rotated.
+     */
+    public static final long SLOW_QUERY_LOG_MAX_BYTES = 1_048_576;
+
+    /**
+     * Number of rotated slow query logs kept.
+     */
+    public static final int SLOW_QUERY_LOG_FILES = 3;
+
+    /**
+     * Number of recent SQL statements whose timings are kept for the diagnostics view.
+     */
+    public static final int RECENT_STATEMENTS_SIZE = 256;
+
+    /**
+     * Time between refreshes of the diagnostics view while it is shown.
+     */
+    public static final Duration DIAGNOSTICS_REFRESH_INTERVAL = Duration.ofSeconds(2);
+
+    /**
+     * The JavaFX Application Thread counts as stalled once it has not answered a heartbeat for this long, unless
+     * overridden with -Dui.stallMillis.
+     */
+    public static final Duration FX_STALL_THRESHOLD = Duration.ofMillis(500);
+
+    /**
+     * Time between heartbeats posted to the JavaFX Application Thread by the stall watchdog.
+     */
+    public static final Duration FX_WATCHDOG_INTERVAL = Duration.ofMillis(100);
+
+    /**
+     * Path of the file the summary of JavaFX Application Thread stalls is appended to when the application exits.
+     */
+    public static final String FX_STALLS_PATH = "ui_stalls.txt";
+
+    /**
+     * Number of recent log messages kept in memory. Also the most that can wait to be written to the console before
+     * the oldest are dropped.
+     */
+    public static final int LOG_BUFFER_SIZE = 4096;
+
     /**
      * Date format for logging.
      */
     public static final DateTimeFormatter LOG_DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss");
 
+    /**
+     * Maximum number of login attempts allowed per username within the login attempt window.
+     */
+    public static final int LOGIN_MAX_ATTEMPTS = 5;
+
+    /**
+     * Sliding window over which login attempts are counted.
+     */
+    public static final Duration LOGIN_ATTEMPT_WINDOW = Duration.ofMinutes(5);
+
+    /**
+     * Maximum number of usernames tracked by the login throttle.
+     */
+    public static final int LOGIN_THROTTLE_MAX_TRACKED = 10_000;
+
+    /**
+     * Maximum number of view scenes kept alive by the scene cache.
+     */
+    public static final int SCENE_CACHE_MAX_ENTRIES = 3;
+
     /**
      * Switches the current scene to the User Login view when the Logout button is clicked.
      *
@@ -37,7 +243,7 @@ public class Global {
     @FXML
     @SuppressWarnings("unused")
     public void onLogoutButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Logout Button Clicked");
+        log.debug("[Action Event]   Logout Button Clicked");
         Stage currentStage = Main.getPrimaryStage();
         SceneSwap.swapScene(currentStage, "../view/UserLogin.fxml");
     }
@@ -16,8 +16,13 @@
 
 package app;
 
+import helper.DaoMetrics;
+import helper.FxWatchdog;
 import helper.JDBC;
 import helper.LocalizationService;
+import helper.Log;
+import helper.SlowQueryLog;
+import helper.UiActionEvent;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -45,13 +50,17 @@ public class Main extends Application {
     }
 
     /**
-     * Opens a connection with the database and launches the app.
+     * Starts opening the database connection and preloading data in the background, then launches the app.
      *
      */
     public static void main(String[] args) {
-        JDBC.openConnection();
+        Startup.begin();
         launch(args);
         JDBC.closeConnection();
+        DaoMetrics.writeReport();
+        FxWatchdog.writeReport();
+        SlowQueryLog.close();
+        Log.shutdown();
     }
 
     /**
@@ -63,6 +72,8 @@ public class Main extends Application {
     @Override
     public void start(Stage primaryStage) throws IOException {
         Main.primaryStage = primaryStage;
+        JDBC.setConnectionOwner(Thread.currentThread());
+        FxWatchdog.start();
 
         URL fxmlUrl = getClass().getResource("../view/UserLogin.fxml");
         if (fxmlUrl == null) {
@@ -72,7 +83,10 @@ public class Main extends Application {
 
         Parent root = FXMLLoader.load(fxmlUrl, localizationService.getBundle());
         primaryStage.setTitle(localizationService.getTranslation("sceneTitle"));
-        primaryStage.setScene(new Scene(root));
+        Scene scene = new Scene(root);
+        UiActionEvent.track(scene, "../view/UserLogin.fxml");
+        primaryStage.setScene(scene);
         primaryStage.show();
+        Startup.markLoginShown();
     }
 }
@@ -0,0 +1,191 @@
+package app;
+
+import DAO.MigrationRunner;
+import DAO.ReferenceDataCache;
+import helper.JDBC;
+import helper.Log;
+import helper.SceneSwap;
+import repository.Repositories;
+import repository.SyncEngine;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the application's startup work in the background so the login screen can be shown right away.
+ * The database connection is opened and reference data is preloaded on one thread while the FXML views are
+ * preloaded on another. The duration of each phase is recorded and appended to the startup log.
+ */
+public class Startup {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(Startup.class);
+
+    /**
+     * Threads used for background startup work.
+     */
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Duration of each completed startup phase in milliseconds, in completion order.
+     */
+    private static final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+    /**
+     * Completes when the login screen has been shown.
+     */
+    private static final CompletableFuture<Void> loginShown = new CompletableFuture<>();
+
+    /**
+     * The time at which startup began, in nanoseconds.
+     */
+    private static long startNanos;
+
+    /**
+     * Completes when the database connection has been opened and the schema migrated, or completes exceptionally if
+     * the migration failed.
+     */
+    private static volatile CompletableFuture<Void> connectionReady = CompletableFuture.completedFuture(null);
+
+    /**
+     * Starts the background startup phases. Called once from {@code main} before the JavaFX application launches.
+     */
+    public static void begin() {
+        startNanos = System.nanoTime();
+
+        // The in-memory repositories have no database to connect to or migrate
+        if (!Repositories.isInMemory()) {
+            connectionReady = connect();
+        }
+        CompletableFuture<Void> referenceDataReady = connectionReady.thenRunAsync(
+                () -> timePhase("referenceData", ReferenceDataCache::load), executor);
+        CompletableFuture<Void> viewsReady = CompletableFuture.runAsync(
+                () -> timePhase("fxmlPreload", SceneSwap::preloadViews), executor);
+
+        CompletableFuture.allOf(referenceDataReady, viewsReady, loginShown)
+                .whenComplete((result, error) -> writeTimings());
+    }
+
+    /**
+     * Records that the login screen is visible. Called from the JavaFX Application Thread.
+     */
+    public static void markLoginShown() {
+        recordPhase("loginShown", System.nanoTime() - startNanos);
+        loginShown.complete(null);
+    }
+
+    /**
+     * Blocks until the database connection has been opened and the schema is up to date. Returns immediately once it
+     * is. If the last attempt failed, for example because the server was down at launch, it is tried again first.
+     *
+     * @throws SQLException If opening the connection or migrating the schema failed.
+     */
+    public static void awaitConnection() throws SQLException {
+        CompletableFuture<Void> ready;
+        synchronized (Startup.class) {
+            if (connectionReady.isCompletedExceptionally()) {
+                connectionReady = connect();
+            }
+            ready = connectionReady;
+        }
+        try {
+            ready.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("The database connection could not be opened: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Opens the database connection and brings the schema up to date in the background.
+     *
+     * @return A future that completes when the connection is ready, or completes exceptionally if the schema could
+     * not be migrated.
+     */
+    private static CompletableFuture<Void> connect() {
+        return CompletableFuture.runAsync(() -> {
+            timePhase("connect", JDBC::openConnection);
+            timePhase("migrate", Startup::migrate);
+            if (JDBC.isLocalFirst()) {
+                timePhase("sync", SyncEngine::start);
+            }
+        }, executor);
+    }
+
+    /**
+     * Brings the database schema up to date. The DAOs assume the current schema, so the application does not carry on
+     * against a database whose migrations failed.
+     *
+     * @throws CompletionException If a migration failed, wrapping a SQLException for {@link #awaitConnection()} to
+     *                             report.
+     */
+    private static void migrate() {
+        if (!MigrationRunner.migrate()) {
+            log.error("The database schema could not be brought up to date.");
+            throw new CompletionException(new SQLException("The database schema could not be brought up to date."));
+        }
+    }
+
+    /**
+     * Runs a startup phase and records how long it took.
+     *
+     * @param phase The name of the phase.
+     * @param work  The work performed during the phase.
+     */
+    private static void timePhase(String phase, Runnable work) {
+        long phaseStart = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            recordPhase(phase, System.nanoTime() - phaseStart);
+        }
+    }
+
+    /**
+     * Records the duration of a startup phase.
+     *
+     * @param phase         The name of the phase.
+     * @param durationNanos The duration of the phase, in nanoseconds.
+     */
+    private static synchronized void recordPhase(String phase, long durationNanos) {
+        phaseMillis.put(phase, durationNanos / 1_000_000);
+    }
+
+    /**
+     * Appends the recorded phase durations for this launch to the startup log, tagged with the application version.
+     */
+    private static synchronized void writeTimings() {
+        StringBuilder logEntry = new StringBuilder(LocalDateTime.now().format(Global.LOG_DATE_FORMATTER))
+                .append(" - Version: ").append(Global.APP_VERSION);
+        phaseMillis.forEach((phase, millis) -> logEntry.append(" - ").append(phase).append(": ").append(millis)
+                .append(" ms"));
+        logEntry.append(System.lineSeparator());
+
+        log.info("Startup timings: " + logEntry.toString().strip());
+        try {
+            Files.write(Paths.get(Global.STARTUP_LOG_PATH), logEntry.toString().getBytes(), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -1,51 +1,93 @@
 package controller;
 
-import DAO.AppointmentDAO;
-import DAO.ContactDAO;
-import DAO.UserDAO;
+import DAO.ReferenceDataCache;
+import DAO.WorkingDataCache;
 import app.Global;
 import app.Main;
 import helper.AlertDialog;
+import helper.AppointmentBulkEditor;
+import helper.AppointmentImporter;
+import helper.DegradedModeBanner;
+import helper.Log;
+import helper.Refreshable;
 import helper.SceneSwap;
+import helper.SlotTableService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.GridPane;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import model.Appointment;
+import model.BulkChangePreview;
 import model.Contact;
+import model.ImportResult;
+import model.RecurrenceFrequency;
+import model.RecurrenceRule;
+import model.ScheduleConflict;
+import model.UpdateResult;
 import model.User;
+import repository.Repositories;
 
+import java.io.File;
+import java.nio.file.Path;
 import java.sql.Timestamp;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
  * The Appointments controller class for the Appointments view. Facilitates processing of Appointment data,
- * including insertion, updating, and deletion, through interactions with {@link AppointmentDAO}.
+ * including insertion, updating, and deletion, through interactions with {@link repository.AppointmentRepository}.
  */
-public class Appointments {
+public class Appointments implements Refreshable {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(Appointments.class);
     /**
      * List for storing appointments.
      */
     private final List<Appointment> appointments = new ArrayList<>();
 
     /**
-     * List of all contacts.
+     * List of all contacts, served from the reference data cache.
      */
-    private final List<Contact> contacts = ContactDAO.selectAllContacts();
+    private final List<Contact> contacts = ReferenceDataCache.getContacts();
 
     /**
      * Formats time according to the "h:mm a" pattern (ex: 7:00 pm)
      */
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
 
+    /**
+     * Repeat combo box option for appointments that do not repeat.
+     */
+    private static final String DOES_NOT_REPEAT = "Does Not Repeat";
+
+    /**
+     * Bulk change option for keeping each appointment's current contact.
+     */
+    private static final String KEEP_CONTACT = "Keep Current Contact";
+
+    /**
+     * Maximum number of conflicts listed in a bulk change preview.
+     */
+    private static final int MAX_CONFLICTS_SHOWN = 10;
+
     /**
      * The selected start date for an appointment.
      */
@@ -66,6 +108,12 @@ public class Appointments {
      */
     private boolean inEditAppointmentState = false;
 
+    /**
+     * Last update time of the appointment being edited, as it was when loaded into the form. Saving only succeeds if
+     * the appointment has not been updated since.
+     */
+    private Timestamp editedAppointmentLastUpdate;
+
     /**
      * Radio Button to display all appointments.
      */
@@ -90,6 +138,12 @@ public class Appointments {
     @FXML
     private Label labelUsername;
 
+    /**
+     * Banner shown while the database is unavailable.
+     */
+    @FXML
+    private Label labelConnectionBanner;
+
     /**
      * Displays the result of the performed action in the UI as a message
      */
@@ -120,6 +174,18 @@ public class Appointments {
     @FXML
     private Button buttonNewAppointment;
 
+    /**
+     * Button to import appointments from a file.
+     */
+    @FXML
+    private Button buttonImportAppointments;
+
+    /**
+     * Button to move or reassign several appointments at once.
+     */
+    @FXML
+    private Button buttonBulkChange;
+
     /**
      * Date Picker for selecting an appointment start date.
      */
@@ -192,6 +258,24 @@ public class Appointments {
     @FXML
     private ComboBox<String> comboboxContactName;
 
+    /**
+     * Selector for how often the appointment repeats.
+     */
+    @FXML
+    private ComboBox<String> comboboxRepeat;
+
+    /**
+     * Field for entering the number of times a recurring appointment occurs. Left empty for no limit.
+     */
+    @FXML
+    private TextField textFieldRepeatCount;
+
+    /**
+     * Date Picker for selecting the last date a recurring appointment may occur on. Left empty for no limit.
+     */
+    @FXML
+    private DatePicker datePickerRepeatUntil;
+
     /**
      * Table to display appointments.
      */
@@ -258,19 +342,37 @@ public class Appointments {
     @FXML
     private TableColumn<Appointment, LocalDateTime> appointmentStartTime;
 
+    /**
+     * Column for displaying how the appointment repeats.
+     */
+    @FXML
+    private TableColumn<Appointment, String> appointmentRepeat;
+
 
     /**
      * Initializes UI components and populates the TableView.
      */
     public void initialize() {
-        System.out.println("[Method Call]    Appointments.initialize ");
+        SceneSwap.controllerInitializing();
+        log.trace("[Method Call]    Appointments.initialize ");
         labelUsername.setText(UserLogin.currentUser);
+        DegradedModeBanner.attach(labelConnectionBanner);
         setupAppointmentsTableView();
         allAppointmentsRadioButton.setSelected(true);
         populateContactComboBox();
+        populateRepeatComboBox();
         setupEventListeners();
     }
 
+    /**
+     * Reloads the appointments table when the cached Appointments view is shown after being marked stale.
+     */
+    @Override
+    public void refresh() {
+        log.trace("[Method Call]    Appointments.refresh ");
+        refreshTableView();
+    }
+
     /**
      * Sets up listeners for date, contact, and start time fields.
      * The listeners assist with populating data into start and end time combo boxes.
@@ -279,7 +381,7 @@ public class Appointments {
      * implementation. In return, this yields a marginal but meaningful improvement to readability.
      */
     private void setupEventListeners() {
-        System.out.println("[Method Call]    setupEventListeners");
+        log.trace("[Method Call]    setupEventListeners");
 
         // Start Date (Date Picker)
         datePickerAppointmentStartDate.valueProperty().addListener((observable, oldValue, newValue) -> {
@@ -317,8 +419,7 @@ public class Appointments {
         comboboxStartTime.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             // Populate End Time dropdown when Start Time changes
             if (newValue != null) {
-                LocalTime selectedStartTime = LocalTime.parse(newValue, timeFormatter);
-                populateEndTimeComboBox(selectedStartTime, selectedStartDate);
+                populateEndTimeComboBox(newValue, selectedStartDate);
             }
         });
     }
@@ -328,11 +429,11 @@ public class Appointments {
      * Enables or disables form fields and buttons based on the current mode.
      */
     private void toggleUIState() {
-        System.out.println("[Method Call]    toggleUIState");
+        log.trace("[Method Call]    toggleUIState");
 
         // Switch to default UI state if not editing or creating a new appointment
         if (!inEditAppointmentState && !inNewAppointmentState) {
-            System.out.println("                 Toggling to default UI state.");
+            log.trace("                 Toggling to default UI state.");
 
             // Disable form fields
             textFieldAppointmentTitle.setDisable(true);
@@ -346,6 +447,9 @@ public class Appointments {
             comboboxEndTime.setDisable(true);
             textFieldAppointmentCustomerId.setDisable(true);
             textFieldAppointmentUserId.setDisable(true);
+            comboboxRepeat.setDisable(true);
+            textFieldRepeatCount.setDisable(true);
+            datePickerRepeatUntil.setDisable(true);
             buttonSaveAppointment.setDisable(true);
 
             // Enable control buttons
@@ -363,7 +467,7 @@ public class Appointments {
 
         // If already in either the edit or new appointment state, toggle back to default
         if (inNewAppointmentState || inEditAppointmentState) {
-            System.out.println("                 Toggling to edit/new UI state.");
+            log.trace("                 Toggling to edit/new UI state.");
 
             // Enable form fields
             textFieldAppointmentTitle.setDisable(false);
@@ -377,6 +481,9 @@ public class Appointments {
             comboboxEndTime.setDisable(false);
             textFieldAppointmentCustomerId.setDisable(false);
             textFieldAppointmentUserId.setDisable(false);
+            comboboxRepeat.setDisable(false);
+            textFieldRepeatCount.setDisable(false);
+            datePickerRepeatUntil.setDisable(false);
             buttonSaveAppointment.setDisable(false);
 
             // Disable control buttons
@@ -387,7 +494,7 @@ public class Appointments {
 
             // If in new appointment state, update related UI elements
             if (inNewAppointmentState && !inEditAppointmentState) {
-                System.out.println("                           In New Appointment State.");
+                log.trace("                           In New Appointment State.");
                 buttonEditAppointment.setDisable(true);
                 buttonNewAppointment.setText("Cancel New");
                 textFieldAppointmentId.setPromptText("Appointment ID (db-gen)");
@@ -395,7 +502,7 @@ public class Appointments {
 
             // If in edit appointment state, update related UI elements
             if (inEditAppointmentState && !inNewAppointmentState) {
-                System.out.println("                 In Edit Appointment State.");
+                log.trace("                 In Edit Appointment State.");
                 buttonNewAppointment.setDisable(true);
                 buttonEditAppointment.setText("Cancel Edit");
             }
@@ -406,9 +513,9 @@ public class Appointments {
      * Resets all form fields to their initial, empty state.
      */
     private void resetAppointmentFields() {
-        System.out.println("[Method Call]    resetAppointmentFields");
+        log.trace("[Method Call]    resetAppointmentFields");
 
-        System.out.println("                 Clearing appointment form fields.");
+        log.trace("                 Clearing appointment form fields.");
         textFieldAppointmentId.clear();
         textFieldAppointmentTitle.clear();
         textFieldAppointmentDescription.clear();
@@ -424,6 +531,9 @@ public class Appointments {
         comboboxStartTime.setValue(null);
         comboboxEndTime.getItems().clear();
         comboboxEndTime.setValue(null);
+        comboboxRepeat.setValue(DOES_NOT_REPEAT);
+        textFieldRepeatCount.clear();
+        datePickerRepeatUntil.setValue(null);
     }
 
     /**
@@ -431,81 +541,56 @@ public class Appointments {
      * Converts the stored UTC time to the user's local time zone before displaying.
      */
     private void refreshTableView() {
-        System.out.println("[Method Call]    refreshTableView");
+        log.trace("[Method Call]    refreshTableView");
 
         appointments.clear();
 
         // Check which radio button is selected and populate the appointments list accordingly
         if (currentWeekAppointmentsRadioButton.isSelected()) {
-            appointments.addAll(AppointmentDAO.selectAppointmentsForCurrentWeek());
+            appointments.addAll(WorkingDataCache.getCurrentWeekAppointments());
             tableviewAppointments.setItems(FXCollections.observableArrayList(appointments));
         } else if (currentMonthAppointmentsRadioButton.isSelected()) {
-            appointments.addAll(AppointmentDAO.selectAppointmentsForCurrentMonth());
+            appointments.addAll(WorkingDataCache.getCurrentMonthAppointments());
             tableviewAppointments.setItems(FXCollections.observableArrayList(appointments));
         } else if (allAppointmentsRadioButton.isSelected()) {
-            appointments.addAll(AppointmentDAO.selectAllAppointments());
+            appointments.addAll(WorkingDataCache.getAllAppointments());
             tableviewAppointments.setItems(FXCollections.observableArrayList(appointments));
         }
 
 
-        System.out.println("                 Appointments list size after refresh: " + appointments.size());
+        log.trace(() -> "                 Appointments list size after refresh: " + appointments.size());
 
         // Update the data displayed in the tableview
         tableviewAppointments.refresh();
-        System.out.println("                 TableView refreshed.");
+        log.trace("                 TableView refreshed.");
     }
 
     /**
      * Fills the start time combo box with a range of appointment start times based on business operating hours, in the
-     * user's local time. This avoids the issue of scheduling appointments outside operating hours.
+     * user's local time. This avoids the issue of scheduling appointments outside operating hours. The times come from
+     * a cached slot table, so repeated date changes do not recompute them.
      *
      * @param selectedDate The selected date for the appointment.
      */
     private void populateStartTimeComboBox(LocalDate selectedDate) {
-        ZoneId localZone = ZoneId.systemDefault();
-        ZoneId companyZone = ZoneId.of("America/New_York"); // Your company's time zone
-
-        ZonedDateTime companyStartZoned = ZonedDateTime.of(selectedDate, Global.COMPANY_START_TIME, companyZone)
-                .withZoneSameInstant(localZone);
-        ZonedDateTime companyEndZoned = ZonedDateTime.of(selectedDate, Global.COMPANY_END_TIME, companyZone)
-                .withZoneSameInstant(localZone);
-
-        List<String> appointmentStartTimes = new ArrayList<>();
-        for (ZonedDateTime time = companyStartZoned; time.isBefore(companyEndZoned); time = time.plusMinutes(15)) {
-            appointmentStartTimes.add(time.toLocalTime().format(timeFormatter));
-        }
-
-        comboboxStartTime.getItems().setAll(appointmentStartTimes);
+        comboboxStartTime.getItems().setAll(
+                SlotTableService.getSlotTable(selectedDate, ZoneId.systemDefault()).getStartSlots());
     }
 
 
 
     /**
-     * Populates the end time combo box based on the selected start time and selected date.
+     * Populates the end time combo box based on the selected start time and selected date, using the end times
+     * from the cached slot table that follow the selected start time.
      *
-     * @param startTime The selected start time for the appointment.
+     * @param startTime    The selected start time for the appointment, as shown in the start time combo box.
+     * @param selectedDate The selected date for the appointment.
      */
-    private void populateEndTimeComboBox(LocalTime startTime, LocalDate selectedDate) {
-        System.out.println("[Method Call]    populateEndTimeComboBox called with startTime: " + startTime);
-
-        ZoneId localZone = ZoneId.systemDefault();
-        ZoneId companyZone = ZoneId.of("America/New_York");
-        List<String> appointmentEndTimes = new ArrayList<>();
-
-        // Convert start time to local zone and align company end time with local zone
-        ZonedDateTime startTimeZoned = ZonedDateTime.of(selectedDate, startTime, localZone);
-        ZonedDateTime companyEndZoned = ZonedDateTime.of(selectedDate, Global.COMPANY_END_TIME, companyZone)
-                .withZoneSameInstant(localZone);
-
-        // Adjust end time options to be in 15-minute intervals after the selected start time.
-        ZonedDateTime endTimeOption = startTimeZoned.plusMinutes(15);
+    private void populateEndTimeComboBox(String startTime, LocalDate selectedDate) {
+        log.trace(() -> "[Method Call]    populateEndTimeComboBox called with startTime: " + startTime);
 
-        while (endTimeOption.isBefore(companyEndZoned) || endTimeOption.equals(companyEndZoned)) {
-            appointmentEndTimes.add(endTimeOption.toLocalTime().format(timeFormatter));
-            endTimeOption = endTimeOption.plusMinutes(15);
-        }
-
-        comboboxEndTime.getItems().setAll(appointmentEndTimes);
+        comboboxEndTime.getItems().setAll(
+                SlotTableService.getSlotTable(selectedDate, ZoneId.systemDefault()).getEndSlots(startTime));
     }
 
 
@@ -514,7 +599,7 @@ public class Appointments {
      * Populates the Contact Name combo box with the names of available contacts.
      */
     private void populateContactComboBox() {
-        System.out.println("[Method Call]    populateContactComboBox");
+        log.trace("[Method Call]    populateContactComboBox");
 
         for (Contact contact : contacts) {
             // System.out.println("                 Adding contact: " + contact.getName());
@@ -522,6 +607,17 @@ public class Appointments {
         }
     }
 
+    /**
+     * Populates the Repeat combo box with the supported repeat frequencies.
+     */
+    private void populateRepeatComboBox() {
+        comboboxRepeat.getItems().add(DOES_NOT_REPEAT);
+        for (RecurrenceFrequency frequency : RecurrenceFrequency.values()) {
+            comboboxRepeat.getItems().add(frequency.getDisplayName());
+        }
+        comboboxRepeat.setValue(DOES_NOT_REPEAT);
+    }
+
     /**
      * Responds to the click event for the "All Appointments" radio button.
      * Deselects other related radio buttons and refreshes the TableView to show all appointments.
@@ -532,7 +628,7 @@ public class Appointments {
     public void onAllAppointmentsRadioButtonClick(ActionEvent actionEvent) {
         currentMonthAppointmentsRadioButton.setSelected(false);
         currentWeekAppointmentsRadioButton.setSelected(false);
-        System.out.println("[Action Event]   All Appointments Radio Button Clicked");
+        log.debug("[Action Event]   All Appointments Radio Button Clicked");
         refreshTableView();
     }
 
@@ -546,7 +642,7 @@ public class Appointments {
     public void onCurrentMonthAppointmentsRadioButtonClick(ActionEvent actionEvent) {
         allAppointmentsRadioButton.setSelected(false);
         currentWeekAppointmentsRadioButton.setSelected(false);
-        System.out.println("[Action Event]   Current Month Appointments Radio Button Clicked");
+        log.debug("[Action Event]   Current Month Appointments Radio Button Clicked");
         refreshTableView();
     }
 
@@ -560,7 +656,7 @@ public class Appointments {
     public void onCurrentWeekAppointmentsRadioButtonClick(ActionEvent actionEvent) {
         allAppointmentsRadioButton.setSelected(false);
         currentMonthAppointmentsRadioButton.setSelected(false);
-        System.out.println("[Action Event]   Current Week Appointments Radio Button Clicked");
+        log.debug("[Action Event]   Current Week Appointments Radio Button Clicked");
         refreshTableView();
     }
 
@@ -573,17 +669,29 @@ public class Appointments {
      */
     @FXML
     public void onDeleteAppointmentButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Delete Appointment Button Clicked");
+        log.debug("[Action Event]   Delete Appointment Button Clicked");
         textActionResultMessage.setText(null);
 
-        Appointment selectedAppointment = tableviewAppointments.getSelectionModel().getSelectedItem();
+        List<Appointment> selectedAppointments =
+                new ArrayList<>(tableviewAppointments.getSelectionModel().getSelectedItems());
 
-        if (selectedAppointment == null) {
+        if (selectedAppointments.isEmpty()) {
             AlertDialog.showAlert(Alert.AlertType.ERROR, "No Appointment Selected", "Please select the appointment " +
                     "record you would like to delete.");
             return;
         }
 
+        if (selectedAppointments.size() > 1) {
+            deleteSelectedAppointments(selectedAppointments);
+            return;
+        }
+
+        Appointment selectedAppointment = selectedAppointments.get(0);
+        if (selectedAppointment.isRecurring()) {
+            deleteRecurringAppointment(selectedAppointment);
+            return;
+        }
+
         // Prevent accidental deletion with a confirmation dialog
         Optional<ButtonType> result = AlertDialog.showConfirmationDialog("Confirm Deletion", "Delete selected " +
                 "appointment?");
@@ -592,8 +700,10 @@ public class Appointments {
         if (result.isPresent() && result.get() == ButtonType.YES) {
             int selectedAppointmentId = selectedAppointment.getId();
             String selectedAppointmentTitle = selectedAppointment.getTitle();
-            if (AppointmentDAO.deleteAppointment(selectedAppointment.getId())) {
+            if (Repositories.appointments().deleteAppointment(selectedAppointment.getId())) {
+                WorkingDataCache.invalidateAppointments();
                 tableviewAppointments.getItems().remove(selectedAppointment);
+                SceneSwap.invalidate("../view/Reports.fxml");
                 textActionResultMessage.setText("Appointment Record Deleted (ID: " + selectedAppointmentId + " Title: " + selectedAppointmentTitle + ")");
             } else {
                 AlertDialog.showAlert(Alert.AlertType.ERROR, "Record Deletion Failed", "Unable to delete appointment.");
@@ -601,6 +711,84 @@ public class Appointments {
         }
     }
 
+    /**
+     * Deletes several selected appointments in one transaction after confirmation. Selected occurrences of recurring
+     * appointments delete their whole series, which the confirmation message points out.
+     *
+     * @param selectedAppointments The selected appointments.
+     */
+    private void deleteSelectedAppointments(List<Appointment> selectedAppointments) {
+        log.trace("[Method Call]    deleteSelectedAppointments");
+        Set<Integer> appointmentIds = new LinkedHashSet<>();
+        Set<Integer> seriesIds = new HashSet<>();
+        for (Appointment appointment : selectedAppointments) {
+            appointmentIds.add(appointment.getId());
+            if (appointment.isRecurring()) {
+                seriesIds.add(appointment.getId());
+            }
+        }
+
+        String content = "Delete the " + appointmentIds.size() + " selected appointments?";
+        if (!seriesIds.isEmpty()) {
+            content += " " + seriesIds.size() + " of them repeat, and every occurrence of those will be deleted.";
+        }
+        Optional<ButtonType> result = AlertDialog.showConfirmationDialog("Confirm Deletion", content);
+        if (result.isEmpty() || result.get() != ButtonType.YES) {
+            return;
+        }
+
+        int deleted = Repositories.appointments().deleteAppointments(new ArrayList<>(appointmentIds));
+        if (deleted >= 0) {
+            WorkingDataCache.invalidateAppointments();
+            tableviewAppointments.getItems().removeIf(appointment -> appointmentIds.contains(appointment.getId()));
+            tableviewAppointments.getSelectionModel().clearSelection();
+            SceneSwap.invalidate("../view/Reports.fxml");
+            textActionResultMessage.setText(deleted + " Appointment Records Deleted");
+        } else {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Record Deletion Failed", "Unable to delete the selected " +
+                    "appointments. No appointments were deleted.");
+        }
+    }
+
+    /**
+     * Deletes a recurring appointment, letting the user choose between cancelling only the selected occurrence and
+     * deleting the entire series.
+     *
+     * @param selectedAppointment The selected occurrence of a recurring appointment.
+     */
+    private void deleteRecurringAppointment(Appointment selectedAppointment) {
+        log.trace("[Method Call]    deleteRecurringAppointment");
+        ButtonType thisOccurrence = new ButtonType("This Occurrence");
+        ButtonType entireSeries = new ButtonType("Entire Series");
+        Optional<ButtonType> result = AlertDialog.showChoiceDialog("Delete Recurring Appointment", "Delete only the " +
+                "occurrence on " + selectedAppointment.getStartTime().toLocalDate() + ", or every occurrence in the " +
+                "series?", thisOccurrence, entireSeries, ButtonType.CANCEL);
+
+        if (result.isEmpty() || result.get() == ButtonType.CANCEL) {
+            return;
+        }
+
+        int selectedAppointmentId = selectedAppointment.getId();
+        boolean deleteSeries = result.get() == entireSeries;
+        boolean deleted = deleteSeries ? Repositories.appointments().deleteAppointment(selectedAppointmentId) :
+                Repositories.appointments().cancelOccurrence(selectedAppointment);
+
+        if (deleted) {
+            WorkingDataCache.invalidateAppointments();
+            SceneSwap.invalidate("../view/Reports.fxml");
+            if (deleteSeries) {
+                tableviewAppointments.getItems().removeIf(appointment -> appointment.getId() == selectedAppointmentId);
+                textActionResultMessage.setText("Appointment Series Deleted (ID: " + selectedAppointmentId + ")");
+            } else {
+                refreshTableView();
+                textActionResultMessage.setText("Occurrence Cancelled (ID: " + selectedAppointmentId + " Date: " +
+                        selectedAppointment.getStartTime().toLocalDate() + ")");
+            }
+        } else {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Record Deletion Failed", "Unable to delete appointment.");
+        }
+    }
+
 
     /**
      * Responds to the click event for the Edit Appointment button.
@@ -612,7 +800,7 @@ public class Appointments {
      */
     @FXML
     public void onEditAppointmentButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Edit Appointment Button Clicked");
+        log.debug("[Action Event]   Edit Appointment Button Clicked");
         textActionResultMessage.setText(null);
 
         Appointment selectedAppointment = tableviewAppointments.getSelectionModel().getSelectedItem();
@@ -624,28 +812,7 @@ public class Appointments {
             // If in edit state, populate the form with the selected appointment's info.
             if (inEditAppointmentState) {
                 toggleUIState();
-
-                textFieldAppointmentId.setText(Integer.toString(selectedAppointment.getId()));
-                textFieldAppointmentTitle.setText(selectedAppointment.getTitle());
-                textFieldAppointmentDescription.setText(selectedAppointment.getDescription());
-                textFieldAppointmentLocation.setText(selectedAppointment.getLocation());
-                textFieldAppointmentType.setText(selectedAppointment.getType());
-                textFieldAppointmentCustomerId.setText(String.valueOf(selectedAppointment.getCustomerId()));
-                textFieldAppointmentUserId.setText(String.valueOf(selectedAppointment.getUserId()));
-
-                // Perform conversions to user's local tz
-                LocalDateTime startDateTime = selectedAppointment.getStartTime();
-                LocalDateTime endDateTime = selectedAppointment.getEndTime();
-                LocalDate startDate = startDateTime.toLocalDate();
-                LocalTime startTime = startDateTime.toLocalTime();
-                LocalDate endDate = endDateTime.toLocalDate();
-                LocalTime endTime = endDateTime.toLocalTime();
-
-                datePickerAppointmentStartDate.setValue(startDate);
-                datePickerAppointmentEndDate.setValue(endDate);
-                comboboxContactName.setValue(selectedAppointment.getContactName());
-                comboboxStartTime.setValue(startTime.format(timeFormatter));
-                comboboxEndTime.setValue(endTime.format(timeFormatter));
+                populateAppointmentForm(selectedAppointment);
             }
         } else {
             AlertDialog.showAlert(Alert.AlertType.ERROR, "No Appointment Selected", "Please select an appointment to " +
@@ -653,6 +820,49 @@ public class Appointments {
         }
     }
 
+    /**
+     * Fills the appointment form with an appointment's details, and remembers its last update time so the save can
+     * check that nobody else has changed it in the meantime.
+     *
+     * @param appointment The appointment to edit.
+     */
+    private void populateAppointmentForm(Appointment appointment) {
+        editedAppointmentLastUpdate = appointment.getLastUpdate();
+        textFieldAppointmentId.setText(Integer.toString(appointment.getId()));
+        textFieldAppointmentTitle.setText(appointment.getTitle());
+        textFieldAppointmentDescription.setText(appointment.getDescription());
+        textFieldAppointmentLocation.setText(appointment.getLocation());
+        textFieldAppointmentType.setText(appointment.getType());
+        textFieldAppointmentCustomerId.setText(String.valueOf(appointment.getCustomerId()));
+        textFieldAppointmentUserId.setText(String.valueOf(appointment.getUserId()));
+
+        // Recurring appointments are edited as a series, so show the series' first occurrence
+        LocalDateTime startDateTime = appointment.getSeriesStartTime();
+        LocalDateTime endDateTime = appointment.getSeriesEndTime();
+        LocalDate startDate = startDateTime.toLocalDate();
+        LocalTime startTime = startDateTime.toLocalTime();
+        LocalDate endDate = endDateTime.toLocalDate();
+        LocalTime endTime = endDateTime.toLocalTime();
+
+        datePickerAppointmentStartDate.setValue(startDate);
+        datePickerAppointmentEndDate.setValue(endDate);
+        comboboxContactName.setValue(appointment.getContactName());
+        comboboxStartTime.setValue(startTime.format(timeFormatter));
+        comboboxEndTime.setValue(endTime.format(timeFormatter));
+
+        RecurrenceRule recurrenceRule = appointment.getRecurrenceRule();
+        if (recurrenceRule != null) {
+            comboboxRepeat.setValue(recurrenceRule.getFrequency().getDisplayName());
+            textFieldRepeatCount.setText(recurrenceRule.getCount() != null ?
+                    String.valueOf(recurrenceRule.getCount()) : "");
+            datePickerRepeatUntil.setValue(recurrenceRule.getUntil());
+        } else {
+            comboboxRepeat.setValue(DOES_NOT_REPEAT);
+            textFieldRepeatCount.setText("");
+            datePickerRepeatUntil.setValue(null);
+        }
+    }
+
     /**
      * Responds to click event for New Appointment button.
      * Toggles the UI state between creating a new appointment and the default state.
@@ -662,13 +872,269 @@ public class Appointments {
      */
     @FXML
     public void onNewAppointmentButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   New Appointment Button Clicked");
+        log.debug("[Action Event]   New Appointment Button Clicked");
         textActionResultMessage.setText(null);
         inNewAppointmentState = !inNewAppointmentState;
         toggleUIState();
 
     }
 
+    /**
+     * Responds to the click event for the Bulk Change button. Asks which contact's appointments to change, over
+     * which dates, and whether to reassign them to another contact, move them in time, or both. The changes are
+     * previewed with their conflicts before anything is saved, and are then saved together in one transaction.
+     * <p></p>
+     * Bulk changes apply to single appointments. Occurrences of recurring series are listed in the preview but left
+     * unchanged, and can be edited through their series.
+     *
+     * @param actionEvent A click event on the Bulk Change button.
+     */
+    @FXML
+    public void onBulkChangeButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Bulk Change Button Clicked");
+        textActionResultMessage.setText(null);
+
+        if (inNewAppointmentState || inEditAppointmentState) {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Bulk Change Unavailable", "Please save or cancel the " +
+                    "appointment you are editing before making bulk changes.");
+            return;
+        }
+
+        // Build the filter and change form
+        ComboBox<String> comboboxFromContact = new ComboBox<>();
+        ComboBox<String> comboboxToContact = new ComboBox<>();
+        comboboxToContact.getItems().add(KEEP_CONTACT);
+        for (Contact contact : contacts) {
+            comboboxFromContact.getItems().add(contact.getName());
+            comboboxToContact.getItems().add(contact.getName());
+        }
+        Appointment selectedAppointment = tableviewAppointments.getSelectionModel().getSelectedItem();
+        if (selectedAppointment != null) {
+            comboboxFromContact.setValue(selectedAppointment.getContactName());
+        }
+        comboboxToContact.setValue(KEEP_CONTACT);
+        DatePicker datePickerFrom = new DatePicker(LocalDate.now());
+        DatePicker datePickerTo = new DatePicker(LocalDate.now());
+        Spinner<Integer> spinnerShiftDays = new Spinner<>(-365, 365, 0);
+        Spinner<Integer> spinnerShiftMinutes = new Spinner<>(-1440, 1440, 0,
+                (int) Global.APPOINTMENT_SLOT_LENGTH.toMinutes());
+        spinnerShiftDays.setEditable(true);
+        spinnerShiftMinutes.setEditable(true);
+
+        GridPane form = new GridPane();
+        form.setHgap(10);
+        form.setVgap(10);
+        form.addRow(0, new Label("Contact"), comboboxFromContact);
+        form.addRow(1, new Label("From"), datePickerFrom);
+        form.addRow(2, new Label("To"), datePickerTo);
+        form.addRow(3, new Label("Reassign To"), comboboxToContact);
+        form.addRow(4, new Label("Move By Days"), spinnerShiftDays);
+        form.addRow(5, new Label("Move By Minutes"), spinnerShiftMinutes);
+
+        ButtonType previewButton = new ButtonType("Preview", ButtonBar.ButtonData.OK_DONE);
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Bulk Change Appointments");
+        dialog.getDialogPane().setContent(form);
+        dialog.getDialogPane().getButtonTypes().addAll(previewButton, ButtonType.CANCEL);
+        Optional<ButtonType> choice = dialog.showAndWait();
+        if (choice.isEmpty() || choice.get() != previewButton) {
+            return;
+        }
+
+        // Validate the form
+        Contact fromContact = ReferenceDataCache.getContactByName(comboboxFromContact.getValue());
+        LocalDate fromDate = datePickerFrom.getValue();
+        LocalDate toDate = datePickerTo.getValue();
+        if (fromContact == null || fromDate == null || toDate == null || toDate.isBefore(fromDate)) {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Check Bulk Change", "Please choose a contact and a date " +
+                    "range whose end is not before its start.");
+            return;
+        }
+        Contact toContact = KEEP_CONTACT.equals(comboboxToContact.getValue()) ? null :
+                ReferenceDataCache.getContactByName(comboboxToContact.getValue());
+        Duration shift = Duration.ofDays(spinnerShiftDays.getValue())
+                .plusMinutes(spinnerShiftMinutes.getValue());
+        if ((toContact == null || toContact.getId() == fromContact.getId()) && shift.isZero()) {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Check Bulk Change", "Please choose another contact to " +
+                    "reassign the appointments to, or an amount of time to move them by.");
+            return;
+        }
+
+        BulkChangePreview preview = AppointmentBulkEditor.preview(fromContact.getId(), fromDate, toDate,
+                toContact != null ? toContact.getId() : null, shift, UserLogin.currentUser);
+        applyBulkChange(preview);
+    }
+
+    /**
+     * Shows a preview of a bulk change and saves it if the user confirms. If some changes conflict, the user can
+     * save only the changes that do not, leaving the conflicting appointments as they are. Appointments changed or
+     * deleted by someone else after the preview are left as they are too, and listed afterwards.
+     *
+     * @param preview The preview of the bulk change.
+     */
+    private void applyBulkChange(BulkChangePreview preview) {
+        log.trace("[Method Call]    applyBulkChange");
+        if (preview.getChanges().isEmpty()) {
+            AlertDialog.showAlert(Alert.AlertType.INFORMATION, "Nothing To Change", "No single appointments match " +
+                    "the contact and dates chosen." + (preview.getSkippedOccurrences().isEmpty() ? "" : " " +
+                    preview.getSkippedOccurrences().size() + " occurrences of recurring appointments match, and " +
+                    "must be changed through their series."));
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder(preview.getChanges().size() + " appointments will be changed.");
+        if (!preview.getSkippedOccurrences().isEmpty()) {
+            summary.append("\n\n").append(preview.getSkippedOccurrences().size()).append(" occurrences of " +
+                    "recurring appointments also match. They will not be changed.");
+        }
+        if (preview.hasConflicts()) {
+            summary.append("\n\n").append(preview.getConflicts().size()).append(" conflicts were found:");
+            List<ScheduleConflict> conflicts = preview.getConflicts();
+            for (int i = 0; i < Math.min(conflicts.size(), MAX_CONFLICTS_SHOWN); i++) {
+                summary.append("\n").append(conflicts.get(i).getDescription());
+            }
+            if (conflicts.size() > MAX_CONFLICTS_SHOWN) {
+                summary.append("\n...and ").append(conflicts.size() - MAX_CONFLICTS_SHOWN).append(" more.");
+            }
+            summary.append("\n\n").append(preview.getChangesWithoutConflicts().size())
+                    .append(" appointments can be changed without conflicts.");
+        }
+
+        List<Appointment> changes = preview.hasConflicts() ? preview.getChangesWithoutConflicts() :
+                preview.getChanges();
+        ButtonType applyButton = new ButtonType(preview.hasConflicts() ? "Apply Non-Conflicting" : "Apply Changes",
+                ButtonBar.ButtonData.OK_DONE);
+        Optional<ButtonType> choice = AlertDialog.showChoiceDialog("Preview Bulk Change", summary.toString(),
+                applyButton, ButtonType.CANCEL);
+        if (choice.isEmpty() || choice.get() != applyButton || changes.isEmpty()) {
+            textActionResultMessage.setText("Bulk change not applied.");
+            return;
+        }
+
+        List<Appointment> changedSincePreview = Repositories.appointments().rescheduleAppointments(changes,
+                preview.getPreviewedLastUpdates());
+        if (changedSincePreview == null) {
+            textActionResultMessage.setText("Bulk change not applied.");
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Bulk Change Failed", "The changes could not be saved. " +
+                    "No appointments were changed.");
+            return;
+        }
+
+        int changedCount = changes.size() - changedSincePreview.size();
+        textActionResultMessage.setText(changedCount + " appointments changed.");
+        if (changedCount > 0) {
+            WorkingDataCache.invalidateAppointments();
+            refreshTableView();
+            SceneSwap.invalidate("../view/Reports.fxml");
+        }
+        if (!changedSincePreview.isEmpty()) {
+            List<ScheduleConflict> conflicts = preview.withChangedSincePreview(changedSincePreview)
+                    .getChangedSincePreview();
+            StringBuilder details = new StringBuilder(conflicts.size() + " appointments were changed or deleted " +
+                    "by someone else since the preview, and were left as they are:");
+            for (int i = 0; i < Math.min(conflicts.size(), MAX_CONFLICTS_SHOWN); i++) {
+                details.append("\n").append(conflicts.get(i).getDescription());
+            }
+            if (conflicts.size() > MAX_CONFLICTS_SHOWN) {
+                details.append("\n...and ").append(conflicts.size() - MAX_CONFLICTS_SHOWN).append(" more.");
+            }
+            AlertDialog.showAlert(Alert.AlertType.WARNING, "Bulk Change Conflicts", details.toString());
+        }
+    }
+
+    /**
+     * Responds to the click event for the Import button. Lets the user pick a CSV or iCalendar file and imports its
+     * appointments in the background. Rejected records are written next to the imported file, with ".rejected.csv"
+     * added to its name. The import runs on its own database connection, so other views can keep saving while it runs.
+     * The appointment buttons are disabled until the import finishes.
+     *
+     * @param actionEvent A click event on the Import button.
+     */
+    @FXML
+    public void onImportAppointmentsButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Import Appointments Button Clicked");
+        textActionResultMessage.setText(null);
+
+        if (inNewAppointmentState || inEditAppointmentState) {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Import Unavailable", "Please save or cancel the " +
+                    "appointment you are editing before importing.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Appointments");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Appointment Files (*.csv, *.ics)", "*.csv", "*.ics"),
+                new FileChooser.ExtensionFilter("CSV Files (*.csv)", "*.csv"),
+                new FileChooser.ExtensionFilter("iCalendar Files (*.ics)", "*.ics"));
+        File file = fileChooser.showOpenDialog(Main.getPrimaryStage());
+        if (file == null) {
+            return;
+        }
+
+        Path source = file.toPath();
+        Path rejectedRowsFile = source.resolveSibling(file.getName() + ".rejected.csv");
+        String userName = UserLogin.currentUser;
+        User user = Repositories.users().selectUserByUsername(userName);
+        int defaultUserId = user != null ? user.getId() : -1;
+
+        setImportRunning(true);
+        textActionResultMessage.setText("Importing " + file.getName() + "...");
+        CompletableFuture.supplyAsync(() -> AppointmentImporter.importAppointments(source, rejectedRowsFile, userName,
+                        defaultUserId))
+                .whenComplete((result, error) -> Platform.runLater(() -> finishImport(result, error)));
+    }
+
+    /**
+     * Shows the outcome of an import and refreshes the appointments. Called on the JavaFX Application Thread.
+     *
+     * @param result The import result, or null if the import failed unexpectedly.
+     * @param error  The unexpected failure, or null.
+     */
+    private void finishImport(ImportResult result, Throwable error) {
+        log.trace("[Method Call]    finishImport");
+        setImportRunning(false);
+
+        if (result == null) {
+            textActionResultMessage.setText("Import failed.");
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Import Failed", "The import stopped unexpectedly: " +
+                    (error != null ? error.getMessage() : "unknown error"));
+            return;
+        }
+
+        if (result.getImportedCount() > 0) {
+            refreshTableView();
+            SceneSwap.invalidate("../view/Reports.fxml");
+        }
+        textActionResultMessage.setText("Imported " + result.getImportedCount() + " appointments.");
+
+        StringBuilder summary = new StringBuilder("Imported " + result.getImportedCount() + " appointments in " +
+                result.getElapsedMillis() + " ms (" + result.getRowsPerSecond() + " per second).");
+        if (result.getRejectedCount() > 0) {
+            summary.append("\n\n").append(result.getRejectedCount()).append(" records were rejected. See ")
+                    .append(result.getRejectedRowsFile()).append(" for details.");
+        }
+        if (result.getError() != null) {
+            summary.append("\n\nThe import stopped early: ").append(result.getError()).append(" Appointments " +
+                    "committed before the error were kept.");
+        }
+        AlertDialog.showAlert(result.getError() != null ? Alert.AlertType.WARNING : Alert.AlertType.INFORMATION,
+                "Import Complete", summary.toString());
+    }
+
+    /**
+     * Disables the appointment buttons while an import is running, and re-enables them afterwards.
+     *
+     * @param running true while an import is running.
+     */
+    private void setImportRunning(boolean running) {
+        buttonImportAppointments.setDisable(running);
+        buttonBulkChange.setDisable(running);
+        buttonNewAppointment.setDisable(running);
+        buttonEditAppointment.setDisable(running);
+        buttonDeleteAppointment.setDisable(running);
+    }
+
     /**
      * Responds to the click event for the Save Appointment Button.
      * Calls method for validation check to alert user of any empty fields.
@@ -682,7 +1148,7 @@ public class Appointments {
      */
     @FXML
     public void onSaveAppointmentButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Save Appointment Button Clicked");
+        log.debug("[Action Event]   Save Appointment Button Clicked");
 
         checkForEmptyFields();
 
@@ -696,46 +1162,123 @@ public class Appointments {
         LocalTime endTime = LocalTime.parse(comboboxEndTime.getValue(), timeFormatter);
         LocalDateTime endDateTime = datePickerAppointmentEndDate.getValue().atTime(endTime);
 
-        if (hasAppointmentConflicts(startDateTime, endDateTime, inNewAppointmentState)) {
+        if (!validateRepeatFields()) {
+            return;
+        }
+        RecurrenceRule recurrenceRule = getRecurrenceRuleFromForm();
+
+        if (hasAppointmentConflicts(startDateTime, endDateTime, recurrenceRule, inNewAppointmentState)) {
             showOverlappingAppointmentAlert();
             return;
         }
 
         if (inNewAppointmentState) {
-            createNewAppointment(startDateTime, endDateTime);
+            createNewAppointment(startDateTime, endDateTime, recurrenceRule);
         } else if (inEditAppointmentState) {
-            updateExistingAppointment(startDateTime, endDateTime);
+            updateExistingAppointment(startDateTime, endDateTime, recurrenceRule);
         }
     }
 
     /**
      * Used to check for scheduling conflicts before creating or updating an appointment.
      * In the case of editing an existing appointment, it excludes the appointment being edited from the conflict check.
+     * For a recurring appointment, existing appointments are loaded once for the span of the series (up to
+     * {@link Global#RECURRENCE_CONFLICT_HORIZON} for series that never end) and each occurrence is checked against
+     * them in memory.
      *
      * @param startDateTime The desired start datetime for the appointment.
      * @param endDateTime The desired end datetime for the appointment.
+     * @param recurrenceRule How the appointment repeats, or null if it does not repeat.
      * @param isNewAppointment Flag to indicate if the operation is for creating a new appointment (true) or editing an existing one (false).
      * @return true if a scheduling conflict exists (ex: if there is an overlapping appointment), false otherwise.
      */
-    private boolean hasAppointmentConflicts(LocalDateTime startDateTime, LocalDateTime endDateTime, boolean isNewAppointment) {
-        // Checking for appt conflicts in db
-        List<Appointment> appointmentConflicts = AppointmentDAO.selectAppointmentsWithRangeConflictForCustomerID(
-                Integer.parseInt(textFieldAppointmentCustomerId.getText()),
-                startDateTime,
-                endDateTime
-        );
+    private boolean hasAppointmentConflicts(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                            RecurrenceRule recurrenceRule, boolean isNewAppointment) {
+        Duration length = Duration.between(startDateTime, endDateTime);
+        List<LocalDateTime> desiredStarts = Collections.singletonList(startDateTime);
+        LocalDateTime lastDesiredStart = startDateTime;
+
+        if (recurrenceRule != null) {
+            LocalDateTime horizon = startDateTime.plus(Global.RECURRENCE_CONFLICT_HORIZON);
+            LocalDateTime lastStart = recurrenceRule.lastOccurrenceStart(startDateTime);
+            lastDesiredStart = lastStart != null && lastStart.isBefore(horizon) ? lastStart : horizon;
+            desiredStarts = recurrenceRule.occurrenceStartsBetween(startDateTime, startDateTime,
+                    lastDesiredStart.plusSeconds(1));
+        }
 
-            if (isNewAppointment) {
-            return !appointmentConflicts.isEmpty();
-        } else {
+        // Checking for appt conflicts in db
+        List<Appointment> appointmentConflicts =
+                Repositories.appointments().selectAppointmentsWithRangeConflictForCustomerID(
+                        Integer.parseInt(textFieldAppointmentCustomerId.getText()),
+                        startDateTime,
+                        lastDesiredStart.plus(length)
+                );
+
+        if (!isNewAppointment) {
             Appointment selectedAppointment = tableviewAppointments.getSelectionModel().getSelectedItem();
             int selectedAppointmentId = selectedAppointment.getId();
 
             // Filter out currently selected appt from conflicts so user can edit and save without error alert
             appointmentConflicts.removeIf(appointment -> appointment.getId() == selectedAppointmentId);
+        }
+
+        for (LocalDateTime desiredStart : desiredStarts) {
+            LocalDateTime desiredEnd = desiredStart.plus(length);
+            for (Appointment appointment : appointmentConflicts) {
+                if (appointment.getStartTime().isBefore(desiredEnd) && appointment.getEndTime().isAfter(desiredStart)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validates the repeat fields of the appointment form. The occurrence count must be a positive whole number, and
+     * the repeat until date must not be before the start date.
+     *
+     * @return true if the repeat fields are valid or the appointment does not repeat, false otherwise.
+     */
+    private boolean validateRepeatFields() {
+        if (DOES_NOT_REPEAT.equals(comboboxRepeat.getValue()) || comboboxRepeat.getValue() == null) {
+            return true;
+        }
+        String count = textFieldRepeatCount.getText().trim();
+        if (!count.isEmpty() && (!count.matches("\\d{1,4}") || Integer.parseInt(count) < 1)) {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Check Repeat Settings", "The number of occurrences must be " +
+                    "a whole number greater than zero.");
+            return false;
+        }
+        LocalDate until = datePickerRepeatUntil.getValue();
+        if (until != null && until.isBefore(datePickerAppointmentStartDate.getValue())) {
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Check Repeat Settings", "The repeat until date must not be " +
+                    "before the start date.");
+            return false;
+        }
+        return true;
+    }
 
-            return !appointmentConflicts.isEmpty();
+    /**
+     * Creates a recurrence rule from the repeat fields of the appointment form. When editing a recurring
+     * appointment, its cancelled occurrences are kept.
+     *
+     * @return The recurrence rule, or null if the appointment does not repeat.
+     */
+    private RecurrenceRule getRecurrenceRuleFromForm() {
+        RecurrenceFrequency frequency = RecurrenceFrequency.fromDisplayName(comboboxRepeat.getValue());
+        if (frequency == null) {
+            return null;
+        }
+        String count = textFieldRepeatCount.getText().trim();
+
+        Set<LocalDate> exceptions = Collections.emptySet();
+        Appointment selectedAppointment = tableviewAppointments.getSelectionModel().getSelectedItem();
+        if (inEditAppointmentState && selectedAppointment != null && selectedAppointment.isRecurring()) {
+            exceptions = selectedAppointment.getRecurrenceRule().getExceptions();
         }
+
+        return new RecurrenceRule(frequency, 1, count.isEmpty() ? null : Integer.parseInt(count),
+                datePickerRepeatUntil.getValue(), exceptions);
     }
 
 
@@ -747,7 +1290,7 @@ public class Appointments {
      */
     @FXML
     public void onCustomerTabButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Customer Navigation Tab Clicked");
+        log.debug("[Action Event]   Customer Navigation Tab Clicked");
         Stage currentStage = Main.getPrimaryStage();
         currentStage.setTitle("Wisebook - Customers");
         SceneSwap.swapScene(currentStage, "../view/Customers.fxml");
@@ -760,12 +1303,24 @@ public class Appointments {
      */
     @FXML
     public void onReportsTabButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Reports Navigation Tab Clicked");
+        log.debug("[Action Event]   Reports Navigation Tab Clicked");
         Stage currentStage = Main.getPrimaryStage();
         currentStage.setTitle("Wisebook - Reports");
         SceneSwap.swapScene(currentStage, "../view/Reports.fxml");
     }
 
+    /**
+     * Switches the current scene to the Diagnostics view when the Diagnostics navigation tab is clicked.
+     *
+     * @param actionEvent A click event on the Diagnostics Navigation Tab.
+     */
+    public void onDiagnosticsTabButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Diagnostics Navigation Tab Clicked");
+        Stage currentStage = Main.getPrimaryStage();
+        currentStage.setTitle("Wisebook - Diagnostics");
+        SceneSwap.swapScene(currentStage, "../view/Diagnostics.fxml");
+    }
+
     /**
      * Switches the current scene to the User Login view when the Logout button is clicked.
      *
@@ -773,7 +1328,7 @@ public class Appointments {
      */
     @FXML
     public void onLogoutButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Logout Button Clicked");
+        log.debug("[Action Event]   Logout Button Clicked");
         UserLogin.userLogout();
     }
 
@@ -783,9 +1338,9 @@ public class Appointments {
      * @return The username associated with the user ID in the form.
      */
     private String getUserNameFromUserIdField() {
-        System.out.println("[Method Call]    getUserNameFromUserIdField");
+        log.trace("[Method Call]    getUserNameFromUserIdField");
         int userId = Integer.parseInt(textFieldAppointmentUserId.getText());
-        User user = UserDAO.selectUserById(userId);
+        User user = Repositories.users().selectUserById(userId);
 
         if (user == null) {
             System.err.println("No user found with ID: " + userId);
@@ -801,9 +1356,9 @@ public class Appointments {
      * @return The ID corresponding to the selected contact name.
      */
     private int getContactIdFromComboBox() {
-        System.out.println("[Method Call]    getContactIdFromComboBox");
+        log.trace("[Method Call]    getContactIdFromComboBox");
         String selectedContactName = comboboxContactName.getSelectionModel().getSelectedItem();
-        Contact contact = ContactDAO.selectContactByName(selectedContactName);
+        Contact contact = ReferenceDataCache.getContactByName(selectedContactName);
 
         if (contact == null) {
             System.err.println("No contact found for name: " + selectedContactName);
@@ -812,55 +1367,36 @@ public class Appointments {
         return contact.getId();
     }
 
-    /**
-     * Converts a given LocalDateTime to its UTC equivalent.
-     *
-     * @param localDateTime The local date-time to convert.
-     * @return The UTC equivalent of the given local datetime.
-     */
-    private LocalDateTime convertToUTC(LocalDateTime localDateTime) {
-        // System.out.println("[Method Call]    convertToUTC");
-        return localDateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-    }
-
-    /**
-     * Converts a given UTC LocalDateTime to its local time equivalent.
-     *
-     * @param utcDateTime The UTC date-time to convert.
-     * @return The local time equivalent of the given UTC datetime.
-     */
-    private LocalDateTime convertFromUTC(LocalDateTime utcDateTime) {
-        System.out.println("[Method Call]    convertFromUTC");
-        return utcDateTime.atZone(ZoneOffset.UTC).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
-    }
-
     /**
      * Updates an existing appointment record. Gets the appointment from the table, updates the data
      * with the form field values, and applies these changes to the database using DAO methods. Refreshes
      * the UI and displays a message indicating whether the update was successful or failed, with an added alert dialog
      * on failure.
      *
-     * @param startDateTime The new local start time for the appointment.
-     * @param endDateTime   The new local end time for the appointment.
+     * @param startDateTime  The new local start time for the appointment.
+     * @param endDateTime    The new local end time for the appointment.
+     * @param recurrenceRule How the appointment repeats, or null if it does not repeat.
      */
-    private void updateExistingAppointment(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        System.out.println("[Method Call]    updateExistingAppointment called with startDateTime: " + startDateTime + " and endDateTime: " + endDateTime);
+    private void updateExistingAppointment(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                           RecurrenceRule recurrenceRule) {
+        log.trace(() -> "[Method Call]    updateExistingAppointment called with startDateTime: " + startDateTime +
+                " and endDateTime: " + endDateTime);
 
         // Get the selected appointment from the TableView
         Appointment selectedAppointment = tableviewAppointments.getSelectionModel().getSelectedItem();
-        System.out.println("                 Selected Appointment ID: " + (selectedAppointment != null ?
+        log.trace(() -> "                 Selected Appointment ID: " + (selectedAppointment != null ?
                 selectedAppointment.getId() : "None"));
 
         // If no appointment is selected, display an alert and exit the method
         if (selectedAppointment == null) {
-            System.out.println("                 No appointment selected. Exiting method.");
+            log.trace("                 No appointment selected. Exiting method.");
             AlertDialog.showAlert(Alert.AlertType.ERROR, "No Appointment Selected", "Please select an appointment to " +
                     "edit.");
             return;
         }
 
         // If an appointment is selected, create an appointment object with updated details
-        System.out.println("                 Creating updated appointment object.");
+        log.trace("                 Creating updated appointment object.");
         Appointment updatedAppointment = new Appointment(
                 Integer.parseInt(textFieldAppointmentId.getText()),
                 textFieldAppointmentTitle.getText(),
@@ -878,34 +1414,90 @@ public class Appointments {
                 getContactIdFromComboBox(),
                 comboboxContactName.getValue()
         );
+        updatedAppointment.setRecurrenceRule(recurrenceRule);
 
+        saveAppointmentUpdate(updatedAppointment);
+    }
+
+    /**
+     * Saves an edited appointment, provided nobody else has updated it since it was loaded into the form.
+     * If the update succeeds, the UI returns to its default state and is refreshed. If someone else changed the
+     * appointment first, the user can load their version into the form, overwrite it, or keep editing.
+     *
+     * @param updatedAppointment The appointment with the user's changes.
+     */
+    private void saveAppointmentUpdate(Appointment updatedAppointment) {
         // Update the appointment in the database.
-        // If update operation returns true, it was successful. Toggle back to default UI state and refresh/reset.
-        System.out.println("                 Attempting to update appointment in database.");
-        if (AppointmentDAO.updateAppointment(updatedAppointment)) {
-            System.out.println("                 Update successful.");
+        // If the update was applied, toggle back to default UI state and refresh/reset.
+        log.trace("                 Attempting to update appointment in database.");
+        UpdateResult<Appointment> result = Repositories.appointments().updateAppointment(updatedAppointment,
+                editedAppointmentLastUpdate);
+        if (result.isUpdated()) {
+            log.trace("                 Update successful.");
             textActionResultMessage.setText("Record updated.");
+            WorkingDataCache.invalidateAppointments();
+            refreshTableView();
+            SceneSwap.invalidate("../view/Reports.fxml");
+            inEditAppointmentState = false;
+            toggleUIState();
+        } else if (result.getStatus() == UpdateResult.Status.CONFLICT) {
+            log.trace("                 Update conflict.");
+            resolveAppointmentUpdateConflict(updatedAppointment, result.getCurrent());
+        } else if (result.getStatus() == UpdateResult.Status.NOT_FOUND) {
+            log.trace("                 Appointment no longer exists.");
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Appointment Deleted", "This appointment was deleted by " +
+                    "another user while you were editing it.");
+            textActionResultMessage.setText("Update not applied.");
+            WorkingDataCache.invalidateAppointments();
             refreshTableView();
             inEditAppointmentState = false;
             toggleUIState();
         } else {
-            System.out.println("                 Update failed.");
+            log.trace("                 Update failed.");
             AlertDialog.showAlert(Alert.AlertType.ERROR, "Update Failed.", "Failed to update appointment. Please try " +
                     "again.");
             textActionResultMessage.setText("Update not applied.");
         }
     }
 
+    /**
+     * Asks the user what to do when an appointment they are editing was changed by someone else first. They can load
+     * the other version into the form, overwrite it with their changes, or keep editing.
+     *
+     * @param updatedAppointment The appointment with the user's changes.
+     * @param currentAppointment The appointment as it is now in the database.
+     */
+    private void resolveAppointmentUpdateConflict(Appointment updatedAppointment, Appointment currentAppointment) {
+        ButtonType loadLatest = new ButtonType("Load Latest");
+        ButtonType overwrite = new ButtonType("Overwrite");
+        Optional<ButtonType> choice = AlertDialog.showChoiceDialog("Appointment Changed", "This appointment was " +
+                "changed by " + currentAppointment.getLastUpdatedBy() + " at " + currentAppointment.getLastUpdate() +
+                " after you started editing it. Load their version into the form, or overwrite it with your changes?",
+                loadLatest, overwrite, ButtonType.CANCEL);
+
+        if (choice.isPresent() && choice.get() == loadLatest) {
+            populateAppointmentForm(currentAppointment);
+            textActionResultMessage.setText("Latest version loaded. Review and save again.");
+        } else if (choice.isPresent() && choice.get() == overwrite) {
+            editedAppointmentLastUpdate = currentAppointment.getLastUpdate();
+            saveAppointmentUpdate(updatedAppointment);
+        } else {
+            textActionResultMessage.setText("Update not applied.");
+        }
+    }
+
     /**
      * Gets data from the form fields and creates a new appointment object. The new appointment object is used in
      * conjunction with DAO methods to insert a new appointment into the database. Upon success, the UI is refreshed
      * to show the updated list of appointments. If insertion fails, an alert and UI message is displayed.
      *
-     * @param startDateTime The local start time of the appointment.
-     * @param endDateTime   The local end time of the appointment.
+     * @param startDateTime  The local start time of the appointment.
+     * @param endDateTime    The local end time of the appointment.
+     * @param recurrenceRule How the appointment repeats, or null if it does not repeat.
      */
-    private void createNewAppointment(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        System.out.println("[Method Call]    createNewAppointment called with startDateTime: " + startDateTime + " " +
+    private void createNewAppointment(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                      RecurrenceRule recurrenceRule) {
+        log.trace(() -> "[Method Call]    createNewAppointment called with startDateTime: " + startDateTime + " " +
                 "and endDateTime: " + endDateTime);
 
 
@@ -927,12 +1519,15 @@ public class Appointments {
                 getContactIdFromComboBox(),
                 comboboxContactName.getValue()
         );
+        newAppointment.setRecurrenceRule(recurrenceRule);
 
         // If insertion operation returns true, it was successful. Toggle back to default UI state and refresh/reset.
-        if (AppointmentDAO.insertAppointment(newAppointment)) {
-            System.out.println("                 Insertion successful.");
+        if (Repositories.appointments().insertAppointment(newAppointment)) {
+            log.trace("                 Insertion successful.");
             textActionResultMessage.setText("Appointment added.");
+            WorkingDataCache.invalidateAppointments();
             refreshTableView();
+            SceneSwap.invalidate("../view/Reports.fxml");
             inNewAppointmentState = false;
             toggleUIState();
         } else {
@@ -947,7 +1542,7 @@ public class Appointments {
      * If any fields are empty, an alert dialog is shown and the user is asked to complete the form before trying again.
      */
     private void checkForEmptyFields() {
-        System.out.println("[Method Call]    checkForEmptyFields");
+        log.trace("[Method Call]    checkForEmptyFields");
         // Check if any of the required fields are empty or not selected
         if (textFieldAppointmentTitle.getText().isEmpty() ||
                 textFieldAppointmentDescription.getText().isEmpty() ||
@@ -971,14 +1566,14 @@ public class Appointments {
      * @return true if values have been selected for start date and end date, otherwise false.
      */
     private boolean canPopulateStartTimes() {
-        System.out.println("[Method Call]    canPopulateStartTimes");
-        System.out.println("                 Checking values for required fields...");
-        System.out.println("                 selectedStartDate: " + selectedStartDate);
-        System.out.println("                 selectedEndDate: " + selectedEndDate);
+        log.trace("[Method Call]    canPopulateStartTimes");
+        log.trace("                 Checking values for required fields...");
+        log.trace(() -> "                 selectedStartDate: " + selectedStartDate);
+        log.trace(() -> "                 selectedEndDate: " + selectedEndDate);
 
         // Check if all the needed values are not null
         boolean result = selectedEndDate != null && selectedStartDate != null;
-        System.out.println("                 Result says: " + result);
+        log.trace(() -> "                 Result says: " + result);
         return result;
     }
 
@@ -996,10 +1591,12 @@ public class Appointments {
         appointmentCustomerId.setCellValueFactory(new PropertyValueFactory<>("customerId"));
         appointmentUserId.setCellValueFactory(new PropertyValueFactory<>("userId"));
         appointmentContact.setCellValueFactory(new PropertyValueFactory<>("contactName"));
+        appointmentRepeat.setCellValueFactory(new PropertyValueFactory<>("repeatSummary"));
 
-        appointments.addAll(AppointmentDAO.selectAllAppointments());
+        appointments.addAll(WorkingDataCache.getAllAppointments());
 
         tableviewAppointments.setItems(FXCollections.observableList(appointments));
+        tableviewAppointments.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
     }
 
     /**
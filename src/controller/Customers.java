@@ -1,11 +1,15 @@
 package controller;
 
-import DAO.CountryDAO;
-import DAO.CustomerDAO;
-import DAO.DivisionDAO;
+import DAO.ReferenceDataCache;
+import DAO.WorkingDataCache;
 import app.Main;
 import helper.AlertDialog;
+import helper.CustomerImporter;
+import helper.DegradedModeBanner;
+import helper.Log;
+import helper.Refreshable;
 import helper.SceneSwap;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -14,22 +18,35 @@ import javafx.scene.control.*;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import model.Customer;
+import model.ImportResult;
+import model.UpdateResult;
+import repository.Repositories;
 
+import java.io.File;
+import java.nio.file.Path;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The Customers controller class for the Customers view. Facilitates processing of customer data,
- * including insertion, updating, and deletion, through interactions with {@link CustomerDAO}.
+ * including insertion, updating, and deletion, through interactions with {@link repository.CustomerRepository}.
  */
 
-public class Customers {
+public class Customers implements Refreshable {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(Customers.class);
 
     /**
      * List of customers, observable for UI updates.
@@ -46,6 +63,12 @@ public class Customers {
      */
     private boolean inEditCustomerState = false;
 
+    /**
+     * Last update time of the customer being edited, as it was when loaded into the form. Saving only succeeds if the
+     * customer has not been updated since.
+     */
+    private Timestamp editedCustomerLastUpdate;
+
     /**
      * Field for customer ID.
      */
@@ -106,6 +129,12 @@ public class Customers {
     @FXML
     private Button buttonDeleteCustomer;
 
+    /**
+     * Button to import customers from a file.
+     */
+    @FXML
+    private Button buttonImportCustomers;
+
     /**
      * But to save customer data.
      */
@@ -166,6 +195,12 @@ public class Customers {
     @FXML
     private Label labelUsername;
 
+    /**
+     * Banner shown while the database is unavailable.
+     */
+    @FXML
+    private Label labelConnectionBanner;
+
     /**
      * Text field for showing results of actions.
      */
@@ -176,15 +211,17 @@ public class Customers {
      * Initializes UI components, populates the TableView, and sets up dynamic population of combo boxes.
      */
     public void initialize() {
-        System.out.println("[Method Call]    Customers.initialize ");
+        SceneSwap.controllerInitializing();
+        log.trace("[Method Call]    Customers.initialize ");
 
         // Update username displayed at upper right
         labelUsername.setText(UserLogin.currentUser);
+        DegradedModeBanner.attach(labelConnectionBanner);
 
 
-        customers.addAll(CustomerDAO.selectAllCustomers());
+        customers.addAll(WorkingDataCache.getCustomers());
         tableviewCustomers.setItems(FXCollections.observableList(customers));
-
+        tableviewCustomers.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
         customerID.setCellValueFactory(new PropertyValueFactory<>("id"));
         customerName.setCellValueFactory(new PropertyValueFactory<>("name"));
@@ -199,16 +236,25 @@ public class Customers {
 
     }
 
+    /**
+     * Reloads the customers table when the cached Customers view is shown after being marked stale.
+     */
+    @Override
+    public void refresh() {
+        log.trace("[Method Call]    Customers.refresh ");
+        refreshTableView();
+    }
+
     /**
      * Toggles the UI state between default, new customer, and edit customer modes.
      * Enables or disables form fields and buttons based on the current mode.
      */
     private void toggleUIState() {
-        System.out.println("[Method Call]    toggleUIState");
+        log.trace("[Method Call]    toggleUIState");
 
         // Switch to default UI state if not editing or creating a new customer
         if (!inEditCustomerState && !inNewCustomerState) {
-            System.out.println("                 Toggling to default UI state.");
+            log.trace("                 Toggling to default UI state.");
 
             // Disable form fields
             textFieldName.setDisable(true);
@@ -234,7 +280,7 @@ public class Customers {
 
         // If already in either the edit or new customer state, toggle back to default
         if (inNewCustomerState || inEditCustomerState) {
-            System.out.println("                 Toggling to edit/new UI state.");
+            log.trace("                 Toggling to edit/new UI state.");
 
             // Enable form fields
             textFieldName.setDisable(false);
@@ -254,7 +300,7 @@ public class Customers {
 
         // If in new customer state, update related UI elements
         if (inNewCustomerState && !inEditCustomerState) {
-            System.out.println("          In New Customer State.");
+            log.trace("          In New Customer State.");
             buttonEditCustomer.setDisable(true);
             buttonNewCustomer.setText("Cancel New");
             textFieldCustomerId.setPromptText("Customer ID (db-gen)");
@@ -262,7 +308,7 @@ public class Customers {
 
         // If in edit customer state, update related UI elements
         if (inEditCustomerState && !inNewCustomerState) {
-            System.out.println("                 In Edit Customer State.");
+            log.trace("                 In Edit Customer State.");
             buttonNewCustomer.setDisable(true);
             buttonEditCustomer.setText("Cancel Edit");
         }
@@ -272,10 +318,10 @@ public class Customers {
      * Resets all form fields to their initial, empty state.
      */
     private void resetCustomerFields() {
-        System.out.println("[Method Call]    resetCustomerFields");
+        log.trace("[Method Call]    resetCustomerFields");
 
         // Empty the customer form fields
-        System.out.println("                 Clearing customer form fields.");
+        log.trace("                 Clearing customer form fields.");
 
         textFieldCustomerId.clear();
         textFieldName.clear();
@@ -292,16 +338,17 @@ public class Customers {
      * Refreshes the TableView with the list of customers.
      */
     private void refreshTableView() {
-        System.out.println("[Method Call]    refreshTableView");
+        log.trace("[Method Call]    refreshTableView");
         customers.clear();
-        customers.addAll(CustomerDAO.selectAllCustomers());
+        WorkingDataCache.invalidateCustomers();
+        customers.addAll(WorkingDataCache.getCustomers());
         tableviewCustomers.setItems(FXCollections.observableArrayList(customers));
         tableviewCustomers.refresh();
-        System.out.println("                 TableView refreshed.");
+        log.trace("                 TableView refreshed.");
     }
 
     /**
-     * Populates the country ComboBox with country names from the database.
+     * Populates the country ComboBox with country names from the reference data cache.
      * Also sets up a listener to enable/disable the state/province ComboBox
      * based on the country selection and to populate state/province ComboBox when a country is selected.
      * <p></p>
@@ -311,7 +358,7 @@ public class Customers {
     private void populateCountryAndStateProvinceComboBoxes() {
         // Clear any pre-existing items and get the list of country names
         comboboxCountry.getItems().clear();
-        List<String> countryNames = CountryDAO.selectAllCountryNames();
+        List<String> countryNames = ReferenceDataCache.getCountryNames();
 
         // Iterate through the list to add each country name to the combobox options
         for (String countryName : countryNames) {
@@ -328,10 +375,10 @@ public class Customers {
             if (newValue != null && !newValue.trim().isEmpty()) {
                 // Populate State/Province ComboBox based on selected country
                 String selectedCountryName = comboboxCountry.getValue();
-                int selectedCountryId = CountryDAO.selectCountryIDByName(selectedCountryName);
+                int selectedCountryId = ReferenceDataCache.getCountryIdByName(selectedCountryName);
 
-                // Fetch the list of division names based on the selected country ID
-                List<String> divisionNames = DivisionDAO.selectDivisionNamesByCountryID(selectedCountryId);
+                // Get the list of division names based on the selected country ID
+                List<String> divisionNames = ReferenceDataCache.getDivisionNamesByCountryId(selectedCountryId);
 
                 // Clear any pre-existing items
                 comboboxStateProvince.getItems().clear();
@@ -364,6 +411,18 @@ public class Customers {
         SceneSwap.swapScene(currentStage, "../view/Reports.fxml");
     }
 
+    /**
+     * Switches the current scene to the Diagnostics view when the Diagnostics navigation tab is clicked.
+     *
+     * @param actionEvent A click event on the Diagnostics Navigation Tab.
+     */
+    public void onDiagnosticsTabButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Diagnostics Navigation Tab Clicked");
+        Stage currentStage = Main.getPrimaryStage();
+        currentStage.setTitle("Wisebook - Diagnostics");
+        SceneSwap.swapScene(currentStage, "../view/Diagnostics.fxml");
+    }
+
     /**
      * Responds to the click event for the Edit Customer button.
      * Toggles the UI state between editing an existing customer and the default state.
@@ -373,7 +432,7 @@ public class Customers {
      * @param actionEvent A click event on the Edit Customer button.
      */
     public void onEditCustomerButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Edit Customer Button Clicked");
+        log.debug("[Action Event]   Edit Customer Button Clicked");
         textActionResultMessage.setText(null);
 
         // Get the selected customer
@@ -387,13 +446,7 @@ public class Customers {
 
             // If in edit state, populate the form with the selected customer's info.
             if (inEditCustomerState) {
-                textFieldCustomerId.setText(Integer.toString(selectedCustomer.getId()));
-                textFieldName.setText(selectedCustomer.getName());
-                textFieldAddress.setText(selectedCustomer.getAddress());
-                textFieldPhoneNumber.setText(selectedCustomer.getPhone());
-                textFieldPostalCode.setText(selectedCustomer.getPostalCode());
-                comboboxStateProvince.setValue(selectedCustomer.getStateProvince());
-                comboboxCountry.setValue(selectedCustomer.getCountry());
+                populateCustomerForm(selectedCustomer);
             }
         } else {
             // Show alert dialog if no customer was selected for modification.
@@ -402,6 +455,23 @@ public class Customers {
         }
     }
 
+    /**
+     * Fills the customer form with a customer's details, and remembers their last update time so the save can check
+     * that nobody else has changed the customer in the meantime.
+     *
+     * @param customer The customer to edit.
+     */
+    private void populateCustomerForm(Customer customer) {
+        editedCustomerLastUpdate = customer.getLastUpdate();
+        textFieldCustomerId.setText(Integer.toString(customer.getId()));
+        textFieldName.setText(customer.getName());
+        textFieldAddress.setText(customer.getAddress());
+        textFieldPhoneNumber.setText(customer.getPhone());
+        textFieldPostalCode.setText(customer.getPostalCode());
+        comboboxCountry.setValue(customer.getCountry());
+        comboboxStateProvince.setValue(customer.getStateProvince());
+    }
+
     /**
      * Responds to click event for New Customer button.
      * Toggles the UI state between creating a new customer and the default state.
@@ -410,7 +480,7 @@ public class Customers {
      * @param actionEvent A click event on the New Customer button.
      */
     public void onNewCustomerButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   New Customer Button Clicked");
+        log.debug("[Action Event]   New Customer Button Clicked");
         textActionResultMessage.setText(null);
 
         // Switch between default and new customer state. Calls toggleUIState method to set UI accordingly.
@@ -423,7 +493,7 @@ public class Customers {
      * Depending on current UI state, either creates a new customer or updates an existing customer.
      */
     public void onSaveCustomerButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Save Customer Button Clicked");
+        log.debug("[Action Event]   Save Customer Button Clicked");
         checkForEmptyFields();
         // Check UI State Context to perform correct action
         if (inNewCustomerState) {
@@ -435,39 +505,140 @@ public class Customers {
 
     /**
      * Responds to the click event for the Delete Customer Button.
-     * If a customer is selected, it shows a confirmation dialog before proceeding to delete the customer.
+     * If one or more customers are selected, it shows a confirmation dialog before deleting them, together with their
+     * appointments, in a single transaction.
      * If no customer is selected, an error alert is shown. The UI is updated upon successful deletion.
      *
      * @param actionEvent A click event on the Delete Customer button.
      */
     public void onDeleteCustomerButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Delete Customer Button Clicked");
+        log.debug("[Action Event]   Delete Customer Button Clicked");
         textActionResultMessage.setText(null);
-        Customer selectedCustomer = tableviewCustomers.getSelectionModel().getSelectedItem();
+        List<Customer> selectedCustomers = new ArrayList<>(tableviewCustomers.getSelectionModel().getSelectedItems());
 
-        if (selectedCustomer == null) {
+        if (selectedCustomers.isEmpty()) {
             AlertDialog.showAlert(AlertType.ERROR, "No Customer Selected", "Please select the customer record you " +
                     "would like to delete.");
             return;
         }
 
         // Prevent accidental deletion with a confirmation dialog
-        Optional<ButtonType> result = AlertDialog.showConfirmationDialog("Confirm Deletion", "Delete selected " +
-                "customer?");
+        String content = selectedCustomers.size() == 1 ? "Delete selected customer?" :
+                "Delete the " + selectedCustomers.size() + " selected customers?";
+        Optional<ButtonType> result = AlertDialog.showConfirmationDialog("Confirm Deletion", content +
+                " Their appointments will also be deleted.");
 
         // Only proceed if user clicks yes
         if (result.isPresent() && result.get() == ButtonType.YES) {
-            int selectedCustomerId = selectedCustomer.getId();
-            String selectedCustomerName = selectedCustomer.getName();
-            if (CustomerDAO.deleteCustomer(selectedCustomer.getId())) {
-                tableviewCustomers.getItems().remove(selectedCustomer);
-                textActionResultMessage.setText("Customer Record Deleted (ID: " + selectedCustomerId + " Name: " + selectedCustomerName + ")");
+            Set<Integer> selectedCustomerIds = new HashSet<>();
+            for (Customer customer : selectedCustomers) {
+                selectedCustomerIds.add(customer.getId());
+            }
+            int deleted = Repositories.customers().deleteCustomers(new ArrayList<>(selectedCustomerIds));
+            if (deleted >= 0) {
+                WorkingDataCache.invalidateCustomers();
+                WorkingDataCache.invalidateAppointments();
+                // The customers' appointments were deleted with them, so the cached Appointments view is stale too
+                SceneSwap.invalidateDataViews();
+                tableviewCustomers.getItems().removeIf(customer -> selectedCustomerIds.contains(customer.getId()));
+                tableviewCustomers.getSelectionModel().clearSelection();
+                if (selectedCustomers.size() == 1) {
+                    Customer selectedCustomer = selectedCustomers.get(0);
+                    textActionResultMessage.setText("Customer Record Deleted (ID: " + selectedCustomer.getId() +
+                            " Name: " + selectedCustomer.getName() + ")");
+                } else {
+                    textActionResultMessage.setText(deleted + " Customer Records Deleted");
+                }
             } else {
                 AlertDialog.showAlert(Alert.AlertType.ERROR, "Record Deletion Failed", "Unable to delete customer.");
             }
         }
     }
 
+    /**
+     * Responds to the click event for the Import button.
+     * Asks the user for a CSV file and imports its customers on a background thread, writing any rejected records
+     * to a file next to the source file. The customer buttons are disabled until the import finishes.
+     *
+     * @param actionEvent A click event on the Import button.
+     */
+    public void onImportCustomersButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Import Customers Button Clicked");
+        textActionResultMessage.setText(null);
+
+        if (inNewCustomerState || inEditCustomerState) {
+            AlertDialog.showAlert(AlertType.ERROR, "Import Unavailable", "Please save or cancel the customer you " +
+                    "are editing before importing.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Customers");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files (*.csv)", "*.csv"));
+        File file = fileChooser.showOpenDialog(Main.getPrimaryStage());
+        if (file == null) {
+            return;
+        }
+
+        Path source = file.toPath();
+        Path rejectedRowsFile = source.resolveSibling(file.getName() + ".rejected.csv");
+        String userName = UserLogin.currentUser;
+
+        setImportRunning(true);
+        textActionResultMessage.setText("Importing " + file.getName() + "...");
+        CompletableFuture.supplyAsync(() -> CustomerImporter.importCustomers(source, rejectedRowsFile, userName))
+                .whenComplete((result, error) -> Platform.runLater(() -> finishImport(result, error)));
+    }
+
+    /**
+     * Shows the outcome of an import and refreshes the customers. Called on the JavaFX Application Thread.
+     *
+     * @param result The import result, or null if the import failed unexpectedly.
+     * @param error  The unexpected failure, or null.
+     */
+    private void finishImport(ImportResult result, Throwable error) {
+        log.trace("[Method Call]    finishImport");
+        setImportRunning(false);
+
+        if (result == null) {
+            textActionResultMessage.setText("Import failed.");
+            AlertDialog.showAlert(AlertType.ERROR, "Import Failed", "The import stopped unexpectedly: " +
+                    (error != null ? error.getMessage() : "unknown error"));
+            return;
+        }
+
+        if (result.getImportedCount() > 0) {
+            refreshTableView();
+            SceneSwap.invalidateDataViews();
+        }
+        textActionResultMessage.setText("Imported " + result.getImportedCount() + " customers.");
+
+        StringBuilder summary = new StringBuilder("Imported " + result.getImportedCount() + " customers in " +
+                result.getElapsedMillis() + " ms (" + result.getRowsPerSecond() + " per second).");
+        if (result.getRejectedCount() > 0) {
+            summary.append("\n\n").append(result.getRejectedCount()).append(" records were rejected. See ")
+                    .append(result.getRejectedRowsFile()).append(" for details.");
+        }
+        if (result.getError() != null) {
+            summary.append("\n\nThe import stopped early: ").append(result.getError()).append(" Customers " +
+                    "committed before the error were kept.");
+        }
+        AlertDialog.showAlert(result.getError() != null ? AlertType.WARNING : AlertType.INFORMATION,
+                "Import Complete", summary.toString());
+    }
+
+    /**
+     * Disables the customer buttons while an import is running, and re-enables them afterwards.
+     *
+     * @param running true while an import is running.
+     */
+    private void setImportRunning(boolean running) {
+        buttonImportCustomers.setDisable(running);
+        buttonNewCustomer.setDisable(running);
+        buttonEditCustomer.setDisable(running);
+        buttonDeleteCustomer.setDisable(running);
+    }
+
     /**
      * Handles the event for logout button clicks.
      * Logs out the current user by calling the {@code UserLogin.userLogout} method.
@@ -475,7 +646,7 @@ public class Customers {
      * @param actionEvent A click event on the logout button.
      */
     public void onLogoutButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Logout Button Clicked");
+        log.debug("[Action Event]   Logout Button Clicked");
         UserLogin.userLogout();
     }
 
@@ -485,7 +656,7 @@ public class Customers {
      * If any fields are empty, an alert dialog is shown and the user is asked to complete the form before trying again.
      */
     private void checkForEmptyFields() {
-        System.out.println("[Method Call]    checkForEmptyFields");
+        log.trace("[Method Call]    checkForEmptyFields");
         // Check if any of the required fields are empty or not selected
         if (textFieldName.getText().isEmpty() ||
                 textFieldAddress.getText().isEmpty() ||
@@ -505,7 +676,7 @@ public class Customers {
      * to show the updated list of customers. If insertion fails, an alert and UI message is displayed.
      */
     private void createNewCustomer() {
-        System.out.println("[Method Call]    createNewCustomer");
+        log.trace("[Method Call]    createNewCustomer");
 
         // Create an updated customer object using the data from the form fields and the ID from the selected customer
         Customer newCustomer = new Customer(
@@ -523,10 +694,11 @@ public class Customers {
         );
 
         // If insertion operation returns true, it was successful. Toggle back to default UI state and refresh/reset.
-        if (CustomerDAO.insertCustomer(newCustomer)) {
-            System.out.println("                 Insertion successful.");
+        if (Repositories.customers().insertCustomer(newCustomer)) {
+            log.trace("                 Insertion successful.");
             textActionResultMessage.setText("Customer added.");
             refreshTableView();
+            SceneSwap.invalidateDataViews();
             inNewCustomerState = false;
             toggleUIState();
         } else {
@@ -544,23 +716,23 @@ public class Customers {
      * on failure.
      */
     private void updateExistingCustomer() {
-        System.out.println("[Method Call]    updateExistingCustomer");
+        log.trace("[Method Call]    updateExistingCustomer");
 
         // Get the selected customer from the TableView
         Customer selectedCustomer = tableviewCustomers.getSelectionModel().getSelectedItem();
-        System.out.println("                 Selected Customer ID: " + (selectedCustomer != null ?
+        log.trace(() -> "                 Selected Customer ID: " + (selectedCustomer != null ?
                 selectedCustomer.getId() : "None"));
 
         // If no customer is selected, display an alert and exit the method
         if (selectedCustomer == null) {
-            System.out.println("                 No customer selected. Exiting method.");
+            log.trace("                 No customer selected. Exiting method.");
             AlertDialog.showAlert(Alert.AlertType.ERROR, "No Customer Selected", "Please select customer to " +
                     "edit.");
             return;
         }
 
         // If a customer is selected, create a customer object with updated details
-        System.out.println("                 Creating updated customer object.");
+        log.trace("                 Creating updated customer object.");
         Customer updatedCustomer = new Customer(
                 Integer.parseInt(textFieldCustomerId.getText()),
                 textFieldName.getText(),
@@ -575,18 +747,43 @@ public class Customers {
                 UserLogin.currentUser // lastUpdatedBy
         );
 
+        saveCustomerUpdate(updatedCustomer);
+    }
+
+    /**
+     * Saves an edited customer, provided nobody else has updated them since they were loaded into the form.
+     * If the update succeeds, the UI returns to its default state and is refreshed. If someone else changed the
+     * customer first, the user can load their version into the form, overwrite it, or keep editing.
+     *
+     * @param updatedCustomer The customer with the user's changes.
+     */
+    private void saveCustomerUpdate(Customer updatedCustomer) {
         // Update the customer in the database.
-        // If update operation returns true, it was successful. Toggle back to default UI state and refresh/reset.
-        System.out.println("                 Attempting to update customer in database.");
-        if (CustomerDAO.updateCustomer(updatedCustomer)) {
-            System.out.println("                 Update successful.");
+        // If the update was applied, toggle back to default UI state and refresh/reset.
+        log.trace("                 Attempting to update customer in database.");
+        UpdateResult<Customer> result = Repositories.customers().updateCustomer(updatedCustomer,
+                editedCustomerLastUpdate);
+        if (result.isUpdated()) {
+            log.trace("                 Update successful.");
             textActionResultMessage.setText("Record updated.");
             refreshTableView();
+            SceneSwap.invalidateDataViews();
+            inEditCustomerState = false;
+            toggleUIState();
+        } else if (result.getStatus() == UpdateResult.Status.CONFLICT) {
+            log.trace("                 Update conflict.");
+            resolveCustomerUpdateConflict(updatedCustomer, result.getCurrent());
+        } else if (result.getStatus() == UpdateResult.Status.NOT_FOUND) {
+            log.trace("                 Customer no longer exists.");
+            AlertDialog.showAlert(Alert.AlertType.ERROR, "Customer Deleted", "This customer was deleted by another " +
+                    "user while you were editing them.");
+            textActionResultMessage.setText("Update not applied.");
+            refreshTableView();
             inEditCustomerState = false;
             toggleUIState();
         } else {
             // If update fails, show alert dialog and prompt user to try again.
-            System.out.println("                 Update failed.");
+            log.trace("                 Update failed.");
             AlertDialog.showAlert(Alert.AlertType.ERROR, "Update Failed.", "Failed to update customer. Please try " +
                     "again.");
             textActionResultMessage.setText("Update not applied.");
@@ -594,16 +791,28 @@ public class Customers {
     }
 
     /**
-     * Converts a given LocalDateTime to its UTC equivalent.
+     * Asks the user what to do when a customer they are editing was changed by someone else first. They can load the
+     * other version into the form, overwrite it with their changes, or keep editing.
      *
-     * @param localDateTime The local date-time to convert.
-     * @return The UTC equivalent of the given local datetime.
-     */
-    private LocalDateTime convertToUTC(LocalDateTime localDateTime) {
-        System.out.println("[Method Call]    convertToUTC");
-        return localDateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+     * @param updatedCustomer The customer with the user's changes.
+     * @param currentCustomer The customer as they are now in the database.
+     */
+    private void resolveCustomerUpdateConflict(Customer updatedCustomer, Customer currentCustomer) {
+        ButtonType loadLatest = new ButtonType("Load Latest");
+        ButtonType overwrite = new ButtonType("Overwrite");
+        Optional<ButtonType> choice = AlertDialog.showChoiceDialog("Customer Changed", "This customer was changed by " +
+                currentCustomer.getLastUpdatedBy() + " at " + currentCustomer.getLastUpdate() + " after you started " +
+                "editing them. Load their version into the form, or overwrite it with your changes?", loadLatest,
+                overwrite, ButtonType.CANCEL);
+
+        if (choice.isPresent() && choice.get() == loadLatest) {
+            populateCustomerForm(currentCustomer);
+            textActionResultMessage.setText("Latest version loaded. Review and save again.");
+        } else if (choice.isPresent() && choice.get() == overwrite) {
+            editedCustomerLastUpdate = currentCustomer.getLastUpdate();
+            saveCustomerUpdate(updatedCustomer);
+        } else {
+            textActionResultMessage.setText("Update not applied.");
+        }
     }
 }
-
-
-
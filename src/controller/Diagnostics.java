@@ -0,0 +1,425 @@
+package controller;
+
+import app.Global;
+import app.Main;
+import helper.CacheStats;
+import helper.DaoMetrics;
+import helper.DegradedModeBanner;
+import helper.FxWatchdog;
+import helper.JDBC;
+import helper.Log;
+import helper.SceneSwap;
+import helper.SlowQueryLog;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import repository.SyncEngine;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Controls the Diagnostics view, which shows how the application is performing: how busy each database connection
+ * is, how well the caches are doing, the slowest recent SQL statements and DAO operations, stalls of the JavaFX
+ * Application Thread, and heap usage. Busy connections and slow statements point at the database; stalls without SQL
+ * running and a full heap point at the client. The figures are read from in-process counters, and are refreshed every
+ * {@link Global#DIAGNOSTICS_REFRESH_INTERVAL} while the view is shown.
+ */
+public class Diagnostics {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(Diagnostics.class);
+
+    /**
+     * Number of rows shown in the statement and operation tables.
+     */
+    private static final int TOP_ROWS = 10;
+
+    /**
+     * Bytes in a megabyte.
+     */
+    private static final long MEGABYTE = 1024 * 1024;
+
+    /**
+     * Formats the times of recent statements.
+     */
+    private static final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    /**
+     * Label for the username of the current user.
+     */
+    @FXML
+    private Label labelUsername;
+
+    /**
+     * Banner shown while the database is unavailable.
+     */
+    @FXML
+    private Label labelConnectionBanner;
+
+    /**
+     * Label showing heap usage.
+     */
+    @FXML
+    private Label labelHeap;
+
+    /**
+     * Bar showing the share of the maximum heap in use.
+     */
+    @FXML
+    private ProgressBar progressBarHeap;
+
+    /**
+     * Label showing whether the database is available, and the sync state in local-first mode.
+     */
+    @FXML
+    private Label labelDatabase;
+
+    /**
+     * Label showing the number of UI thread stalls.
+     */
+    @FXML
+    private Label labelStalls;
+
+    /**
+     * Table of database connections.
+     */
+    @FXML
+    private TableView<SlowQueryLog.ConnectionUsage> tableViewConnections;
+
+    /**
+     * Column for the endpoint a connection is to.
+     */
+    @FXML
+    private TableColumn<SlowQueryLog.ConnectionUsage, String> connectionName;
+
+    /**
+     * Column for the number of statements run on a connection.
+     */
+    @FXML
+    private TableColumn<SlowQueryLog.ConnectionUsage, String> connectionStatements;
+
+    /**
+     * Column for the number of statements running on a connection right now.
+     */
+    @FXML
+    private TableColumn<SlowQueryLog.ConnectionUsage, String> connectionInFlight;
+
+    /**
+     * Column for the share of the last refresh interval a connection spent running statements.
+     */
+    @FXML
+    private TableColumn<SlowQueryLog.ConnectionUsage, String> connectionUtilization;
+
+    /**
+     * Table of caches.
+     */
+    @FXML
+    private TableView<CacheStats> tableViewCaches;
+
+    /**
+     * Column for the cache name.
+     */
+    @FXML
+    private TableColumn<CacheStats, String> cacheName;
+
+    /**
+     * Column for the number of cache hits.
+     */
+    @FXML
+    private TableColumn<CacheStats, String> cacheHits;
+
+    /**
+     * Column for the number of cache misses.
+     */
+    @FXML
+    private TableColumn<CacheStats, String> cacheMisses;
+
+    /**
+     * Column for the cache hit rate.
+     */
+    @FXML
+    private TableColumn<CacheStats, String> cacheHitRate;
+
+    /**
+     * Table of the slowest recent statements.
+     */
+    @FXML
+    private TableView<SlowQueryLog.StatementTiming> tableViewStatements;
+
+    /**
+     * Column for when a statement finished.
+     */
+    @FXML
+    private TableColumn<SlowQueryLog.StatementTiming, String> statementTime;
+
+    /**
+     * Column for how long a statement took.
+     */
+    @FXML
+    private TableColumn<SlowQueryLog.StatementTiming, String> statementMillis;
+
+    /**
+     * Column for the SQL of a statement.
+     */
+    @FXML
+    private TableColumn<SlowQueryLog.StatementTiming, String> statementSql;
+
+    /**
+     * Table of the DAO operations with the slowest calls.
+     */
+    @FXML
+    private TableView<DaoMetrics.OperationMetrics> tableViewOperations;
+
+    /**
+     * Column for the operation name.
+     */
+    @FXML
+    private TableColumn<DaoMetrics.OperationMetrics, String> operationName;
+
+    /**
+     * Column for the number of calls to an operation.
+     */
+    @FXML
+    private TableColumn<DaoMetrics.OperationMetrics, String> operationCalls;
+
+    /**
+     * Column for the 99th percentile latency of an operation.
+     */
+    @FXML
+    private TableColumn<DaoMetrics.OperationMetrics, String> operationP99;
+
+    /**
+     * Column for the longest call to an operation.
+     */
+    @FXML
+    private TableColumn<DaoMetrics.OperationMetrics, String> operationMax;
+
+    /**
+     * Table of UI thread stalls, by blocking call.
+     */
+    @FXML
+    private TableView<FxWatchdog.StallSummary> tableViewStalls;
+
+    /**
+     * Column for the code that blocked the UI thread.
+     */
+    @FXML
+    private TableColumn<FxWatchdog.StallSummary, String> stallSite;
+
+    /**
+     * Column for the number of stalls.
+     */
+    @FXML
+    private TableColumn<FxWatchdog.StallSummary, String> stallCount;
+
+    /**
+     * Column for the longest stall.
+     */
+    @FXML
+    private TableColumn<FxWatchdog.StallSummary, String> stallMax;
+
+    /**
+     * Column for the SQL running during the most recent stall.
+     */
+    @FXML
+    private TableColumn<FxWatchdog.StallSummary, String> stallSql;
+
+    /**
+     * Refreshes the figures while the view is shown.
+     */
+    private final Timeline refreshTimeline = new Timeline(new KeyFrame(
+            Duration.millis(Global.DIAGNOSTICS_REFRESH_INTERVAL.toMillis()), event -> refresh()));
+
+    /**
+     * Busy time of each connection at the previous refresh, by endpoint name, for working out utilization.
+     */
+    private final Map<String, Long> previousBusyNanos = new HashMap<>();
+
+    /**
+     * Utilization of each connection over the last refresh interval, by endpoint name.
+     */
+    private final Map<String, Double> utilization = new HashMap<>();
+
+    /**
+     * When the view was last refreshed, from System.nanoTime.
+     */
+    private long previousRefreshNanos = 0;
+
+    /**
+     * Initializes the Diagnostics view: sets the current user's name, sets up the table columns, and starts
+     * refreshing the figures whenever the view is shown.
+     */
+    public void initialize() {
+        SceneSwap.controllerInitializing();
+        log.trace("[Method Call]    Diagnostics.initialize ");
+        labelUsername.setText(UserLogin.currentUser);
+        DegradedModeBanner.attach(labelConnectionBanner);
+        setupTableColumns();
+
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+        // Only refresh while the view's scene is in a window, and stop once another view replaces it
+        labelUsername.sceneProperty().addListener((observable, oldScene, scene) -> {
+            if (scene != null) {
+                scene.windowProperty().addListener((windowObservable, oldWindow, window) -> {
+                    if (window != null) {
+                        refreshTimeline.play();
+                    } else {
+                        refreshTimeline.stop();
+                    }
+                });
+            }
+        });
+        refresh();
+    }
+
+    /**
+     * Reads the current figures into the view.
+     */
+    private void refresh() {
+        long now = System.nanoTime();
+        List<SlowQueryLog.ConnectionUsage> connections = SlowQueryLog.getConnectionUsage();
+        for (SlowQueryLog.ConnectionUsage connection : connections) {
+            long busyNanos = connection.getBusyNanos();
+            Long previous = previousBusyNanos.put(connection.getName(), busyNanos);
+            if (previous != null && now > previousRefreshNanos) {
+                utilization.put(connection.getName(),
+                        Math.min(1.0, (double) (busyNanos - previous) / (now - previousRefreshNanos)));
+            }
+        }
+        previousRefreshNanos = now;
+        tableViewConnections.setItems(FXCollections.observableArrayList(connections));
+        tableViewCaches.setItems(FXCollections.observableArrayList(CacheStats.all()));
+        tableViewStatements.setItems(FXCollections.observableArrayList(
+                SlowQueryLog.getSlowestRecentStatements(TOP_ROWS)));
+
+        List<DaoMetrics.OperationMetrics> operations = DaoMetrics.getOperations();
+        operations.sort(Comparator.comparingDouble((DaoMetrics.OperationMetrics operation) ->
+                operation.getPercentileMillis(99)).reversed());
+        tableViewOperations.setItems(FXCollections.observableArrayList(
+                operations.subList(0, Math.min(TOP_ROWS, operations.size()))));
+        tableViewStalls.setItems(FXCollections.observableArrayList(FxWatchdog.getStalls()));
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedBytes = runtime.totalMemory() - runtime.freeMemory();
+        labelHeap.setText(String.format("Heap: %d MB used of %d MB (max %d MB)", usedBytes / MEGABYTE,
+                runtime.totalMemory() / MEGABYTE, runtime.maxMemory() / MEGABYTE));
+        progressBarHeap.setProgress((double) usedBytes / runtime.maxMemory());
+
+        String database = "Database: " + (JDBC.isAvailable() ? "available" : "unavailable");
+        if (JDBC.isLocalFirst()) {
+            database += String.format(" - Sync: %d pending, last at %s", SyncEngine.getPendingCount(),
+                    SyncEngine.getLastSyncTime() != null ? SyncEngine.getLastSyncTime().format(timeFormatter) :
+                            "never");
+            if (SyncEngine.getLastError() != null) {
+                database += " (" + SyncEngine.getLastError() + ")";
+            }
+        }
+        labelDatabase.setText(database);
+        labelStalls.setText("UI stalls: " + FxWatchdog.getStallCount());
+    }
+
+    /**
+     * Sets up the cell values of the table columns.
+     */
+    private void setupTableColumns() {
+        setColumn(connectionName, SlowQueryLog.ConnectionUsage::getName);
+        setColumn(connectionStatements, connection -> String.valueOf(connection.getStatementCount()));
+        setColumn(connectionInFlight, connection -> String.valueOf(connection.getInFlight()));
+        setColumn(connectionUtilization, connection -> {
+            Double busy = utilization.get(connection.getName());
+            return busy == null ? "" : String.format("%.0f%%", busy * 100);
+        });
+
+        setColumn(cacheName, CacheStats::getName);
+        setColumn(cacheHits, cache -> String.valueOf(cache.getHits()));
+        setColumn(cacheMisses, cache -> String.valueOf(cache.getMisses()));
+        setColumn(cacheHitRate, cache -> String.format("%.1f%%", cache.getHitRate() * 100));
+
+        setColumn(statementTime, statement -> statement.getTime().format(timeFormatter));
+        setColumn(statementMillis, statement -> String.format("%.1f", statement.getMillis()));
+        setColumn(statementSql, SlowQueryLog.StatementTiming::getSql);
+
+        setColumn(operationName, DaoMetrics.OperationMetrics::getName);
+        setColumn(operationCalls, operation -> String.valueOf(operation.getCallCount()));
+        setColumn(operationP99, operation -> String.format("%.1f", operation.getPercentileMillis(99)));
+        setColumn(operationMax, operation -> String.format("%.1f", operation.getMaxMillis()));
+
+        setColumn(stallSite, FxWatchdog.StallSummary::getSite);
+        setColumn(stallCount, stall -> String.valueOf(stall.getCount()));
+        setColumn(stallMax, stall -> String.format("%.0f", stall.getMaxMillis()));
+        setColumn(stallSql, stall -> stall.getLastSql() != null ? stall.getLastSql() : "");
+    }
+
+    /**
+     * Sets a column to show text read from each row.
+     *
+     * @param column The column.
+     * @param text   Reads the text from a row.
+     * @param <S>    The type of the rows.
+     */
+    private static <S> void setColumn(TableColumn<S, String> column, Function<S, String> text) {
+        column.setCellValueFactory(data -> new SimpleStringProperty(text.apply(data.getValue())));
+    }
+
+    /**
+     * Switches the current scene to the Customer view when the Customer navigation tab is clicked.
+     *
+     * @param actionEvent A click event on the Customer Navigation Tab.
+     */
+    public void onCustomerTabButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Customer Navigation Tab Clicked");
+        Stage currentStage = Main.getPrimaryStage();
+        currentStage.setTitle("Wisebook - Customers");
+        SceneSwap.swapScene(currentStage, "../view/Customers.fxml");
+    }
+
+    /**
+     * Switches the current scene to the Appointments view when the Appointments navigation tab is clicked.
+     *
+     * @param actionEvent A click event on the Appointments Navigation Tab.
+     */
+    public void onAppointmentsTabButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Appointments Navigation Tab Clicked");
+        Stage currentStage = Main.getPrimaryStage();
+        currentStage.setTitle("Wisebook - Appointments");
+        SceneSwap.swapScene(currentStage, "../view/Appointments.fxml");
+    }
+
+    /**
+     * Switches the current scene to the Reports view when the Reports navigation tab is clicked.
+     *
+     * @param actionEvent A click event on the Reports Navigation Tab.
+     */
+    public void onReportsTabButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Reports Navigation Tab Clicked");
+        Stage currentStage = Main.getPrimaryStage();
+        currentStage.setTitle("Wisebook - Reports");
+        SceneSwap.swapScene(currentStage, "../view/Reports.fxml");
+    }
+
+    /**
+     * Logs the current user out when the Logout button is clicked.
+     *
+     * @param actionEvent A click event on the logout button.
+     */
+    public void onLogoutButtonClick(ActionEvent actionEvent) {
+        UserLogin.userLogout();
+    }
+}
@@ -1,9 +1,11 @@
 package controller;
 
-import DAO.AppointmentDAO;
-import DAO.ReportDAO;
+import DAO.WorkingDataCache;
 import app.Main;
 import helper.AlertDialog;
+import helper.DegradedModeBanner;
+import helper.Log;
+import helper.Refreshable;
 import helper.SceneSwap;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -18,16 +20,23 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import model.Appointment;
 import model.Report;
+import repository.Repositories;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Controls the Reports view, managing the display and inputs for various report types.
  */
-public class Reports {
+public class Reports implements Refreshable {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(Reports.class);
 
     /**
      * List for storing reports.
@@ -88,39 +97,50 @@ public class Reports {
     @FXML
     private Label labelUsername;
 
+    /**
+     * Banner shown while the database is unavailable.
+     */
+    @FXML
+    private Label labelConnectionBanner;
+
     /**
      * A list of appointments for the current user with a start time begin within 15 minutes.
      */
-    private List<Appointment> upcomingAppointments;
+    private List<Appointment> upcomingAppointments = Collections.emptyList();
+
+    /**
+     * Counts the reports displayed, so that upcoming appointments that finish loading after another report has been
+     * chosen are not shown over it.
+     */
+    private long displayedReport = 0;
 
     /**
      * Initializes the Reports view. This method sets the current user's name, prepares the reports list,
-     * and sets up the table view columns and event listeners. It also checks for any upcoming appointments
-     * and displays any necessary alerts.
-     * <p></p>
-     * LAMBDA:
-     * The lambda used within {@code Platform.runLater} is for delaying the upcoming appointments alert.
-     * Without runLater, the alert was executing at the login screen before the scene fully transitioned.
-     * I could have implemented it with an anonymous inner class instead but since the logic was simple here
-     * and I only need to use it in one place, a lambda expression felt appropriate.
+     * and sets up the table view columns and event listeners. It also starts checking for upcoming appointments,
+     * which are shown, with an alert if there are any, once they have loaded.
      */
     public void initialize() {
-
+        SceneSwap.controllerInitializing();
         labelUsername.setText(UserLogin.currentUser);
+        DegradedModeBanner.attach(labelConnectionBanner);
         setupReportList();
         setupReportTableColumns();
         setupEventListeners();
 
         tableViewReports.getSelectionModel().select(reports.get(0));
-        displayUpcomingAppointments();
-
-        if (!UserLogin.upcomingAppointmentsAlertShown && !upcomingAppointments.isEmpty()) {
-            // Using runLater to delay alert until scene transition is completed.
-            Platform.runLater(() -> {
-                showUpcomingAppointmentsAlert();
-                UserLogin.upcomingAppointmentsAlertShown = true;
-            });
-        }
+        displayUpcomingAppointments(true);
+    }
+
+    /**
+     * Returns the cached Reports view to its initial state, showing the current user's upcoming appointments.
+     * Called when the view is shown after appointment data has changed.
+     */
+    @Override
+    public void refresh() {
+        tableViewReports.getSelectionModel().select(reports.get(0));
+        resetTextActionResultMessage();
+        tableViewAggregateReports.setVisible(false);
+        displayUpcomingAppointments(false);
     }
 
     /**
@@ -179,7 +199,7 @@ public class Reports {
      * @param actionEvent A click event on the Customer Navigation Tab.
      */
     public void onCustomerTabButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Customer Navigation Tab Clicked");
+        log.debug("[Action Event]   Customer Navigation Tab Clicked");
         Stage currentStage = Main.getPrimaryStage();
         currentStage.setTitle("Wisebook - Customers");
         SceneSwap.swapScene(currentStage, "../view/Customers.fxml");
@@ -191,12 +211,24 @@ public class Reports {
      * @param actionEvent A click event on the Appointments Navigation Tab.
      */
     public void onAppointmentsTabButtonClick(ActionEvent actionEvent) {
-        System.out.println("[Action Event]   Appointments Navigation Tab Clicked");
+        log.debug("[Action Event]   Appointments Navigation Tab Clicked");
         Stage currentStage = Main.getPrimaryStage();
         currentStage.setTitle("Wisebook - Appointments");
         SceneSwap.swapScene(currentStage, "../view/Appointments.fxml");
     }
 
+    /**
+     * Switches the current scene to the Diagnostics view when the Diagnostics navigation tab is clicked.
+     *
+     * @param actionEvent A click event on the Diagnostics Navigation Tab.
+     */
+    public void onDiagnosticsTabButtonClick(ActionEvent actionEvent) {
+        log.debug("[Action Event]   Diagnostics Navigation Tab Clicked");
+        Stage currentStage = Main.getPrimaryStage();
+        currentStage.setTitle("Wisebook - Diagnostics");
+        SceneSwap.swapScene(currentStage, "../view/Diagnostics.fxml");
+    }
+
     /**
      * Validates report input field before displaying the selected report.
      * Alert is shown if validation fails. Otherwise, the report results are set up for viewing.
@@ -244,11 +276,12 @@ public class Reports {
      * @param selectedReport The report selected for viewing
      */
     private void setupReportResultsTableView(Report selectedReport) {
+        displayedReport++;
         tableViewAppointmentReports.setVisible(false);
         tableViewAggregateReports.setVisible(false);
 
         switch (selectedReport.getId()) {
-            case 1 -> displayUpcomingAppointments();
+            case 1 -> displayUpcomingAppointments(false);
             case 2 -> displayAppointmentsForInput(3); // for contact schedule
             case 3 -> displayAppointmentsForInput(2); // for customer schedule
             case 4 -> displayAggregateReportByTypeAndMonth();
@@ -258,11 +291,46 @@ public class Reports {
 
 
     /**
-     * Displays appointments within the next 15 minutes for the current user.
-     * Sets the UI message based on the number of upcoming appointments.
+     * Displays appointments within the next 15 minutes for the current user. The appointments are loaded in the
+     * background, the first time from the load started at login, so the view is shown without waiting on the
+     * database; the table is filled once they arrive, unless another report has been chosen in the meantime.
+     * <p></p>
+     * LAMBDA: The lambda passed to {@code thenAcceptAsync} runs on the JavaFX Application Thread, by way of
+     * {@code Platform.runLater}, once the appointments have loaded.
+     *
+     * @param alertIfAny Whether to alert the user if there are upcoming appointments and no alert has been shown
+     *                   since login.
      */
-    private void displayUpcomingAppointments() {
-        setUpcomingAppointmentsForCurrentUser();
+    private void displayUpcomingAppointments(boolean alertIfAny) {
+        long request = ++displayedReport;
+        textActionResultMessage.setText("Checking for upcoming appointments...");
+        setupAppointmentTableViewColumns();
+        tableViewAppointmentReports.setItems(FXCollections.observableArrayList());
+        tableViewAppointmentReports.setVisible(true);
+
+        WorkingDataCache.takeUpcomingAppointmentsAsync()
+                .exceptionally(error -> {
+                    log.warn("Error:" + error.getMessage());
+                    return Collections.emptyList();
+                })
+                .thenAcceptAsync(appointments -> {
+                    upcomingAppointments = appointments;
+                    numUpcomingAppointments = appointments.size();
+                    if (request == displayedReport) {
+                        showUpcomingAppointments();
+                    }
+                    if (alertIfAny && !UserLogin.upcomingAppointmentsAlertShown && !appointments.isEmpty()) {
+                        showUpcomingAppointmentsAlert();
+                        UserLogin.upcomingAppointmentsAlertShown = true;
+                    }
+                }, Platform::runLater);
+    }
+
+    /**
+     * Shows the loaded upcoming appointments in the table. Sets the UI message based on the number of upcoming
+     * appointments.
+     */
+    private void showUpcomingAppointments() {
         if (!upcomingAppointments.isEmpty()) {
             textActionResultMessage.setText("You have " + numUpcomingAppointments + " upcoming appointment(s) within " +
                     "the next 15 minutes. See results below.");
@@ -270,12 +338,7 @@ public class Reports {
             textActionResultMessage.setText("You have no upcoming appointment(s) within the next 15 minutes.");
         }
 
-        ObservableList<Appointment> appointmentData =
-                FXCollections.observableArrayList(AppointmentDAO.selectUpcomingAppointmentsForCurrentUser());
-        setupAppointmentTableViewColumns();
-        tableViewAppointmentReports.setItems(appointmentData);
-        tableViewAppointmentReports.setVisible(true);
-
+        tableViewAppointmentReports.setItems(FXCollections.observableArrayList(upcomingAppointments));
     }
 
     /**
@@ -283,7 +346,7 @@ public class Reports {
      */
     private void displayAggregateReportByTypeAndMonth() {
         ObservableList<Map<String, Object>> aggregateData =
-                FXCollections.observableArrayList(ReportDAO.showNumAppointmentsByTypeAndMonth());
+                FXCollections.observableArrayList(Repositories.reports().showNumAppointmentsByTypeAndMonth());
         setupAggregateReportByTypeAndMonthColumns();
         tableViewAggregateReports.setItems(aggregateData);
         tableViewAggregateReports.setVisible(true);
@@ -298,10 +361,12 @@ public class Reports {
         ObservableList<Appointment> appointmentData;
         if (reportId == 3) {
             appointmentData =
-                    FXCollections.observableArrayList(AppointmentDAO.selectAppointmentsByContactId(Integer.parseInt(textFieldReportInput1.getText())));
+                    FXCollections.observableArrayList(Repositories.appointments().selectAppointmentsByContactId(
+                            Integer.parseInt(textFieldReportInput1.getText())));
         } else { // reportId == 4
             appointmentData =
-                    FXCollections.observableArrayList(AppointmentDAO.selectAppointmentsByCustomerId(Integer.parseInt(textFieldReportInput1.getText())));
+                    FXCollections.observableArrayList(Repositories.appointments().selectAppointmentsByCustomerId(
+                            Integer.parseInt(textFieldReportInput1.getText())));
         }
         setupAppointmentTableViewColumns();
         tableViewAppointmentReports.setItems(appointmentData);
@@ -423,20 +488,12 @@ public class Reports {
      */
     private void displayAggregateReportByContactAndQuarter() {
         ObservableList<Map<String, Object>> aggregateData =
-                FXCollections.observableArrayList(ReportDAO.showNumAppointmentsByContactAndQuarter());
+                FXCollections.observableArrayList(Repositories.reports().showNumAppointmentsByContactAndQuarter());
         setupAggregateReportByContactAndQuarterColumns();
         tableViewAggregateReports.setItems(aggregateData);
         tableViewAggregateReports.setVisible(true);
     }
 
-    /**
-     * Checks on the number of upcoming appointments for the current active user.
-     */
-    private void setUpcomingAppointmentsForCurrentUser() {
-        upcomingAppointments = AppointmentDAO.selectUpcomingAppointmentsForCurrentUser();
-        numUpcomingAppointments = upcomingAppointments.size();
-    }
-
     /**
      * Alerts the user of the number of upcoming appointments within the next 15 minutes.
      */
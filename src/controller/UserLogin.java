@@ -1,10 +1,13 @@
 package controller;
 
-import DAO.UserDAO;
+import DAO.WorkingDataCache;
 import app.Global;
 import app.Main;
+import app.Startup;
 import helper.AlertDialog;
 import helper.LocalizationService;
+import helper.Log;
+import helper.LoginThrottle;
 import helper.SceneSwap;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -12,6 +15,7 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import repository.Repositories;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -24,15 +28,26 @@ import java.time.ZoneId;
 /**
  * The UserLogin controller class for the UserLogin view.
  * Manages user login, integrating {@link LocalizationService} for automatic localization based on system settings
- * and {@link UserDAO} for authentication.
+ * and {@link repository.UserRepository} for authentication.
  */
 public class UserLogin {
 
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(UserLogin.class);
+
     /**
      * Instance for handling localization and internationalization.
      */
     private static final LocalizationService localizationService = new LocalizationService();
 
+    /**
+     * Limits login attempts per username so repeated attempts are rejected without querying the database.
+     */
+    private static final LoginThrottle loginThrottle = new LoginThrottle(Global.LOGIN_MAX_ATTEMPTS,
+            Global.LOGIN_ATTEMPT_WINDOW, Global.LOGIN_THROTTLE_MAX_TRACKED);
+
     /**
      * Stores the username of the currently logged-in user.
      */
@@ -69,8 +84,20 @@ public class UserLogin {
      * @param loginSuccessful Indicates whether the login attempt was successful.
      */
     public static void logUserLoginAttempt(String username, boolean loginSuccessful) {
+        logUserLoginAttempt(username, loginSuccessful, false);
+    }
+
+    /**
+     * Logs user login attempts, including the username, success or failure, and whether the attempt was rejected by
+     * the login throttle. Writes log entries to login_activity.txt.
+     *
+     * @param username        The username of the user attempting to log in.
+     * @param loginSuccessful Indicates whether the login attempt was successful.
+     * @param throttled       Indicates whether the attempt was rejected without checking credentials.
+     */
+    public static void logUserLoginAttempt(String username, boolean loginSuccessful, boolean throttled) {
         String logEntry = LocalDateTime.now().format(Global.LOG_DATE_FORMATTER) + " - Username: " + username + " - " +
-                "Login Success: " + loginSuccessful + System.lineSeparator();
+                "Login Success: " + loginSuccessful + (throttled ? " - Throttled: true" : "") + System.lineSeparator();
 
         try {
             Files.write(Paths.get(Global.LOGINS_LOG_PATH), logEntry.getBytes(), StandardOpenOption.CREATE,
@@ -93,6 +120,8 @@ public class UserLogin {
     public static void userLogout() {
         currentUser = null;
         UserLogin.upcomingAppointmentsAlertShown = false;
+        SceneSwap.clearCache();
+        WorkingDataCache.clear();
 
         Stage currentStage = Main.getPrimaryStage();
         currentStage.setTitle(localizationService.getTranslation("sceneTitle"));
@@ -109,6 +138,7 @@ public class UserLogin {
      */
     @FXML
     public void initialize() {
+        SceneSwap.controllerInitializing();
         Stage currentStage = Main.getPrimaryStage();
         currentStage.setTitle(localizationService.getTranslation("sceneTitle"));
         currentUser = null;
@@ -120,12 +150,12 @@ public class UserLogin {
      * Handles login button click events.
      * Validates input fields and verifies user credentials. On successful verification, checks for upcoming
      * appointment and navigates to the appropriate view. Displays alerts for empty fields, failed logins,
-     * or SQLExceptions.
+     * or SQLExceptions. Attempts over the per-username limit are rejected and logged without querying the database.
      *
      * @param actionEvent click event on login button
      */
     public void onLoginButtonClick(ActionEvent actionEvent) {
-        System.out.println("Login button clicked.");
+        log.debug("Login button clicked.");
 
         if (!validateInput()) {
             return;
@@ -134,6 +164,12 @@ public class UserLogin {
         String enteredUsername = textFieldUsername.getText();
         String enteredPassword = passwordFieldPassword.getText();
 
+        if (!loginThrottle.tryAcquire(enteredUsername)) {
+            logUserLoginAttempt(enteredUsername, false, true);
+            showLoginThrottledAlert();
+            return;
+        }
+
         boolean loginSuccessful = verifyUserCredentials(enteredUsername, enteredPassword);
         logUserLoginAttempt(enteredUsername, loginSuccessful);
 
@@ -142,9 +178,13 @@ public class UserLogin {
             return;
         }
 
-        System.out.println("Success. Login credentials verified.");
+        log.info("Success. Login credentials verified.");
+        loginThrottle.reset(enteredUsername);
         currentUser = enteredUsername;
 
+        // Start loading the data needed by the first views in the background while the scene changes
+        WorkingDataCache.prefetch();
+
         Stage currentStage = Main.getPrimaryStage();
         currentStage.setTitle("Wisebook - Reports");
         SceneSwap.swapScene(currentStage, "../view/Reports.fxml");
@@ -188,7 +228,9 @@ public class UserLogin {
      */
     private boolean verifyUserCredentials(String username, String password) {
         try {
-            return UserDAO.verifyLoginCredentials(username, password);
+            // The connection is opened in the background at startup, so wait for it if it is not ready yet.
+            Startup.awaitConnection();
+            return Repositories.users().verifyLoginCredentials(username, password);
         } catch (SQLException e) {
             showUnexpectedErrorAlert(e);
             return false;
@@ -217,13 +259,24 @@ public class UserLogin {
         );
     }
 
+    /**
+     * Displays an alert for when a login attempt is rejected because too many attempts were made for the username.
+     */
+    private void showLoginThrottledAlert() {
+        AlertDialog.showAlert(
+                Alert.AlertType.ERROR,
+                localizationService.getTranslation("alertTitleLoginThrottled"),
+                localizationService.getTranslation("alertLoginThrottled")
+        );
+    }
+
     /**
      * Displays an alert in case of an unexpected SQL error during login.
      *
      * @param e the SQLException
      */
     private void showUnexpectedErrorAlert(SQLException e) {
-        System.out.println("SQLException occurred: " + e.getMessage());
+        log.warn("SQLException occurred: " + e.getMessage());
         AlertDialog.showAlert(
                 Alert.AlertType.ERROR,
                 localizationService.getTranslation("alertTitleUnexpectedError"),
@@ -0,0 +1,169 @@
+-- Creates the client_schedule tables and their starter data in a new embedded database. MySQL databases are created
+-- by the database setup script, so this baseline is only applied to embedded databases.
+
+CREATE TABLE client_schedule.countries (
+    Country_ID INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    Country VARCHAR(50),
+    Create_Date DATETIME,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP,
+    Last_Updated_By VARCHAR(50)
+);
+
+CREATE TABLE client_schedule.first_level_divisions (
+    Division_ID INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    Division VARCHAR(50),
+    Create_Date DATETIME,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Country_ID INT NOT NULL,
+    CONSTRAINT fk_divisions_country FOREIGN KEY (Country_ID) REFERENCES client_schedule.countries (Country_ID)
+);
+
+CREATE TABLE client_schedule.customers (
+    Customer_ID INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    Customer_Name VARCHAR(50),
+    Address VARCHAR(100),
+    Postal_Code VARCHAR(50),
+    Phone VARCHAR(50),
+    Create_Date DATETIME,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Division_ID INT NOT NULL,
+    CONSTRAINT fk_customers_division FOREIGN KEY (Division_ID)
+        REFERENCES client_schedule.first_level_divisions (Division_ID)
+);
+
+CREATE TABLE client_schedule.users (
+    User_ID INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    User_Name VARCHAR(50) UNIQUE,
+    Password TEXT,
+    Create_Date DATETIME,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP,
+    Last_Updated_By VARCHAR(50)
+);
+
+CREATE TABLE client_schedule.contacts (
+    Contact_ID INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    Contact_Name VARCHAR(50),
+    Email VARCHAR(50)
+);
+
+CREATE TABLE client_schedule.appointments (
+    Appointment_ID INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    Title VARCHAR(50),
+    Description VARCHAR(50),
+    Location VARCHAR(50),
+    Type VARCHAR(50),
+    Start DATETIME,
+    End DATETIME,
+    Create_Date DATETIME,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Customer_ID INT NOT NULL,
+    User_ID INT NOT NULL,
+    Contact_ID INT NOT NULL,
+    CONSTRAINT fk_appointments_customer FOREIGN KEY (Customer_ID) REFERENCES client_schedule.customers (Customer_ID),
+    CONSTRAINT fk_appointments_user FOREIGN KEY (User_ID) REFERENCES client_schedule.users (User_ID),
+    CONSTRAINT fk_appointments_contact FOREIGN KEY (Contact_ID) REFERENCES client_schedule.contacts (Contact_ID)
+);
+
+INSERT INTO client_schedule.countries (Country_ID, Country, Create_Date, Created_By, Last_Update, Last_Updated_By)
+VALUES
+    (1, 'U.S', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script'),
+    (2, 'UK', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script'),
+    (3, 'Canada', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script');
+
+INSERT INTO client_schedule.first_level_divisions (Division_ID, Division, Create_Date, Created_By, Last_Update,
+        Last_Updated_By, Country_ID) VALUES
+    (1, 'Alabama', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (2, 'Alaska', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (3, 'Arizona', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (4, 'Arkansas', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (5, 'California', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (6, 'Colorado', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (7, 'Connecticut', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (8, 'Delaware', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (9, 'District of Columbia', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (10, 'Florida', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (11, 'Georgia', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (12, 'Hawaii', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (13, 'Idaho', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (14, 'Illinois', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (15, 'Indiana', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (16, 'Iowa', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (17, 'Kansas', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (18, 'Kentucky', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (19, 'Louisiana', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (20, 'Maine', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (21, 'Maryland', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (22, 'Massachusetts', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (23, 'Michigan', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (24, 'Minnesota', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (25, 'Mississippi', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (26, 'Missouri', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (27, 'Montana', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (28, 'Nebraska', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (29, 'Nevada', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (30, 'New Hampshire', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (31, 'New Jersey', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (32, 'New Mexico', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (33, 'New York', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (34, 'North Carolina', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (35, 'North Dakota', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (36, 'Ohio', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (37, 'Oklahoma', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (38, 'Oregon', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (39, 'Pennsylvania', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (40, 'Rhode Island', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (41, 'South Carolina', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (42, 'South Dakota', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (43, 'Tennessee', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (44, 'Texas', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (45, 'Utah', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (46, 'Vermont', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (47, 'Virginia', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (48, 'Washington', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (49, 'West Virginia', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (50, 'Wisconsin', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (51, 'Wyoming', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 1),
+    (60, 'Northwest Territories', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (61, 'Alberta', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (62, 'British Columbia', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (63, 'Manitoba', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (64, 'New Brunswick', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (65, 'Nova Scotia', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (66, 'Prince Edward Island', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (67, 'Ontario', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (68, 'Quebec', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (69, 'Saskatchewan', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (70, 'Nunavut', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (71, 'Yukon', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (72, 'Newfoundland and Labrador', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 3),
+    (101, 'England', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 2),
+    (102, 'Wales', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 2),
+    (103, 'Scotland', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 2),
+    (104, 'Northern Ireland', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script', 2);
+
+INSERT INTO client_schedule.users (User_ID, User_Name, Password, Create_Date, Created_By, Last_Update, Last_Updated_By)
+VALUES
+    (1, 'test', 'test', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script'),
+    (2, 'admin', 'admin', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP, 'script');
+
+INSERT INTO client_schedule.contacts (Contact_ID, Contact_Name, Email) VALUES
+    (1, 'Anika Costa', 'acoa@company.com'),
+    (2, 'Daniel Garcia', 'dgarcia@company.com'),
+    (3, 'Li Lee', 'llee@company.com');
+
+INSERT INTO client_schedule.customers (Customer_ID, Customer_Name, Address, Postal_Code, Phone, Create_Date,
+        Created_By, Last_Update, Last_Updated_By, Division_ID) VALUES
+    (1, 'Daddy Warbucks', '1919 Boardwalk', '01291', '869-908-1875', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP,
+        'script', 3),
+    (2, 'Lady McAnderson', '2 Wonder Way', 'AF19B', '020 7946 0958', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP,
+        'script', 101),
+    (3, 'Dudley Do-Right', '48 Horse Manor', '28198', '416-555-0119', CURRENT_TIMESTAMP, 'script', CURRENT_TIMESTAMP,
+        'script', 67);
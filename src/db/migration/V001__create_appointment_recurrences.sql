@@ -0,0 +1,12 @@
+-- Recurrence rules for repeating appointments, keyed by the appointment holding the series' first occurrence.
+-- Databases created before migrations were introduced already have this table.
+CREATE TABLE IF NOT EXISTS client_schedule.appointment_recurrences (
+    Appointment_ID INT NOT NULL PRIMARY KEY,
+    Frequency VARCHAR(10) NOT NULL,
+    Repeat_Interval INT NOT NULL DEFAULT 1,
+    Occurrence_Count INT NULL,
+    Until_Date DATE NULL,
+    Exception_Dates TEXT NULL,
+    Series_End DATETIME NULL,
+    INDEX idx_recurrences_series_end (Series_End)
+);
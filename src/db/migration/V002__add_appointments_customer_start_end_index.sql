@@ -0,0 +1,2 @@
+-- Customer conflict checks filter on the customer and compare the start and end of each appointment.
+CREATE INDEX idx_appointments_customer_start_end ON client_schedule.appointments (Customer_ID, Start, End);
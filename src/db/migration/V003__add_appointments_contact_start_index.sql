@@ -0,0 +1,2 @@
+-- Contact schedules and bulk changes filter on the contact and a start range.
+CREATE INDEX idx_appointments_contact_start ON client_schedule.appointments (Contact_ID, Start);
@@ -0,0 +1,2 @@
+-- Upcoming appointment alerts filter on the user and a start range.
+CREATE INDEX idx_appointments_user_start ON client_schedule.appointments (User_ID, Start);
@@ -0,0 +1,2 @@
+-- Week, month, and overlap listings filter on a start range.
+CREATE INDEX idx_appointments_start_end ON client_schedule.appointments (Start, End);
@@ -0,0 +1,2 @@
+-- Contact name lookups for appointments and reference data.
+CREATE INDEX idx_contacts_contact_name ON client_schedule.contacts (Contact_Name);
@@ -0,0 +1,2 @@
+-- Division name lookups for customers and reference data.
+CREATE INDEX idx_divisions_division ON client_schedule.first_level_divisions (Division);
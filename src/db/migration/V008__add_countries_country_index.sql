@@ -0,0 +1,2 @@
+-- Country name lookups for customers and reference data.
+CREATE INDEX idx_countries_country ON client_schedule.countries (Country);
@@ -0,0 +1,22 @@
+-- Synchronization state of the local replica used in local-first mode. Applied only to the replica.
+
+-- Changes made locally that have not yet been pushed to the server, in the order they were made.
+CREATE TABLE IF NOT EXISTS client_schedule.sync_outbox (
+    Outbox_ID BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    Entity VARCHAR(20) NOT NULL,
+    Entity_ID INT NOT NULL,
+    Operation VARCHAR(10) NOT NULL,
+    Base_Last_Update TIMESTAMP NULL,
+    Queued_At TIMESTAMP NOT NULL,
+    INDEX idx_sync_outbox_entity (Entity, Entity_ID)
+);
+
+-- The latest server Last_Update pulled for each synchronized table.
+CREATE TABLE IF NOT EXISTS client_schedule.sync_watermarks (
+    Entity VARCHAR(20) NOT NULL PRIMARY KEY,
+    Last_Update TIMESTAMP NOT NULL
+);
+
+-- Rows created in the replica get IDs far above the server's until they are pushed and given server IDs.
+ALTER TABLE client_schedule.appointments ALTER COLUMN Appointment_ID RESTART WITH 1000000000;
+ALTER TABLE client_schedule.customers ALTER COLUMN Customer_ID RESTART WITH 1000000000;
@@ -0,0 +1,3 @@
+-- Server IDs reserved for rows created in the replica, recorded before the rows are written to the server so that a
+-- push interrupted after the write can be finished without writing the row again. Applied only to the replica.
+ALTER TABLE client_schedule.sync_outbox ADD COLUMN Server_ID INT NULL;
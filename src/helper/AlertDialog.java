@@ -38,4 +38,19 @@ public class AlertDialog {
         alert.setHeaderText(null);
         return alert.showAndWait();
     }
+
+    /**
+     * Displays a confirmation dialog with a title, content, and a custom set of buttons.
+     *
+     * @param title   The title of the choice dialog.
+     * @param content The alert message content.
+     * @param buttons The buttons to choose from.
+     * @return An Optional containing the button the user chose.
+     */
+    public static Optional<ButtonType> showChoiceDialog(String title, String content, ButtonType... buttons) {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, content, buttons);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        return alert.showAndWait();
+    }
 }
@@ -0,0 +1,193 @@
+package helper;
+
+import DAO.ReferenceDataCache;
+import model.Appointment;
+import model.BulkChangePreview;
+import model.Contact;
+import model.ScheduleConflict;
+import repository.Repositories;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Plans bulk changes to a contact's appointments, such as moving them to another contact or shifting them in time.
+ * All appointments the changes could conflict with are loaded in one query, and the whole set is checked in memory
+ * by sorting each customer's and each contact's appointments by start time, so the cost does not grow with one
+ * database round trip per appointment. Nothing is written until the caller applies the preview with
+ * {@link repository.AppointmentRepository#rescheduleAppointments}, which skips appointments changed since the
+ * preview was built.
+ */
+public class AppointmentBulkEditor {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(AppointmentBulkEditor.class);
+
+    /**
+     * Previews moving or reassigning a contact's appointments within a date range.
+     *
+     * @param contactId    The contact whose appointments are changed.
+     * @param fromDate     The first local date of the range.
+     * @param toDate       The last local date of the range, inclusive.
+     * @param newContactId The contact to reassign the appointments to, or null to keep the current contact.
+     * @param shift        How far to move the appointments, in local time. Zero keeps the current times.
+     * @param userName     The username recorded as the last updater of the changed appointments.
+     * @return The preview of the changes and their conflicts.
+     */
+    public static BulkChangePreview preview(int contactId, LocalDate fromDate, LocalDate toDate,
+                                            Integer newContactId, Duration shift, String userName) {
+        log.trace(() -> "[Method Call]    AppointmentBulkEditor.preview for contact " + contactId);
+        List<Appointment> matched = Repositories.appointments().selectAppointmentsForContactStartingBetween(
+                contactId, fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+
+        Contact newContact = newContactId != null ? ReferenceDataCache.getContactById(newContactId) : null;
+        Timestamp updateTime = Timestamp.valueOf(LocalDateTime.now());
+        Map<Integer, Appointment> originals = new HashMap<>();
+        List<Appointment> changes = new ArrayList<>();
+        List<Appointment> skippedOccurrences = new ArrayList<>();
+        for (Appointment appointment : matched) {
+            if (appointment.isRecurring()) {
+                skippedOccurrences.add(appointment);
+                continue;
+            }
+            originals.put(appointment.getId(), appointment);
+            changes.add(new Appointment(appointment.getId(), appointment.getTitle(), appointment.getDescription(),
+                    appointment.getLocation(), appointment.getType(), appointment.getStartTime().plus(shift),
+                    appointment.getEndTime().plus(shift), appointment.getCreateDate(), appointment.getCreatedBy(),
+                    updateTime, userName, appointment.getCustomerId(), appointment.getUserId(),
+                    newContact != null ? newContact.getId() : appointment.getContactId(),
+                    newContact != null ? newContact.getName() : appointment.getContactName()));
+        }
+        if (changes.isEmpty()) {
+            return new BulkChangePreview(changes, new ArrayList<>(), changes, skippedOccurrences, new HashMap<>());
+        }
+
+        // Load everything the changes could overlap, and leave out the appointments being changed
+        LocalDateTime windowStart = changes.get(0).getStartTime();
+        LocalDateTime windowEnd = changes.get(0).getEndTime();
+        for (Appointment change : changes) {
+            windowStart = change.getStartTime().isBefore(windowStart) ? change.getStartTime() : windowStart;
+            windowEnd = change.getEndTime().isAfter(windowEnd) ? change.getEndTime() : windowEnd;
+        }
+        List<Appointment> existing = new ArrayList<>();
+        List<Appointment> overlapping = Repositories.appointments().selectAppointmentsOverlapping(windowStart,
+                windowEnd);
+        for (Appointment appointment : overlapping) {
+            if (appointment.isRecurring() || !originals.containsKey(appointment.getId())) {
+                existing.add(appointment);
+            }
+        }
+
+        List<ScheduleConflict> conflicts = findConflicts(changes, existing);
+
+        // Leaving a conflicting appointment where it is can block another change, so repeat until none conflict
+        Set<Integer> conflictingIds = new HashSet<>();
+        List<ScheduleConflict> remainingConflicts = conflicts;
+        List<Appointment> changesWithoutConflicts = changes;
+        while (!remainingConflicts.isEmpty()) {
+            for (ScheduleConflict conflict : remainingConflicts) {
+                conflictingIds.add(conflict.getAppointment().getId());
+            }
+            List<Appointment> blockers = new ArrayList<>(existing);
+            changesWithoutConflicts = new ArrayList<>();
+            for (Appointment change : changes) {
+                if (conflictingIds.contains(change.getId())) {
+                    blockers.add(originals.get(change.getId()));
+                } else {
+                    changesWithoutConflicts.add(change);
+                }
+            }
+            remainingConflicts = findConflicts(changesWithoutConflicts, blockers);
+        }
+
+        log.trace(() -> "                 Changes: " + changes.size() + ", conflicts: " + conflicts.size() +
+                ", skipped occurrences: " + skippedOccurrences.size());
+        Map<Integer, Timestamp> previewedLastUpdates = new HashMap<>();
+        for (Appointment original : originals.values()) {
+            previewedLastUpdates.put(original.getId(), original.getLastUpdate());
+        }
+        return new BulkChangePreview(changes, conflicts, changesWithoutConflicts, skippedOccurrences,
+                previewedLastUpdates);
+    }
+
+    /**
+     * Finds the changed appointments that fall outside business hours or overlap another appointment for the same
+     * customer or contact. Overlaps between two changed appointments are reported for both.
+     *
+     * @param changes  The appointments with their proposed times and contacts.
+     * @param existing The appointments that are not changing.
+     * @return The conflicts found.
+     */
+    private static List<ScheduleConflict> findConflicts(List<Appointment> changes, List<Appointment> existing) {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        for (Appointment change : changes) {
+            if (!SlotTableService.DEFAULT_OFFICE_HOURS.contains(Instant.ofEpochSecond(change.getStartEpochSecond()),
+                    Instant.ofEpochSecond(change.getEndEpochSecond()))) {
+                conflicts.add(new ScheduleConflict(change, null, "Outside business hours"));
+            }
+        }
+        findOverlaps(changes, existing, Appointment::getCustomerId, "Customer already has an appointment",
+                conflicts);
+        findOverlaps(changes, existing, Appointment::getContactId, "Contact already has an appointment",
+                conflicts);
+        return conflicts;
+    }
+
+    /**
+     * Finds overlaps involving changed appointments among appointments that share a customer or contact. The
+     * appointments in each group are swept in start order, keeping only those still in progress, so each
+     * appointment is compared only with the ones it could overlap.
+     *
+     * @param changes   The appointments with their proposed times and contacts.
+     * @param existing  The appointments that are not changing.
+     * @param groupKey  Gets the customer or contact ID that appointments are grouped by.
+     * @param reason    The reason recorded for overlaps in this grouping.
+     * @param conflicts The list conflicts are added to.
+     */
+    private static void findOverlaps(List<Appointment> changes, List<Appointment> existing,
+                                     ToIntFunction<Appointment> groupKey, String reason,
+                                     List<ScheduleConflict> conflicts) {
+        Set<Appointment> changeSet = new HashSet<>(changes);
+        Map<Integer, List<Appointment>> groups = new HashMap<>();
+        for (Appointment change : changes) {
+            groups.computeIfAbsent(groupKey.applyAsInt(change), key -> new ArrayList<>()).add(change);
+        }
+        for (Appointment appointment : existing) {
+            List<Appointment> group = groups.get(groupKey.applyAsInt(appointment));
+            if (group != null) {
+                group.add(appointment);
+            }
+        }
+
+        for (List<Appointment> group : groups.values()) {
+            group.sort(Comparator.comparingLong(Appointment::getStartEpochSecond));
+            List<Appointment> inProgress = new ArrayList<>();
+            for (Appointment appointment : group) {
+                long start = appointment.getStartEpochSecond();
+                inProgress.removeIf(earlier -> earlier.getEndEpochSecond() <= start);
+                for (Appointment earlier : inProgress) {
+                    if (changeSet.contains(appointment)) {
+                        conflicts.add(new ScheduleConflict(appointment, earlier, reason));
+                    }
+                    if (changeSet.contains(earlier)) {
+                        conflicts.add(new ScheduleConflict(earlier, appointment, reason));
+                    }
+                }
+                inProgress.add(appointment);
+            }
+        }
+    }
+}
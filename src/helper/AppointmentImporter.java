@@ -0,0 +1,685 @@
+package helper;
+
+import DAO.ReferenceDataCache;
+import DAO.WorkingDataCache;
+import app.Global;
+import model.Appointment;
+import model.Contact;
+import model.Customer;
+import model.ImportResult;
+import model.RecurrenceFrequency;
+import model.RecurrenceRule;
+import model.User;
+import repository.RecordWriter;
+import repository.Repositories;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Imports appointments in bulk from CSV or iCalendar files. Records are streamed from the file, validated, and
+ * written with the appointment repository's batch writer, so only the times of the imported appointments are kept in
+ * memory. Customers, users, and contacts are looked up in memory, from data loaded once per import. The import runs on
+ * a dedicated database connection, so the views can keep saving while it runs without touching its transaction.
+ * <p></p>
+ * CSV files need a header line naming the columns Title, Description, Location, Type, Start, End, Customer_ID,
+ * User_ID, Contact, and optionally Repeat. Start and end are local times written as "yyyy-MM-dd HH:mm". Repeat is
+ * either a frequency name (Daily, Weekly, Monthly) or an iCalendar RRULE value.
+ * <p></p>
+ * Imported appointments are held to the same rules as appointments entered in the Appointments view: every
+ * occurrence must be within business hours and must not overlap another appointment for the same customer, whether
+ * already scheduled or earlier in the file. Records are checked one batch at a time: the appointments already
+ * scheduled within the batch's time window are loaded with one query, and each record is checked against them and
+ * the records accepted before it through per-customer interval indexes. Records that fail validation are written to
+ * a rejected rows file with the reason, and the import continues.
+ */
+public class AppointmentImporter {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(AppointmentImporter.class);
+
+    /**
+     * Maximum length of the appointment text columns.
+     */
+    private static final int MAX_TEXT_LENGTH = 50;
+
+    /**
+     * Accepts local date-times written as "yyyy-MM-dd HH:mm", optionally with seconds or a "T" separator.
+     */
+    private static final DateTimeFormatter dateTimeFormatter =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd[' ']['T']HH:mm[:ss]");
+
+    /**
+     * Imports appointments using the default batch and commit sizes.
+     *
+     * @param source           The CSV (.csv) or iCalendar (.ics) file to import.
+     * @param rejectedRowsFile The file to write rejected records to.
+     * @param userName         The username recorded as the creator of the imported appointments.
+     * @param defaultUserId    The user ID for records that do not specify one.
+     * @return The result of the import.
+     */
+    public static ImportResult importAppointments(Path source, Path rejectedRowsFile, String userName,
+                                                  int defaultUserId) {
+        return importAppointments(source, rejectedRowsFile, userName, defaultUserId, Global.IMPORT_BATCH_SIZE,
+                Global.IMPORT_COMMIT_SIZE);
+    }
+
+    /**
+     * Imports appointments from a CSV or iCalendar file.
+     *
+     * @param source           The CSV (.csv) or iCalendar (.ics) file to import.
+     * @param rejectedRowsFile The file to write rejected records to.
+     * @param userName         The username recorded as the creator of the imported appointments.
+     * @param defaultUserId    The user ID for records that do not specify one.
+     * @param batchSize        Number of appointments sent to the database per batch.
+     * @param commitSize       Number of appointments committed per transaction.
+     * @return The result of the import.
+     */
+    public static ImportResult importAppointments(Path source, Path rejectedRowsFile, String userName,
+                                                  int defaultUserId, int batchSize, int commitSize) {
+        return JDBC.dedicated(() -> runImport(source, rejectedRowsFile, userName, defaultUserId, batchSize,
+                commitSize));
+    }
+
+    /**
+     * Imports appointments from a CSV or iCalendar file, on the current thread's connection.
+     *
+     * @param source           The CSV (.csv) or iCalendar (.ics) file to import.
+     * @param rejectedRowsFile The file to write rejected records to.
+     * @param userName         The username recorded as the creator of the imported appointments.
+     * @param defaultUserId    The user ID for records that do not specify one.
+     * @param batchSize        Number of appointments sent to the database per batch.
+     * @param commitSize       Number of appointments committed per transaction.
+     * @return The result of the import.
+     */
+    private static ImportResult runImport(Path source, Path rejectedRowsFile, String userName, int defaultUserId,
+                                          int batchSize, int commitSize) {
+        log.trace(() -> "[Method Call]    AppointmentImporter.importAppointments from " + source);
+        long startNanos = System.nanoTime();
+        ImportContext context = new ImportContext(userName, defaultUserId);
+        RecordWriter<Appointment> writer = null;
+        String error = null;
+
+        try (ImportRecordReader reader = openReader(source);
+             RejectedRowWriter rejectedRows = new RejectedRowWriter(rejectedRowsFile)) {
+            writer = Repositories.appointments().openBatchWriter(batchSize, commitSize);
+            List<PendingRecord> batch = new ArrayList<>(batchSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                batch.add(prepare(record, context));
+                if (batch.size() >= batchSize) {
+                    importBatch(batch, context, writer, rejectedRows);
+                    batch.clear();
+                }
+            }
+            importBatch(batch, context, writer, rejectedRows);
+            writer.close();
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+            error = e.getMessage();
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+
+        int importedCount = writer != null ? writer.getCommittedCount() : 0;
+        if (importedCount > 0) {
+            WorkingDataCache.invalidateAppointments();
+        }
+        ImportResult result = new ImportResult(importedCount, context.rejectedCount,
+                context.rejectedCount > 0 ? rejectedRowsFile : null, System.nanoTime() - startNanos, error);
+        log.trace(() -> "                 Imported " + result.getImportedCount() + " appointments, rejected " +
+                result.getRejectedCount() + " in " + result.getElapsedMillis() + " ms (" +
+                result.getRowsPerSecond() + " rows/s)");
+        return result;
+    }
+
+    /**
+     * Opens a record reader for the import file, based on its extension.
+     *
+     * @param source The import file.
+     * @return A reader for the file's records.
+     * @throws IOException If the file cannot be opened or has an unsupported extension.
+     */
+    private static ImportRecordReader openReader(Path source) throws IOException {
+        String fileName = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+        if (fileName.endsWith(".csv")) {
+            return new CsvRecordReader(reader);
+        } else if (fileName.endsWith(".ics")) {
+            return new ICalendarRecordReader(reader);
+        }
+        reader.close();
+        throw new IOException("Unsupported import file type: " + fileName);
+    }
+
+    /**
+     * Validates an import record's fields and business hours, ready for its batch to be checked for overlaps.
+     *
+     * @param record  The import record.
+     * @param context Lookup data for the import.
+     * @return The pending record, holding either the appointment and its occurrence times or the rejection reason.
+     */
+    private static PendingRecord prepare(ImportRecord record, ImportContext context) {
+        try {
+            Appointment appointment = toAppointment(record, context);
+            return new PendingRecord(record, appointment, occurrenceRanges(appointment), null);
+        } catch (IllegalArgumentException e) {
+            return new PendingRecord(record, null, Collections.emptyList(), e.getMessage());
+        }
+    }
+
+    /**
+     * Checks a batch of records for overlaps and adds the accepted appointments to the writer. The appointments
+     * already scheduled within the batch's time window are loaded with one query and indexed by customer. Rejected
+     * records are written in file order.
+     *
+     * @param batch        The batch's records, in file order.
+     * @param context      Lookup data for the import.
+     * @param writer       The writer for accepted appointments.
+     * @param rejectedRows The writer for rejected records.
+     * @throws IOException  If a rejected record cannot be written.
+     * @throws SQLException If an appointment cannot be written.
+     */
+    private static void importBatch(List<PendingRecord> batch, ImportContext context, RecordWriter<Appointment> writer,
+                                    RejectedRowWriter rejectedRows) throws IOException, SQLException {
+        Map<Integer, IntervalIndex> scheduled = loadScheduled(batch);
+        for (PendingRecord pending : batch) {
+            String rejection = pending.rejection;
+            if (rejection == null) {
+                try {
+                    checkOverlaps(pending, scheduled, context);
+                    writer.add(pending.appointment);
+                } catch (IllegalArgumentException e) {
+                    rejection = e.getMessage();
+                }
+            }
+            if (rejection != null) {
+                rejectedRows.write(pending.record, rejection);
+                context.rejectedCount++;
+            }
+        }
+    }
+
+    /**
+     * Loads the appointments already scheduled within a batch's time window, from the start of its earliest
+     * appointment to the end of its last checked occurrence, and indexes their occurrences by customer.
+     *
+     * @param batch The batch's records.
+     * @return Interval indexes of the scheduled occurrences, by customer ID.
+     */
+    private static Map<Integer, IntervalIndex> loadScheduled(List<PendingRecord> batch) {
+        LocalDateTime windowStart = null;
+        LocalDateTime windowEnd = null;
+        for (PendingRecord pending : batch) {
+            if (pending.appointment != null) {
+                if (windowStart == null || pending.appointment.getStartTime().isBefore(windowStart)) {
+                    windowStart = pending.appointment.getStartTime();
+                }
+                if (windowEnd == null || pending.lastEnd.isAfter(windowEnd)) {
+                    windowEnd = pending.lastEnd;
+                }
+            }
+        }
+
+        Map<Integer, IntervalIndex> scheduled = new HashMap<>();
+        if (windowStart != null) {
+            for (Appointment occurrence : Repositories.appointments().selectAppointmentsOverlapping(windowStart,
+                    windowEnd)) {
+                scheduled.computeIfAbsent(occurrence.getCustomerId(), id -> new IntervalIndex())
+                        .add(occurrence.getStartEpochSecond(), occurrence.getEndEpochSecond(), occurrence);
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Checks that none of a record's occurrences overlap another appointment for the same customer, either accepted
+     * earlier in the import or already scheduled. The occurrences are then remembered for checking later records.
+     *
+     * @param pending   The record, with its occurrence times.
+     * @param scheduled Interval indexes of the occurrences already scheduled in the batch's window, by customer ID.
+     * @param context   Lookup data for the import.
+     * @throws IllegalArgumentException If an occurrence overlaps another appointment.
+     */
+    private static void checkOverlaps(PendingRecord pending, Map<Integer, IntervalIndex> scheduled,
+                                      ImportContext context) {
+        int customerId = pending.appointment.getCustomerId();
+        IntervalIndex accepted = context.acceptedIntervals.computeIfAbsent(customerId, id -> new IntervalIndex());
+        for (long[] range : pending.ranges) {
+            if (accepted.findOverlap(range[0], range[1]) != null) {
+                throw new IllegalArgumentException("Overlaps an earlier record for customer " + customerId);
+            }
+        }
+        IntervalIndex customerScheduled = scheduled.get(customerId);
+        if (customerScheduled != null) {
+            for (long[] range : pending.ranges) {
+                Appointment other = customerScheduled.findOverlap(range[0], range[1]);
+                if (other != null) {
+                    throw new IllegalArgumentException("Customer " + customerId + " already has an appointment " +
+                            "at " + other.getStartTime().toLocalDate() + " " + other.getStartTime().toLocalTime());
+                }
+            }
+        }
+        for (long[] range : pending.ranges) {
+            accepted.add(range[0], range[1], pending.appointment);
+        }
+    }
+
+    /**
+     * Validates an import record and creates the appointment it describes.
+     *
+     * @param record  The import record.
+     * @param context Lookup data for the import.
+     * @return The appointment.
+     * @throws IllegalArgumentException If the record is invalid; the message gives the reason.
+     */
+    private static Appointment toAppointment(ImportRecord record, ImportContext context) {
+        String title = requireText(record, "title", "Title");
+        String description = optionalText(record, "description", "Description");
+        String location = optionalText(record, "location", "Location");
+        String type = optionalText(record, "type", "Type");
+
+        LocalDateTime start = parseDateTime(record.get("start"), "Start");
+        LocalDateTime end = parseDateTime(record.get("end"), "End");
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End must be after Start");
+        }
+
+        int customerId = parseId(record.get("customerid"), "Customer_ID", null);
+        if (!context.customerIds.contains(customerId)) {
+            throw new IllegalArgumentException("Unknown customer " + customerId);
+        }
+        int userId = parseId(record.get("userid"), "User_ID", context.defaultUserId);
+        if (!context.userIds.contains(userId)) {
+            throw new IllegalArgumentException("Unknown user " + userId);
+        }
+
+        String contactName = record.get("contact");
+        Contact contact = context.contactsByName.get(contactName.toLowerCase(Locale.ROOT));
+        if (contact == null) {
+            throw new IllegalArgumentException(contactName.isEmpty() ? "Missing Contact" :
+                    "Unknown contact " + contactName);
+        }
+
+        Appointment appointment = new Appointment(null, title, description, location, type, start, end,
+                context.importTime, context.userName, context.importTimestamp, context.userName, customerId, userId,
+                contact.getId(), contact.getName());
+        appointment.setRecurrenceRule(parseRepeat(record.get("repeat"), start));
+        return appointment;
+    }
+
+    /**
+     * Gets the times of the occurrences of an appointment that are checked for overlaps, checking that each is within
+     * business hours. Recurring appointments are checked up to {@link Global#RECURRENCE_CONFLICT_HORIZON}, as in the
+     * Appointments view.
+     *
+     * @param appointment The appointment, with its recurrence rule set.
+     * @return The start and end epoch seconds of each occurrence, in order.
+     * @throws IllegalArgumentException If an occurrence is outside business hours.
+     */
+    private static List<long[]> occurrenceRanges(Appointment appointment) {
+        LocalDateTime start = appointment.getStartTime();
+        Duration length = Duration.between(start, appointment.getEndTime());
+        List<LocalDateTime> starts = Collections.singletonList(start);
+        LocalDateTime lastStart = start;
+        RecurrenceRule rule = appointment.getRecurrenceRule();
+        if (rule != null) {
+            LocalDateTime horizon = start.plus(Global.RECURRENCE_CONFLICT_HORIZON);
+            LocalDateTime ruleLastStart = rule.lastOccurrenceStart(start);
+            lastStart = ruleLastStart != null && ruleLastStart.isBefore(horizon) ? ruleLastStart : horizon;
+            starts = rule.occurrenceStartsBetween(start, start, lastStart.plusSeconds(1));
+        }
+
+        List<long[]> ranges = new ArrayList<>(starts.size());
+        for (LocalDateTime occurrenceStart : starts) {
+            long startSecond = TimeConversion.toEpochSecond(occurrenceStart);
+            long endSecond = TimeConversion.toEpochSecond(occurrenceStart.plus(length));
+            if (!SlotTableService.DEFAULT_OFFICE_HOURS.contains(Instant.ofEpochSecond(startSecond),
+                    Instant.ofEpochSecond(endSecond))) {
+                throw new IllegalArgumentException("Outside business hours on " + occurrenceStart.toLocalDate());
+            }
+            ranges.add(new long[]{startSecond, endSecond});
+        }
+        return ranges;
+    }
+
+    /**
+     * Gets a required text field.
+     *
+     * @param record         The import record.
+     * @param normalizedName The normalized field name.
+     * @param displayName    The field name used in rejection reasons.
+     * @return The field value.
+     */
+    private static String requireText(ImportRecord record, String normalizedName, String displayName) {
+        String value = optionalText(record, normalizedName, displayName);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing " + displayName);
+        }
+        return value;
+    }
+
+    /**
+     * Gets an optional text field, checking it fits the database column.
+     *
+     * @param record         The import record.
+     * @param normalizedName The normalized field name.
+     * @param displayName    The field name used in rejection reasons.
+     * @return The field value, or an empty string if missing.
+     */
+    private static String optionalText(ImportRecord record, String normalizedName, String displayName) {
+        String value = record.get(normalizedName);
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(displayName + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    /**
+     * Parses a local date-time field.
+     *
+     * @param value       The field value.
+     * @param displayName The field name used in rejection reasons.
+     * @return The date-time.
+     */
+    private static LocalDateTime parseDateTime(String value, String displayName) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing " + displayName);
+        }
+        try {
+            return LocalDateTime.parse(value, dateTimeFormatter);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + displayName + " '" + value + "'");
+        }
+    }
+
+    /**
+     * Parses an ID field.
+     *
+     * @param value        The field value.
+     * @param displayName  The field name used in rejection reasons.
+     * @param defaultValue The value used if the field is empty, or null if the field is required.
+     * @return The ID.
+     */
+    private static int parseId(String value, String displayName, Integer defaultValue) {
+        if (value.isEmpty()) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("Missing " + displayName);
+            }
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + displayName + " '" + value + "'");
+        }
+    }
+
+    /**
+     * Parses a repeat field, given either as a frequency name or as an iCalendar RRULE value such as
+     * "FREQ=WEEKLY;INTERVAL=2;COUNT=10". Rules the scheduler cannot represent, such as yearly rules or weekly rules
+     * on several days, are rejected.
+     *
+     * @param value The field value.
+     * @param start The start of the appointment.
+     * @return The recurrence rule, or null if the field is empty.
+     */
+    private static RecurrenceRule parseRepeat(String value, LocalDateTime start) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        RecurrenceFrequency byName = RecurrenceFrequency.fromDisplayName(
+                value.substring(0, 1).toUpperCase(Locale.ROOT) + value.substring(1).toLowerCase(Locale.ROOT));
+        if (byName != null) {
+            return new RecurrenceRule(byName, 1, null, null, Collections.emptySet());
+        }
+
+        Map<String, String> parts = new HashMap<>();
+        for (String part : value.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals > 0) {
+                parts.put(part.substring(0, equals).trim().toUpperCase(Locale.ROOT), part.substring(equals + 1).trim());
+            }
+        }
+        try {
+            RecurrenceFrequency frequency = RecurrenceFrequency.valueOf(parts.getOrDefault("FREQ", "")
+                    .toUpperCase(Locale.ROOT));
+            String byDay = parts.get("BYDAY");
+            int interval = parts.containsKey("INTERVAL") ? Integer.parseInt(parts.get("INTERVAL")) : 1;
+            Integer count = parts.containsKey("COUNT") ? Integer.valueOf(parts.get("COUNT")) : null;
+            LocalDate until = parts.containsKey("UNTIL") ?
+                    LocalDate.parse(parts.get("UNTIL").substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE) : null;
+            boolean supportedByDay = byDay == null || (frequency == RecurrenceFrequency.WEEKLY &&
+                    byDay.equalsIgnoreCase(start.getDayOfWeek().name().substring(0, 2)));
+            if (supportedByDay && interval >= 1 && (count == null || count >= 1)) {
+                return new RecurrenceRule(frequency, interval, count, until, Collections.emptySet());
+            }
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            // Fall through to the rejection below
+        }
+        throw new IllegalArgumentException("Unsupported repeat rule '" + value + "'");
+    }
+
+    /**
+     * An import record waiting for its batch to be checked for overlaps.
+     */
+    private static final class PendingRecord {
+
+        /**
+         * The import record.
+         */
+        private final ImportRecord record;
+
+        /**
+         * The appointment the record describes, or null if the record was rejected.
+         */
+        private final Appointment appointment;
+
+        /**
+         * The start and end epoch seconds of each occurrence checked for overlaps, in order.
+         */
+        private final List<long[]> ranges;
+
+        /**
+         * The local end of the last occurrence checked for overlaps, or null if the record was rejected.
+         */
+        private final LocalDateTime lastEnd;
+
+        /**
+         * The reason the record was rejected, or null if it is still valid.
+         */
+        private final String rejection;
+
+        /**
+         * Constructs a PendingRecord.
+         *
+         * @param record      The import record.
+         * @param appointment The appointment the record describes, or null if the record was rejected.
+         * @param ranges      The start and end epoch seconds of each occurrence checked for overlaps, in order.
+         * @param rejection   The reason the record was rejected, or null if it is still valid.
+         */
+        private PendingRecord(ImportRecord record, Appointment appointment, List<long[]> ranges, String rejection) {
+            this.record = record;
+            this.appointment = appointment;
+            this.ranges = ranges;
+            this.lastEnd = ranges.isEmpty() ? null : LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(ranges.get(ranges.size() - 1)[1]), ZoneId.systemDefault());
+            this.rejection = rejection;
+        }
+    }
+
+    /**
+     * One customer's appointment times, keyed by start so overlaps are found without scanning every appointment.
+     * Only intervals starting before a range ends can overlap it, and of those only the ones starting no more than
+     * the longest interval's length before the range starts need to be checked.
+     */
+    private static final class IntervalIndex {
+
+        /**
+         * The intervals by start epoch second. Of intervals sharing a start, only the longest is kept, as it overlaps
+         * every range the others do.
+         */
+        private final TreeMap<Long, Interval> intervalsByStart = new TreeMap<>();
+
+        /**
+         * The length in seconds of the longest interval.
+         */
+        private long longestLength = 0;
+
+        /**
+         * Adds an interval.
+         *
+         * @param start       The start epoch second.
+         * @param end         The end epoch second.
+         * @param appointment The appointment or occurrence the interval belongs to.
+         */
+        private void add(long start, long end, Appointment appointment) {
+            Interval existing = intervalsByStart.get(start);
+            if (existing == null || existing.end < end) {
+                intervalsByStart.put(start, new Interval(end, appointment));
+            }
+            longestLength = Math.max(longestLength, end - start);
+        }
+
+        /**
+         * Finds an interval overlapping a range.
+         *
+         * @param start The start epoch second of the range.
+         * @param end   The end epoch second of the range.
+         * @return The appointment of an overlapping interval, or null if none overlaps.
+         */
+        private Appointment findOverlap(long start, long end) {
+            for (Map.Entry<Long, Interval> entry : intervalsByStart.headMap(end, false).descendingMap().entrySet()) {
+                if (entry.getKey() + longestLength <= start) {
+                    break;
+                }
+                if (entry.getValue().end > start) {
+                    return entry.getValue().appointment;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The end of an interval and the appointment it belongs to.
+         */
+        private static final class Interval {
+
+            /**
+             * The end epoch second.
+             */
+            private final long end;
+
+            /**
+             * The appointment or occurrence the interval belongs to.
+             */
+            private final Appointment appointment;
+
+            /**
+             * Constructs an Interval.
+             *
+             * @param end         The end epoch second.
+             * @param appointment The appointment or occurrence the interval belongs to.
+             */
+            private Interval(long end, Appointment appointment) {
+                this.end = end;
+                this.appointment = appointment;
+            }
+        }
+    }
+
+    /**
+     * Lookup data loaded once at the start of an import.
+     */
+    private static final class ImportContext {
+
+        /**
+         * The username recorded as the creator of imported appointments.
+         */
+        private final String userName;
+
+        /**
+         * The user ID for records that do not specify one.
+         */
+        private final int defaultUserId;
+
+        /**
+         * IDs of all customers.
+         */
+        private final Set<Integer> customerIds = new HashSet<>();
+
+        /**
+         * IDs of all users.
+         */
+        private final Set<Integer> userIds = new HashSet<>();
+
+        /**
+         * Contacts keyed by lower-case name.
+         */
+        private final Map<String, Contact> contactsByName = new HashMap<>();
+
+        /**
+         * The occurrences accepted so far, by customer ID.
+         */
+        private final Map<Integer, IntervalIndex> acceptedIntervals = new HashMap<>();
+
+        /**
+         * The creation time recorded on imported appointments.
+         */
+        private final LocalDateTime importTime = LocalDateTime.now();
+
+        /**
+         * The last update time recorded on imported appointments.
+         */
+        private final Timestamp importTimestamp = Timestamp.valueOf(importTime);
+
+        /**
+         * The number of rejected records.
+         */
+        private int rejectedCount = 0;
+
+        /**
+         * Constructs an ImportContext, loading customers, users, and contacts.
+         *
+         * @param userName      The username recorded as the creator of imported appointments.
+         * @param defaultUserId The user ID for records that do not specify one.
+         */
+        private ImportContext(String userName, int defaultUserId) {
+            this.userName = userName;
+            this.defaultUserId = defaultUserId;
+            for (Customer customer : WorkingDataCache.getCustomers()) {
+                customerIds.add(customer.getId());
+            }
+            for (User user : Repositories.users().selectAllUsers()) {
+                userIds.add(user.getId());
+            }
+            for (Contact contact : ReferenceDataCache.getContacts()) {
+                contactsByName.put(contact.getName().toLowerCase(Locale.ROOT), contact);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package helper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the hits and misses of one of the application's caches, such as the slot table cache or the working data
+ * cache. Each cache looks up its counters by name once and records every lookup; the diagnostics view lists all of
+ * them with {@link #all()}. Recording is lock-free and safe to call from any thread.
+ */
+public class CacheStats {
+
+    /**
+     * The counters of every cache, keyed by cache name.
+     */
+    private static final Map<String, CacheStats> caches = new ConcurrentHashMap<>();
+
+    /**
+     * The cache name.
+     */
+    private final String name;
+
+    /**
+     * Number of lookups answered from the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of lookups that had to load or build the value.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs CacheStats.
+     *
+     * @param name The cache name.
+     */
+    private CacheStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the counters for a cache, creating them on first use.
+     *
+     * @param name The cache name, such as "Slot tables".
+     * @return The counters.
+     */
+    public static CacheStats get(String name) {
+        return caches.computeIfAbsent(name, CacheStats::new);
+    }
+
+    /**
+     * Returns the counters of every cache, by name.
+     *
+     * @return the counters
+     */
+    public static List<CacheStats> all() {
+        List<CacheStats> sorted = new ArrayList<>(caches.values());
+        sorted.sort(Comparator.comparing(CacheStats::getName));
+        return sorted;
+    }
+
+    /**
+     * Records a lookup.
+     *
+     * @param hit true if the lookup was answered from the cache.
+     */
+    public void record(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    /**
+     * Returns the cache name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to load or build the value.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit rate, from 0 to 1, or 0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,152 @@
+package helper;
+
+import java.time.Duration;
+
+/**
+ * Stops repeated attempts at an operation that keeps failing, such as connecting to a database that is down.
+ * After a number of consecutive failures the breaker opens, and requests fail fast until a backoff delay has passed.
+ * Then a single trial request is allowed: if it succeeds the breaker closes, and if it fails the breaker opens again
+ * with the delay doubled, up to a maximum.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+
+        /**
+         * Requests are allowed.
+         */
+        CLOSED,
+
+        /**
+         * Requests fail fast until the backoff delay has passed.
+         */
+        OPEN,
+
+        /**
+         * A single trial request is in progress.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Number of consecutive failures that opens the breaker.
+     */
+    private final int failureThreshold;
+
+    /**
+     * The backoff delay after the breaker first opens.
+     */
+    private final Duration initialBackoff;
+
+    /**
+     * The longest backoff delay.
+     */
+    private final Duration maxBackoff;
+
+    /**
+     * The current state.
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * Number of failures since the last success.
+     */
+    private int consecutiveFailures = 0;
+
+    /**
+     * The delay used the next time the breaker opens.
+     */
+    private Duration nextBackoff;
+
+    /**
+     * When an open breaker allows its next trial request, in {@link System#nanoTime()} units.
+     */
+    private long retryAtNanos = 0;
+
+    /**
+     * Constructs a closed CircuitBreaker.
+     *
+     * @param failureThreshold Number of consecutive failures that opens the breaker.
+     * @param initialBackoff   The backoff delay after the breaker first opens.
+     * @param maxBackoff       The longest backoff delay.
+     */
+    public CircuitBreaker(int failureThreshold, Duration initialBackoff, Duration maxBackoff) {
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.nextBackoff = initialBackoff;
+    }
+
+    /**
+     * Checks whether a request may go ahead. An open breaker whose backoff delay has passed moves to half-open and
+     * allows one trial request.
+     *
+     * @return true if the request may go ahead, false if it should fail fast.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && System.nanoTime() - retryAtNanos >= 0) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a successful request, closing the breaker and resetting the backoff delay.
+     */
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        nextBackoff = initialBackoff;
+    }
+
+    /**
+     * Records a failed request. Opens the breaker if the trial request failed or too many requests have failed in a
+     * row, and doubles the delay used the next time it opens.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            retryAtNanos = System.nanoTime() + nextBackoff.toNanos();
+            Duration doubled = nextBackoff.multipliedBy(2);
+            nextBackoff = doubled.compareTo(maxBackoff) > 0 ? maxBackoff : doubled;
+        }
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the number of failures since the last success.
+     *
+     * @return the consecutive failure count
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Returns how long until an open breaker allows its next trial request.
+     *
+     * @return the remaining delay, or zero if the breaker is not open or the delay has passed
+     */
+    public synchronized Duration getRetryDelay() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(retryAtNanos - System.nanoTime(), 0));
+    }
+}
@@ -0,0 +1,131 @@
+package helper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads records from a CSV file whose first line names the columns. Fields may be quoted with double quotes, in
+ * which case they can contain commas, line breaks, and doubled quotes.
+ */
+public class CsvRecordReader implements ImportRecordReader {
+
+    /**
+     * The source of CSV text.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Normalized column names from the header line.
+     */
+    private final List<String> columns;
+
+    /**
+     * The number of lines read so far.
+     */
+    private int lineNumber = 0;
+
+    /**
+     * Constructs a CsvRecordReader and reads the header line.
+     *
+     * @param reader The source of CSV text.
+     * @throws IOException If the header cannot be read.
+     */
+    public CsvRecordReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        this.columns = new ArrayList<>();
+        List<String> header = readFields(new StringBuilder());
+        if (header != null) {
+            for (String column : header) {
+                columns.add(ImportRecord.normalizeFieldName(column));
+            }
+        }
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        List<String> values;
+        StringBuilder rawText = new StringBuilder();
+        int recordLine;
+        do {
+            rawText.setLength(0);
+            recordLine = lineNumber + 1;
+            values = readFields(rawText);
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank()); // skip blank lines
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            fields.put(columns.get(i), values.get(i));
+        }
+        return new ImportRecord(recordLine, rawText.toString(), fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads the fields of one record, which spans more than one line if a quoted field contains a line break.
+     *
+     * @param rawText Receives the text of the record.
+     * @return The field values, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private List<String> readFields(StringBuilder rawText) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        rawText.append(line);
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // A line break inside a quoted field, continue with the next line
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNumber++;
+                rawText.append('\n').append(line);
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,191 @@
+package helper;
+
+import DAO.ReferenceDataCache;
+import DAO.WorkingDataCache;
+import app.Global;
+import model.Country;
+import model.Customer;
+import model.Division;
+import model.ImportResult;
+import repository.RecordWriter;
+import repository.Repositories;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Imports customers in bulk from CSV files. Records are streamed from the file, validated, and written in JDBC
+ * batches, so memory use does not grow with the size of the file. Division names are resolved against the reference
+ * data cache, ignoring case, accents, and punctuation, so no database lookup is needed per customer. The import runs
+ * on a dedicated database connection, so the views can keep saving while it runs without touching its transaction.
+ * <p></p>
+ * CSV files need a header line naming the columns Customer_Name, Address, Postal_Code, Phone, and Division, and
+ * optionally Country, which is used when a division name exists in more than one country.
+ * <p></p>
+ * Records that fail validation are written to a rejected rows file with the reason, and the import continues.
+ */
+public class CustomerImporter {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(CustomerImporter.class);
+
+    /**
+     * Maximum length of the customer name, postal code, and phone columns.
+     */
+    private static final int MAX_TEXT_LENGTH = 50;
+
+    /**
+     * Maximum length of the address column.
+     */
+    private static final int MAX_ADDRESS_LENGTH = 100;
+
+    /**
+     * Imports customers using the default batch and commit sizes.
+     *
+     * @param source           The CSV file to import.
+     * @param rejectedRowsFile The file to write rejected records to.
+     * @param userName         The username recorded as the creator of the imported customers.
+     * @return The result of the import.
+     */
+    public static ImportResult importCustomers(Path source, Path rejectedRowsFile, String userName) {
+        return importCustomers(source, rejectedRowsFile, userName, Global.IMPORT_BATCH_SIZE,
+                Global.IMPORT_COMMIT_SIZE);
+    }
+
+    /**
+     * Imports customers from a CSV file.
+     *
+     * @param source           The CSV file to import.
+     * @param rejectedRowsFile The file to write rejected records to.
+     * @param userName         The username recorded as the creator of the imported customers.
+     * @param batchSize        Number of customers sent to the database per batch.
+     * @param commitSize       Number of customers committed per transaction.
+     * @return The result of the import.
+     */
+    public static ImportResult importCustomers(Path source, Path rejectedRowsFile, String userName, int batchSize,
+                                               int commitSize) {
+        return JDBC.dedicated(() -> runImport(source, rejectedRowsFile, userName, batchSize, commitSize));
+    }
+
+    /**
+     * Imports customers from a CSV file, on the current thread's connection.
+     *
+     * @param source           The CSV file to import.
+     * @param rejectedRowsFile The file to write rejected records to.
+     * @param userName         The username recorded as the creator of the imported customers.
+     * @param batchSize        Number of customers sent to the database per batch.
+     * @param commitSize       Number of customers committed per transaction.
+     * @return The result of the import.
+     */
+    private static ImportResult runImport(Path source, Path rejectedRowsFile, String userName, int batchSize,
+                                          int commitSize) {
+        log.trace(() -> "[Method Call]    CustomerImporter.importCustomers from " + source);
+        long startNanos = System.nanoTime();
+        LocalDateTime importTime = LocalDateTime.now();
+        Timestamp importTimestamp = Timestamp.valueOf(importTime);
+        RecordWriter<Customer> writer = null;
+        int rejectedCount = 0;
+        String error = null;
+
+        try (ImportRecordReader reader = new CsvRecordReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+             RejectedRowWriter rejectedRows = new RejectedRowWriter(rejectedRowsFile)) {
+            writer = Repositories.customers().openBatchWriter(batchSize, commitSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                try {
+                    writer.add(toCustomer(record, userName, importTime, importTimestamp));
+                } catch (IllegalArgumentException e) {
+                    rejectedRows.write(record, e.getMessage());
+                    rejectedCount++;
+                }
+            }
+            writer.close();
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+            error = e.getMessage();
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+
+        int importedCount = writer != null ? writer.getCommittedCount() : 0;
+        if (importedCount > 0) {
+            WorkingDataCache.invalidateCustomers();
+        }
+        ImportResult result = new ImportResult(importedCount, rejectedCount,
+                rejectedCount > 0 ? rejectedRowsFile : null, System.nanoTime() - startNanos, error);
+        log.trace(() -> "                 Imported " + result.getImportedCount() + " customers, rejected " +
+                result.getRejectedCount() + " in " + result.getElapsedMillis() + " ms (" +
+                result.getRowsPerSecond() + " rows/s)");
+        return result;
+    }
+
+    /**
+     * Validates an import record and creates the customer it describes. The customer's division and country are
+     * set to their names as stored in the database, and the customer carries the ID of the division resolved with
+     * its country, since the name alone may match a division in another country.
+     *
+     * @param record          The import record.
+     * @param userName        The username recorded as the creator of the customer.
+     * @param importTime      The creation time recorded on the customer.
+     * @param importTimestamp The last update time recorded on the customer.
+     * @return The customer.
+     * @throws IllegalArgumentException If the record is invalid; the message gives the reason.
+     */
+    private static Customer toCustomer(ImportRecord record, String userName, LocalDateTime importTime,
+                                       Timestamp importTimestamp) {
+        String name = requireText(record, record.get("customername").isEmpty() ? "name" : "customername",
+                "Customer_Name", MAX_TEXT_LENGTH);
+        String address = requireText(record, "address", "Address", MAX_ADDRESS_LENGTH);
+        String postalCode = requireText(record, "postalcode", "Postal_Code", MAX_TEXT_LENGTH);
+        String phone = requireText(record, "phone", "Phone", MAX_TEXT_LENGTH);
+
+        String divisionName = record.get("division");
+        if (divisionName.isEmpty()) {
+            divisionName = record.get("stateprovince");
+        }
+        if (divisionName.isEmpty()) {
+            throw new IllegalArgumentException("Missing Division");
+        }
+        String countryName = record.get("country");
+        Division division = ReferenceDataCache.findDivision(divisionName, countryName);
+        if (division == null) {
+            throw new IllegalArgumentException("Unknown division " + divisionName +
+                    (countryName.isEmpty() ? "" : " in " + countryName));
+        }
+        Country country = ReferenceDataCache.getCountryById(division.getAssociatedCountryId());
+
+        Customer customer = new Customer(null, name, address, phone, division.getDivisionName(), postalCode,
+                country != null ? country.getName() : countryName, importTime, userName, importTimestamp, userName);
+        customer.setDivisionId(division.getDivisionId());
+        return customer;
+    }
+
+    /**
+     * Gets a required text field, checking it fits the database column.
+     *
+     * @param record         The import record.
+     * @param normalizedName The normalized field name.
+     * @param displayName    The field name used in rejection reasons.
+     * @param maxLength      The maximum length of the column.
+     * @return The field value.
+     */
+    private static String requireText(ImportRecord record, String normalizedName, String displayName,
+                                      int maxLength) {
+        String value = record.get(normalizedName);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing " + displayName);
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(displayName + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,291 @@
+package helper;
+
+import app.Global;
+import model.UpdateResult;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how often each data access operation is called, how long it takes, and how many rows it returns. The
+ * repositories the application reads and writes through are wrapped by {@link #instrument}, so every call to the
+ * DAOs behind them is counted without changing the DAOs. Latencies go into a {@link LatencyHistogram} per operation
+ * for p50, p99, and maximum figures. The figures cover the life of the application, can be read with
+ * {@link #getOperations()} or {@link #report()}, and are appended to {@link Global#DAO_METRICS_PATH} on exit.
+ */
+public class DaoMetrics {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(DaoMetrics.class);
+
+    /**
+     * Figures for each operation, keyed by operation name, such as "AppointmentRepository.selectAllAppointments".
+     */
+    private static final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a repository so that every call through its interface is recorded under the interface's name.
+     *
+     * @param type       The repository interface.
+     * @param repository The repository to wrap.
+     * @param <T>        The repository interface type.
+     * @return A repository that records its calls and passes them on.
+     */
+    public static <T> T instrument(Class<T> type, T repository) {
+        // Looked up by method so calls do not build operation names
+        Map<Method, OperationMetrics> methodMetrics = new ConcurrentHashMap<>();
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (instance, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("equals") ? instance == args[0] :
+                                method.invoke(repository, args);
+                    }
+                    OperationMetrics metrics = methodMetrics.computeIfAbsent(method, called ->
+                            operation(type, called));
+                    long startNanos = System.nanoTime();
+                    try {
+                        Object result = method.invoke(repository, args);
+                        metrics.record(System.nanoTime() - startNanos, rowCount(result));
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        metrics.recordFailure(System.nanoTime() - startNanos);
+                        throw e.getCause();
+                    }
+                });
+        return type.cast(proxy);
+    }
+
+    /**
+     * Returns the figures recorded for each operation, slowest in total first.
+     *
+     * @return the operations that have been called
+     */
+    public static List<OperationMetrics> getOperations() {
+        List<OperationMetrics> sorted = new ArrayList<>(operations.values());
+        sorted.sort(Comparator.comparingDouble(OperationMetrics::getTotalMillis).reversed());
+        return sorted;
+    }
+
+    /**
+     * Formats the recorded figures as a table, one operation per line, slowest in total first.
+     *
+     * @return the report
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder(String.format("%-60s %8s %6s %10s %10s %10s %10s %8s %8s%n",
+                "Operation", "Calls", "Errors", "Total ms", "p50 ms", "p99 ms", "Max ms", "Rows", "Last"));
+        for (OperationMetrics metrics : getOperations()) {
+            report.append(String.format("%-60s %8d %6d %10.1f %10.3f %10.3f %10.3f %8d %8d%n", metrics.name,
+                    metrics.getCallCount(), metrics.getErrorCount(), metrics.getTotalMillis(),
+                    metrics.getPercentileMillis(50), metrics.getPercentileMillis(99), metrics.getMaxMillis(),
+                    metrics.getTotalRows(), metrics.getLastRows()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Appends the report to the metrics file, tagged with the time and application version.
+     */
+    public static void writeReport() {
+        if (operations.isEmpty()) {
+            return;
+        }
+        String entry = LocalDateTime.now().format(Global.LOG_DATE_FORMATTER) + " - Version: " + Global.APP_VERSION +
+                System.lineSeparator() + report() + System.lineSeparator();
+        try {
+            Files.write(Paths.get(Global.DAO_METRICS_PATH), entry.getBytes(), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            log.info("DAO metrics written to " + Global.DAO_METRICS_PATH);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the figures for an operation, creating them on its first call. Repositories of the same interface
+     * share figures.
+     *
+     * @param type   The repository interface.
+     * @param method The method called.
+     * @return The operation's figures.
+     */
+    private static OperationMetrics operation(Class<?> type, Method method) {
+        return operations.computeIfAbsent(type.getSimpleName() + "." + method.getName(), OperationMetrics::new);
+    }
+
+    /**
+     * Counts the rows in an operation's result: the size of a list, or one for a single record. Results that are
+     * not rows, such as success flags, update results, and delete counts, are not counted.
+     *
+     * @param result The result.
+     * @return The number of rows, or -1 if the result is not rows.
+     */
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Boolean || result instanceof Number || result instanceof UpdateResult ||
+                result instanceof AutoCloseable) {
+            return -1;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    /**
+     * The figures recorded for one operation.
+     */
+    public static final class OperationMetrics {
+
+        /**
+         * The operation name.
+         */
+        private final String name;
+
+        /**
+         * Number of calls that returned.
+         */
+        private final LongAdder callCount = new LongAdder();
+
+        /**
+         * Number of calls that threw an exception.
+         */
+        private final LongAdder errorCount = new LongAdder();
+
+        /**
+         * Number of rows returned by all calls.
+         */
+        private final LongAdder totalRows = new LongAdder();
+
+        /**
+         * Number of rows returned by the most recent call that returned rows.
+         */
+        private volatile int lastRows = 0;
+
+        /**
+         * Latencies of all calls.
+         */
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        /**
+         * Constructs OperationMetrics.
+         *
+         * @param name The operation name.
+         */
+        private OperationMetrics(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records a call that returned.
+         *
+         * @param nanos How long the call took, in nanoseconds.
+         * @param rows  The number of rows returned, or -1 if the result is not rows.
+         */
+        private void record(long nanos, int rows) {
+            callCount.increment();
+            latency.record(nanos);
+            if (rows >= 0) {
+                totalRows.add(rows);
+                lastRows = rows;
+            }
+        }
+
+        /**
+         * Records a call that threw an exception.
+         *
+         * @param nanos How long the call took, in nanoseconds.
+         */
+        private void recordFailure(long nanos) {
+            errorCount.increment();
+            latency.record(nanos);
+        }
+
+        /**
+         * Returns the operation name.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of calls that returned.
+         *
+         * @return the call count
+         */
+        public long getCallCount() {
+            return callCount.sum();
+        }
+
+        /**
+         * Returns the number of calls that threw an exception.
+         *
+         * @return the error count
+         */
+        public long getErrorCount() {
+            return errorCount.sum();
+        }
+
+        /**
+         * Returns the number of rows returned by all calls.
+         *
+         * @return the total row count
+         */
+        public long getTotalRows() {
+            return totalRows.sum();
+        }
+
+        /**
+         * Returns the number of rows returned by the most recent call that returned rows.
+         *
+         * @return the last row count
+         */
+        public int getLastRows() {
+            return lastRows;
+        }
+
+        /**
+         * Estimates a latency percentile.
+         *
+         * @param percentile The percentile, from 0 to 100.
+         * @return the estimate in milliseconds
+         */
+        public double getPercentileMillis(double percentile) {
+            return latency.getPercentileNanos(percentile) / 1_000_000.0;
+        }
+
+        /**
+         * Returns the longest call.
+         *
+         * @return the longest latency in milliseconds
+         */
+        public double getMaxMillis() {
+            return latency.getMaxNanos() / 1_000_000.0;
+        }
+
+        /**
+         * Returns the time spent in all calls.
+         *
+         * @return the total latency in milliseconds
+         */
+        public double getTotalMillis() {
+            return latency.getTotalNanos() / 1_000_000.0;
+        }
+    }
+}
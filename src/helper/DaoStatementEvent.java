@@ -0,0 +1,42 @@
+package helper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one SQL statement run by a DAO. The event's duration covers running the statement,
+ * not reading its rows. Recorded by {@link SlowQueryLog} while a flight recording with this event enabled is running.
+ */
+@Name("scheduler.DaoStatement")
+@Label("DAO Statement")
+@Category({"Client Scheduler", "Database"})
+@Description("An SQL statement run by a DAO method")
+class DaoStatementEvent extends Event {
+
+    /**
+     * The DAO method that ran the statement, such as "AppointmentDAO.selectAllAppointments".
+     */
+    @Label("Operation")
+    String operation;
+
+    /**
+     * A short identifier for the SQL text, the same for every run of the same statement.
+     */
+    @Label("SQL Id")
+    String sqlId;
+
+    /**
+     * The SQL text.
+     */
+    @Label("SQL")
+    String sql;
+
+    /**
+     * The number of rows read from the result, or changed by an update, or -1 if not known.
+     */
+    @Label("Rows")
+    long rows;
+}
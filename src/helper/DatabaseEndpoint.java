@@ -0,0 +1,266 @@
+package helper;
+
+import app.Global;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A database server the application connects to, such as the primary or a read replica, and the single shared
+ * connection to it. The connection is validated before use and reopened if it has died. After repeated failures a
+ * circuit breaker makes requests fail fast, and if a reconnect executor is given, the connection is retried in the
+ * background with exponential backoff. Used by {@link JDBC}.
+ */
+class DatabaseEndpoint {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(DatabaseEndpoint.class);
+
+    /**
+     * Name used when logging, such as "primary" or "replica".
+     */
+    private final String name;
+
+    /**
+     * JDBC URL of the server.
+     */
+    private final String url;
+
+    /**
+     * Username to connect with.
+     */
+    private final String userName;
+
+    /**
+     * Password to connect with.
+     */
+    private final String password;
+
+    /**
+     * Told when the endpoint becomes unavailable or available again, or null.
+     */
+    private final Consumer<Boolean> availabilityListener;
+
+    /**
+     * Runs background reconnect attempts, or null to only reconnect when the connection is next requested.
+     */
+    private final ScheduledExecutorService reconnectExecutor;
+
+    /**
+     * Stops connection attempts while the server is down.
+     */
+    private final CircuitBreaker breaker = new CircuitBreaker(Global.RECONNECT_FAILURE_THRESHOLD,
+            Global.RECONNECT_INITIAL_BACKOFF, Global.RECONNECT_MAX_BACKOFF);
+
+    /**
+     * The shared connection, or null if it has not been opened.
+     */
+    private Connection connection;
+
+    /**
+     * Whether the connection was usable when last checked.
+     */
+    private volatile boolean available = false;
+
+    /**
+     * When the connection was last known to be valid, in {@link System#nanoTime()} units.
+     */
+    private long lastValidatedNanos;
+
+    /**
+     * Whether a background reconnect attempt is scheduled.
+     */
+    private boolean reconnectScheduled = false;
+
+    /**
+     * Whether the connection has been closed for good because the application is exiting.
+     */
+    private boolean shutDown = false;
+
+    /**
+     * Constructs a DatabaseEndpoint. No connection is opened until one is requested.
+     *
+     * @param name                 Name used when logging.
+     * @param url                  JDBC URL of the server.
+     * @param userName             Username to connect with.
+     * @param password             Password to connect with.
+     * @param availabilityListener Told when the endpoint becomes unavailable or available again, or null.
+     * @param reconnectExecutor    Runs background reconnect attempts, or null.
+     */
+    DatabaseEndpoint(String name, String url, String userName, String password,
+                     Consumer<Boolean> availabilityListener, ScheduledExecutorService reconnectExecutor) {
+        this.name = name;
+        this.url = url;
+        this.userName = userName;
+        this.password = password;
+        this.availabilityListener = availabilityListener;
+        this.reconnectExecutor = reconnectExecutor;
+    }
+
+    /**
+     * Returns the name used when logging.
+     *
+     * @return the name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether the server was reachable when last checked.
+     *
+     * @return true if the server is available.
+     */
+    boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Returns the shared connection after checking that it is still usable. The connection is only checked against
+     * the server if it has not been validated within {@link Global#CONNECTION_VALIDATION_INTERVAL}. A dead connection
+     * is replaced, unless the circuit breaker is open, in which case this fails fast.
+     *
+     * @return The shared connection.
+     * @throws SQLException If the connection is dead and cannot be reopened.
+     */
+    synchronized Connection validConnection() throws SQLException {
+        if (shutDown) {
+            throw new SQLException("The " + name + " database connection has been closed.", "08003");
+        }
+        if (connection != null && isUsable(connection)) {
+            return connection;
+        }
+        setAvailable(false);
+        if (!breaker.allowRequest()) {
+            scheduleReconnect();
+            long retrySeconds = (breaker.getRetryDelay().toMillis() + 999) / 1000;
+            throw new SQLException("Database unavailable (" + name + "). Retrying in " + retrySeconds +
+                    " seconds.", "08001");
+        }
+        try {
+            reconnect();
+            breaker.recordSuccess();
+            setAvailable(true);
+            return connection;
+        } catch (SQLException e) {
+            breaker.recordFailure();
+            scheduleReconnect();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a separate connection to the server for a caller that needs its own transaction, such as an import
+     * running in the background. The shared connection is checked first, so this fails fast while the server is
+     * down. The caller closes the connection.
+     *
+     * @return The new connection.
+     * @throws SQLException If the server is unavailable or the connection cannot be opened.
+     */
+    Connection openDedicatedConnection() throws SQLException {
+        validConnection();
+        return SlowQueryLog.wrap(DriverManager.getConnection(url, userName, password), name + " (dedicated)");
+    }
+
+    /**
+     * Closes the connection for good and stops reconnect attempts.
+     */
+    synchronized void close() {
+        shutDown = true;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Error:" + e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * Checks whether a connection is open and, if it has not been checked recently, whether the server still answers.
+     *
+     * @param candidate The connection to check.
+     * @return true if the connection can be used.
+     */
+    private boolean isUsable(Connection candidate) {
+        try {
+            if (candidate.isClosed()) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (now - lastValidatedNanos < Global.CONNECTION_VALIDATION_INTERVAL.toNanos()) {
+                return true;
+            }
+            if (!candidate.isValid((int) Global.CONNECTION_VALIDATION_TIMEOUT.toSeconds())) {
+                return false;
+            }
+            lastValidatedNanos = now;
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Discards the connection and opens a new one.
+     *
+     * @throws SQLException If the new connection cannot be opened.
+     */
+    private void reconnect() throws SQLException {
+        if (connection != null) {
+            log.trace(() -> "[Method Call]    DatabaseEndpoint.reconnect " + name);
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // The old connection is already broken
+            }
+            connection = null;
+        }
+        connection = SlowQueryLog.wrap(DriverManager.getConnection(url, userName, password), name);
+        lastValidatedNanos = System.nanoTime();
+    }
+
+    /**
+     * Schedules a background reconnect attempt for when the circuit breaker next allows one, unless one is already
+     * scheduled or there is no reconnect executor. A failed attempt schedules the next one with a longer delay.
+     */
+    private synchronized void scheduleReconnect() {
+        if (reconnectExecutor == null || reconnectScheduled || shutDown) {
+            return;
+        }
+        reconnectScheduled = true;
+        reconnectExecutor.schedule(() -> {
+            synchronized (this) {
+                reconnectScheduled = false;
+            }
+            try {
+                validConnection();
+                log.info("Connection restored! (" + name + ")");
+            } catch (SQLException e) {
+                log.warn("Error:" + e.getMessage());
+            }
+        }, breaker.getRetryDelay().toNanos() + 1, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records whether the server is available and tells the listener if that has changed.
+     *
+     * @param nowAvailable Whether the server is available.
+     */
+    private void setAvailable(boolean nowAvailable) {
+        if (available == nowAvailable) {
+            return;
+        }
+        available = nowAvailable;
+        if (availabilityListener != null) {
+            availabilityListener.accept(nowAvailable);
+        }
+    }
+}
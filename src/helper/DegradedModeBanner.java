@@ -0,0 +1,74 @@
+package helper;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.scene.control.Label;
+import repository.Repositories;
+
+/**
+ * Shows a banner on the main views while the database is unavailable. The views keep showing the data they last
+ * loaded, and the banner tells the user that it may be out of date and that changes cannot be saved until the
+ * connection is restored. Once the database is reachable again, the cached views are marked stale so they reload
+ * the next time they are shown.
+ */
+public class DegradedModeBanner {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(DegradedModeBanner.class);
+
+    /**
+     * Text shown on the banner.
+     */
+    private static final String BANNER_TEXT = "Database unavailable. Showing the last data loaded; changes cannot " +
+            "be saved. Reconnecting...";
+
+    /**
+     * Whether the database is unavailable. Only changed on the JavaFX Application Thread.
+     */
+    private static final ReadOnlyBooleanWrapper degraded = new ReadOnlyBooleanWrapper(false);
+
+    static {
+        degraded.set(!Repositories.isAvailable());
+        JDBC.addAvailabilityListener(available -> Platform.runLater(() -> setDegraded(!available)));
+    }
+
+    /**
+     * Binds a banner label so it is shown, and takes up space in its layout, only while the database is unavailable.
+     * Called from a controller's initialize method.
+     *
+     * @param banner The label to use as the banner.
+     */
+    public static void attach(Label banner) {
+        banner.setText(BANNER_TEXT);
+        banner.visibleProperty().bind(degraded.getReadOnlyProperty());
+        banner.managedProperty().bind(degraded.getReadOnlyProperty());
+    }
+
+    /**
+     * Returns a property that is true while the database is unavailable.
+     *
+     * @return The degraded mode property.
+     */
+    public static ReadOnlyBooleanProperty degradedProperty() {
+        return degraded.getReadOnlyProperty();
+    }
+
+    /**
+     * Updates the degraded mode, marking the data views stale when leaving it.
+     *
+     * @param nowDegraded Whether the database is unavailable.
+     */
+    private static void setDegraded(boolean nowDegraded) {
+        if (degraded.get() == nowDegraded) {
+            return;
+        }
+        log.trace(() -> "[Method Call]    DegradedModeBanner.setDegraded " + nowDegraded);
+        degraded.set(nowDegraded);
+        if (!nowDegraded) {
+            SceneSwap.invalidateDataViews();
+        }
+    }
+}
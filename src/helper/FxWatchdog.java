@@ -0,0 +1,382 @@
+package helper;
+
+import app.Global;
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects stalls of the JavaFX Application Thread. A background thread posts a heartbeat to the FX thread every
+ * {@link Global#FX_WATCHDOG_INTERVAL}; if it has not run within the stall threshold, the FX thread's stack is captured
+ * along with the SQL it is running, if any. Once the FX thread answers, the stall is logged and counted against the
+ * code that blocked it, such as the controller method and the DAO method it called, so that the blocking calls in the
+ * views can be found. The threshold defaults to {@link Global#FX_STALL_THRESHOLD} and can be set in milliseconds with
+ * -Dui.stallMillis; a negative value turns the watchdog off. The summary is shown in the Diagnostics view and is
+ * appended to {@link Global#FX_STALLS_PATH} on exit.
+ */
+public class FxWatchdog {
+
+    /**
+     * Logs each stall.
+     */
+    private static final Log log = Log.get(FxWatchdog.class);
+
+    /**
+     * The FX thread is stalled once a heartbeat has waited this long, in nanoseconds. Negative if the watchdog is off.
+     */
+    private static final long thresholdNanos = Long.getLong("ui.stallMillis",
+            Global.FX_STALL_THRESHOLD.toMillis()) * 1_000_000;
+
+    /**
+     * Most stack frames kept for a stall.
+     */
+    private static final int MAX_STACK_DEPTH = 40;
+
+    /**
+     * Stalls counted by the code that blocked the FX thread.
+     */
+    private static final Map<String, StallSummary> stalls = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the heartbeat state below, which is shared by the watchdog and FX threads.
+     */
+    private static final Object lock = new Object();
+
+    /**
+     * The FX thread, or null until the watchdog is started.
+     */
+    private static volatile Thread fxThread;
+
+    /**
+     * When the heartbeat waiting for the FX thread was posted, or 0 if none is waiting. Guarded by the lock.
+     */
+    private static long heartbeatPostedNanos = 0;
+
+    /**
+     * The stall captured while the current heartbeat waits, or null. Guarded by the lock.
+     */
+    private static Stall currentStall;
+
+    /**
+     * Starts watching the FX thread. Must be called on the FX thread. Does nothing if the watchdog is off or already
+     * started.
+     */
+    public static void start() {
+        if (thresholdNanos < 0 || fxThread != null) {
+            return;
+        }
+        fxThread = Thread.currentThread();
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Global.FX_WATCHDOG_INTERVAL.toMillis();
+        watchdog.scheduleAtFixedRate(FxWatchdog::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the number of stalls detected.
+     *
+     * @return the stall count
+     */
+    public static long getStallCount() {
+        long count = 0;
+        for (StallSummary summary : stalls.values()) {
+            count += summary.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the stalls detected, grouped by the code that blocked the FX thread, longest in total first.
+     *
+     * @return the stall summaries
+     */
+    public static List<StallSummary> getStalls() {
+        List<StallSummary> sorted = new ArrayList<>(stalls.values());
+        sorted.sort(Comparator.comparingDouble(StallSummary::getTotalMillis).reversed());
+        return sorted;
+    }
+
+    /**
+     * Formats the stalls detected as a table, one blocking call per line, longest in total first, followed by the
+     * last stack captured for each.
+     *
+     * @return the report
+     */
+    public static String report() {
+        List<StallSummary> sorted = getStalls();
+        StringBuilder report = new StringBuilder(String.format("%-70s %6s %10s %10s%n", "Blocked in", "Stalls",
+                "Total ms", "Max ms"));
+        for (StallSummary summary : sorted) {
+            report.append(String.format("%-70s %6d %10.0f %10.0f%n", summary.site, summary.getCount(),
+                    summary.getTotalMillis(), summary.getMaxMillis()));
+        }
+        for (StallSummary summary : sorted) {
+            report.append(System.lineSeparator()).append(summary.site).append(System.lineSeparator());
+            if (summary.getLastSql() != null) {
+                report.append("SQL: ").append(summary.getLastSql()).append(System.lineSeparator());
+            }
+            report.append(summary.getLastStack());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Appends the report to the stalls file, tagged with the time and application version.
+     */
+    public static void writeReport() {
+        if (stalls.isEmpty()) {
+            return;
+        }
+        String entry = LocalDateTime.now().format(Global.LOG_DATE_FORMATTER) + " - Version: " + Global.APP_VERSION +
+                System.lineSeparator() + report() + System.lineSeparator();
+        try {
+            Files.write(Paths.get(Global.FX_STALLS_PATH), entry.getBytes(), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            log.info("UI stalls written to " + Global.FX_STALLS_PATH);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Runs on the watchdog thread: posts a heartbeat if none is waiting, or captures a stall if the waiting heartbeat
+     * has waited longer than the threshold.
+     */
+    private static void check() {
+        long now = System.nanoTime();
+        synchronized (lock) {
+            if (heartbeatPostedNanos == 0) {
+                heartbeatPostedNanos = now;
+                Platform.runLater(FxWatchdog::heartbeat);
+            } else if (currentStall == null && now - heartbeatPostedNanos >= thresholdNanos) {
+                currentStall = capture();
+            }
+        }
+    }
+
+    /**
+     * Runs on the FX thread when it gets to the heartbeat, and records the stall if one was captured.
+     */
+    private static void heartbeat() {
+        Stall stall;
+        long waitedNanos;
+        synchronized (lock) {
+            waitedNanos = System.nanoTime() - heartbeatPostedNanos;
+            heartbeatPostedNanos = 0;
+            stall = currentStall;
+            currentStall = null;
+        }
+        if (stall == null) {
+            return;
+        }
+        stalls.computeIfAbsent(stall.site, StallSummary::new).record(waitedNanos, stall);
+        log.warn(String.format("UI thread stalled for %d ms in %s%s", waitedNanos / 1_000_000, stall.site,
+                stall.sql != null ? " running " + stall.sql : ""));
+    }
+
+    /**
+     * Captures what the FX thread is doing: its stack, the SQL it is running, and the code that blocked it.
+     *
+     * @return The stall.
+     */
+    private static Stall capture() {
+        Thread thread = fxThread;
+        StackTraceElement[] stack = thread.getStackTrace();
+        String sql = SlowQueryLog.runningStatement(thread);
+
+        String view = null;
+        String dao = null;
+        String application = null;
+        StringBuilder trace = new StringBuilder();
+        for (int i = 0; i < stack.length; i++) {
+            StackTraceElement frame = stack[i];
+            String className = frame.getClassName();
+            String method = className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+            if (view == null && className.startsWith("controller.")) {
+                view = method;
+            } else if (dao == null && className.startsWith("DAO.")) {
+                dao = method;
+            } else if (application == null && className.matches("(app|helper|repository|model)\\..*") &&
+                    !className.startsWith("helper.SlowQueryLog")) {
+                application = method;
+            }
+            if (i < MAX_STACK_DEPTH) {
+                trace.append("\tat ").append(frame).append(System.lineSeparator());
+            }
+        }
+        if (stack.length > MAX_STACK_DEPTH) {
+            trace.append("\t... ").append(stack.length - MAX_STACK_DEPTH).append(" more")
+                    .append(System.lineSeparator());
+        }
+
+        String blocker = view != null ? view : application != null ? application : stack.length > 0 ?
+                stack[0].getClassName() + "." + stack[0].getMethodName() : "unknown";
+        String site = dao != null ? blocker + " -> " + dao : blocker;
+        return new Stall(site, sql != null ? sql.strip().replaceAll("\\s+", " ") : null, trace.toString());
+    }
+
+    /**
+     * What the FX thread was doing when a stall was captured.
+     */
+    private static final class Stall {
+
+        /**
+         * The code that blocked the FX thread, such as "Appointments.onSaveButtonClick ->
+         * AppointmentDAO.insertAppointment".
+         */
+        private final String site;
+
+        /**
+         * The SQL the FX thread was running, or null.
+         */
+        private final String sql;
+
+        /**
+         * The FX thread's stack, one frame per line.
+         */
+        private final String stack;
+
+        /**
+         * Constructs Stall.
+         *
+         * @param site  The code that blocked the FX thread.
+         * @param sql   The SQL the FX thread was running, or null.
+         * @param stack The FX thread's stack.
+         */
+        private Stall(String site, String sql, String stack) {
+            this.site = site;
+            this.sql = sql;
+            this.stack = stack;
+        }
+    }
+
+    /**
+     * The stalls caused by one blocking call.
+     */
+    public static final class StallSummary {
+
+        /**
+         * The code that blocked the FX thread.
+         */
+        private final String site;
+
+        /**
+         * Number of stalls.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * Total length of the stalls, in nanoseconds.
+         */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /**
+         * Length of the longest stall, in nanoseconds.
+         */
+        private volatile long maxNanos = 0;
+
+        /**
+         * The SQL running during the most recent stall, or null.
+         */
+        private volatile String lastSql;
+
+        /**
+         * The FX thread's stack during the most recent stall.
+         */
+        private volatile String lastStack = "";
+
+        /**
+         * Constructs StallSummary.
+         *
+         * @param site The code that blocked the FX thread.
+         */
+        private StallSummary(String site) {
+            this.site = site;
+        }
+
+        /**
+         * Records a stall. Only called on the FX thread.
+         *
+         * @param nanos How long the stall lasted, in nanoseconds.
+         * @param stall What the FX thread was doing.
+         */
+        private void record(long nanos, Stall stall) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos = Math.max(maxNanos, nanos);
+            lastSql = stall.sql;
+            lastStack = stall.stack;
+        }
+
+        /**
+         * Returns the code that blocked the FX thread, such as "Appointments.onSaveButtonClick ->
+         * AppointmentDAO.insertAppointment".
+         *
+         * @return the blocking call
+         */
+        public String getSite() {
+            return site;
+        }
+
+        /**
+         * Returns the number of stalls.
+         *
+         * @return the stall count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the total length of the stalls.
+         *
+         * @return the total in milliseconds
+         */
+        public double getTotalMillis() {
+            return totalNanos.sum() / 1_000_000.0;
+        }
+
+        /**
+         * Returns the length of the longest stall.
+         *
+         * @return the maximum in milliseconds
+         */
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        /**
+         * Returns the SQL running during the most recent stall.
+         *
+         * @return the SQL, or null if none was running
+         */
+        public String getLastSql() {
+            return lastSql;
+        }
+
+        /**
+         * Returns the FX thread's stack during the most recent stall.
+         *
+         * @return the stack, one frame per line
+         */
+        public String getLastStack() {
+            return lastStack;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package helper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads VEVENT entries from an iCalendar (.ics) file as import records. Event properties are mapped to the same
+ * field names used by CSV imports:
+ * <ul>
+ *     <li>SUMMARY, DESCRIPTION, LOCATION, and CATEGORIES to title, description, location, and type</li>
+ *     <li>DTSTART and DTEND (or DURATION) to start and end, converted to the user's local time</li>
+ *     <li>ORGANIZER's common name, or X-WISEBOOK-CONTACT, to contact</li>
+ *     <li>X-WISEBOOK-CUSTOMER-ID and X-WISEBOOK-USER-ID to customer ID and user ID</li>
+ *     <li>RRULE to repeat</li>
+ * </ul>
+ */
+public class ICalendarRecordReader implements ImportRecordReader {
+
+    /**
+     * Format of iCalendar date-time values, without the trailing "Z" of UTC values.
+     */
+    private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+
+    /**
+     * Format of iCalendar date values.
+     */
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("uuuuMMdd");
+
+    /**
+     * The source of iCalendar text.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * The next physical line, read ahead to detect folded lines.
+     */
+    private String nextLine;
+
+    /**
+     * The line number of {@link #nextLine}.
+     */
+    private int lineNumber = 0;
+
+    /**
+     * Constructs an ICalendarRecordReader.
+     *
+     * @param reader The source of iCalendar text.
+     * @throws IOException If the file cannot be read.
+     */
+    public ICalendarRecordReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readAhead();
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        // Find the start of the next event
+        String line;
+        do {
+            line = readUnfoldedLine();
+            if (line == null) {
+                return null;
+            }
+        } while (!line.equalsIgnoreCase("BEGIN:VEVENT"));
+
+        int recordLine = lineNumber - 1;
+        StringBuilder rawText = new StringBuilder(line);
+        Map<String, String> properties = new HashMap<>();
+        Map<String, String> startParameters = new HashMap<>();
+        Map<String, String> endParameters = new HashMap<>();
+        String organizerName = null;
+        int nestedComponents = 0;
+
+        while ((line = readUnfoldedLine()) != null) {
+            rawText.append('\n').append(line);
+            if (line.equalsIgnoreCase("END:VEVENT") && nestedComponents == 0) {
+                break;
+            }
+            // Skip nested components such as VALARM
+            if (line.regionMatches(true, 0, "BEGIN:", 0, 6)) {
+                nestedComponents++;
+                continue;
+            }
+            if (line.regionMatches(true, 0, "END:", 0, 4)) {
+                nestedComponents--;
+                continue;
+            }
+            if (nestedComponents > 0) {
+                continue;
+            }
+
+            int colon = findValueSeparator(line);
+            if (colon < 0) {
+                continue;
+            }
+            String[] nameAndParameters = line.substring(0, colon).split(";");
+            String name = nameAndParameters[0].toUpperCase();
+            String value = line.substring(colon + 1);
+            Map<String, String> parameters = new HashMap<>();
+            for (int i = 1; i < nameAndParameters.length; i++) {
+                int equals = nameAndParameters[i].indexOf('=');
+                if (equals > 0) {
+                    parameters.put(nameAndParameters[i].substring(0, equals).toUpperCase(),
+                            unquote(nameAndParameters[i].substring(equals + 1)));
+                }
+            }
+
+            properties.putIfAbsent(name, value);
+            if (name.equals("DTSTART")) {
+                startParameters = parameters;
+            } else if (name.equals("DTEND")) {
+                endParameters = parameters;
+            } else if (name.equals("ORGANIZER")) {
+                organizerName = parameters.get("CN");
+            }
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put("title", unescape(properties.get("SUMMARY")));
+        fields.put("description", unescape(properties.get("DESCRIPTION")));
+        fields.put("location", unescape(properties.get("LOCATION")));
+        fields.put("type", unescape(properties.get("CATEGORIES")));
+        fields.put("customerid", properties.get("X-WISEBOOK-CUSTOMER-ID"));
+        fields.put("userid", properties.get("X-WISEBOOK-USER-ID"));
+        fields.put("contact", properties.containsKey("X-WISEBOOK-CONTACT") ?
+                unescape(properties.get("X-WISEBOOK-CONTACT")) : organizerName);
+        fields.put("repeat", properties.get("RRULE"));
+
+        LocalDateTime start = toLocalDateTime(properties.get("DTSTART"), startParameters);
+        LocalDateTime end = toLocalDateTime(properties.get("DTEND"), endParameters);
+        if (end == null && start != null && properties.containsKey("DURATION")) {
+            end = start.plus(parseDuration(properties.get("DURATION")));
+        }
+        fields.put("start", start != null ? start.toString() : null);
+        fields.put("end", end != null ? end.toString() : null);
+
+        return new ImportRecord(recordLine, rawText.toString(), fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Converts an iCalendar date or date-time value to the user's local time. UTC values end in "Z", values with a
+     * TZID parameter are in that zone, and other values are taken as local already. Date-only values start at
+     * midnight.
+     *
+     * @param value      The property value.
+     * @param parameters The property parameters.
+     * @return The local date-time, or null if there is no value or it cannot be parsed.
+     */
+    private static LocalDateTime toLocalDateTime(String value, Map<String, String> parameters) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            if (value.length() == 8) {
+                return LocalDate.parse(value, dateFormatter).atStartOfDay();
+            }
+            if (value.endsWith("Z")) {
+                return TimeConversion.fromUtc(LocalDateTime.parse(value.substring(0, value.length() - 1),
+                        dateTimeFormatter));
+            }
+            LocalDateTime dateTime = LocalDateTime.parse(value, dateTimeFormatter);
+            String zone = parameters.get("TZID");
+            if (zone != null) {
+                return dateTime.atZone(ZoneId.of(zone)).withZoneSameInstant(ZoneId.systemDefault())
+                        .toLocalDateTime();
+            }
+            return dateTime;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses an iCalendar duration such as "PT1H30M" or "P1D".
+     *
+     * @param value The duration value.
+     * @return The duration, or zero if it cannot be parsed.
+     */
+    private static Duration parseDuration(String value) {
+        try {
+            String trimmed = value.trim();
+            // java.time expects days before the time part to be written as "P1DT..." which iCalendar also uses,
+            // but weeks ("P2W") need converting to days
+            if (trimmed.endsWith("W")) {
+                return Duration.ofDays(7L * Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+            }
+            return Duration.parse(trimmed);
+        } catch (RuntimeException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    /**
+     * Finds the colon separating a property's name and parameters from its value, ignoring colons inside quoted
+     * parameter values.
+     *
+     * @param line The content line.
+     * @return The index of the colon, or -1 if there is none.
+     */
+    private static int findValueSeparator(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes surrounding double quotes from a parameter value.
+     *
+     * @param value The parameter value.
+     * @return The value without quotes.
+     */
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"") ?
+                value.substring(1, value.length() - 1) : value;
+    }
+
+    /**
+     * Reverses iCalendar text escaping.
+     *
+     * @param value The escaped text, or null.
+     * @return The unescaped text, or null if the value was null.
+     */
+    private static String unescape(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads one logical line, joining folded continuation lines that start with a space or tab.
+     *
+     * @return The unfolded line, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private String readUnfoldedLine() throws IOException {
+        if (nextLine == null) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder(nextLine);
+        readAhead();
+        while (nextLine != null && !nextLine.isEmpty() && (nextLine.charAt(0) == ' ' || nextLine.charAt(0) == '\t')) {
+            line.append(nextLine, 1, nextLine.length());
+            readAhead();
+        }
+        return line.toString();
+    }
+
+    /**
+     * Reads the next physical line into {@link #nextLine}.
+     *
+     * @throws IOException If the file cannot be read.
+     */
+    private void readAhead() throws IOException {
+        nextLine = reader.readLine();
+        if (nextLine != null) {
+            lineNumber++;
+        }
+    }
+}
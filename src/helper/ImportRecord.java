@@ -0,0 +1,83 @@
+package helper;
+
+import java.util.Map;
+
+/**
+ * A single record read from an import file, with its field values keyed by normalized field name.
+ */
+public class ImportRecord {
+
+    /**
+     * The line in the import file the record starts on.
+     */
+    private final int lineNumber;
+
+    /**
+     * The record as it appeared in the import file, for reporting rejected records.
+     */
+    private final String rawText;
+
+    /**
+     * Field values keyed by normalized field name.
+     */
+    private final Map<String, String> fields;
+
+    /**
+     * Constructs an ImportRecord.
+     *
+     * @param lineNumber The line in the import file the record starts on.
+     * @param rawText    The record as it appeared in the import file.
+     * @param fields     Field values keyed by normalized field name.
+     */
+    public ImportRecord(int lineNumber, String rawText, Map<String, String> fields) {
+        this.lineNumber = lineNumber;
+        this.rawText = rawText;
+        this.fields = fields;
+    }
+
+    /**
+     * Normalizes a field name so that "Customer_ID", "Customer ID", and "customerid" all match.
+     *
+     * @param name The field name.
+     * @return The normalized field name.
+     */
+    public static String normalizeFieldName(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the line in the import file the record starts on.
+     *
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the record as it appeared in the import file.
+     *
+     * @return the raw text
+     */
+    public String getRawText() {
+        return rawText;
+    }
+
+    /**
+     * Returns the trimmed value of a field.
+     *
+     * @param normalizedName The normalized field name.
+     * @return The value, or an empty string if the field is missing.
+     */
+    public String get(String normalizedName) {
+        String value = fields.get(normalizedName);
+        return value == null ? "" : value.trim();
+    }
+}
@@ -0,0 +1,19 @@
+package helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads records from an import file one at a time, so files of any size can be imported without loading them into
+ * memory.
+ */
+public interface ImportRecordReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * @return The next record, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    ImportRecord next() throws IOException;
+}
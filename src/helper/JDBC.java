@@ -1,49 +1,558 @@
 package helper;
 
+import app.Global;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
- * This class uses JDBC to manage the database connection for the scheduling application.
+ * This class uses JDBC to manage the database connections for the scheduling application. Writes, and reads that
+ * must see them, go to the primary server. Read-only listings and reports wrapped in {@link #readOnly(Supplier)} go
+ * to a read replica when one is configured, is reachable, and has caught up with the application's last write.
+ * <p>
+ * Each connection is validated before use and reopened if it has died, for example after the server restarts or the
+ * session times out. While the primary is down, a circuit breaker makes requests fail fast and a background thread
+ * retries the connection with exponential backoff. Listeners are told when the primary becomes unavailable and
+ * available again.
+ * <p>
+ * The servers can be overridden with system properties, for example to test against two local instances:
+ * {@code -Ddb.url=...} for the primary and {@code -Ddb.replica.url=...} for the replica. {@code db.user},
+ * {@code db.password}, {@code db.replica.user}, and {@code db.replica.password} override the credentials; the
+ * replica uses the primary's credentials unless its own are given. A replica whose replication lag cannot be read is
+ * not used, since it may be any distance behind; {@code -Ddb.replica.allowUnknownLag=true} uses it anyway, for a
+ * stand-in instance that is not really replicating.
+ * <p>
+ * For offline use, such as on a branch office laptop, {@code -Ddb.embedded=true} runs the application on an
+ * embedded H2 database stored in a single file at {@link Global#EMBEDDED_DATABASE_PATH} instead of a MySQL server.
+ * H2 runs in its MySQL compatibility mode, so the DAO SQL is used unchanged, and the schema is created on first use
+ * by {@link DAO.MigrationRunner}.
+ * <p>
+ * In local-first mode ({@code -Drepository.backend=local-first}) the primary is a local replica in an embedded H2
+ * file at {@link Global#LOCAL_REPLICA_PATH}, so the views never wait on the network, and the MySQL server becomes
+ * the remote database that {@link repository.SyncEngine} keeps the replica in sync with. DAO calls made within
+ * {@link #remote(Supplier)} run against the server.
+ * <p>
+ * Long-running background work, such as an import, runs within {@link #dedicated(Supplier)} so that its
+ * transactions use a connection of their own. Commits, rollbacks, and auto-commit changes made on the shared
+ * connection by the views then cannot end or split the background work's transaction.
+ * <p>
+ * The shared connection to the primary belongs to the thread set with {@link #setConnectionOwner(Thread)}, the
+ * JavaFX Application Thread that runs the views' DAO calls. Units of work begun on any other thread outside
+ * {@link #dedicated(Supplier)} and {@link #remote(Supplier)} run on a connection of their own, so two threads never
+ * share a transaction.
  */
 public abstract class JDBC {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(JDBC.class);
     private static final String protocol = "jdbc";
     private static final String vendor = ":mysql:";
     private static final String location = "//localhost/";
     private static final String databaseName = "client_schedule";
-    private static final String jdbcUrl = protocol + vendor + location + databaseName + "?connectionTimeZone = " +
-            "SERVER"; // LOCAL
-    private static final String driver = "com.mysql.cj.jdbc.Driver"; // Driver reference
-    private static final String userName = "sqlUser"; // Username
-    private static final String password = "Passw0rd!"; // Password
+    private static final boolean embedded = Boolean.getBoolean("db.embedded"); // Embedded H2 file instead of MySQL
+    private static final boolean localFirst = "local-first".equalsIgnoreCase(
+            System.getProperty("repository.backend")); // Local H2 replica synced with MySQL
+    // Appointment times are stored in UTC and converted to local time in the DAOs. Batched statements are rewritten
+    // into multi-row inserts by the driver, which bulk imports rely on for throughput.
+    // A connect timeout keeps a reconnect attempt from hanging while the database host is unreachable.
+    private static final String serverUrl = System.getProperty("db.url", protocol + vendor + location + databaseName +
+            "?connectionTimeZone=UTC&rewriteBatchedStatements=true&connectTimeout=" +
+            Global.CONNECTION_CONNECT_TIMEOUT.toMillis());
+    private static final String jdbcUrl = localFirst ? embeddedUrl(Global.LOCAL_REPLICA_PATH) :
+            embedded && System.getProperty("db.url") == null ? embeddedUrl(Global.EMBEDDED_DATABASE_PATH) : serverUrl;
+    private static final String serverDriver = "com.mysql.cj.jdbc.Driver"; // MySQL driver
+    private static final String driver = isEmbedded() ? "org.h2.Driver" : serverDriver; // Driver for the primary
+    private static final String userName = System.getProperty("db.user", "sqlUser"); // Username
+    private static final String password = System.getProperty("db.password", "Passw0rd!"); // Password
+    private static final String replicaUrl = System.getProperty("db.replica.url"); // Read replica, if any
+    private static final boolean allowUnknownReplicaLag =
+            Boolean.getBoolean("db.replica.allowUnknownLag"); // Read from a stand-in replica that reports no lag
+
+    /**
+     * Retries the primary connection in the background while the primary is down.
+     */
+    private static final ScheduledExecutorService reconnectExecutor =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "db-reconnect");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Notified with the new availability whenever the primary becomes unavailable or available again.
+     */
+    private static final List<Consumer<Boolean>> availabilityListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The primary server, which all writes go to.
+     */
+    private static final DatabaseEndpoint primary = new DatabaseEndpoint("primary", jdbcUrl, userName, password,
+            JDBC::notifyAvailability, reconnectExecutor);
+
+    /**
+     * The read replica, or null if none is configured. Not retried in the background; while it is down, reads go to
+     * the primary and the replica is tried again once its circuit breaker allows.
+     */
+    private static final DatabaseEndpoint replica = replicaUrl == null || replicaUrl.isBlank() ? null :
+            new DatabaseEndpoint("replica", replicaUrl, System.getProperty("db.replica.user", userName),
+                    System.getProperty("db.replica.password", password), null, null);
+
+    /**
+     * The MySQL server in local-first mode, or null otherwise. Not retried in the background; the sync engine tries
+     * it again on each synchronization once its circuit breaker allows.
+     */
+    private static final DatabaseEndpoint remote = localFirst ?
+            new DatabaseEndpoint("remote", serverUrl, userName, password, null, null) : null;
+
+    /**
+     * Whether the current thread is running DAO calls against the remote server.
+     */
+    private static final ThreadLocal<Boolean> remoteScope = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Whether the current thread is running DAO calls on a dedicated connection to the primary.
+     */
+    private static final ThreadLocal<Boolean> dedicatedScope = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * The current thread's dedicated connection to the primary, or null if it has not been opened.
+     */
+    private static final ThreadLocal<Connection> dedicatedConnection = new ThreadLocal<>();
+
+    /**
+     * The thread whose units of work run on the shared connection to the primary, or null if none has been set.
+     */
+    private static volatile Thread connectionOwner;
+
+    /**
+     * Whether the current thread is running a query that may be sent to the read replica.
+     */
+    private static final ThreadLocal<Boolean> readOnlyScope = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * When this application last committed a write to the primary, in {@link System#nanoTime()} units, or null if it
+     * has not written since starting.
+     */
+    private static volatile Long lastWriteNanos;
+
+    /**
+     * The replica's last measured lag behind the primary, or null if it could not be measured.
+     */
+    private static Duration replicaLag;
 
     /**
-     * The active db connection.
+     * Whether replication on the replica was found to be stopped at the last lag check.
      */
-    public static Connection connection;  // Connection Interface
+    private static boolean replicationStopped = false;
 
     /**
-     * Opens a connection to the db.
+     * When the replica's lag was last measured, in {@link System#nanoTime()} units, or null if never.
+     */
+    private static Long replicaLagCheckedNanos;
+
+    /**
+     * Whether the replica's lag was set by {@link #setReplicaLagForTesting(Duration)} rather than measured.
+     */
+    private static boolean replicaLagFixed = false;
+
+    /**
+     * Opens the connections to the db. If the primary cannot be reached, reconnect attempts continue in the
+     * background.
      */
     public static void openConnection() {
         try {
             Class.forName(driver); // Locate Driver
-            connection = DriverManager.getConnection(jdbcUrl, userName, password); // Reference Connection object
-            System.out.println("Connection successful!");
+            if (remote != null) {
+                Class.forName(serverDriver); // The remote server is connected to by the sync engine
+            }
+            primary.validConnection();
+            log.info("Connection successful!");
+            if (replica != null) {
+                replica.validConnection();
+                log.info("Replica connection successful!");
+            }
         } catch (Exception e) {
-            System.out.println("Error:" + e.getMessage());
+            log.warn("Error:" + e.getMessage());
         }
     }
 
     /**
-     * Closes the db connection.
+     * Returns the connection DAO methods should use: the connection of the unit of work open on the current thread,
+     * if any; otherwise, within {@link #dedicated(Supplier)}, the thread's own connection to the primary, opened on
+     * first use; otherwise, within {@link #remote(Supplier)}, the remote server; otherwise, within
+     * {@link #readOnly(Supplier)}, the read replica if it is usable; otherwise the primary in auto-commit mode.
+     * Connections are reopened first if they have died.
+     *
+     * @return The connection.
+     * @throws SQLException If the database is unavailable.
      */
-    public static void closeConnection() {
+    public static Connection getConnection() throws SQLException {
+        UnitOfWork work = UnitOfWork.current();
+        if (work != null) {
+            return work.getConnection();
+        }
+        if (dedicatedScope.get()) {
+            Connection connection = dedicatedConnection.get();
+            if (connection == null || connection.isClosed()) {
+                connection = primary.openDedicatedConnection();
+                dedicatedConnection.set(connection);
+            }
+            return connection;
+        }
+        if (remoteScope.get()) {
+            return remote.validConnection();
+        }
+        if (readOnlyScope.get() && replicaIsCurrent()) {
+            try {
+                return replica.validConnection();
+            } catch (SQLException e) {
+                log.warn("Error:" + e.getMessage() + " Reading from the primary.");
+            }
+        }
+        return primary.validConnection();
+    }
+
+    /**
+     * Returns the connection for a single read-only statement, which may be the read replica. See
+     * {@link #getConnection()} and {@link #readOnly(Supplier)}.
+     *
+     * @return The connection.
+     * @throws SQLException If the database is unavailable.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        if (readOnlyScope.get()) {
+            return getConnection();
+        }
+        readOnlyScope.set(true);
         try {
-            connection.close();
-            System.out.println("Connection closed!");
-        } catch (Exception e) {
-            System.out.println("Error:" + e.getMessage());
+            return getConnection();
+        } finally {
+            readOnlyScope.set(false);
+        }
+    }
+
+    /**
+     * Runs a read-only query, letting the connections it asks for come from the read replica. Reads that must see
+     * the application's own recent writes are still sent to the primary, as are reads within a unit of work.
+     *
+     * @param query The query, which must not write.
+     * @param <T>   The type of the query's result.
+     * @return The query's result.
+     */
+    public static <T> T readOnly(Supplier<T> query) {
+        if (readOnlyScope.get()) {
+            return query.get();
+        }
+        readOnlyScope.set(true);
+        try {
+            return query.get();
+        } finally {
+            readOnlyScope.set(false);
+        }
+    }
+
+    /**
+     * Runs DAO calls against the remote server in local-first mode. Units of work begun within the calls use the
+     * remote connection too.
+     *
+     * @param work The DAO calls.
+     * @param <T>  The type of the result.
+     * @return The result of the calls.
+     * @throws IllegalStateException If the application is not in local-first mode.
+     */
+    public static <T> T remote(Supplier<T> work) {
+        if (remote == null) {
+            throw new IllegalStateException("No remote server outside local-first mode");
+        }
+        if (remoteScope.get()) {
+            return work.get();
+        }
+        remoteScope.set(true);
+        try {
+            return work.get();
+        } finally {
+            remoteScope.set(false);
+        }
+    }
+
+    /**
+     * Runs DAO calls on a connection to the primary that is not shared with the rest of the application. The
+     * connection is opened when the calls first ask for one and closed when they return. Units of work begun within
+     * the calls use it too, so their transactions are not affected by the views' use of the shared connection.
+     *
+     * @param work The DAO calls.
+     * @param <T>  The type of the result.
+     * @return The result of the calls.
+     */
+    public static <T> T dedicated(Supplier<T> work) {
+        if (dedicatedScope.get()) {
+            return work.get();
+        }
+        dedicatedScope.set(true);
+        try {
+            return work.get();
+        } finally {
+            dedicatedScope.set(false);
+            Connection connection = dedicatedConnection.get();
+            dedicatedConnection.remove();
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.warn("Error:" + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the thread whose units of work run on the shared connection to the primary. Units of work begun on other
+     * threads, outside {@link #dedicated(Supplier)} and {@link #remote(Supplier)}, open a connection of their own.
+     *
+     * @param owner The owning thread, normally the JavaFX Application Thread, or null to give every unit of work its
+     *              own connection.
+     */
+    public static void setConnectionOwner(Thread owner) {
+        connectionOwner = owner;
+    }
+
+    /**
+     * Returns whether a unit of work begun on the current thread needs a connection of its own, because it would
+     * otherwise run on the shared connection to the primary from a thread that does not own it.
+     *
+     * @return true outside {@link #dedicated(Supplier)} and {@link #remote(Supplier)} on any thread but the owner.
+     */
+    static boolean needsOwnTransactionConnection() {
+        return !dedicatedScope.get() && !remoteScope.get() && Thread.currentThread() != connectionOwner;
+    }
+
+    /**
+     * Opens a connection to the primary for one unit of work, which closes it when the unit is closed.
+     *
+     * @return The connection.
+     * @throws SQLException If the primary is unavailable.
+     */
+    static Connection openTransactionConnection() throws SQLException {
+        return primary.openDedicatedConnection();
+    }
+
+    /**
+     * Checks whether the remote server can be reached in local-first mode, connecting to it if needed. Fails fast
+     * while its circuit breaker is open.
+     *
+     * @return true if the remote server is reachable.
+     */
+    public static boolean remoteReachable() {
+        if (remote == null) {
+            return false;
+        }
+        try {
+            remote.validConnection();
+            return true;
+        } catch (SQLException e) {
+            log.warn("Error:" + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether the application runs on a local replica that is synced with the MySQL server.
+     *
+     * @return true in local-first mode.
+     */
+    public static boolean isLocalFirst() {
+        return localFirst;
+    }
+
+    /**
+     * Records that a write has been committed to the primary, so reads go to the primary until the replica has had
+     * time to receive it. Units of work record their commits; DAO methods that write in auto-commit mode call this
+     * after the write.
+     */
+    public static void recordWrite() {
+        lastWriteNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns whether the application is running on an embedded H2 database rather than a MySQL server.
+     *
+     * @return true if the database is embedded.
+     */
+    public static boolean isEmbedded() {
+        return jdbcUrl.startsWith(protocol + ":h2:");
+    }
+
+    /**
+     * Returns whether the primary was reachable when last checked.
+     *
+     * @return true if the database is available.
+     */
+    public static boolean isAvailable() {
+        return primary.isAvailable();
+    }
+
+    /**
+     * Registers a listener to be told when the primary becomes unavailable or available again. Listeners are called
+     * on whichever thread noticed the change.
+     *
+     * @param listener Called with true when the database becomes available and false when it becomes unavailable.
+     */
+    public static void addAvailabilityListener(Consumer<Boolean> listener) {
+        availabilityListeners.add(listener);
+    }
+
+    /**
+     * Builds the URL of an embedded database. H2's MySQL mode accepts the DAOs' MySQL syntax, such as
+     * ON DUPLICATE KEY UPDATE. Identifiers keep the case they are written in, so report column labels match MySQL's,
+     * and End and Month, which H2 otherwise reserves, can be used as column names and aliases. Each connection starts
+     * in the client_schedule schema, creating it in a new database file.
+     *
+     * @param path The path of the database file, without its extension.
+     * @return The JDBC URL.
+     */
+    private static String embeddedUrl(String path) {
+        return protocol + ":h2:file:./" + path + ";MODE=MySQL;DATABASE_TO_UPPER=FALSE" +
+                ";CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=END,MONTH" +
+                ";INIT=CREATE SCHEMA IF NOT EXISTS " + databaseName + "\\;SET SCHEMA " + databaseName;
+    }
+
+    /**
+     * Tells the availability listeners that the primary has become unavailable or available again.
+     *
+     * @param available Whether the primary is available.
+     */
+    private static void notifyAvailability(boolean available) {
+        for (Consumer<Boolean> listener : availabilityListeners) {
+            listener.accept(available);
+        }
+    }
+
+    /**
+     * Checks whether the replica is configured and close enough to the primary to read from. Replication must be
+     * running with no more than {@link Global#REPLICA_MAX_LAG} of lag, and the last write must be older than the
+     * read-after-write window: the measured lag plus a second, but at least {@link Global#READ_AFTER_WRITE_WINDOW}.
+     * If the lag cannot be measured, the replica is not used, unless {@code db.replica.allowUnknownLag} is set for a
+     * stand-in server that is not a replica, in which case only the minimum window applies.
+     *
+     * @return true if reads may go to the replica.
+     */
+    private static synchronized boolean replicaIsCurrent() {
+        if (replica == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (!replicaLagFixed && (replicaLagCheckedNanos == null ||
+                now - replicaLagCheckedNanos >= Global.REPLICA_LAG_CHECK_INTERVAL.toNanos())) {
+            measureReplicaLag();
+            replicaLagCheckedNanos = now;
+        }
+        if (replicationStopped || (replicaLag != null && replicaLag.compareTo(Global.REPLICA_MAX_LAG) > 0)) {
+            return false;
+        }
+        if (replicaLag == null && !allowUnknownReplicaLag) {
+            return false;
+        }
+        Duration window = Global.READ_AFTER_WRITE_WINDOW;
+        if (replicaLag != null && replicaLag.plusSeconds(1).compareTo(window) > 0) {
+            window = replicaLag.plusSeconds(1);
+        }
+        Long lastWrite = lastWriteNanos;
+        return lastWrite == null || now - lastWrite >= window.toNanos();
+    }
+
+    /**
+     * Sets the replica's lag instead of measuring it, for tests whose H2 stand-in replica reports no replication
+     * status. Also forgets the last write, so reads are not kept on the primary by writes made before the test.
+     *
+     * @param lag The lag to report, or null to report it as unknown.
+     */
+    static synchronized void setReplicaLagForTesting(Duration lag) {
+        replicaLagFixed = true;
+        replicaLag = lag;
+        replicationStopped = false;
+        lastWriteNanos = null;
+    }
+
+    /**
+     * Measures how far the replica is behind the primary, using the replication status reported by the replica.
+     * Leaves the lag unknown if the replica cannot be reached or does not report replication status.
+     */
+    private static void measureReplicaLag() {
+        replicaLag = null;
+        replicationStopped = false;
+        Connection connection;
+        try {
+            connection = replica.validConnection();
+        } catch (SQLException e) {
+            return;
+        }
+        // MySQL 8.0.22 renamed the statement and its columns; older servers only know the original names
+        String[][] variants = {{"SHOW REPLICA STATUS", "Seconds_Behind_Source"},
+                {"SHOW SLAVE STATUS", "Seconds_Behind_Master"}};
+        for (String[] variant : variants) {
+            try (PreparedStatement statement = connection.prepareStatement(variant[0]);
+                 ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    long seconds = resultSet.getLong(variant[1]);
+                    replicationStopped = resultSet.wasNull();
+                    replicaLag = replicationStopped ? null : Duration.ofSeconds(seconds);
+                }
+                return;
+            } catch (SQLException e) {
+                // Try the next variant
+            }
+        }
+    }
+
+    /**
+     * Runs an update statement for a list of IDs, binding up to {@link Global#DELETE_CHUNK_SIZE} IDs into each
+     * execution. The statement's single "(?)" is expanded to a parameter list for each chunk, for example
+     * "DELETE FROM client_schedule.customers WHERE Customer_ID IN (?)". Runs within the caller's transaction.
+     *
+     * @param sql The statement, with "(?)" standing in for the list of IDs.
+     * @param ids The IDs.
+     * @return The total number of rows changed.
+     * @throws SQLException If a statement fails.
+     */
+    public static int executeUpdateForIds(String sql, List<Integer> ids) throws SQLException {
+        int changed = 0;
+        for (int from = 0; from < ids.size(); from += Global.DELETE_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + Global.DELETE_CHUNK_SIZE, ids.size()));
+            String placeholders = "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            try (PreparedStatement statement = getConnection().prepareStatement(sql.replace("(?)", placeholders))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setInt(i + 1, chunk.get(i));
+                }
+                changed += statement.executeUpdate();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Closes the db connections and stops reconnect attempts.
+     */
+    public static void closeConnection() {
+        reconnectExecutor.shutdownNow();
+        primary.close();
+        if (replica != null) {
+            replica.close();
+        }
+        if (remote != null) {
+            remote.close();
         }
+        log.info("Connection closed! Transactions: " + TransactionMetrics.summary());
     }
 }
@@ -0,0 +1,149 @@
+package helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records latencies in nanoseconds into logarithmic buckets, for estimating percentiles without keeping every sample.
+ * Each power of two is split into eight buckets, so a percentile is reported to within 12.5% of the true value, and
+ * the whole histogram is a fixed array of counters. Recording is lock-free and safe to call from any thread.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Number of buckets each power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 8;
+
+    /**
+     * Number of bits needed to index a sub-bucket.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Number of buckets, enough for any non-negative long.
+     */
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Number of samples in each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Number of samples recorded.
+     */
+    private final LongAdder sampleCount = new LongAdder();
+
+    /**
+     * Sum of the samples recorded, in nanoseconds.
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Largest sample recorded, in nanoseconds.
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketIndex(value));
+        sampleCount.increment();
+        totalNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of samples recorded.
+     *
+     * @return the sample count
+     */
+    public long getCount() {
+        return sampleCount.sum();
+    }
+
+    /**
+     * Returns the sum of the samples recorded.
+     *
+     * @return the total in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Returns the largest sample recorded.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Estimates a percentile of the samples recorded, as the upper bound of the bucket it falls in, capped at the
+     * largest sample.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return the estimate in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Returns the bucket a value is counted in. Values below {@link #SUB_BUCKETS} have a bucket each; larger values
+     * are bucketed by their highest set bit and the three bits below it.
+     *
+     * @param value The non-negative value.
+     * @return The bucket index.
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value counted in a bucket.
+     *
+     * @param index The bucket index.
+     * @return The upper bound of the bucket.
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long upper = ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,411 @@
+package helper;
+
+import app.Global;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * A leveled logger for one class, with the console written asynchronously. Logging a message only stores it in a
+ * fixed-size ring buffer; a background thread writes the buffer to the console, so callers such as the FX thread
+ * never wait on console I/O. If messages arrive faster than the console takes them, the oldest unwritten ones are
+ * dropped and the number dropped is written instead. The last {@link Global#LOG_BUFFER_SIZE} messages stay in the
+ * buffer and can be read with {@link #recent()}.
+ * <p>
+ * Each logger's level is looked up by its class name, then by each enclosing package, from levels set with
+ * {@link #setLevel} or system properties such as -Dlog.level.controller=TRACE or -Dlog.level.DAO.AppointmentDAO=DEBUG.
+ * Failing those, -Dlog.level sets the level for all classes, and the default is {@link Level#INFO}, so method and
+ * event tracing is off unless asked for.
+ */
+public class Log {
+
+    /**
+     * How much a message matters, from least to most.
+     */
+    public enum Level {
+        /**
+         * Method calls and the details of what they do.
+         */
+        TRACE,
+        /**
+         * User actions and other events worth following while debugging.
+         */
+        DEBUG,
+        /**
+         * Normal events, such as connecting to the database.
+         */
+        INFO,
+        /**
+         * Problems the application recovers from.
+         */
+        WARN,
+        /**
+         * Failures.
+         */
+        ERROR,
+        /**
+         * Logs nothing. Only used as a level setting.
+         */
+        OFF
+    }
+
+    /**
+     * Level used when no level is set for a class or any of its packages.
+     */
+    private static final Level DEFAULT_LEVEL = Level.INFO;
+
+    /**
+     * Time format for console lines.
+     */
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * Levels set at runtime, by class or package name. An empty name sets the level for all classes.
+     */
+    private static final Map<String, Level> levels = new ConcurrentHashMap<>();
+
+    /**
+     * Every logger created, so that their levels can be updated when a level is set.
+     */
+    private static final List<Log> loggers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The most recent messages. Message number n is kept at index n modulo the buffer size.
+     */
+    private static final Record[] buffer = new Record[Global.LOG_BUFFER_SIZE];
+
+    /**
+     * Number of messages logged since the application started. Guarded by the buffer.
+     */
+    private static long logged = 0;
+
+    /**
+     * Number of messages written to the console or skipped as dropped. Guarded by the buffer.
+     */
+    private static long written = 0;
+
+    /**
+     * Set once the console writer has been asked to stop. Guarded by the buffer.
+     */
+    private static boolean shutDown = false;
+
+    /**
+     * Writes buffered messages to the console.
+     */
+    private static final Thread consoleWriter = new Thread(Log::writeToConsole, "log");
+
+    static {
+        consoleWriter.setDaemon(true);
+        consoleWriter.start();
+    }
+
+    /**
+     * The class name the logger's level is looked up by.
+     */
+    private final String name;
+
+    /**
+     * The lowest level logged.
+     */
+    private volatile Level threshold;
+
+    /**
+     * Constructs Log.
+     *
+     * @param name The class name the level is looked up by.
+     */
+    private Log(String name) {
+        this.name = name;
+        this.threshold = levelFor(name);
+    }
+
+    /**
+     * Returns a logger for a class.
+     *
+     * @param type The class that logs.
+     * @return The logger.
+     */
+    public static Log get(Class<?> type) {
+        Log log = new Log(type.getName());
+        loggers.add(log);
+        return log;
+    }
+
+    /**
+     * Sets the level for a class or package, and the classes and packages within it that have no level of their own.
+     *
+     * @param name  The class or package name, such as "controller" or "DAO.AppointmentDAO", or "" for all classes.
+     * @param level The lowest level to log, or null to go back to the level set by system properties.
+     */
+    public static void setLevel(String name, Level level) {
+        if (level == null) {
+            levels.remove(name);
+        } else {
+            levels.put(name, level);
+        }
+        for (Log log : loggers) {
+            log.threshold = levelFor(log.name);
+        }
+    }
+
+    /**
+     * Returns the most recent messages, oldest first, including those not yet written to the console.
+     *
+     * @return the messages, formatted as they are written to the console
+     */
+    public static List<String> recent() {
+        List<String> lines = new ArrayList<>();
+        synchronized (buffer) {
+            for (long i = Math.max(0, logged - buffer.length); i < logged; i++) {
+                lines.add(buffer[(int) (i % buffer.length)].format());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the messages not yet written and stops the console writer. Messages logged afterwards are kept in the
+     * buffer but not written. Called when the application exits.
+     */
+    public static void shutdown() {
+        synchronized (buffer) {
+            shutDown = true;
+            buffer.notifyAll();
+        }
+        try {
+            consoleWriter.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks whether messages at a level are logged, for callers that would do extra work to build a message.
+     *
+     * @param level The level.
+     * @return true if messages at the level are logged.
+     */
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0 && level != Level.OFF;
+    }
+
+    /**
+     * Logs a method call or a detail of what a method does.
+     *
+     * @param message The message.
+     */
+    public void trace(String message) {
+        log(Level.TRACE, message);
+    }
+
+    /**
+     * Logs a method call or a detail of what a method does, building the message only if it is logged.
+     *
+     * @param message Builds the message.
+     */
+    public void trace(Supplier<String> message) {
+        if (isEnabled(Level.TRACE)) {
+            log(Level.TRACE, message.get());
+        }
+    }
+
+    /**
+     * Logs a user action or another event worth following while debugging.
+     *
+     * @param message The message.
+     */
+    public void debug(String message) {
+        log(Level.DEBUG, message);
+    }
+
+    /**
+     * Logs a user action or another event worth following while debugging, building the message only if it is
+     * logged.
+     *
+     * @param message Builds the message.
+     */
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, message.get());
+        }
+    }
+
+    /**
+     * Logs a normal event.
+     *
+     * @param message The message.
+     */
+    public void info(String message) {
+        log(Level.INFO, message);
+    }
+
+    /**
+     * Logs a problem the application recovers from.
+     *
+     * @param message The message.
+     */
+    public void warn(String message) {
+        log(Level.WARN, message);
+    }
+
+    /**
+     * Logs a failure.
+     *
+     * @param message The message.
+     */
+    public void error(String message) {
+        log(Level.ERROR, message);
+    }
+
+    /**
+     * Adds a message to the buffer if its level is logged, and wakes the console writer.
+     *
+     * @param level   The level.
+     * @param message The message.
+     */
+    private void log(Level level, String message) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Record record = new Record(System.currentTimeMillis(), level, Thread.currentThread().getName(), message);
+        synchronized (buffer) {
+            buffer[(int) (logged % buffer.length)] = record;
+            logged++;
+            buffer.notifyAll();
+        }
+    }
+
+    /**
+     * Looks up the level for a class: the level set for the class, or else for the nearest enclosing package, or
+     * else for all classes.
+     *
+     * @param className The class name.
+     * @return The level.
+     */
+    private static Level levelFor(String className) {
+        String name = className;
+        while (true) {
+            Level level = levels.get(name);
+            if (level == null) {
+                String property = System.getProperty(name.isEmpty() ? "log.level" : "log.level." + name);
+                if (property != null) {
+                    try {
+                        level = Level.valueOf(property.strip().toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Unknown log level " + property + " for " + name);
+                    }
+                }
+            }
+            if (level != null) {
+                return level;
+            }
+            if (name.isEmpty()) {
+                return DEFAULT_LEVEL;
+            }
+            int dot = name.lastIndexOf('.');
+            name = dot < 0 ? "" : name.substring(0, dot);
+        }
+    }
+
+    /**
+     * Runs on the console writer thread: waits for messages and writes them in batches, warnings and errors to
+     * standard error and the rest to standard output, until shut down.
+     */
+    private static void writeToConsole() {
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        while (true) {
+            boolean stopping;
+            synchronized (buffer) {
+                while (written == logged && !shutDown) {
+                    try {
+                        buffer.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                stopping = shutDown;
+                if (logged - written > buffer.length) {
+                    long dropped = logged - written - buffer.length;
+                    err.append("... ").append(dropped).append(" log messages dropped").append(System.lineSeparator());
+                    written += dropped;
+                }
+                for (; written < logged; written++) {
+                    Record record = buffer[(int) (written % buffer.length)];
+                    (record.level.compareTo(Level.WARN) >= 0 ? err : out).append(record.format())
+                            .append(System.lineSeparator());
+                }
+            }
+            if (!out.isEmpty()) {
+                System.out.print(out);
+                out.setLength(0);
+            }
+            if (!err.isEmpty()) {
+                System.err.print(err);
+                err.setLength(0);
+            }
+            if (stopping) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A logged message.
+     */
+    private static final class Record {
+
+        /**
+         * When it was logged, in milliseconds since the epoch.
+         */
+        private final long millis;
+
+        /**
+         * The level.
+         */
+        private final Level level;
+
+        /**
+         * The name of the thread that logged it.
+         */
+        private final String thread;
+
+        /**
+         * The message.
+         */
+        private final String message;
+
+        /**
+         * Constructs Record.
+         *
+         * @param millis  When it was logged, in milliseconds since the epoch.
+         * @param level   The level.
+         * @param thread  The name of the thread that logged it.
+         * @param message The message.
+         */
+        private Record(long millis, Level level, String thread, String message) {
+            this.millis = millis;
+            this.level = level;
+            this.thread = thread;
+            this.message = message;
+        }
+
+        /**
+         * Formats the message for the console, such as "12:04:31.207 TRACE [JavaFX Application Thread] ...".
+         *
+         * @return The formatted message.
+         */
+        private String format() {
+            return TIME_FORMATTER.format(Instant.ofEpochMilli(millis)) + " " + String.format("%-5s", level) + " [" +
+                    thread + "] " + message;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package helper;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits the number of login attempts that can be made for a username within a sliding time window.
+ * Attempts are tracked in memory per username, so rejected attempts never reach the database.
+ * The number of tracked usernames is capped, and expired entries are evicted once the cap is reached.
+ */
+public class LoginThrottle {
+
+    /**
+     * Maximum number of attempts allowed per username within the window.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Length of the sliding window, in nanoseconds.
+     */
+    private final long windowNanos;
+
+    /**
+     * Maximum number of usernames tracked at any one time.
+     */
+    private final int maxTrackedUsernames;
+
+    /**
+     * Recent attempt times, keyed by normalized username.
+     */
+    private final Map<String, AttemptWindow> attemptWindows = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a LoginThrottle with the given limits.
+     *
+     * @param maxAttempts         The number of attempts allowed per username within the window.
+     * @param window              The length of the sliding window.
+     * @param maxTrackedUsernames The maximum number of usernames kept in memory.
+     */
+    public LoginThrottle(int maxAttempts, Duration window, int maxTrackedUsernames) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.windowNanos = window.toNanos();
+        this.maxTrackedUsernames = maxTrackedUsernames;
+    }
+
+    /**
+     * Records a login attempt for the username if it is within the allowed limit.
+     *
+     * @param username The username being used to log in.
+     * @return true if the attempt may proceed, false if it should be rejected.
+     */
+    public boolean tryAcquire(String username) {
+        long now = System.nanoTime();
+        AttemptWindow attemptWindow = attemptWindows.computeIfAbsent(normalize(username),
+                key -> new AttemptWindow(maxAttempts));
+        boolean allowed = attemptWindow.tryRecord(now, windowNanos);
+
+        if (attemptWindows.size() > maxTrackedUsernames) {
+            evict(now);
+        }
+        return allowed;
+    }
+
+    /**
+     * Clears the recorded attempts for a username, for example after a successful login.
+     *
+     * @param username The username to reset.
+     */
+    public void reset(String username) {
+        attemptWindows.remove(normalize(username));
+    }
+
+    /**
+     * Removes usernames whose attempts have all expired. If the map is still over its cap afterwards, the usernames
+     * with the oldest most recent attempt are removed until it fits.
+     *
+     * @param now The current time, in nanoseconds.
+     */
+    private void evict(long now) {
+        attemptWindows.values().removeIf(attemptWindow -> attemptWindow.isExpired(now, windowNanos));
+
+        int excess = attemptWindows.size() - maxTrackedUsernames;
+        if (excess > 0) {
+            attemptWindows.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAttempt()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(attemptWindows::remove);
+        }
+    }
+
+    /**
+     * Normalizes a username so that case and surrounding whitespace variations share the same limit.
+     *
+     * @param username The entered username.
+     * @return The normalized key.
+     */
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A fixed-size ring of the most recent attempt times for one username.
+     */
+    private static final class AttemptWindow {
+
+        /**
+         * Attempt times in nanoseconds, oldest at {@code next} once the ring is full.
+         */
+        private final long[] attemptTimes;
+
+        /**
+         * Index where the next attempt time will be written.
+         */
+        private int next;
+
+        /**
+         * Number of attempt times recorded, up to the ring size.
+         */
+        private int count;
+
+        /**
+         * Constructs an empty window that holds up to the given number of attempts.
+         *
+         * @param size The number of attempts allowed within the window.
+         */
+        private AttemptWindow(int size) {
+            this.attemptTimes = new long[size];
+        }
+
+        /**
+         * Records the attempt if fewer than the allowed number of attempts happened within the window.
+         *
+         * @param now         The current time, in nanoseconds.
+         * @param windowNanos The length of the window, in nanoseconds.
+         * @return true if the attempt was recorded, false if the limit has been reached.
+         */
+        private synchronized boolean tryRecord(long now, long windowNanos) {
+            if (count == attemptTimes.length && now - attemptTimes[next] < windowNanos) {
+                return false;
+            }
+            attemptTimes[next] = now;
+            next = (next + 1) % attemptTimes.length;
+            count = Math.min(count + 1, attemptTimes.length);
+            return true;
+        }
+
+        /**
+         * Returns the time of the most recent recorded attempt.
+         *
+         * @return The most recent attempt time, in nanoseconds.
+         */
+        private synchronized long lastAttempt() {
+            return attemptTimes[(next - 1 + attemptTimes.length) % attemptTimes.length];
+        }
+
+        /**
+         * Checks whether every recorded attempt has fallen outside the window.
+         *
+         * @param now         The current time, in nanoseconds.
+         * @param windowNanos The length of the window, in nanoseconds.
+         * @return true if the window no longer holds any recent attempts.
+         */
+        private synchronized boolean isExpired(long now, long windowNanos) {
+            return count == 0 || now - lastAttempt() >= windowNanos;
+        }
+    }
+}
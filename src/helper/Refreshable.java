@@ -0,0 +1,13 @@
+package helper;
+
+/**
+ * Implemented by controllers whose scenes are cached by {@link SceneSwap}. When a cached view is marked stale,
+ * {@link #refresh()} is called the next time the view is shown so it can reload its data.
+ */
+public interface Refreshable {
+
+    /**
+     * Reloads the data displayed by the view.
+     */
+    void refresh();
+}
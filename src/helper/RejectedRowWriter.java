@@ -0,0 +1,68 @@
+package helper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes rejected records to a CSV file with their line number and the reason they were rejected. The file is
+ * only created once the first record is rejected.
+ */
+class RejectedRowWriter implements Closeable {
+
+    /**
+     * The file to write to.
+     */
+    private final Path file;
+
+    /**
+     * The open writer, or null if nothing has been rejected yet.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Constructs a RejectedRowWriter.
+     *
+     * @param file The file to write to.
+     */
+    RejectedRowWriter(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Writes a rejected record.
+     *
+     * @param record The rejected record.
+     * @param reason Why it was rejected.
+     * @throws IOException If the file cannot be written.
+     */
+    void write(ImportRecord record, String reason) throws IOException {
+        if (writer == null) {
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write("Line,Reason,Record");
+            writer.newLine();
+        }
+        writer.write(record.getLineNumber() + "," + quote(reason) + "," + quote(record.getRawText()));
+        writer.newLine();
+    }
+
+    /**
+     * Quotes a CSV field.
+     *
+     * @param value The field value.
+     * @return The quoted value.
+     */
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
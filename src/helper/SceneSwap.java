@@ -1,44 +1,257 @@
 package helper;
 
+import app.Global;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
- * The SceneSwap class is a utility class with a single method that swaps the current scene of a JavaFX application
- * to a new FXML file.
+ * The SceneSwap class is a utility class that swaps the current scene of a JavaFX application to a new FXML file.
+ * Scenes for the main views are cached along with their controllers, so navigating between tabs does not re-parse
+ * the FXML or re-query the database. The FXML documents for those views can also be preloaded in the background
+ * at startup.
  */
 public class SceneSwap {
 
     private static final LocalizationService localizationService = new LocalizationService();
 
     /**
-     * Swaps the current scene with a new scene loaded from an FXML file.
+     * Views whose scenes and controllers are kept alive across navigation.
+     */
+    private static final Set<String> CACHEABLE_VIEWS = Set.of(
+            "../view/Appointments.fxml",
+            "../view/Customers.fxml",
+            "../view/Reports.fxml"
+    );
+
+    /**
+     * Matches the import processing instructions and controller attribute of an FXML document.
+     */
+    private static final Pattern FXML_CLASS_REFERENCE =
+            Pattern.compile("<\\?import\\s+([\\w.]+)\\s*\\?>|fx:controller=\"([\\w.]+)\"");
+
+    /**
+     * FXML documents read ahead of time by {@link #preloadViews()}, keyed by FXML file path.
+     */
+    private static final Map<String, byte[]> preloadedFxml = new ConcurrentHashMap<>();
+
+    /**
+     * Hits and misses of the scene cache, counting only the views that can be cached.
+     */
+    private static final CacheStats cacheStats = CacheStats.get("Scenes");
+
+    /**
+     * When the controller of the view being loaded started initializing, or 0 if it has not reported it. Only used
+     * on the JavaFX Application Thread.
+     */
+    private static long controllerInitStartNanos = 0;
+
+    /**
+     * Cached scenes keyed by FXML file path, in least recently shown order. The eldest entry is dropped once the
+     * cache holds more than {@link Global#SCENE_CACHE_MAX_ENTRIES} scenes.
+     */
+    private static final Map<String, CachedScene> sceneCache = new LinkedHashMap<>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedScene> eldest) {
+            return size() > Global.SCENE_CACHE_MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Swaps the current scene with a new scene loaded from an FXML file. Cacheable views are reused if already
+     * loaded, and refreshed first if they were marked stale.
      *
      * @param currentStage The stage where the scene will be set.
      * @param fxmlFile     The file path to the FXML file for the new scene.
      */
     public static void swapScene(Stage currentStage, String fxmlFile) {
+        SceneSwapEvent event = new SceneSwapEvent();
+        event.begin();
         try {
-            URL fxmlUrl = SceneSwap.class.getResource(fxmlFile);
-            if (fxmlUrl == null) {
-                System.err.println("FXML file not found: " + fxmlFile);
-                return;
+            CachedScene cachedScene = sceneCache.get(fxmlFile);
+            event.cached = cachedScene != null;
+            if (CACHEABLE_VIEWS.contains(fxmlFile)) {
+                cacheStats.record(cachedScene != null);
             }
 
-            Parent root = FXMLLoader.load(fxmlUrl, localizationService.getBundle());
-            currentStage.setScene(new Scene(root));
+            if (cachedScene == null) {
+                cachedScene = loadScene(fxmlFile, event);
+                if (cachedScene == null) {
+                    return;
+                }
+                if (CACHEABLE_VIEWS.contains(fxmlFile)) {
+                    sceneCache.put(fxmlFile, cachedScene);
+                }
+            } else if (cachedScene.stale) {
+                if (cachedScene.controller instanceof Refreshable refreshable) {
+                    refreshable.refresh();
+                }
+                cachedScene.stale = false;
+                event.refreshed = true;
+            }
+
+            currentStage.setScene(cachedScene.scene);
             currentStage.show();
+            event.view = fxmlFile;
+            event.commit();
         } catch (IOException e) {
             System.err.println("An error occurred while swapping scenes: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
 
+    /**
+     * Called by a controller at the start of its initialize method, so that the time spent loading its view can be
+     * split into loading the FXML and initializing the controller.
+     */
+    public static void controllerInitializing() {
+        controllerInitStartNanos = System.nanoTime();
+    }
 
+    /**
+     * Marks a cached view as stale, so that its controller is refreshed the next time the view is shown.
+     * Does nothing if the view is not currently cached.
+     *
+     * @param fxmlFile The file path to the FXML file of the view.
+     */
+    public static void invalidate(String fxmlFile) {
+        CachedScene cachedScene = sceneCache.get(fxmlFile);
+        if (cachedScene != null) {
+            cachedScene.stale = true;
+        }
+    }
 
+    /**
+     * Marks all cached views as stale, so they reload their appointment and customer data the next time they are
+     * shown. Called on the JavaFX Application Thread after the data has changed underneath them.
+     */
+    public static void invalidateDataViews() {
+        for (String view : CACHEABLE_VIEWS) {
+            invalidate(view);
+        }
+    }
+
+    /**
+     * Removes all cached scenes, for example when the user logs out.
+     */
+    public static void clearCache() {
+        sceneCache.clear();
+    }
+
+    /**
+     * Reads the FXML documents of the cacheable views into memory and loads the classes they reference, so that
+     * the first navigation to each view does not wait on resource or class loading. Safe to call from a background
+     * thread, since no scene graph nodes or controllers are created.
+     */
+    public static void preloadViews() {
+        for (String fxmlFile : CACHEABLE_VIEWS) {
+            URL fxmlUrl = SceneSwap.class.getResource(fxmlFile);
+            if (fxmlUrl == null) {
+                System.err.println("FXML file not found: " + fxmlFile);
+                continue;
+            }
+
+            try (InputStream inputStream = fxmlUrl.openStream()) {
+                byte[] fxml = inputStream.readAllBytes();
+                preloadClasses(new String(fxml, StandardCharsets.UTF_8));
+                preloadedFxml.put(fxmlFile, fxml);
+            } catch (IOException e) {
+                System.err.println("An error occurred while preloading " + fxmlFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads, without initializing, the classes imported by an FXML document and its controller class.
+     *
+     * @param fxml The FXML document.
+     */
+    private static void preloadClasses(String fxml) {
+        Matcher matcher = FXML_CLASS_REFERENCE.matcher(fxml);
+        while (matcher.find()) {
+            String className = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            try {
+                Class.forName(className, false, SceneSwap.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                System.err.println("Class referenced by FXML not found: " + className);
+            }
+        }
+    }
+
+    /**
+     * Loads a scene and its controller from an FXML file, and records how long loading the FXML and initializing
+     * the controller took.
+     *
+     * @param fxmlFile The file path to the FXML file.
+     * @param event    The event the load times are recorded in.
+     * @return The loaded scene and controller, or null if the FXML file was not found.
+     * @throws IOException If there is an error loading the FXML file.
+     */
+    private static CachedScene loadScene(String fxmlFile, SceneSwapEvent event) throws IOException {
+        URL fxmlUrl = SceneSwap.class.getResource(fxmlFile);
+        if (fxmlUrl == null) {
+            System.err.println("FXML file not found: " + fxmlFile);
+            return null;
+        }
+
+        FXMLLoader loader = new FXMLLoader(fxmlUrl, localizationService.getBundle());
+        byte[] fxml = preloadedFxml.get(fxmlFile);
+        long startNanos = System.nanoTime();
+        controllerInitStartNanos = 0;
+        Parent root = fxml != null ? loader.load(new ByteArrayInputStream(fxml)) : loader.load();
+        long endNanos = System.nanoTime();
+        // FXMLLoader calls the controller's initialize method last, so everything before it is FXML loading
+        long initStartNanos = controllerInitStartNanos != 0 ? controllerInitStartNanos : endNanos;
+        event.fxmlLoadTime = initStartNanos - startNanos;
+        event.controllerInitTime = endNanos - initStartNanos;
+
+        Scene scene = new Scene(root);
+        UiActionEvent.track(scene, fxmlFile);
+        return new CachedScene(scene, loader.getController());
+    }
+
+    /**
+     * A loaded scene together with its controller.
+     */
+    private static final class CachedScene {
+
+        /**
+         * The loaded scene.
+         */
+        private final Scene scene;
+
+        /**
+         * The controller created for the scene.
+         */
+        private final Object controller;
+
+        /**
+         * Whether the view needs to be refreshed before it is shown again.
+         */
+        private boolean stale;
+
+        /**
+         * Constructs a CachedScene from a scene and its controller.
+         *
+         * @param scene      The loaded scene.
+         * @param controller The controller created for the scene.
+         */
+        private CachedScene(Scene scene, Object controller) {
+            this.scene = scene;
+            this.controller = controller;
+        }
+    }
+}
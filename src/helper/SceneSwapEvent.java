@@ -0,0 +1,51 @@
+package helper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event for one {@link SceneSwap#swapScene} call. The event's duration covers the whole swap;
+ * for a view that was not cached it is split into loading the FXML and initializing the controller.
+ */
+@Name("scheduler.SceneSwap")
+@Label("Scene Swap")
+@Category({"Client Scheduler", "User Interface"})
+@Description("A switch to another view")
+class SceneSwapEvent extends Event {
+
+    /**
+     * The FXML file of the view shown.
+     */
+    @Label("View")
+    String view;
+
+    /**
+     * Whether the view's scene was reused from the scene cache.
+     */
+    @Label("Cached")
+    boolean cached;
+
+    /**
+     * Whether a cached view was refreshed because its data had changed.
+     */
+    @Label("Refreshed")
+    boolean refreshed;
+
+    /**
+     * Time spent loading the FXML and building the scene graph, not counting the controller's initialize method.
+     */
+    @Label("FXML Load Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fxmlLoadTime;
+
+    /**
+     * Time spent in the controller's initialize method.
+     */
+    @Label("Controller Init Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long controllerInitTime;
+}
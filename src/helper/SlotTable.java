@@ -0,0 +1,66 @@
+package helper;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable table of the appointment start and end times that fall within an office's business hours on a given
+ * date, formatted in the user's time zone. Built and cached by {@link SlotTableService}.
+ */
+public class SlotTable {
+
+    /**
+     * Formatted start times, one per slot.
+     */
+    private final List<String> startSlots;
+
+    /**
+     * Formatted end times, one per slot. The end of slot {@code i} is at index {@code i}.
+     */
+    private final List<String> endSlots;
+
+    /**
+     * Index of each start time label. If a label appears twice, for example when the user's clocks fall back,
+     * the first occurrence is kept.
+     */
+    private final Map<String, Integer> startSlotIndexes = new HashMap<>();
+
+    /**
+     * Constructs a SlotTable from slot boundary labels. The labels run from the opening time to the closing time,
+     * so there is one more label than there are slots.
+     *
+     * @param boundaries Formatted slot boundaries in chronological order.
+     */
+    SlotTable(List<String> boundaries) {
+        int slotCount = Math.max(boundaries.size() - 1, 0);
+        this.startSlots = Collections.unmodifiableList(boundaries.subList(0, slotCount));
+        this.endSlots = Collections.unmodifiableList(boundaries.subList(Math.min(1, boundaries.size()),
+                boundaries.size()));
+        for (int i = 0; i < slotCount; i++) {
+            startSlotIndexes.putIfAbsent(startSlots.get(i), i);
+        }
+    }
+
+    /**
+     * Returns the legal appointment start times.
+     *
+     * @return An unmodifiable list of formatted start times.
+     */
+    public List<String> getStartSlots() {
+        return startSlots;
+    }
+
+    /**
+     * Returns the legal appointment end times for an appointment starting at the given time.
+     *
+     * @param startSlot A formatted start time from {@link #getStartSlots()}.
+     * @return An unmodifiable list of formatted end times after the start time, or an empty list if the start time
+     * is not in this table.
+     */
+    public List<String> getEndSlots(String startSlot) {
+        Integer startIndex = startSlotIndexes.get(startSlot);
+        return startIndex == null ? Collections.emptyList() : endSlots.subList(startIndex, endSlots.size());
+    }
+}
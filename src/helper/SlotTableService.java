@@ -0,0 +1,151 @@
+package helper;
+
+import app.Global;
+import model.OfficeHours;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Builds and caches the appointment time slots available on a date, for a user's time zone and an office's business
+ * hours. Slots are stepped in real elapsed time between the office's opening and closing instants, so dates where
+ * either zone changes for daylight saving time produce the correct local times.
+ */
+public class SlotTableService {
+
+    /**
+     * The default office hours, based on the company's operating hours.
+     */
+    public static final OfficeHours DEFAULT_OFFICE_HOURS = new OfficeHours(Global.COMPANY_ZONE,
+            Global.COMPANY_START_TIME, Global.COMPANY_END_TIME);
+
+    /**
+     * Formats slot times according to the "h:mm a" pattern (ex: 7:00 pm)
+     */
+    private static final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
+
+    /**
+     * Cached slot tables, in least recently used order. The eldest entry is dropped once the cache holds more than
+     * {@link Global#SLOT_TABLE_CACHE_MAX_ENTRIES} tables.
+     */
+    private static final Map<Key, SlotTable> slotTables = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SlotTable> eldest) {
+            return size() > Global.SLOT_TABLE_CACHE_MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Hits and misses of the slot table cache.
+     */
+    private static final CacheStats cacheStats = CacheStats.get("Slot tables");
+
+    /**
+     * Returns the slot table for the default office hours on a date.
+     *
+     * @param date     The office date.
+     * @param userZone The time zone the slots are displayed in.
+     * @return The slot table.
+     */
+    public static SlotTable getSlotTable(LocalDate date, ZoneId userZone) {
+        return getSlotTable(date, userZone, DEFAULT_OFFICE_HOURS);
+    }
+
+    /**
+     * Returns the slot table for an office's business hours on a date, building it on first use.
+     *
+     * @param date        The office date.
+     * @param userZone    The time zone the slots are displayed in.
+     * @param officeHours The business hours of the office.
+     * @return The slot table.
+     */
+    public static synchronized SlotTable getSlotTable(LocalDate date, ZoneId userZone, OfficeHours officeHours) {
+        Key key = new Key(date, userZone, officeHours);
+        SlotTable slotTable = slotTables.get(key);
+        cacheStats.record(slotTable != null);
+        if (slotTable == null) {
+            slotTable = buildSlotTable(key);
+            slotTables.put(key, slotTable);
+        }
+        return slotTable;
+    }
+
+    /**
+     * Builds the slot table for a cache key.
+     *
+     * @param key The date, user zone, and office hours to build the table for.
+     * @return The new slot table.
+     */
+    private static SlotTable buildSlotTable(Key key) {
+        OfficeHours officeHours = key.officeHours;
+        Instant open = ZonedDateTime.of(key.date, officeHours.getOpenTime(), officeHours.getZone()).toInstant();
+        LocalDate closeDate = officeHours.getCloseTime().isAfter(officeHours.getOpenTime()) ? key.date :
+                key.date.plusDays(1);
+        Instant close = ZonedDateTime.of(closeDate, officeHours.getCloseTime(), officeHours.getZone()).toInstant();
+
+        List<String> boundaries = new ArrayList<>();
+        for (Instant time = open; !time.isAfter(close); time = time.plus(Global.APPOINTMENT_SLOT_LENGTH)) {
+            boundaries.add(time.atZone(key.userZone).toLocalTime().format(timeFormatter));
+        }
+        return new SlotTable(boundaries);
+    }
+
+    /**
+     * Identifies a slot table by date, user zone, and office hours.
+     */
+    private static final class Key {
+
+        /**
+         * The office date.
+         */
+        private final LocalDate date;
+
+        /**
+         * The time zone the slots are displayed in.
+         */
+        private final ZoneId userZone;
+
+        /**
+         * The business hours of the office.
+         */
+        private final OfficeHours officeHours;
+
+        /**
+         * Constructs a Key.
+         *
+         * @param date        The office date.
+         * @param userZone    The time zone the slots are displayed in.
+         * @param officeHours The business hours of the office.
+         */
+        private Key(LocalDate date, ZoneId userZone, OfficeHours officeHours) {
+            this.date = date;
+            this.userZone = userZone;
+            this.officeHours = officeHours;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return date.equals(other.date) && userZone.equals(other.userZone) &&
+                    officeHours.equals(other.officeHours);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, userZone, officeHours);
+        }
+    }
+}
@@ -0,0 +1,793 @@
+package helper;
+
+import app.Global;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes every SQL statement that takes longer than a threshold to a slow query log, with its bound parameters, the
+ * number of rows it returned or changed, how long it took, and the DAO method that ran it. Connections are wrapped by
+ * {@link #wrap(Connection, String)} when they are opened, so every statement the DAOs run is timed without changing
+ * the DAOs.
+ * <p>
+ * The threshold defaults to {@link Global#SLOW_QUERY_THRESHOLD} and can be set in milliseconds with
+ * -Ddb.slowQueryMillis; a negative value turns the log off. With -Ddb.slowQueryExplain=true the server's plan for a
+ * slow SELECT is logged too. The log is written to {@link Global#SLOW_QUERY_LOG_PATH} on a background thread, and is
+ * rotated once it reaches {@link Global#SLOW_QUERY_LOG_MAX_BYTES}, keeping {@link Global#SLOW_QUERY_LOG_FILES} old
+ * files.
+ * <p>
+ * While a flight recording with {@link DaoStatementEvent} enabled is running, every statement is also recorded as an
+ * event, whatever the threshold. For the diagnostics view, the figures for each connection and the timings of the
+ * last {@link Global#RECENT_STATEMENTS_SIZE} statements are also kept in memory.
+ */
+public class SlowQueryLog {
+
+    /**
+     * Statements that take at least this long, in nanoseconds, are logged. Negative if the log is off.
+     */
+    private static final long thresholdNanos = Long.getLong("db.slowQueryMillis",
+            Global.SLOW_QUERY_THRESHOLD.toMillis()) * 1_000_000;
+
+    /**
+     * Whether the plan of a slow SELECT is logged.
+     */
+    private static final boolean explain = Boolean.getBoolean("db.slowQueryExplain");
+
+    /**
+     * Names of the statement methods that run SQL.
+     */
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    /**
+     * Longest parameter value logged in full. Longer values are cut short.
+     */
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    /**
+     * Queries whose rows are still being read, logged or recorded once the rows have been read or the result is
+     * closed.
+     */
+    private static final Set<Entry> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The query the current thread is still reading, if any. Finished when the thread runs its next statement,
+     * for callers that read only the first row and never close the result.
+     */
+    private static final ThreadLocal<Entry> readingOnThisThread = new ThreadLocal<>();
+
+    /**
+     * How busy each connection is, by endpoint name.
+     */
+    private static final Map<String, ConnectionUsage> usage = new ConcurrentHashMap<>();
+
+    /**
+     * Timings of the most recent statements. Statement number n is kept at index n modulo the array size.
+     */
+    private static final StatementTiming[] recent = new StatementTiming[Global.RECENT_STATEMENTS_SIZE];
+
+    /**
+     * Number of statements timed since the application started. Guarded by the recent timings.
+     */
+    private static long timedCount = 0;
+
+    /**
+     * The SQL each thread is running right now, for reporting what a stalled thread is waiting on.
+     */
+    private static final Map<Thread, String> running = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the log so that callers do not wait on file I/O.
+     */
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-query-log");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Wraps a connection so that the statements prepared or created on it are timed, and those over the threshold are
+     * logged. Connections are wrapped even when the log is off, since a flight recording may be started at any time.
+     *
+     * @param connection The connection to wrap.
+     * @param endpoint   The name of the server the connection is to, such as "primary", for the usage figures.
+     * @return A connection that logs slow statements and passes everything on.
+     */
+    public static Connection wrap(Connection connection, String endpoint) {
+        ConnectionUsage connectionUsage = usage.computeIfAbsent(endpoint, ConnectionUsage::new);
+        return proxy(Connection.class, connection, (instance, method, args) -> {
+            if (method.getDeclaringClass() == Object.class && method.getName().equals("equals")) {
+                return instance == args[0];
+            }
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(connection, statement,
+                        (String) args[0], connectionUsage));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(connection, statement, null,
+                        connectionUsage));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Returns how busy each connection opened so far is.
+     *
+     * @return the figures for each endpoint, by name
+     */
+    public static List<ConnectionUsage> getConnectionUsage() {
+        List<ConnectionUsage> sorted = new ArrayList<>(usage.values());
+        sorted.sort(Comparator.comparing(ConnectionUsage::getName));
+        return sorted;
+    }
+
+    /**
+     * Returns the slowest of the most recent statements, slowest first.
+     *
+     * @param limit The most statements to return.
+     * @return the statement timings
+     */
+    public static List<StatementTiming> getSlowestRecentStatements(int limit) {
+        List<StatementTiming> timings = new ArrayList<>();
+        synchronized (recent) {
+            for (long i = Math.max(0, timedCount - recent.length); i < timedCount; i++) {
+                timings.add(recent[(int) (i % recent.length)]);
+            }
+        }
+        timings.sort(Comparator.comparingLong((StatementTiming timing) -> timing.nanos).reversed());
+        return timings.subList(0, Math.min(limit, timings.size()));
+    }
+
+    /**
+     * Returns the SQL a thread is running right now.
+     *
+     * @param thread The thread.
+     * @return The SQL, or null if the thread is not running a statement.
+     */
+    public static String runningStatement(Thread thread) {
+        return running.get(thread);
+    }
+
+    /**
+     * Logs or records the queries whose results are still open and waits briefly for the log to be written. Called when
+     * the application exits.
+     */
+    public static void close() {
+        for (Entry entry : pending) {
+            entry.finish();
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a proxy for a JDBC interface.
+     *
+     * @param type    The interface.
+     * @param target  The object calls are passed on to.
+     * @param handler Handles the calls.
+     * @param <T>     The interface type.
+     * @return The proxy.
+     */
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[]{type},
+                handler));
+    }
+
+    /**
+     * Passes a call on, rethrowing what it throws rather than a reflection wrapper.
+     *
+     * @param target The object to call.
+     * @param method The method called.
+     * @param args   The arguments, or null.
+     * @return What the call returned.
+     * @throws Throwable What the call threw.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Finds the method that ran a statement: the innermost DAO method on the stack, or failing that the innermost
+     * method outside the JDBC plumbing.
+     *
+     * @return The method, as "Class.method".
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> {
+            String fallback = "unknown";
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                String name = className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                if (className.startsWith("DAO.")) {
+                    return name;
+                }
+                if (fallback.equals("unknown") && !className.startsWith("helper.") && !className.startsWith("java.")
+                        && !className.startsWith("jdk.") && !className.contains("$Proxy")) {
+                    fallback = name;
+                }
+            }
+            return fallback;
+        });
+    }
+
+    /**
+     * Asks the server for its plan for a query, with the same parameters bound. Runs on the unwrapped connection so
+     * that the plan query is not itself logged.
+     *
+     * @param connection The unwrapped connection the query ran on.
+     * @param sql        The query.
+     * @param parameters The bound parameters, by index.
+     * @return The plan, one row per line, or why it could not be read.
+     */
+    private static String explain(Connection connection, String sql, Map<Integer, Object> parameters) {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    plan.append(i == 1 ? "  " : " | ").append(metaData.getColumnLabel(i));
+                }
+                while (resultSet.next()) {
+                    plan.append(System.lineSeparator());
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        plan.append(i == 1 ? "  " : " | ").append(resultSet.getString(i));
+                    }
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "  EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Appends an entry to the log on the writer thread, rotating the log first if it is full.
+     *
+     * @param text The entry.
+     */
+    private static void write(String text) {
+        try {
+            writer.execute(() -> {
+                try {
+                    Path log = Paths.get(Global.SLOW_QUERY_LOG_PATH);
+                    if (Files.exists(log) && Files.size(log) >= Global.SLOW_QUERY_LOG_MAX_BYTES) {
+                        rotate(log);
+                    }
+                    Files.write(log, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The application is exiting and the log has been closed
+        }
+    }
+
+    /**
+     * Moves the log to "&lt;log&gt;.1", shifting older files up by one and dropping the oldest.
+     *
+     * @param log The log file.
+     * @throws IOException If a file cannot be moved.
+     */
+    private static void rotate(Path log) throws IOException {
+        Files.deleteIfExists(Paths.get(log + "." + Global.SLOW_QUERY_LOG_FILES));
+        for (int i = Global.SLOW_QUERY_LOG_FILES - 1; i >= 1; i--) {
+            Path older = Paths.get(log + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, Paths.get(log + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(log, Paths.get(log + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Times the SQL run through one statement and records the parameters bound to it.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+
+        /**
+         * The unwrapped connection the statement belongs to, used for EXPLAIN.
+         */
+        private final Connection connection;
+
+        /**
+         * The unwrapped statement.
+         */
+        private final Statement statement;
+
+        /**
+         * The SQL the statement was prepared with, or null for a plain statement.
+         */
+        private final String preparedSql;
+
+        /**
+         * The parameters currently bound, by index.
+         */
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        /**
+         * The figures of the connection the statement belongs to.
+         */
+        private final ConnectionUsage connectionUsage;
+
+        /**
+         * Number of parameter sets added to the current batch.
+         */
+        private int batchSize = 0;
+
+        /**
+         * The logged or recorded query whose result is open on this statement, if any.
+         */
+        private Entry open;
+
+        /**
+         * Constructs StatementHandler.
+         *
+         * @param connection  The unwrapped connection.
+         * @param statement   The unwrapped statement.
+         * @param preparedSql     The SQL the statement was prepared with, or null.
+         * @param connectionUsage The figures of the connection the statement belongs to.
+         */
+        private StatementHandler(Connection connection, Statement statement, String preparedSql,
+                                 ConnectionUsage connectionUsage) {
+            this.connection = connection;
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.connectionUsage = connectionUsage;
+        }
+
+        @Override
+        public Object invoke(Object instance, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class && name.equals("equals")) {
+                return instance == args[0];
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch") && args == null) {
+                batchSize++;
+            } else if (name.equals("clearBatch") || name.equals("close")) {
+                batchSize = 0;
+                finishOpen();
+            } else if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            return SlowQueryLog.invoke(statement, method, args);
+        }
+
+        /**
+         * Runs SQL, timing it, and logs it if it was slow or records it if a flight recording wants it. The rows of
+         * such a query are counted as they are read, and it is logged or recorded once they have been read.
+         *
+         * @param method The execute method called.
+         * @param args   The arguments, which hold the SQL for a plain statement.
+         * @return What the execute method returned.
+         * @throws Throwable What the execute method threw.
+         */
+        private Object execute(Method method, Object[] args) throws Throwable {
+            Entry reading = readingOnThisThread.get();
+            if (reading != null) {
+                reading.finish();
+            }
+            finishOpen();
+
+            String sql = preparedSql != null ? preparedSql : args != null && args[0] instanceof String text ?
+                    text : "?";
+            DaoStatementEvent event = new DaoStatementEvent();
+            Thread thread = Thread.currentThread();
+            running.put(thread, sql);
+            connectionUsage.inFlight.increment();
+            event.begin();
+            long startNanos = System.nanoTime();
+            Object result;
+            try {
+                result = SlowQueryLog.invoke(statement, method, args);
+            } finally {
+                running.remove(thread);
+                connectionUsage.inFlight.decrement();
+            }
+            long nanos = System.nanoTime() - startNanos;
+            event.end();
+            connectionUsage.statementCount.increment();
+            connectionUsage.busyNanos.add(nanos);
+            StatementTiming timing = new StatementTiming(sql, nanos);
+            synchronized (recent) {
+                recent[(int) (timedCount % recent.length)] = timing;
+                timedCount++;
+            }
+            int batch = batchSize;
+            if (method.getName().contains("Batch")) {
+                batchSize = 0;
+            }
+            boolean slow = thresholdNanos >= 0 && nanos >= thresholdNanos;
+            boolean recorded = event.shouldCommit();
+            if (!slow && !recorded) {
+                return result;
+            }
+
+            Entry entry = new Entry(sql, slow ? describeParameters(batch) : null, nanos, caller(),
+                    recorded ? event : null);
+            if (slow && explain && sql.strip().regionMatches(true, 0, "SELECT", 0, 6)) {
+                entry.plan = SlowQueryLog.explain(connection, sql, preparedSql != null ? parameters : Map.of());
+            }
+            if (result instanceof ResultSet resultSet) {
+                open = entry;
+                pending.add(entry);
+                readingOnThisThread.set(entry);
+                return proxy(ResultSet.class, resultSet, entry.counting(resultSet));
+            }
+            entry.rows = rows(result);
+            entry.finish();
+            return result;
+        }
+
+        /**
+         * Logs or records the query whose result is open on this statement, if any.
+         */
+        private void finishOpen() {
+            if (open != null) {
+                open.finish();
+                open = null;
+            }
+        }
+
+        /**
+         * Describes the bound parameters for the log.
+         *
+         * @param batch The number of parameter sets batched, or 0 if the statement was not batched.
+         * @return The parameters, such as "[1, 'Sales', NULL]".
+         */
+        private String describeParameters(int batch) {
+            if (preparedSql == null) {
+                return "none";
+            }
+            StringBuilder description = new StringBuilder("[");
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                if (description.length() > 1) {
+                    description.append(", ");
+                }
+                Object value = parameter.getValue();
+                String text = value == null ? "NULL" : value instanceof Number || value instanceof Boolean ?
+                        value.toString() : "'" + value + "'";
+                description.append(text.length() > MAX_PARAMETER_LENGTH ?
+                        text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text);
+            }
+            description.append("]");
+            return batch > 0 ? description + " (last of a batch of " + batch + ")" : description.toString();
+        }
+
+        /**
+         * Counts the rows changed by an update or batch.
+         *
+         * @param result What the execute method returned.
+         * @return The number of rows changed, or -1 if it is not known.
+         */
+        private long rows(Object result) throws SQLException {
+            if (result instanceof Number count) {
+                return count.longValue();
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            if (result instanceof long[] counts) {
+                long total = 0;
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            return result instanceof Boolean isQuery && !isQuery ? statement.getUpdateCount() : -1;
+        }
+    }
+
+    /**
+     * A statement that is slow or wanted by a flight recording, logged or recorded once the number of rows it
+     * returned is known.
+     */
+    private static final class Entry {
+
+        /**
+         * When the statement ran.
+         */
+        private final LocalDateTime time = LocalDateTime.now();
+
+        /**
+         * The SQL.
+         */
+        private final String sql;
+
+        /**
+         * The bound parameters, described for the log, or null if the statement is not slow and is only recorded.
+         */
+        private final String parameters;
+
+        /**
+         * How long the statement took to run, in nanoseconds.
+         */
+        private final long nanos;
+
+        /**
+         * The method that ran the statement.
+         */
+        private final String caller;
+
+        /**
+         * The flight recorder event for the statement, ended but not yet committed, or null if it is not recorded.
+         */
+        private final DaoStatementEvent event;
+
+        /**
+         * Rows returned so far, or changed, or -1 if not known.
+         */
+        private volatile long rows = 0;
+
+        /**
+         * The server's plan for the statement, or null.
+         */
+        private String plan;
+
+        /**
+         * Set once the entry has been logged or recorded.
+         */
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        /**
+         * Constructs Entry.
+         *
+         * @param sql        The SQL.
+         * @param parameters The bound parameters, described for the log, or null if the statement is not logged.
+         * @param nanos      How long the statement took, in nanoseconds.
+         * @param caller     The method that ran the statement.
+         * @param event      The flight recorder event for the statement, or null if it is not recorded.
+         */
+        private Entry(String sql, String parameters, long nanos, String caller, DaoStatementEvent event) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.nanos = nanos;
+            this.caller = caller;
+            this.event = event;
+        }
+
+        /**
+         * Returns a handler for the query's result that counts the rows read and logs or records the entry once they
+         * have all been read or the result is closed.
+         *
+         * @param resultSet The unwrapped result.
+         * @return The handler.
+         */
+        private InvocationHandler counting(ResultSet resultSet) {
+            return (instance, method, args) -> {
+                if (method.getDeclaringClass() == Object.class && method.getName().equals("equals")) {
+                    return instance == args[0];
+                }
+                Object result = SlowQueryLog.invoke(resultSet, method, args);
+                if (method.getName().equals("next")) {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    } else {
+                        finish();
+                    }
+                } else if (method.getName().equals("close")) {
+                    finish();
+                }
+                return result;
+            };
+        }
+
+        /**
+         * Logs or records the entry, unless that has already been done.
+         */
+        private void finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            pending.remove(this);
+            if (readingOnThisThread.get() == this) {
+                readingOnThisThread.remove();
+            }
+            if (event != null) {
+                event.operation = caller;
+                event.sqlId = Integer.toHexString(sql.hashCode());
+                event.sql = sql;
+                event.rows = rows;
+                event.commit();
+            }
+            if (parameters == null) {
+                return;
+            }
+            String separator = System.lineSeparator();
+            StringBuilder text = new StringBuilder(time.format(Global.LOG_DATE_FORMATTER))
+                    .append(String.format(" - %.1f ms - ", nanos / 1_000_000.0))
+                    .append(rows < 0 ? "? rows" : rows + (rows == 1 ? " row" : " rows"))
+                    .append(" - ").append(caller).append(separator)
+                    .append("SQL: ").append(sql.strip().replaceAll("\\s+", " ")).append(separator)
+                    .append("Parameters: ").append(parameters).append(separator);
+            if (plan != null) {
+                text.append("Plan:").append(separator).append(plan).append(separator);
+            }
+            write(text.append(separator).toString());
+        }
+    }
+
+    /**
+     * How busy the connection to one server is.
+     */
+    public static final class ConnectionUsage {
+
+        /**
+         * The endpoint name, such as "primary".
+         */
+        private final String name;
+
+        /**
+         * Number of statements run.
+         */
+        private final LongAdder statementCount = new LongAdder();
+
+        /**
+         * Time spent running statements, in nanoseconds.
+         */
+        private final LongAdder busyNanos = new LongAdder();
+
+        /**
+         * Number of statements running right now.
+         */
+        private final LongAdder inFlight = new LongAdder();
+
+        /**
+         * Constructs ConnectionUsage.
+         *
+         * @param name The endpoint name.
+         */
+        private ConnectionUsage(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the endpoint name.
+         *
+         * @return the name, such as "primary"
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of statements run.
+         *
+         * @return the statement count
+         */
+        public long getStatementCount() {
+            return statementCount.sum();
+        }
+
+        /**
+         * Returns the time spent running statements. Comparing two readings gives the share of the time in between
+         * that the connection was busy.
+         *
+         * @return the busy time in nanoseconds
+         */
+        public long getBusyNanos() {
+            return busyNanos.sum();
+        }
+
+        /**
+         * Returns the number of statements running right now.
+         *
+         * @return the in-flight count
+         */
+        public long getInFlight() {
+            return inFlight.sum();
+        }
+    }
+
+    /**
+     * How long one recent statement took.
+     */
+    public static final class StatementTiming {
+
+        /**
+         * When the statement finished.
+         */
+        private final LocalDateTime time = LocalDateTime.now();
+
+        /**
+         * The SQL.
+         */
+        private final String sql;
+
+        /**
+         * How long the statement took, in nanoseconds.
+         */
+        private final long nanos;
+
+        /**
+         * Constructs StatementTiming.
+         *
+         * @param sql   The SQL.
+         * @param nanos How long the statement took, in nanoseconds.
+         */
+        private StatementTiming(String sql, long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns when the statement finished.
+         *
+         * @return the local time
+         */
+        public LocalDateTime getTime() {
+            return time;
+        }
+
+        /**
+         * Returns the SQL, on one line.
+         *
+         * @return the SQL
+         */
+        public String getSql() {
+            return sql.strip().replaceAll("\\s+", " ");
+        }
+
+        /**
+         * Returns how long the statement took.
+         *
+         * @return the duration in milliseconds
+         */
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
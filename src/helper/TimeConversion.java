@@ -0,0 +1,121 @@
+package helper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+
+/**
+ * Converts appointment times between the user's local time zone and UTC, which is how all appointment times are
+ * stored in the database. The zone rules for the local zone are looked up once and reused, and conversions work
+ * directly on offsets rather than building {@code ZonedDateTime} objects.
+ */
+public class TimeConversion {
+
+    /**
+     * The local zone and its rules, as of the last lookup.
+     */
+    private static volatile CachedRules cachedRules;
+
+    /**
+     * Converts a local date-time to its UTC equivalent. Local times skipped by a daylight saving gap are moved
+     * forward by the length of the gap, and ambiguous local times use the earlier offset, matching
+     * {@code ZonedDateTime} behavior.
+     *
+     * @param localDateTime The local date-time to convert.
+     * @return The UTC equivalent, or null if the input is null.
+     */
+    public static LocalDateTime toUtc(LocalDateTime localDateTime) {
+        if (localDateTime == null) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(toEpochSecond(localDateTime), localDateTime.getNano(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts a UTC date-time to its local equivalent.
+     *
+     * @param utcDateTime The UTC date-time to convert.
+     * @return The local equivalent, or null if the input is null.
+     */
+    public static LocalDateTime fromUtc(LocalDateTime utcDateTime) {
+        if (utcDateTime == null) {
+            return null;
+        }
+        long epochSecond = utcDateTime.toEpochSecond(ZoneOffset.UTC);
+        ZoneOffset offset = localRules().getOffset(Instant.ofEpochSecond(epochSecond));
+        return LocalDateTime.ofEpochSecond(epochSecond, utcDateTime.getNano(), offset);
+    }
+
+    /**
+     * Returns the number of seconds since the epoch for a local date-time, for comparing appointment times as
+     * instants regardless of the zone they were entered in.
+     *
+     * @param localDateTime The local date-time.
+     * @return The epoch second of the instant the local date-time represents.
+     */
+    public static long toEpochSecond(LocalDateTime localDateTime) {
+        ZoneRules rules = localRules();
+        List<ZoneOffset> validOffsets = rules.getValidOffsets(localDateTime);
+        if (validOffsets.isEmpty()) {
+            // In a daylight saving gap, so use the offset from before the gap
+            ZoneOffsetTransition transition = rules.getTransition(localDateTime);
+            return localDateTime.toEpochSecond(transition.getOffsetBefore());
+        }
+        return localDateTime.toEpochSecond(validOffsets.get(0));
+    }
+
+    /**
+     * Returns the current date-time in UTC.
+     *
+     * @return The current UTC date-time.
+     */
+    public static LocalDateTime utcNow() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the rules for the system default zone, looking them up only when the default zone changes.
+     *
+     * @return The zone rules for the local zone.
+     */
+    private static ZoneRules localRules() {
+        ZoneId zone = ZoneId.systemDefault();
+        CachedRules cached = cachedRules;
+        if (cached == null || !cached.zone.equals(zone)) {
+            cached = new CachedRules(zone, zone.getRules());
+            cachedRules = cached;
+        }
+        return cached.rules;
+    }
+
+    /**
+     * A zone paired with its rules, so both are read and replaced together.
+     */
+    private static final class CachedRules {
+
+        /**
+         * The zone the rules belong to.
+         */
+        private final ZoneId zone;
+
+        /**
+         * The rules for the zone.
+         */
+        private final ZoneRules rules;
+
+        /**
+         * Constructs CachedRules for a zone.
+         *
+         * @param zone  The zone.
+         * @param rules The rules for the zone.
+         */
+        private CachedRules(ZoneId zone, ZoneRules rules) {
+            this.zone = zone;
+            this.rules = rules;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts transaction commits and rollbacks made through {@link UnitOfWork} and records how long commits take,
+ * including sending queued writes. The figures cover the life of the application.
+ */
+public class TransactionMetrics {
+
+    /**
+     * Number of commits.
+     */
+    private static final LongAdder commitCount = new LongAdder();
+
+    /**
+     * Number of rollbacks.
+     */
+    private static final LongAdder rollbackCount = new LongAdder();
+
+    /**
+     * Total time spent committing, in nanoseconds.
+     */
+    private static final LongAdder totalCommitNanos = new LongAdder();
+
+    /**
+     * Longest commit, in nanoseconds.
+     */
+    private static final AtomicLong maxCommitNanos = new AtomicLong();
+
+    /**
+     * Most recent commit, in nanoseconds.
+     */
+    private static volatile long lastCommitNanos = 0;
+
+    /**
+     * Records a commit.
+     *
+     * @param nanos How long the commit took, in nanoseconds.
+     */
+    static void recordCommit(long nanos) {
+        commitCount.increment();
+        totalCommitNanos.add(nanos);
+        maxCommitNanos.accumulateAndGet(nanos, Math::max);
+        lastCommitNanos = nanos;
+    }
+
+    /**
+     * Records a rollback.
+     */
+    static void recordRollback() {
+        rollbackCount.increment();
+    }
+
+    /**
+     * Returns the number of commits.
+     *
+     * @return the commit count
+     */
+    public static long getCommitCount() {
+        return commitCount.sum();
+    }
+
+    /**
+     * Returns the number of rollbacks.
+     *
+     * @return the rollback count
+     */
+    public static long getRollbackCount() {
+        return rollbackCount.sum();
+    }
+
+    /**
+     * Returns the average commit latency.
+     *
+     * @return the average commit time in milliseconds, or 0 if nothing has been committed
+     */
+    public static double getAverageCommitMillis() {
+        long commits = commitCount.sum();
+        return commits == 0 ? 0 : totalCommitNanos.sum() / (commits * 1_000_000.0);
+    }
+
+    /**
+     * Returns the longest commit latency.
+     *
+     * @return the longest commit time in milliseconds
+     */
+    public static double getMaxCommitMillis() {
+        return maxCommitNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Returns the latency of the most recent commit.
+     *
+     * @return the most recent commit time in milliseconds
+     */
+    public static double getLastCommitMillis() {
+        return lastCommitNanos / 1_000_000.0;
+    }
+
+    /**
+     * Summarizes the metrics in one line, for logging.
+     *
+     * @return the summary
+     */
+    public static String summary() {
+        return String.format("commits=%d rollbacks=%d avgCommitMs=%.2f maxCommitMs=%.2f lastCommitMs=%.2f",
+                getCommitCount(), getRollbackCount(), getAverageCommitMillis(), getMaxCommitMillis(),
+                getLastCommitMillis());
+    }
+}
@@ -0,0 +1,77 @@
+package helper;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventDispatcher;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one action handled in a view, such as a button click handled by a controller's
+ * action event handler. The event's duration covers the whole dispatch of the action, including the handler.
+ */
+@Name("scheduler.UiAction")
+@Label("UI Action")
+@Category({"Client Scheduler", "User Interface"})
+@Description("An action event handled by a controller")
+public class UiActionEvent extends Event {
+
+    /**
+     * The FXML file of the view the action happened in.
+     */
+    @Label("View")
+    String view;
+
+    /**
+     * The fx:id of the control that fired the action.
+     */
+    @Label("Control")
+    String control;
+
+    /**
+     * The text of the control that fired the action, if it has any.
+     */
+    @Label("Text")
+    String text;
+
+    /**
+     * Records an event for every action dispatched in a scene, by wrapping the scene's event dispatcher. Other events
+     * are passed straight on.
+     *
+     * @param scene The scene.
+     * @param view  The FXML file the scene was loaded from.
+     */
+    public static void track(Scene scene, String view) {
+        EventDispatcher dispatcher = scene.getEventDispatcher();
+        scene.setEventDispatcher((event, tail) -> {
+            if (event.getEventType() != ActionEvent.ACTION) {
+                return dispatcher.dispatchEvent(event, tail);
+            }
+            UiActionEvent recorded = new UiActionEvent();
+            if (!recorded.isEnabled()) {
+                return dispatcher.dispatchEvent(event, tail);
+            }
+            recorded.begin();
+            try {
+                return dispatcher.dispatchEvent(event, tail);
+            } finally {
+                recorded.end();
+                if (recorded.shouldCommit()) {
+                    recorded.view = view;
+                    if (event.getTarget() instanceof Node node) {
+                        recorded.control = node.getId();
+                    }
+                    if (event.getTarget() instanceof Labeled labeled) {
+                        recorded.text = labeled.getText();
+                    }
+                    recorded.commit();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,345 @@
+package helper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A database transaction bound to the current thread. While a unit of work is open, {@link JDBC#getConnection()}
+ * returns its connection, so any DAO method called on the thread takes part in the transaction without being passed
+ * the connection.
+ * <p></p>
+ * Writes can either run immediately through the connection or be queued with {@link #queue} and
+ * {@link #queueSingleRowUpdate}. Queued writes are sent at commit, with consecutive writes that share a statement
+ * grouped into one JDBC batch. Commit and rollback counts and commit latency are recorded in
+ * {@link TransactionMetrics}.
+ * <p></p>
+ * Units of work are opened in a try-with-resources block. Closing a unit rolls back anything not committed, then
+ * returns the connection to auto-commit mode:
+ * <pre>{@code
+ * try (UnitOfWork work = UnitOfWork.begin()) {
+ *     ...
+ *     work.commit();
+ * }
+ * }</pre>
+ * Beginning a unit of work while another is open on the same thread joins the open one. A joined unit's commit only
+ * marks its part as complete; the work is committed by the outermost unit. If a joined unit is closed without
+ * committing, the outermost unit can only roll back.
+ * <p></p>
+ * A transaction never spans threads. An outermost unit runs on the connection {@link JDBC#getConnection()} returns
+ * only within {@link JDBC#dedicated} or {@link JDBC#remote}, or on the thread that owns the shared connection to the
+ * primary (see {@link JDBC#setConnectionOwner(Thread)}). On any other thread it opens a connection of its own to the
+ * primary and closes it when the unit is closed, so it cannot take part in, commit, or roll back the owner's work.
+ */
+public class UnitOfWork implements AutoCloseable {
+
+    /**
+     * Binds values to the parameters of a queued statement.
+     */
+    @FunctionalInterface
+    public interface StatementBinder {
+
+        /**
+         * Binds the statement's parameters.
+         *
+         * @param statement The statement to bind.
+         * @throws SQLException If a parameter cannot be set.
+         */
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * The outermost unit of work open on each thread.
+     */
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    /**
+     * The outermost unit of work this one joined, or null if this unit owns the transaction.
+     */
+    private final UnitOfWork outer;
+
+    /**
+     * The connection the transaction runs on.
+     */
+    private final Connection connection;
+
+    /**
+     * Whether the connection was opened for this unit and is closed with it.
+     */
+    private final boolean ownsConnection;
+
+    /**
+     * Writes waiting to be sent at the next flush. Only used by the outermost unit.
+     */
+    private final List<QueuedWrite> queuedWrites = new ArrayList<>();
+
+    /**
+     * Whether a joined unit was closed without committing, so the transaction must be rolled back.
+     */
+    private boolean rollbackOnly = false;
+
+    /**
+     * Whether this unit has been committed at least once.
+     */
+    private boolean committed = false;
+
+    /**
+     * Whether the outermost unit has been rolled back explicitly, so closing it does not record a second rollback.
+     */
+    private boolean rolledBack = false;
+
+    /**
+     * Whether this unit has been closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Constructs the outermost unit of work for a connection.
+     *
+     * @param connection     The connection the transaction runs on.
+     * @param ownsConnection Whether the connection was opened for this unit and is closed with it.
+     */
+    private UnitOfWork(Connection connection, boolean ownsConnection) {
+        this.outer = null;
+        this.connection = connection;
+        this.ownsConnection = ownsConnection;
+    }
+
+    /**
+     * Constructs a unit of work that joins an open one.
+     *
+     * @param outer The outermost unit of work open on the thread.
+     */
+    private UnitOfWork(UnitOfWork outer) {
+        this.outer = outer;
+        this.connection = outer.connection;
+        this.ownsConnection = false;
+    }
+
+    /**
+     * Begins a unit of work on the current thread, or joins the one already open. A thread that does not own the
+     * shared connection to the primary gets a connection of its own for the unit.
+     *
+     * @return The unit of work.
+     * @throws SQLException If the database is unavailable or the connection cannot be switched to manual-commit
+     *                      mode.
+     */
+    public static UnitOfWork begin() throws SQLException {
+        UnitOfWork active = current.get();
+        if (active != null) {
+            return new UnitOfWork(active);
+        }
+        boolean ownsConnection = JDBC.needsOwnTransactionConnection();
+        Connection connection = ownsConnection ? JDBC.openTransactionConnection() : JDBC.getConnection();
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            if (ownsConnection) {
+                connection.close();
+            }
+            throw e;
+        }
+        UnitOfWork work = new UnitOfWork(connection, ownsConnection);
+        current.set(work);
+        return work;
+    }
+
+    /**
+     * Returns the unit of work open on the current thread.
+     *
+     * @return The outermost open unit of work, or null if none is open.
+     */
+    public static UnitOfWork current() {
+        return current.get();
+    }
+
+    /**
+     * Returns the connection the transaction runs on.
+     *
+     * @return the connection
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Queues a write to be sent at the next flush or commit.
+     *
+     * @param sql    The statement.
+     * @param binder Binds the statement's parameters.
+     */
+    public void queue(String sql, StatementBinder binder) {
+        owner().queuedWrites.add(new QueuedWrite(sql, binder, false));
+    }
+
+    /**
+     * Queues an update that must change a row, to be sent at the next flush or commit. If it changes no rows, for
+     * example because the row was deleted, the flush fails and the transaction can only be rolled back.
+     *
+     * @param sql    The statement.
+     * @param binder Binds the statement's parameters.
+     */
+    public void queueSingleRowUpdate(String sql, StatementBinder binder) {
+        owner().queuedWrites.add(new QueuedWrite(sql, binder, true));
+    }
+
+    /**
+     * Sends the queued writes, so later statements in the transaction see them. Consecutive writes that share a
+     * statement are sent as one JDBC batch.
+     *
+     * @throws SQLException If a write fails, or an update that must change a row changed none.
+     */
+    public void flush() throws SQLException {
+        List<QueuedWrite> writes = owner().queuedWrites;
+        int start = 0;
+        while (start < writes.size()) {
+            String sql = writes.get(start).sql;
+            int end = start;
+            while (end < writes.size() && writes.get(end).sql.equals(sql)) {
+                end++;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = start; i < end; i++) {
+                    writes.get(i).binder.bind(statement);
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0 && writes.get(start + i).requiresRow) {
+                        throw new SQLException("Update changed no rows: " + sql);
+                    }
+                }
+            }
+            start = end;
+        }
+        writes.clear();
+    }
+
+    /**
+     * Sends the queued writes and commits the transaction. The unit stays open, so further work can be done and
+     * committed. For a joined unit, this only marks its part as complete.
+     *
+     * @throws SQLException If a write or the commit fails, or a joined unit was closed without committing.
+     */
+    public void commit() throws SQLException {
+        if (outer != null) {
+            committed = true;
+            return;
+        }
+        if (rollbackOnly) {
+            throw new SQLException("Transaction was marked for rollback by a nested unit of work");
+        }
+        long startNanos = System.nanoTime();
+        flush();
+        connection.commit();
+        committed = true;
+        JDBC.recordWrite();
+        TransactionMetrics.recordCommit(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Rolls back the work done since the last commit. For a joined unit, marks the transaction for rollback.
+     */
+    public void rollback() {
+        if (outer != null) {
+            outer.rollbackOnly = true;
+            return;
+        }
+        queuedWrites.clear();
+        rollbackOnly = false;
+        rolledBack = true;
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        TransactionMetrics.recordRollback();
+    }
+
+    /**
+     * Closes the unit of work. Work not committed is rolled back, and the outermost unit returns the connection to
+     * auto-commit mode, or closes it if it was opened for the unit, and unbinds it from the thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (outer != null) {
+            if (!committed) {
+                outer.rollbackOnly = true;
+            }
+            return;
+        }
+        try {
+            if (!committed && !rolledBack) {
+                rollback();
+            } else {
+                // Discard anything done since the last commit or rollback, which enabling auto-commit would
+                // otherwise commit
+                queuedWrites.clear();
+                connection.rollback();
+            }
+            if (!ownsConnection) {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            current.remove();
+            if (ownsConnection) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the unit of work that owns the transaction.
+     *
+     * @return this unit, or the outermost unit it joined
+     */
+    private UnitOfWork owner() {
+        return outer != null ? outer : this;
+    }
+
+    /**
+     * A write waiting to be sent.
+     */
+    private static final class QueuedWrite {
+
+        /**
+         * The statement.
+         */
+        private final String sql;
+
+        /**
+         * Binds the statement's parameters.
+         */
+        private final StatementBinder binder;
+
+        /**
+         * Whether the write must change a row.
+         */
+        private final boolean requiresRow;
+
+        /**
+         * Constructs a QueuedWrite.
+         *
+         * @param sql         The statement.
+         * @param binder      Binds the statement's parameters.
+         * @param requiresRow Whether the write must change a row.
+         */
+        private QueuedWrite(String sql, StatementBinder binder, boolean requiresRow) {
+            this.sql = sql;
+            this.binder = binder;
+            this.requiresRow = requiresRow;
+        }
+    }
+}
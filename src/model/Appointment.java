@@ -1,10 +1,17 @@
 package model;
 
+import helper.TimeConversion;
+
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The Appointment class represents an appointment for a customer in the scheduling system.
+ * A recurring appointment is stored once, as the first occurrence of its series along with a {@link RecurrenceRule}.
+ * Later occurrences are created on demand with {@link #occurrencesStartingBetween} and share the series' ID.
  */
 public class Appointment {
 
@@ -86,6 +93,16 @@ public class Appointment {
      */
     public String contactName;
 
+    /**
+     * How the appointment repeats, or null if it does not repeat.
+     */
+    private RecurrenceRule recurrenceRule;
+
+    /**
+     * The start of the first occurrence of the series if this appointment is a calculated occurrence, otherwise null.
+     */
+    private LocalDateTime seriesStartTime;
+
     // Declare Methods
 
     /**
@@ -137,6 +154,15 @@ public class Appointment {
         return id;
     }
 
+    /**
+     * Sets the appointment id, for example once the database has generated it.
+     *
+     * @param id the new id
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the appointment title.
      *
@@ -262,6 +288,147 @@ public class Appointment {
     public String getContactName() {
         return contactName;
     }
+
+    /**
+     * Returns how the appointment repeats.
+     *
+     * @return the recurrence rule, or null if the appointment does not repeat
+     */
+    public RecurrenceRule getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    /**
+     * Sets how the appointment repeats.
+     *
+     * @param recurrenceRule the recurrence rule, or null if the appointment does not repeat
+     */
+    public void setRecurrenceRule(RecurrenceRule recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    /**
+     * Returns whether the appointment repeats.
+     *
+     * @return true if the appointment has a recurrence rule
+     */
+    public boolean isRecurring() {
+        return recurrenceRule != null;
+    }
+
+    /**
+     * Returns the start of the first occurrence of the appointment's series. For appointments that do not repeat,
+     * and for the stored first occurrence of a series, this is the start time.
+     *
+     * @return the series start time
+     */
+    public LocalDateTime getSeriesStartTime() {
+        return seriesStartTime != null ? seriesStartTime : startTime;
+    }
+
+    /**
+     * Returns the end of the first occurrence of the appointment's series.
+     *
+     * @return the series end time
+     */
+    public LocalDateTime getSeriesEndTime() {
+        return getSeriesStartTime().plus(Duration.between(startTime, endTime));
+    }
+
+    /**
+     * Returns a short description of how the appointment repeats, for display in the appointments table.
+     *
+     * @return the repeat summary, or an empty string if the appointment does not repeat
+     */
+    public String getRepeatSummary() {
+        if (recurrenceRule == null) {
+            return "";
+        }
+        String summary = recurrenceRule.getFrequency().getDisplayName();
+        return recurrenceRule.getInterval() > 1 ? summary + " x" + recurrenceRule.getInterval() : summary;
+    }
+
+    /**
+     * Returns the occurrences of this appointment that start within a range. An appointment that does not repeat
+     * is its own only occurrence.
+     *
+     * @param rangeStart The start of the range, inclusive.
+     * @param rangeEnd   The end of the range, exclusive.
+     * @return The occurrences within the range, in chronological order.
+     */
+    public List<Appointment> occurrencesStartingBetween(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        List<Appointment> occurrences = new ArrayList<>();
+        if (recurrenceRule == null) {
+            if (!startTime.isBefore(rangeStart) && startTime.isBefore(rangeEnd)) {
+                occurrences.add(this);
+            }
+            return occurrences;
+        }
+        LocalDateTime seriesStart = getSeriesStartTime();
+        for (LocalDateTime start : recurrenceRule.occurrenceStartsBetween(seriesStart, rangeStart, rangeEnd)) {
+            occurrences.add(start.equals(seriesStart) && seriesStartTime == null ? this : occurrenceAt(start));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns the occurrences of this appointment that overlap a range.
+     *
+     * @param rangeStart The start of the range, inclusive.
+     * @param rangeEnd   The end of the range, exclusive.
+     * @return The overlapping occurrences, in chronological order.
+     */
+    public List<Appointment> occurrencesOverlapping(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        // Occurrences starting up to one appointment length before the range can still overlap it
+        List<Appointment> occurrences = occurrencesStartingBetween(
+                rangeStart.minus(Duration.between(startTime, endTime)), rangeEnd);
+        occurrences.removeIf(occurrence -> !occurrence.getEndTime().isAfter(rangeStart));
+        return occurrences;
+    }
+
+    /**
+     * Creates the occurrence of this appointment's series that starts at the given time.
+     *
+     * @param start The start of the occurrence.
+     * @return The occurrence, with the same details and length as this appointment.
+     */
+    private Appointment occurrenceAt(LocalDateTime start) {
+        Appointment occurrence = new Appointment(id, title, description, location, type, start,
+                start.plus(Duration.between(startTime, endTime)), createDate, createdBy, lastUpdate, lastUpdatedBy,
+                customerId, userId, contactId, contactName);
+        occurrence.recurrenceRule = recurrenceRule;
+        occurrence.seriesStartTime = getSeriesStartTime();
+        return occurrence;
+    }
+
+    /**
+     * Returns the start time as seconds since the epoch.
+     *
+     * @return the start epoch second
+     */
+    public long getStartEpochSecond() {
+        return TimeConversion.toEpochSecond(startTime);
+    }
+
+    /**
+     * Returns the end time as seconds since the epoch.
+     *
+     * @return the end epoch second
+     */
+    public long getEndEpochSecond() {
+        return TimeConversion.toEpochSecond(endTime);
+    }
+
+    /**
+     * Checks whether this appointment overlaps another. Appointments overlap when each starts before the other ends,
+     * so back-to-back appointments do not overlap.
+     *
+     * @param other The appointment to compare against.
+     * @return true if the appointments overlap, false otherwise.
+     */
+    public boolean overlaps(Appointment other) {
+        return getStartEpochSecond() < other.getEndEpochSecond() && other.getStartEpochSecond() < getEndEpochSecond();
+    }
 }
 
 
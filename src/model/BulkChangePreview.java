@@ -0,0 +1,189 @@
+package model;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The proposed result of moving or reassigning a set of appointments, computed before anything is written so the
+ * user can review conflicts first. Occurrences of recurring series that matched the filter are listed separately,
+ * because bulk changes apply to single appointments only.
+ * <p></p>
+ * Each change is applied only if its appointment still has the Last_Update it had when the preview was built, so a
+ * bulk change does not overwrite an edit made in the meantime. Changes skipped for that reason are added to the
+ * conflicts with {@link #withChangedSincePreview}.
+ */
+public class BulkChangePreview {
+
+    /**
+     * Reason recorded for a change that was not applied because its appointment was changed or deleted after the
+     * preview was built.
+     */
+    public static final String CHANGED_SINCE_PREVIEW = "Changed or deleted by someone else since the preview";
+
+    /**
+     * The matched appointments with their proposed times and contacts.
+     */
+    private final List<Appointment> changes;
+
+    /**
+     * Conflicts found among the proposed changes.
+     */
+    private final List<ScheduleConflict> conflicts;
+
+    /**
+     * The proposed changes that can be applied without conflicts, leaving the conflicting appointments where they
+     * are.
+     */
+    private final List<Appointment> changesWithoutConflicts;
+
+    /**
+     * Occurrences of recurring series that matched the filter but are not changed.
+     */
+    private final List<Appointment> skippedOccurrences;
+
+    /**
+     * The Last_Update each changed appointment had when the preview was built, by appointment ID. Null values stand
+     * for appointments that had never been updated.
+     */
+    private final Map<Integer, Timestamp> previewedLastUpdates;
+
+    /**
+     * Conflicts for changes that were not applied because their appointments were changed after the preview.
+     */
+    private final List<ScheduleConflict> changedSincePreview;
+
+    /**
+     * Constructs a BulkChangePreview.
+     *
+     * @param changes                 The matched appointments with their proposed times and contacts.
+     * @param conflicts               Conflicts found among the proposed changes.
+     * @param changesWithoutConflicts The proposed changes that can be applied without conflicts.
+     * @param skippedOccurrences      Occurrences of recurring series that matched the filter but are not changed.
+     * @param previewedLastUpdates    The Last_Update each changed appointment had when the preview was built.
+     */
+    public BulkChangePreview(List<Appointment> changes, List<ScheduleConflict> conflicts,
+                             List<Appointment> changesWithoutConflicts, List<Appointment> skippedOccurrences,
+                             Map<Integer, Timestamp> previewedLastUpdates) {
+        this(changes, conflicts, changesWithoutConflicts, skippedOccurrences, previewedLastUpdates,
+                Collections.emptyList());
+    }
+
+    /**
+     * Constructs a BulkChangePreview, including changes found to have been changed since the preview.
+     *
+     * @param changes                 The matched appointments with their proposed times and contacts.
+     * @param conflicts               Conflicts found among the proposed changes.
+     * @param changesWithoutConflicts The proposed changes that can be applied without conflicts.
+     * @param skippedOccurrences      Occurrences of recurring series that matched the filter but are not changed.
+     * @param previewedLastUpdates    The Last_Update each changed appointment had when the preview was built.
+     * @param changedSincePreview     Conflicts for changes whose appointments were changed after the preview.
+     */
+    private BulkChangePreview(List<Appointment> changes, List<ScheduleConflict> conflicts,
+                              List<Appointment> changesWithoutConflicts, List<Appointment> skippedOccurrences,
+                              Map<Integer, Timestamp> previewedLastUpdates,
+                              List<ScheduleConflict> changedSincePreview) {
+        this.changes = Collections.unmodifiableList(changes);
+        this.conflicts = Collections.unmodifiableList(conflicts);
+        this.changesWithoutConflicts = Collections.unmodifiableList(changesWithoutConflicts);
+        this.skippedOccurrences = Collections.unmodifiableList(skippedOccurrences);
+        this.previewedLastUpdates = Collections.unmodifiableMap(previewedLastUpdates);
+        this.changedSincePreview = Collections.unmodifiableList(changedSincePreview);
+    }
+
+    /**
+     * Returns a copy of this preview in which changes that could not be applied, because their appointments were
+     * changed or deleted after the preview was built, are conflicts rather than changes without conflicts.
+     *
+     * @param changedAppointments The proposed changes that were not applied.
+     * @return The updated preview.
+     */
+    public BulkChangePreview withChangedSincePreview(List<Appointment> changedAppointments) {
+        Set<Integer> changedIds = new HashSet<>();
+        List<ScheduleConflict> newConflicts = new ArrayList<>();
+        for (Appointment appointment : changedAppointments) {
+            changedIds.add(appointment.getId());
+            newConflicts.add(new ScheduleConflict(appointment, null, CHANGED_SINCE_PREVIEW));
+        }
+        List<ScheduleConflict> allConflicts = new ArrayList<>(conflicts);
+        allConflicts.addAll(newConflicts);
+        List<Appointment> remaining = new ArrayList<>();
+        for (Appointment change : changesWithoutConflicts) {
+            if (!changedIds.contains(change.getId())) {
+                remaining.add(change);
+            }
+        }
+        return new BulkChangePreview(changes, allConflicts, remaining, skippedOccurrences, previewedLastUpdates,
+                newConflicts);
+    }
+
+    /**
+     * Returns the proposed changes.
+     *
+     * @return an unmodifiable list of appointments with their proposed times and contacts
+     */
+    public List<Appointment> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns the conflicts found among the proposed changes.
+     *
+     * @return an unmodifiable list of conflicts
+     */
+    public List<ScheduleConflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the Last_Update each changed appointment had when the preview was built, for checking that nobody has
+     * changed the appointments since.
+     *
+     * @return an unmodifiable map of appointment ID to Last_Update, with null for appointments never updated
+     */
+    public Map<Integer, Timestamp> getPreviewedLastUpdates() {
+        return previewedLastUpdates;
+    }
+
+    /**
+     * Returns the conflicts for changes that were not applied because their appointments were changed or deleted
+     * after the preview was built.
+     *
+     * @return an unmodifiable list of conflicts, empty unless returned by {@link #withChangedSincePreview}
+     */
+    public List<ScheduleConflict> getChangedSincePreview() {
+        return changedSincePreview;
+    }
+
+    /**
+     * Returns the occurrences of recurring series that matched the filter but are not changed.
+     *
+     * @return an unmodifiable list of occurrences
+     */
+    public List<Appointment> getSkippedOccurrences() {
+        return skippedOccurrences;
+    }
+
+    /**
+     * Checks whether any proposed change conflicts.
+     *
+     * @return true if there are conflicts, false otherwise
+     */
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    /**
+     * Returns the proposed changes that can be applied without conflicts. Appointments left out stay at their
+     * current times, and none of the returned changes overlap them.
+     *
+     * @return an unmodifiable list of appointments with their proposed times and contacts
+     */
+    public List<Appointment> getChangesWithoutConflicts() {
+        return changesWithoutConflicts;
+    }
+}
@@ -52,6 +52,10 @@ public class Customer {
      * The customer's address.
      */
     private String address;
+    /**
+     * The ID of the customer's division, or null if only the division's name is known.
+     */
+    private Integer divisionId;
 
     /**
      * Constructs a Customer with specified details.
@@ -145,6 +149,25 @@ public class Customer {
         return stateProvince;
     }
 
+    /**
+     * Returns the ID of the customer's division, if known. Division names are not unique across countries, so a
+     * division resolved together with its country is carried by ID.
+     *
+     * @return the division ID, or null if only the division's name is known
+     */
+    public Integer getDivisionId() {
+        return divisionId;
+    }
+
+    /**
+     * Sets the ID of the customer's division.
+     *
+     * @param divisionId the division ID, or null if only the division's name is known
+     */
+    public void setDivisionId(Integer divisionId) {
+        this.divisionId = divisionId;
+    }
+
     /**
      * Returns the customer's postal code.
      *
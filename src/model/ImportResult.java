@@ -0,0 +1,107 @@
+package model;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of an import: how many records were imported and rejected, where rejected records were
+ * written, how long the import took, and the error that stopped it, if any.
+ */
+public class ImportResult {
+
+    /**
+     * The number of records committed to the database.
+     */
+    private final int importedCount;
+
+    /**
+     * The number of records rejected by validation.
+     */
+    private final int rejectedCount;
+
+    /**
+     * The file rejected records were written to, or null if none were rejected.
+     */
+    private final Path rejectedRowsFile;
+
+    /**
+     * How long the import took, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * The error that stopped the import, or null if it ran to completion.
+     */
+    private final String error;
+
+    /**
+     * Constructs an ImportResult.
+     *
+     * @param importedCount    The number of records committed to the database.
+     * @param rejectedCount    The number of records rejected by validation.
+     * @param rejectedRowsFile The file rejected records were written to, or null if none were rejected.
+     * @param elapsedNanos     How long the import took, in nanoseconds.
+     * @param error            The error that stopped the import, or null if it ran to completion.
+     */
+    public ImportResult(int importedCount, int rejectedCount, Path rejectedRowsFile, long elapsedNanos,
+                        String error) {
+        this.importedCount = importedCount;
+        this.rejectedCount = rejectedCount;
+        this.rejectedRowsFile = rejectedRowsFile;
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+
+    /**
+     * Returns the number of records committed to the database.
+     *
+     * @return the imported count
+     */
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * Returns the number of records rejected by validation.
+     *
+     * @return the rejected count
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns the file rejected records were written to.
+     *
+     * @return the rejected rows file, or null if none were rejected
+     */
+    public Path getRejectedRowsFile() {
+        return rejectedRowsFile;
+    }
+
+    /**
+     * Returns how long the import took, in milliseconds.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Returns the import throughput.
+     *
+     * @return imported appointments per second
+     */
+    public long getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : importedCount * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Returns the error that stopped the import.
+     *
+     * @return the error message, or null if the import ran to completion
+     */
+    public String getError() {
+        return error;
+    }
+}
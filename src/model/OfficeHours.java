@@ -0,0 +1,105 @@
+package model;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Represents the business hours of an office, expressed as opening and closing times in the office's time zone.
+ */
+public class OfficeHours {
+
+    /**
+     * The time zone the office operates in.
+     */
+    private final ZoneId zone;
+
+    /**
+     * The time the office opens, in the office's time zone.
+     */
+    private final LocalTime openTime;
+
+    /**
+     * The time the office closes, in the office's time zone.
+     */
+    private final LocalTime closeTime;
+
+    /**
+     * Constructs OfficeHours for an office zone with opening and closing times.
+     *
+     * @param zone      The time zone the office operates in.
+     * @param openTime  The time the office opens.
+     * @param closeTime The time the office closes.
+     */
+    public OfficeHours(ZoneId zone, LocalTime openTime, LocalTime closeTime) {
+        this.zone = zone;
+        this.openTime = openTime;
+        this.closeTime = closeTime;
+    }
+
+    /**
+     * Returns the office time zone.
+     *
+     * @return the office time zone
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns the opening time.
+     *
+     * @return the opening time
+     */
+    public LocalTime getOpenTime() {
+        return openTime;
+    }
+
+    /**
+     * Returns the closing time.
+     *
+     * @return the closing time
+     */
+    public LocalTime getCloseTime() {
+        return closeTime;
+    }
+
+    /**
+     * Checks whether a time range starts and ends within a single business-hours window. If the office closes at or
+     * before the time it opens, each window runs overnight into the next office date, so a range starting after
+     * midnight belongs to the window that opened the day before.
+     *
+     * @param start The start of the range.
+     * @param end   The end of the range.
+     * @return true if the range is within business hours, false otherwise.
+     */
+    public boolean contains(Instant start, Instant end) {
+        ZonedDateTime officeStart = start.atZone(zone);
+        ZonedDateTime officeEnd = end.atZone(zone);
+        boolean overnight = !closeTime.isAfter(openTime);
+        ZonedDateTime open = officeStart.with(openTime);
+        if (overnight && officeStart.toLocalTime().isBefore(closeTime)) {
+            open = officeStart.minusDays(1).with(openTime);
+        }
+        ZonedDateTime close = overnight ? open.plusDays(1).with(closeTime) : open.with(closeTime);
+        return !officeStart.isBefore(open) && !officeEnd.isAfter(close);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OfficeHours other)) {
+            return false;
+        }
+        return zone.equals(other.zone) && openTime.equals(other.openTime) && closeTime.equals(other.closeTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(zone, openTime, closeTime);
+    }
+}
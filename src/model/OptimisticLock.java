@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * The check that guards an optimistic update, shared by the DAOs that return an {@link UpdateResult}. An update only
+ * applies to a row whose last update time is still the one the record was read with.
+ */
+public class OptimisticLock {
+
+    /**
+     * Matches a row whose Last_Update is unchanged. Takes the expected last update time as both of its parameters,
+     * so rows that were never updated can be matched by a null time.
+     */
+    public static final String LAST_UPDATE_UNCHANGED = "(Last_Update = ? OR (Last_Update IS NULL AND ? IS NULL))";
+}
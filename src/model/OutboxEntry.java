@@ -0,0 +1,148 @@
+package model;
+
+import java.sql.Timestamp;
+
+/**
+ * A change made in the local replica that has not been sent to the MySQL server yet. The entry only names the
+ * changed record; the record's current values are read from the replica when the change is sent, so several edits
+ * to a record made while offline are sent as one.
+ */
+public class OutboxEntry {
+
+    /**
+     * The kinds of record that are synchronized.
+     */
+    public enum Entity {
+
+        /**
+         * An appointment, together with its recurrence rule.
+         */
+        APPOINTMENT,
+
+        /**
+         * A customer.
+         */
+        CUSTOMER
+    }
+
+    /**
+     * The kinds of change.
+     */
+    public enum Operation {
+
+        /**
+         * The record was inserted or updated.
+         */
+        SAVE,
+
+        /**
+         * The record was deleted.
+         */
+        DELETE
+    }
+
+    /**
+     * The position of the entry in the outbox. Entries are sent in this order.
+     */
+    private final long id;
+
+    /**
+     * The kind of record changed.
+     */
+    private final Entity entity;
+
+    /**
+     * The ID of the record changed.
+     */
+    private final int entityId;
+
+    /**
+     * The kind of change.
+     */
+    private final Operation operation;
+
+    /**
+     * The record's last update time when the user started the change, or null if not known. Used to tell whether
+     * someone else changed the record on the server in the meantime.
+     */
+    private final Timestamp baseLastUpdate;
+
+    /**
+     * The ID reserved on the server for a record created locally, or null if none has been reserved yet.
+     */
+    private final Integer serverId;
+
+    /**
+     * Constructs an OutboxEntry.
+     *
+     * @param id             The position of the entry in the outbox.
+     * @param entity         The kind of record changed.
+     * @param entityId       The ID of the record changed.
+     * @param operation      The kind of change.
+     * @param baseLastUpdate The record's last update time when the change was started, or null if not known.
+     * @param serverId       The ID reserved on the server for a record created locally, or null if none.
+     */
+    public OutboxEntry(long id, Entity entity, int entityId, Operation operation, Timestamp baseLastUpdate,
+                       Integer serverId) {
+        this.id = id;
+        this.entity = entity;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.baseLastUpdate = baseLastUpdate;
+        this.serverId = serverId;
+    }
+
+    /**
+     * Returns the position of the entry in the outbox.
+     *
+     * @return the entry id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the kind of record changed.
+     *
+     * @return the entity
+     */
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Returns the ID of the record changed.
+     *
+     * @return the record id
+     */
+    public int getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return the operation
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the record's last update time when the change was started.
+     *
+     * @return the base last update time, or null if not known
+     */
+    public Timestamp getBaseLastUpdate() {
+        return baseLastUpdate;
+    }
+
+    /**
+     * Returns the ID reserved on the server for a record created locally.
+     *
+     * @return the server id, or null if none has been reserved
+     */
+    public Integer getServerId() {
+        return serverId;
+    }
+}
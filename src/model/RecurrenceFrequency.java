@@ -0,0 +1,78 @@
+package model;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * How often a recurring appointment repeats.
+ */
+public enum RecurrenceFrequency {
+
+    /**
+     * Repeats every day.
+     */
+    DAILY("Daily", ChronoUnit.DAYS),
+
+    /**
+     * Repeats every week on the same day of the week.
+     */
+    WEEKLY("Weekly", ChronoUnit.WEEKS),
+
+    /**
+     * Repeats every month on the same day of the month.
+     */
+    MONTHLY("Monthly", ChronoUnit.MONTHS);
+
+    /**
+     * The name shown for the frequency in the UI.
+     */
+    private final String displayName;
+
+    /**
+     * The calendar unit one repetition advances by.
+     */
+    private final ChronoUnit unit;
+
+    /**
+     * Constructs a RecurrenceFrequency.
+     *
+     * @param displayName The name shown for the frequency in the UI.
+     * @param unit        The calendar unit one repetition advances by.
+     */
+    RecurrenceFrequency(String displayName, ChronoUnit unit) {
+        this.displayName = displayName;
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the name shown for the frequency in the UI.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the calendar unit one repetition advances by.
+     *
+     * @return the unit
+     */
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Finds the frequency with the given display name.
+     *
+     * @param displayName The display name to look up.
+     * @return The matching frequency, or null if there is none.
+     */
+    public static RecurrenceFrequency fromDisplayName(String displayName) {
+        for (RecurrenceFrequency frequency : values()) {
+            if (frequency.displayName.equals(displayName)) {
+                return frequency;
+            }
+        }
+        return null;
+    }
+}
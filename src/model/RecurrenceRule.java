@@ -0,0 +1,191 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Describes how an appointment repeats: its frequency and interval, an optional limit on the number of occurrences
+ * or the last date it may occur on, and the dates of any occurrences that have been cancelled. A rule is stored once
+ * for the whole series, and occurrences are only calculated for the date range being viewed or checked.
+ * <p></p>
+ * Occurrence {@code n} starts {@code n * interval} units after the series start. Monthly series that start late in
+ * the month land on the last day of shorter months.
+ */
+public class RecurrenceRule {
+
+    /**
+     * How often the appointment repeats.
+     */
+    private final RecurrenceFrequency frequency;
+
+    /**
+     * The number of frequency units between occurrences (ex: 2 for every other week).
+     */
+    private final int interval;
+
+    /**
+     * The maximum number of occurrences, including cancelled ones, or null if not limited by count.
+     */
+    private final Integer count;
+
+    /**
+     * The last date an occurrence may start on, or null if not limited by date.
+     */
+    private final LocalDate until;
+
+    /**
+     * Start dates of cancelled occurrences.
+     */
+    private final Set<LocalDate> exceptions;
+
+    /**
+     * Constructs a RecurrenceRule.
+     *
+     * @param frequency  How often the appointment repeats.
+     * @param interval   The number of frequency units between occurrences, at least 1.
+     * @param count      The maximum number of occurrences, or null for no limit.
+     * @param until      The last date an occurrence may start on, or null for no limit.
+     * @param exceptions Start dates of cancelled occurrences.
+     */
+    public RecurrenceRule(RecurrenceFrequency frequency, int interval, Integer count, LocalDate until,
+                          Set<LocalDate> exceptions) {
+        this.frequency = frequency;
+        this.interval = Math.max(interval, 1);
+        this.count = count;
+        this.until = until;
+        this.exceptions = Collections.unmodifiableSet(new TreeSet<>(exceptions));
+    }
+
+    /**
+     * Returns how often the appointment repeats.
+     *
+     * @return the frequency
+     */
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Returns the number of frequency units between occurrences.
+     *
+     * @return the interval
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Returns the maximum number of occurrences.
+     *
+     * @return the count, or null if not limited by count
+     */
+    public Integer getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the last date an occurrence may start on.
+     *
+     * @return the until date, or null if not limited by date
+     */
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Returns the start dates of cancelled occurrences.
+     *
+     * @return an unmodifiable, sorted set of dates
+     */
+    public Set<LocalDate> getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Returns a copy of this rule with the occurrence on the given date cancelled.
+     *
+     * @param date The start date of the occurrence to cancel.
+     * @return The new rule.
+     */
+    public RecurrenceRule withException(LocalDate date) {
+        Set<LocalDate> newExceptions = new TreeSet<>(exceptions);
+        newExceptions.add(date);
+        return new RecurrenceRule(frequency, interval, count, until, newExceptions);
+    }
+
+    /**
+     * Returns whether the series ends, either after a number of occurrences or on a date.
+     *
+     * @return true if the series is bounded, false if it repeats indefinitely
+     */
+    public boolean isBounded() {
+        return count != null || until != null;
+    }
+
+    /**
+     * Returns the start of the nth occurrence of a series, counting from zero. Cancelled occurrences are included.
+     *
+     * @param seriesStart The start of the first occurrence.
+     * @param n           The occurrence number.
+     * @return The start of the occurrence.
+     */
+    public LocalDateTime occurrenceStart(LocalDateTime seriesStart, long n) {
+        return seriesStart.plus(n * interval, frequency.getUnit());
+    }
+
+    /**
+     * Returns the start of the last occurrence of a series.
+     *
+     * @param seriesStart The start of the first occurrence.
+     * @return The start of the last occurrence, or null if the series repeats indefinitely.
+     */
+    public LocalDateTime lastOccurrenceStart(LocalDateTime seriesStart) {
+        if (!isBounded()) {
+            return null;
+        }
+        long last = count != null ? count - 1 : Long.MAX_VALUE;
+        if (until != null) {
+            long untilIndex = frequency.getUnit().between(seriesStart, until.plusDays(1).atStartOfDay()) / interval;
+            // Step back past any occurrence that falls after the until date
+            while (untilIndex > 0 && occurrenceStart(seriesStart, untilIndex).toLocalDate().isAfter(until)) {
+                untilIndex--;
+            }
+            last = Math.min(last, untilIndex);
+        }
+        return occurrenceStart(seriesStart, Math.max(last, 0));
+    }
+
+    /**
+     * Calculates the starts of the occurrences of a series that start within a range. Only the occurrences in the
+     * range are visited, so the cost depends on the size of the range rather than on how long the series has run.
+     *
+     * @param seriesStart The start of the first occurrence.
+     * @param rangeStart  The start of the range, inclusive.
+     * @param rangeEnd    The end of the range, exclusive.
+     * @return The occurrence starts within the range, in chronological order, excluding cancelled occurrences.
+     */
+    public List<LocalDateTime> occurrenceStartsBetween(LocalDateTime seriesStart, LocalDateTime rangeStart,
+                                                       LocalDateTime rangeEnd) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        long n = 0;
+        if (rangeStart.isAfter(seriesStart)) {
+            // Jump to just before the range; month lengths vary, so back off one step to be safe
+            n = Math.max(frequency.getUnit().between(seriesStart, rangeStart) / interval - 1, 0);
+        }
+        for (; count == null || n < count; n++) {
+            LocalDateTime start = occurrenceStart(seriesStart, n);
+            if (!start.isBefore(rangeEnd) || (until != null && start.toLocalDate().isAfter(until))) {
+                break;
+            }
+            if (!start.isBefore(rangeStart) && !exceptions.contains(start.toLocalDate())) {
+                starts.add(start);
+            }
+        }
+        return starts;
+    }
+}
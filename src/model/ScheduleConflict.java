@@ -0,0 +1,86 @@
+package model;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A problem found with a proposed appointment change: the changed appointment would overlap another appointment for
+ * the same customer or contact, would fall outside business hours, or was changed by someone else after the change
+ * was previewed.
+ */
+public class ScheduleConflict {
+
+    /**
+     * Formats appointment times in conflict descriptions (ex: 2024-03-05 2:30 PM)
+     */
+    private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd h:mm a");
+
+    /**
+     * The changed appointment, with its proposed time and contact.
+     */
+    private final Appointment appointment;
+
+    /**
+     * The appointment it would overlap, or null if the conflict is not with another appointment.
+     */
+    private final Appointment conflictingAppointment;
+
+    /**
+     * Why the change conflicts.
+     */
+    private final String reason;
+
+    /**
+     * Constructs a ScheduleConflict.
+     *
+     * @param appointment            The changed appointment, with its proposed time and contact.
+     * @param conflictingAppointment The appointment it would overlap, or null.
+     * @param reason                 Why the change conflicts.
+     */
+    public ScheduleConflict(Appointment appointment, Appointment conflictingAppointment, String reason) {
+        this.appointment = appointment;
+        this.conflictingAppointment = conflictingAppointment;
+        this.reason = reason;
+    }
+
+    /**
+     * Returns the changed appointment.
+     *
+     * @return the changed appointment
+     */
+    public Appointment getAppointment() {
+        return appointment;
+    }
+
+    /**
+     * Returns the appointment the change would overlap.
+     *
+     * @return the conflicting appointment, or null
+     */
+    public Appointment getConflictingAppointment() {
+        return conflictingAppointment;
+    }
+
+    /**
+     * Returns why the change conflicts.
+     *
+     * @return the reason
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Describes the conflict in one line for display to the user.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        String description = "Appointment " + appointment.getId() + " at " +
+                appointment.getStartTime().format(dateTimeFormatter) + ": " + reason;
+        if (conflictingAppointment != null) {
+            description += " (appointment " + conflictingAppointment.getId() + " at " +
+                    conflictingAppointment.getStartTime().format(dateTimeFormatter) + ")";
+        }
+        return description;
+    }
+}
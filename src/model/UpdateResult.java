@@ -0,0 +1,127 @@
+package model;
+
+/**
+ * The outcome of an update guarded by optimistic concurrency. An update only applies if the record has not changed
+ * since it was read, which is checked against its last update time. If it has changed, the result carries the record
+ * as it is now, so the user can review it before deciding what to do.
+ *
+ * @param <T> The type of record updated.
+ */
+public class UpdateResult<T> {
+
+    /**
+     * The possible outcomes of an update.
+     */
+    public enum Status {
+
+        /**
+         * The update was applied.
+         */
+        UPDATED,
+
+        /**
+         * The record was changed by someone else since it was read, so the update was not applied.
+         */
+        CONFLICT,
+
+        /**
+         * The record no longer exists.
+         */
+        NOT_FOUND,
+
+        /**
+         * The update failed because of a database error.
+         */
+        FAILED
+    }
+
+    /**
+     * The outcome of the update.
+     */
+    private final Status status;
+
+    /**
+     * The record as it is now: the updated record, or the current record after a conflict.
+     */
+    private final T current;
+
+    /**
+     * Constructs an UpdateResult.
+     *
+     * @param status  The outcome of the update.
+     * @param current The record as it is now, or null if unknown.
+     */
+    private UpdateResult(Status status, T current) {
+        this.status = status;
+        this.current = current;
+    }
+
+    /**
+     * Creates the result of an update that was applied.
+     *
+     * @param updated The updated record.
+     * @param <T>     The type of record updated.
+     * @return The result.
+     */
+    public static <T> UpdateResult<T> updated(T updated) {
+        return new UpdateResult<>(Status.UPDATED, updated);
+    }
+
+    /**
+     * Creates the result of an update that was not applied because the record had changed.
+     *
+     * @param current The record as it is now.
+     * @param <T>     The type of record updated.
+     * @return The result.
+     */
+    public static <T> UpdateResult<T> conflict(T current) {
+        return new UpdateResult<>(Status.CONFLICT, current);
+    }
+
+    /**
+     * Creates the result of an update to a record that no longer exists.
+     *
+     * @param <T> The type of record updated.
+     * @return The result.
+     */
+    public static <T> UpdateResult<T> notFound() {
+        return new UpdateResult<>(Status.NOT_FOUND, null);
+    }
+
+    /**
+     * Creates the result of an update that failed because of a database error.
+     *
+     * @param <T> The type of record updated.
+     * @return The result.
+     */
+    public static <T> UpdateResult<T> failed() {
+        return new UpdateResult<>(Status.FAILED, null);
+    }
+
+    /**
+     * Returns the outcome of the update.
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the record as it is now.
+     *
+     * @return the updated record, the current record after a conflict, or null
+     */
+    public T getCurrent() {
+        return current;
+    }
+
+    /**
+     * Checks whether the update was applied.
+     *
+     * @return true if the update was applied, false otherwise
+     */
+    public boolean isUpdated() {
+        return status == Status.UPDATED;
+    }
+}
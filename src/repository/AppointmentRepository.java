@@ -0,0 +1,185 @@
+package repository;
+
+import model.Appointment;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores and queries appointments. Times are in the user's local time zone. A recurring appointment is stored once,
+ * as its series' first occurrence; queries bounded by a date range expand the occurrences within the range, and
+ * unbounded queries return each series once.
+ */
+public interface AppointmentRepository {
+
+    /**
+     * Inserts a new appointment, along with its recurrence rule if it repeats.
+     *
+     * @param appointment The appointment to insert. Its ID is ignored, and set to the new ID on success.
+     * @return True if the appointment was inserted, false otherwise.
+     */
+    boolean insertAppointment(Appointment appointment);
+
+    /**
+     * Updates an appointment, provided nobody else has updated it since it was read.
+     *
+     * @param appointment        The appointment with updated details.
+     * @param expectedLastUpdate The appointment's last update time when it was read.
+     * @return The result of the update, with the current appointment if someone else changed it first.
+     */
+    UpdateResult<Appointment> updateAppointment(Appointment appointment, Timestamp expectedLastUpdate);
+
+    /**
+     * Deletes an appointment. For a recurring appointment, deletes the whole series.
+     *
+     * @param appointmentId The ID of the appointment.
+     * @return True if the appointment was deleted, false otherwise.
+     */
+    boolean deleteAppointment(int appointmentId);
+
+    /**
+     * Deletes a set of appointments together. If the deletion fails, none of them are deleted.
+     *
+     * @param appointmentIds The IDs of the appointments.
+     * @return The number of appointments deleted, or -1 if the deletion failed.
+     */
+    int deleteAppointments(List<Integer> appointmentIds);
+
+    /**
+     * Moves and reassigns a set of appointments together. An appointment is only changed if its Last_Update is still
+     * the one it had when the change was previewed; appointments changed or deleted since are left as they are and
+     * returned, and the other changes are kept.
+     *
+     * @param appointments         The appointments with their new times and contacts. Recurring series are not
+     *                             supported.
+     * @param previewedLastUpdates The Last_Update each appointment had when the change was previewed, by ID.
+     * @return The appointments not changed because they were changed or deleted since the preview, or null if the
+     * changes could not be saved, in which case none were kept.
+     */
+    List<Appointment> rescheduleAppointments(List<Appointment> appointments,
+                                             Map<Integer, Timestamp> previewedLastUpdates);
+
+    /**
+     * Cancels a single occurrence of a recurring appointment, leaving the rest of the series unchanged.
+     *
+     * @param occurrence The occurrence to cancel.
+     * @return True if the occurrence was cancelled, false otherwise.
+     */
+    boolean cancelOccurrence(Appointment occurrence);
+
+    /**
+     * Gets an appointment by its ID. A recurring appointment is returned as its series' first occurrence.
+     *
+     * @param appointmentId The ID of the appointment.
+     * @return The appointment, or null if not found.
+     */
+    Appointment selectAppointmentById(int appointmentId);
+
+    /**
+     * Gets all appointments, returning each recurring series once.
+     *
+     * @return All appointments.
+     */
+    List<Appointment> selectAllAppointments();
+
+    /**
+     * Gets all appointments for a customer, returning each recurring series once.
+     *
+     * @param customerId The ID of the customer.
+     * @return The customer's appointments.
+     */
+    List<Appointment> selectAppointmentsByCustomerId(int customerId);
+
+    /**
+     * Gets all appointments for a contact, returning each recurring series once.
+     *
+     * @param contactId The ID of the contact.
+     * @return The contact's appointments.
+     */
+    List<Appointment> selectAppointmentsByContactId(int contactId);
+
+    /**
+     * Gets the appointments that do not repeat and start within the next 15 minutes for the logged-in user.
+     *
+     * @return The upcoming appointments.
+     */
+    List<Appointment> selectUpcomingAppointmentsForCurrentUser();
+
+    /**
+     * Gets a customer's appointments that overlap a range, including occurrences of recurring appointments.
+     *
+     * @param customerId           The ID of the customer.
+     * @param desiredStartDateTime The start of the range.
+     * @param desiredEndDateTime   The end of the range.
+     * @return The overlapping appointments.
+     */
+    List<Appointment> selectAppointmentsWithRangeConflictForCustomerID(int customerId,
+                                                                       LocalDateTime desiredStartDateTime,
+                                                                       LocalDateTime desiredEndDateTime);
+
+    /**
+     * Gets the appointments starting within a range, including occurrences of recurring appointments.
+     *
+     * @param rangeStart The start of the range, inclusive.
+     * @param rangeEnd   The end of the range, exclusive.
+     * @return The appointments, in order of start time.
+     */
+    List<Appointment> selectAppointmentsStartingBetween(LocalDateTime rangeStart, LocalDateTime rangeEnd);
+
+    /**
+     * Gets a contact's appointments starting within a range, including occurrences of recurring appointments.
+     *
+     * @param contactId  The ID of the contact.
+     * @param rangeStart The start of the range, inclusive.
+     * @param rangeEnd   The end of the range, exclusive.
+     * @return The appointments, in order of start time.
+     */
+    List<Appointment> selectAppointmentsForContactStartingBetween(int contactId, LocalDateTime rangeStart,
+                                                                  LocalDateTime rangeEnd);
+
+    /**
+     * Gets all appointments that overlap a range, including occurrences of recurring appointments.
+     *
+     * @param rangeStart The start of the range.
+     * @param rangeEnd   The end of the range.
+     * @return The overlapping appointments.
+     */
+    List<Appointment> selectAppointmentsOverlapping(LocalDateTime rangeStart, LocalDateTime rangeEnd);
+
+    /**
+     * Gets the appointments for the current week, Sunday through Saturday.
+     *
+     * @return The appointments, in order of start time.
+     */
+    default List<Appointment> selectAppointmentsForCurrentWeek() {
+        LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        return selectAppointmentsStartingBetween(weekStart.atStartOfDay(), weekStart.plusWeeks(1).atStartOfDay());
+    }
+
+    /**
+     * Gets the appointments for the current month.
+     *
+     * @return The appointments, in order of start time.
+     */
+    default List<Appointment> selectAppointmentsForCurrentMonth() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        return selectAppointmentsStartingBetween(monthStart.atStartOfDay(), monthStart.plusMonths(1).atStartOfDay());
+    }
+
+    /**
+     * Opens a writer for inserting appointments in bulk.
+     *
+     * @param batchSize  Number of appointments sent to the store per batch.
+     * @param commitSize Number of appointments committed together.
+     * @return The writer. The caller must close or abort it.
+     * @throws SQLException If the writer cannot be opened.
+     */
+    RecordWriter<Appointment> openBatchWriter(int batchSize, int commitSize) throws SQLException;
+}
@@ -0,0 +1,50 @@
+package repository;
+
+import model.Contact;
+
+import java.util.List;
+
+/**
+ * Stores and queries contacts. Writes discard the cached reference data so later lookups see the change.
+ */
+public interface ContactRepository {
+
+    /**
+     * Inserts a new contact.
+     *
+     * @param contact The contact to insert. Its ID is ignored.
+     * @return True if the contact was inserted, false otherwise.
+     */
+    boolean insertContact(Contact contact);
+
+    /**
+     * Updates a contact.
+     *
+     * @param contact The contact with updated details.
+     * @return True if the contact was updated, false otherwise.
+     */
+    boolean updateContact(Contact contact);
+
+    /**
+     * Deletes a contact.
+     *
+     * @param contactId The ID of the contact.
+     * @return True if the contact was deleted, false otherwise.
+     */
+    boolean deleteContact(int contactId);
+
+    /**
+     * Gets a contact by ID.
+     *
+     * @param contactId The ID of the contact.
+     * @return The contact, or null if not found.
+     */
+    Contact selectContactById(int contactId);
+
+    /**
+     * Gets all contacts.
+     *
+     * @return All contacts.
+     */
+    List<Contact> selectAllContacts();
+}
@@ -0,0 +1,74 @@
+package repository;
+
+import model.Customer;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Stores and queries customers. A customer's state or province and country are looked up from its division.
+ */
+public interface CustomerRepository {
+
+    /**
+     * Inserts a new customer.
+     *
+     * @param customer The customer to insert. Its ID is ignored, and set to the new ID on success.
+     * @return True if the customer was inserted, false otherwise.
+     */
+    boolean insertCustomer(Customer customer);
+
+    /**
+     * Updates a customer, provided nobody else has updated it since it was read.
+     *
+     * @param customer           The customer with updated details.
+     * @param expectedLastUpdate The customer's last update time when it was read.
+     * @return The result of the update, with the current customer if someone else changed it first.
+     */
+    UpdateResult<Customer> updateCustomer(Customer customer, Timestamp expectedLastUpdate);
+
+    /**
+     * Deletes a customer along with the customer's appointments.
+     *
+     * @param id The ID of the customer.
+     * @return True if the customer was deleted, false otherwise.
+     */
+    default boolean deleteCustomer(int id) {
+        return deleteCustomers(List.of(id)) > 0;
+    }
+
+    /**
+     * Deletes a set of customers together, along with their appointments. If the deletion fails, nothing is deleted.
+     *
+     * @param ids The IDs of the customers.
+     * @return The number of customers deleted, or -1 if the deletion failed.
+     */
+    int deleteCustomers(List<Integer> ids);
+
+    /**
+     * Gets all customers.
+     *
+     * @return All customers.
+     */
+    List<Customer> selectAllCustomers();
+
+    /**
+     * Gets a customer by ID.
+     *
+     * @param id The ID of the customer.
+     * @return The customer, or null if not found.
+     */
+    Customer selectCustomerById(int id);
+
+    /**
+     * Opens a writer for inserting customers in bulk.
+     *
+     * @param batchSize  Number of customers sent to the store per batch.
+     * @param commitSize Number of customers committed together.
+     * @return The writer. The caller must close or abort it.
+     * @throws SQLException If the writer cannot be opened.
+     */
+    RecordWriter<Customer> openBatchWriter(int batchSize, int commitSize) throws SQLException;
+}
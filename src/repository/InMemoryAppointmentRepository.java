@@ -0,0 +1,295 @@
+package repository;
+
+import controller.UserLogin;
+import helper.Log;
+import helper.TimeConversion;
+import model.Appointment;
+import model.UpdateResult;
+import model.User;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Stores appointments in an {@link InMemoryStore}, with the same semantics as {@link JdbcAppointmentRepository}:
+ * appointments must refer to an existing customer, user, and contact, updates are checked against the last update
+ * time, and recurring appointments are stored once and expanded by range queries.
+ */
+public class InMemoryAppointmentRepository implements AppointmentRepository {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(InMemoryAppointmentRepository.class);
+
+    /**
+     * The store holding the appointments.
+     */
+    private final InMemoryStore store;
+
+    /**
+     * Constructs an InMemoryAppointmentRepository.
+     *
+     * @param store The store holding the appointments.
+     */
+    public InMemoryAppointmentRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertAppointment(Appointment appointment) {
+        synchronized (store) {
+            if (!referencesExist(appointment)) {
+                return false;
+            }
+            int id = store.lastAppointmentId.incrementAndGet();
+            store.appointments.put(id, InMemoryStore.copy(appointment, id));
+            appointment.setId(id);
+            return true;
+        }
+    }
+
+    @Override
+    public UpdateResult<Appointment> updateAppointment(Appointment appointment, Timestamp expectedLastUpdate) {
+        synchronized (store) {
+            Appointment current = store.appointments.get(appointment.getId());
+            if (current == null) {
+                return UpdateResult.notFound();
+            }
+            if (!Objects.equals(current.getLastUpdate(), expectedLastUpdate)) {
+                log.trace(() -> "                 Update conflict for appointment " + appointment.getId());
+                return UpdateResult.conflict(InMemoryStore.copy(current, current.getId()));
+            }
+            if (!referencesExist(appointment)) {
+                return UpdateResult.failed();
+            }
+            store.appointments.put(appointment.getId(), InMemoryStore.copy(appointment, appointment.getId()));
+            return UpdateResult.updated(appointment);
+        }
+    }
+
+    @Override
+    public boolean deleteAppointment(int appointmentId) {
+        return store.appointments.remove(appointmentId) != null;
+    }
+
+    @Override
+    public int deleteAppointments(List<Integer> appointmentIds) {
+        synchronized (store) {
+            int deleted = 0;
+            for (int appointmentId : appointmentIds) {
+                if (store.appointments.remove(appointmentId) != null) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+    }
+
+    @Override
+    public List<Appointment> rescheduleAppointments(List<Appointment> appointments,
+                                                    Map<Integer, Timestamp> previewedLastUpdates) {
+        synchronized (store) {
+            for (Appointment appointment : appointments) {
+                if (!store.contacts.containsKey(appointment.getContactId())) {
+                    return null;
+                }
+            }
+            List<Appointment> changedSincePreview = new ArrayList<>();
+            for (Appointment appointment : appointments) {
+                Appointment current = store.appointments.get(appointment.getId());
+                if (current == null || !Objects.equals(current.getLastUpdate(),
+                        previewedLastUpdates.get(appointment.getId()))) {
+                    changedSincePreview.add(appointment);
+                    continue;
+                }
+                Appointment moved = new Appointment(current.getId(), current.getTitle(), current.getDescription(),
+                        current.getLocation(), current.getType(), appointment.getStartTime(),
+                        appointment.getEndTime(), current.getCreateDate(), current.getCreatedBy(),
+                        appointment.getLastUpdate(), appointment.getLastUpdatedBy(), current.getCustomerId(),
+                        current.getUserId(), appointment.getContactId(), null);
+                moved.setRecurrenceRule(current.getRecurrenceRule());
+                store.appointments.put(current.getId(), InMemoryStore.copy(moved, current.getId()));
+            }
+            return changedSincePreview;
+        }
+    }
+
+    @Override
+    public boolean cancelOccurrence(Appointment occurrence) {
+        if (!occurrence.isRecurring()) {
+            return false;
+        }
+        synchronized (store) {
+            Appointment series = store.appointments.get(occurrence.getId());
+            if (series == null || !series.isRecurring()) {
+                return false;
+            }
+            Appointment updated = InMemoryStore.copy(series, series.getId());
+            updated.setRecurrenceRule(series.getRecurrenceRule().withException(
+                    occurrence.getStartTime().toLocalDate()));
+            store.appointments.put(series.getId(), updated);
+            return true;
+        }
+    }
+
+    @Override
+    public Appointment selectAppointmentById(int appointmentId) {
+        Appointment appointment = store.appointments.get(appointmentId);
+        return appointment == null ? null : InMemoryStore.copy(appointment, appointmentId);
+    }
+
+    @Override
+    public List<Appointment> selectAllAppointments() {
+        return select(appointment -> true);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsByCustomerId(int customerId) {
+        return select(appointment -> appointment.getCustomerId() == customerId);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsByContactId(int contactId) {
+        return select(appointment -> appointment.getContactId() == contactId);
+    }
+
+    @Override
+    public List<Appointment> selectUpcomingAppointmentsForCurrentUser() {
+        User user = store.users.values().stream()
+                .filter(candidate -> candidate.getName().equals(UserLogin.currentUser))
+                .findFirst().orElse(null);
+        if (user == null) {
+            System.err.println("Error: No user found with username " + UserLogin.currentUser);
+            return new ArrayList<>();
+        }
+        LocalDateTime utcNow = TimeConversion.utcNow();
+        LocalDateTime utcLimit = utcNow.plusMinutes(15);
+        List<Appointment> appointments = select(appointment -> {
+            LocalDateTime utcStart = TimeConversion.toUtc(appointment.getStartTime());
+            return !appointment.isRecurring() && appointment.getUserId() == user.getId() &&
+                    !utcStart.isBefore(utcNow) && !utcStart.isAfter(utcLimit);
+        });
+
+        // Add occurrences of the user's recurring appointments that start in the same window
+        LocalDateTime localNow = TimeConversion.fromUtc(utcNow);
+        LocalDateTime localWindowEnd = localNow.plusMinutes(15);
+        for (Appointment series : select(appointment -> appointment.isRecurring() &&
+                appointment.getUserId() == user.getId())) {
+            appointments.addAll(series.occurrencesStartingBetween(localNow, localWindowEnd));
+        }
+        appointments.sort(Comparator.comparing(Appointment::getStartTime));
+        return appointments;
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsWithRangeConflictForCustomerID(int customerId,
+                                                                              LocalDateTime desiredStartDateTime,
+                                                                              LocalDateTime desiredEndDateTime) {
+        return selectOverlapping(appointment -> appointment.getCustomerId() == customerId, desiredStartDateTime,
+                desiredEndDateTime);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsStartingBetween(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return selectStartingBetween(appointment -> true, rangeStart, rangeEnd);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsForContactStartingBetween(int contactId, LocalDateTime rangeStart,
+                                                                         LocalDateTime rangeEnd) {
+        return selectStartingBetween(appointment -> appointment.getContactId() == contactId, rangeStart, rangeEnd);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsOverlapping(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return selectOverlapping(appointment -> true, rangeStart, rangeEnd);
+    }
+
+    @Override
+    public RecordWriter<Appointment> openBatchWriter(int batchSize, int commitSize) {
+        return new InMemoryRecordWriter<>(commitSize, appointments -> {
+            synchronized (store) {
+                for (Appointment appointment : appointments) {
+                    if (!referencesExist(appointment)) {
+                        throw new SQLException("Appointment refers to a missing customer, user, or contact");
+                    }
+                }
+                for (Appointment appointment : appointments) {
+                    int id = store.lastAppointmentId.incrementAndGet();
+                    store.appointments.put(id, InMemoryStore.copy(appointment, id));
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks that the customer, user, and contact an appointment refers to exist, as the database's foreign keys do.
+     *
+     * @param appointment The appointment.
+     * @return true if all three exist.
+     */
+    private boolean referencesExist(Appointment appointment) {
+        return store.customers.containsKey(appointment.getCustomerId()) &&
+                store.users.containsKey(appointment.getUserId()) &&
+                store.contacts.containsKey(appointment.getContactId());
+    }
+
+    /**
+     * Copies the stored appointments that match a filter, returning each recurring series once.
+     *
+     * @param filter Selects the appointments.
+     * @return The matching appointments, in ID order.
+     */
+    private List<Appointment> select(Predicate<Appointment> filter) {
+        List<Appointment> appointments = new ArrayList<>();
+        for (Appointment appointment : store.appointments.values()) {
+            if (filter.test(appointment)) {
+                appointments.add(InMemoryStore.copy(appointment, appointment.getId()));
+            }
+        }
+        return appointments;
+    }
+
+    /**
+     * Gets the appointments matching a filter that start within a range, expanding recurring series.
+     *
+     * @param filter     Selects the appointments.
+     * @param rangeStart The start of the range, inclusive.
+     * @param rangeEnd   The end of the range, exclusive.
+     * @return The appointments, in order of start time.
+     */
+    private List<Appointment> selectStartingBetween(Predicate<Appointment> filter, LocalDateTime rangeStart,
+                                                    LocalDateTime rangeEnd) {
+        List<Appointment> appointments = new ArrayList<>();
+        for (Appointment appointment : select(filter)) {
+            appointments.addAll(appointment.occurrencesStartingBetween(rangeStart, rangeEnd));
+        }
+        appointments.sort(Comparator.comparing(Appointment::getStartTime));
+        return appointments;
+    }
+
+    /**
+     * Gets the appointments matching a filter that overlap a range, expanding recurring series.
+     *
+     * @param filter     Selects the appointments.
+     * @param rangeStart The start of the range.
+     * @param rangeEnd   The end of the range.
+     * @return The overlapping appointments.
+     */
+    private List<Appointment> selectOverlapping(Predicate<Appointment> filter, LocalDateTime rangeStart,
+                                                LocalDateTime rangeEnd) {
+        List<Appointment> appointments = new ArrayList<>();
+        for (Appointment appointment : select(filter)) {
+            appointments.addAll(appointment.occurrencesOverlapping(rangeStart, rangeEnd));
+        }
+        return appointments;
+    }
+}
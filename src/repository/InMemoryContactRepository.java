@@ -0,0 +1,76 @@
+package repository;
+
+import DAO.ReferenceDataCache;
+import model.Contact;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores contacts in an {@link InMemoryStore}. Contacts are reference data, so every change invalidates
+ * {@link ReferenceDataCache}, as {@link JdbcContactRepository} does.
+ */
+public class InMemoryContactRepository implements ContactRepository {
+
+    /**
+     * The store holding the contacts.
+     */
+    private final InMemoryStore store;
+
+    /**
+     * Constructs an InMemoryContactRepository.
+     *
+     * @param store The store holding the contacts.
+     */
+    public InMemoryContactRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertContact(Contact contact) {
+        int id = store.lastContactId.incrementAndGet();
+        store.contacts.put(id, InMemoryStore.copy(contact, id));
+        ReferenceDataCache.invalidate();
+        return true;
+    }
+
+    @Override
+    public boolean updateContact(Contact contact) {
+        if (store.contacts.replace(contact.getId(), InMemoryStore.copy(contact, contact.getId())) == null) {
+            return false;
+        }
+        ReferenceDataCache.invalidate();
+        return true;
+    }
+
+    @Override
+    public boolean deleteContact(int contactId) {
+        synchronized (store) {
+            // Appointments refer to their contact, so a contact with appointments cannot be deleted
+            if (store.appointments.values().stream()
+                    .anyMatch(appointment -> appointment.getContactId() == contactId)) {
+                return false;
+            }
+            if (store.contacts.remove(contactId) == null) {
+                return false;
+            }
+        }
+        ReferenceDataCache.invalidate();
+        return true;
+    }
+
+    @Override
+    public Contact selectContactById(int contactId) {
+        Contact contact = store.contacts.get(contactId);
+        return contact == null ? null : InMemoryStore.copy(contact, contactId);
+    }
+
+    @Override
+    public List<Contact> selectAllContacts() {
+        List<Contact> contacts = new ArrayList<>();
+        for (Contact contact : store.contacts.values()) {
+            contacts.add(InMemoryStore.copy(contact, contact.getId()));
+        }
+        return contacts;
+    }
+}
@@ -0,0 +1,147 @@
+package repository;
+
+import DAO.ReferenceDataCache;
+import helper.Log;
+import model.Country;
+import model.Customer;
+import model.Division;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Stores customers in an {@link InMemoryStore}, with the same semantics as {@link JdbcCustomerRepository}: a
+ * customer's division must exist, updates are checked against the last update time, and deleting a customer also
+ * deletes their appointments.
+ */
+public class InMemoryCustomerRepository implements CustomerRepository {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(InMemoryCustomerRepository.class);
+
+    /**
+     * The store holding the customers.
+     */
+    private final InMemoryStore store;
+
+    /**
+     * Constructs an InMemoryCustomerRepository.
+     *
+     * @param store The store holding the customers.
+     */
+    public InMemoryCustomerRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertCustomer(Customer customer) {
+        Customer stored = resolve(customer, 0);
+        if (stored == null) {
+            return false;
+        }
+        int id = store.lastCustomerId.incrementAndGet();
+        store.customers.put(id, InMemoryStore.copy(stored, id));
+        customer.setId(id);
+        return true;
+    }
+
+    @Override
+    public UpdateResult<Customer> updateCustomer(Customer customer, Timestamp expectedLastUpdate) {
+        synchronized (store) {
+            Customer current = store.customers.get(customer.getId());
+            if (current == null) {
+                return UpdateResult.notFound();
+            }
+            if (!Objects.equals(current.getLastUpdate(), expectedLastUpdate)) {
+                log.trace(() -> "                 Update conflict for customer " + customer.getId());
+                return UpdateResult.conflict(InMemoryStore.copy(current, current.getId()));
+            }
+            Customer stored = resolve(customer, customer.getId());
+            if (stored == null) {
+                return UpdateResult.failed();
+            }
+            // Create_Date and Created_By are not updated, as in the database
+            store.customers.put(customer.getId(), new Customer(customer.getId(), stored.getName(),
+                    stored.getAddress(), stored.getPhone(), stored.getStateProvince(), stored.getPostalCode(),
+                    stored.getCountry(), current.getCreateDate(), current.getCreatedBy(), stored.getLastUpdate(),
+                    stored.getLastUpdatedBy()));
+            return UpdateResult.updated(customer);
+        }
+    }
+
+    @Override
+    public int deleteCustomers(List<Integer> ids) {
+        synchronized (store) {
+            int deleted = 0;
+            for (int id : ids) {
+                if (store.customers.remove(id) != null) {
+                    store.appointments.values().removeIf(appointment -> appointment.getCustomerId() == id);
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+    }
+
+    @Override
+    public List<Customer> selectAllCustomers() {
+        List<Customer> customers = new ArrayList<>();
+        for (Customer customer : store.customers.values()) {
+            customers.add(InMemoryStore.copy(customer, customer.getId()));
+        }
+        return customers;
+    }
+
+    @Override
+    public Customer selectCustomerById(int id) {
+        Customer customer = store.customers.get(id);
+        return customer == null ? null : InMemoryStore.copy(customer, id);
+    }
+
+    @Override
+    public RecordWriter<Customer> openBatchWriter(int batchSize, int commitSize) {
+        return new InMemoryRecordWriter<>(commitSize, customers -> {
+            List<Customer> resolved = new ArrayList<>();
+            for (Customer customer : customers) {
+                Customer stored = resolve(customer, 0);
+                if (stored == null) {
+                    throw new SQLException("Unknown division: " + customer.getStateProvince());
+                }
+                resolved.add(stored);
+            }
+            for (Customer customer : resolved) {
+                int id = store.lastCustomerId.incrementAndGet();
+                store.customers.put(id, InMemoryStore.copy(customer, id));
+            }
+        });
+    }
+
+    /**
+     * Looks up a customer's division, by the ID the customer carries or else by name, as the database stores only
+     * the division ID, and returns a copy with the division and country names as they would be read back.
+     *
+     * @param customer The customer.
+     * @param id       The ID of the copy.
+     * @return The copy, or null if the division does not exist.
+     */
+    private Customer resolve(Customer customer, int id) {
+        Division division = store.divisions.get(ReferenceDataCache.getDivisionIdFor(customer));
+        if (division == null) {
+            System.err.println("Error: No division found with name " + customer.getStateProvince());
+            return null;
+        }
+        Country country = store.countries.get(division.getAssociatedCountryId());
+        Customer resolved = new Customer(id, customer.getName(), customer.getAddress(), customer.getPhone(),
+                division.getDivisionName(), customer.getPostalCode(), country != null ? country.getName() : null,
+                customer.getCreateDate(), customer.getCreatedBy(), customer.getLastUpdate(),
+                customer.getLastUpdatedBy());
+        resolved.setDivisionId(division.getDivisionId());
+        return resolved;
+    }
+}
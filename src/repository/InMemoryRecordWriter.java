@@ -0,0 +1,104 @@
+package repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes records to an {@link InMemoryStore}, committing every {@code commitSize} records. There are no round trips
+ * to save, so records are simply held until they are committed. The local-first repositories use it too, committing
+ * each group of records to the local replica in one transaction.
+ *
+ * @param <T> The type of record written.
+ */
+class InMemoryRecordWriter<T> implements RecordWriter<T> {
+
+    /**
+     * Adds a group of records to the store, all or none of them.
+     *
+     * @param <T> The type of record committed.
+     */
+    @FunctionalInterface
+    interface Committer<T> {
+
+        /**
+         * Adds the records.
+         *
+         * @param records The records.
+         * @throws SQLException If any record cannot be added, in which case none are.
+         */
+        void commit(List<T> records) throws SQLException;
+    }
+
+    /**
+     * Number of records committed together.
+     */
+    private final int commitSize;
+
+    /**
+     * Adds a group of records to the store.
+     */
+    private final Committer<T> committer;
+
+    /**
+     * Records added since the last commit.
+     */
+    private final List<T> uncommitted = new ArrayList<>();
+
+    /**
+     * Records committed so far.
+     */
+    private int committedCount = 0;
+
+    /**
+     * Constructs an InMemoryRecordWriter.
+     *
+     * @param commitSize Number of records committed together.
+     * @param committer  Adds a group of records to the store.
+     */
+    InMemoryRecordWriter(int commitSize, Committer<T> committer) {
+        this.commitSize = Math.max(commitSize, 1);
+        this.committer = committer;
+    }
+
+    @Override
+    public void add(T item) throws SQLException {
+        uncommitted.add(item);
+        if (uncommitted.size() >= commitSize) {
+            commit();
+        }
+    }
+
+    @Override
+    public int getCommittedCount() {
+        return committedCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            commit();
+        } finally {
+            uncommitted.clear();
+        }
+    }
+
+    @Override
+    public void abort() {
+        uncommitted.clear();
+    }
+
+    /**
+     * Adds the uncommitted records to the store.
+     *
+     * @throws SQLException If the records cannot be added.
+     */
+    private void commit() throws SQLException {
+        if (uncommitted.isEmpty()) {
+            return;
+        }
+        committer.commit(new ArrayList<>(uncommitted));
+        committedCount += uncommitted.size();
+        uncommitted.clear();
+    }
+}
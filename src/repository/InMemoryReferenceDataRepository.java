@@ -0,0 +1,38 @@
+package repository;
+
+import model.Country;
+import model.Division;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads countries and first-level divisions from an {@link InMemoryStore}. Reference data is never changed by the
+ * application, so the stored objects are returned as they are.
+ */
+public class InMemoryReferenceDataRepository implements ReferenceDataRepository {
+
+    /**
+     * The store holding the reference data.
+     */
+    private final InMemoryStore store;
+
+    /**
+     * Constructs an InMemoryReferenceDataRepository.
+     *
+     * @param store The store holding the reference data.
+     */
+    public InMemoryReferenceDataRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Country> selectAllCountries() {
+        return new ArrayList<>(store.countries.values());
+    }
+
+    @Override
+    public List<Division> selectAllDivisions() {
+        return new ArrayList<>(store.divisions.values());
+    }
+}
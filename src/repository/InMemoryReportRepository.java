@@ -0,0 +1,79 @@
+package repository;
+
+import helper.TimeConversion;
+import model.Appointment;
+import model.Contact;
+
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes the reports from an {@link InMemoryStore}, producing the same rows as {@link JdbcReportRepository}. As
+ * in the database, months and quarters are taken from the UTC start time, and each recurring series counts once.
+ */
+public class InMemoryReportRepository implements ReportRepository {
+
+    /**
+     * The store holding the appointments and contacts.
+     */
+    private final InMemoryStore store;
+
+    /**
+     * Constructs an InMemoryReportRepository.
+     *
+     * @param store The store holding the appointments and contacts.
+     */
+    public InMemoryReportRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Map<String, Object>> showNumAppointmentsByTypeAndMonth() {
+        Map<Month, Map<String, Integer>> counts = new TreeMap<>();
+        for (Appointment appointment : store.appointments.values()) {
+            Month month = TimeConversion.toUtc(appointment.getStartTime()).getMonth();
+            counts.computeIfAbsent(month, key -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER))
+                    .merge(appointment.getType(), 1, Integer::sum);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        counts.forEach((month, countsByType) -> countsByType.forEach((type, count) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("Month", month.getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+            row.put("Type", type);
+            row.put("NumAppointments", count);
+            results.add(row);
+        }));
+        return results;
+    }
+
+    @Override
+    public List<Map<String, Object>> showNumAppointmentsByContactAndQuarter() {
+        Map<String, int[]> counts = new TreeMap<>();
+        for (Appointment appointment : store.appointments.values()) {
+            Contact contact = store.contacts.get(appointment.getContactId());
+            if (contact == null) {
+                continue;
+            }
+            int quarter = (TimeConversion.toUtc(appointment.getStartTime()).getMonthValue() - 1) / 3;
+            counts.computeIfAbsent(contact.getName(), key -> new int[4])[quarter]++;
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        counts.forEach((contactName, quarters) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("Contact", contactName);
+            for (int i = 0; i < quarters.length; i++) {
+                row.put("Q" + (i + 1), quarters[i]);
+            }
+            results.add(row);
+        });
+        return results;
+    }
+}
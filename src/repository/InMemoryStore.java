@@ -0,0 +1,221 @@
+package repository;
+
+import DAO.ReferenceDataCache;
+import model.Appointment;
+import model.Contact;
+import model.Country;
+import model.Customer;
+import model.Division;
+import model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the tables of the in-memory repositories. Rows are kept in concurrent maps ordered by ID, so reads never
+ * block and see rows in insertion order, as the database does. Writes that must check or change more than one row
+ * together, such as optimistic updates and cascading deletes, synchronize on the store.
+ * <p></p>
+ * Stored objects are copies. Callers get copies too, so changing a returned object does not change the store, just
+ * as changing an object read from the database does not change its row.
+ */
+public class InMemoryStore {
+
+    /**
+     * Appointments by ID. Recurring appointments are stored as their series' first occurrence.
+     */
+    final ConcurrentNavigableMap<Integer, Appointment> appointments = new ConcurrentSkipListMap<>();
+
+    /**
+     * Customers by ID.
+     */
+    final ConcurrentNavigableMap<Integer, Customer> customers = new ConcurrentSkipListMap<>();
+
+    /**
+     * Users by ID.
+     */
+    final ConcurrentNavigableMap<Integer, User> users = new ConcurrentSkipListMap<>();
+
+    /**
+     * Contacts by ID.
+     */
+    final ConcurrentNavigableMap<Integer, Contact> contacts = new ConcurrentSkipListMap<>();
+
+    /**
+     * Countries by ID.
+     */
+    final ConcurrentNavigableMap<Integer, Country> countries = new ConcurrentSkipListMap<>();
+
+    /**
+     * First-level divisions by ID.
+     */
+    final ConcurrentNavigableMap<Integer, Division> divisions = new ConcurrentSkipListMap<>();
+
+    /**
+     * The last appointment ID assigned.
+     */
+    final AtomicInteger lastAppointmentId = new AtomicInteger();
+
+    /**
+     * The last customer ID assigned.
+     */
+    final AtomicInteger lastCustomerId = new AtomicInteger();
+
+    /**
+     * The last user ID assigned.
+     */
+    final AtomicInteger lastUserId = new AtomicInteger();
+
+    /**
+     * The last contact ID assigned.
+     */
+    final AtomicInteger lastContactId = new AtomicInteger();
+
+    /**
+     * Creates a store holding the same starter data as a new client_schedule database: two users, three contacts,
+     * the three countries with their divisions, and three customers.
+     *
+     * @return The store.
+     */
+    public static InMemoryStore withSampleData() {
+        InMemoryStore store = new InMemoryStore();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        LocalDateTime created = LocalDateTime.now();
+
+        store.putUser(new User(1, "test", "test", now, "script", now, "script"));
+        store.putUser(new User(2, "admin", "admin", now, "script", now, "script"));
+
+        store.putContact(new Contact(1, "Anika Costa", "acoa@company.com"));
+        store.putContact(new Contact(2, "Daniel Garcia", "dgarcia@company.com"));
+        store.putContact(new Contact(3, "Li Lee", "llee@company.com"));
+
+        store.countries.put(1, new Country(1, "U.S"));
+        store.countries.put(2, new Country(2, "UK"));
+        store.countries.put(3, new Country(3, "Canada"));
+        addDivisions(store, 1, 1, List.of("Alabama", "Alaska", "Arizona", "Arkansas", "California", "Colorado",
+                "Connecticut", "Delaware", "District of Columbia", "Florida", "Georgia", "Hawaii", "Idaho", "Illinois",
+                "Indiana", "Iowa", "Kansas", "Kentucky", "Louisiana", "Maine", "Maryland", "Massachusetts", "Michigan",
+                "Minnesota", "Mississippi", "Missouri", "Montana", "Nebraska", "Nevada", "New Hampshire", "New Jersey",
+                "New Mexico", "New York", "North Carolina", "North Dakota", "Ohio", "Oklahoma", "Oregon",
+                "Pennsylvania", "Rhode Island", "South Carolina", "South Dakota", "Tennessee", "Texas", "Utah",
+                "Vermont", "Virginia", "Washington", "West Virginia", "Wisconsin", "Wyoming"));
+        addDivisions(store, 60, 3, List.of("Northwest Territories", "Alberta", "British Columbia", "Manitoba",
+                "New Brunswick", "Nova Scotia", "Prince Edward Island", "Ontario", "Quebec", "Saskatchewan", "Nunavut",
+                "Yukon", "Newfoundland and Labrador"));
+        addDivisions(store, 101, 2, List.of("England", "Wales", "Scotland", "Northern Ireland"));
+
+        store.putCustomer(new Customer(1, "Daddy Warbucks", "1919 Boardwalk", "869-908-1875", "Arizona", "01291",
+                "U.S", created, "script", now, "script"));
+        store.putCustomer(new Customer(2, "Lady McAnderson", "2 Wonder Way", "020 7946 0958", "England", "AF19B",
+                "UK", created, "script", now, "script"));
+        store.putCustomer(new Customer(3, "Dudley Do-Right", "48 Horse Manor", "416-555-0119", "Ontario", "28198",
+                "Canada", created, "script", now, "script"));
+        return store;
+    }
+
+    /**
+     * Adds a user with a known ID.
+     *
+     * @param user The user.
+     */
+    public void putUser(User user) {
+        users.put(user.getId(), copy(user, user.getId()));
+        lastUserId.accumulateAndGet(user.getId(), Math::max);
+    }
+
+    /**
+     * Adds a contact with a known ID.
+     *
+     * @param contact The contact.
+     */
+    public void putContact(Contact contact) {
+        contacts.put(contact.getId(), copy(contact, contact.getId()));
+        lastContactId.accumulateAndGet(contact.getId(), Math::max);
+    }
+
+    /**
+     * Adds a customer with a known ID.
+     *
+     * @param customer The customer.
+     */
+    public void putCustomer(Customer customer) {
+        customers.put(customer.getId(), copy(customer, customer.getId()));
+        lastCustomerId.accumulateAndGet(customer.getId(), Math::max);
+    }
+
+    /**
+     * Adds divisions with consecutive IDs.
+     *
+     * @param store     The store to add to.
+     * @param firstId   The ID of the first division.
+     * @param countryId The ID of the divisions' country.
+     * @param names     The division names.
+     */
+    private static void addDivisions(InMemoryStore store, int firstId, int countryId, List<String> names) {
+        for (int i = 0; i < names.size(); i++) {
+            store.divisions.put(firstId + i, new Division(firstId + i, names.get(i), countryId));
+        }
+    }
+
+    /**
+     * Copies an appointment, giving it an ID and the current name of its contact.
+     *
+     * @param appointment The appointment to copy.
+     * @param id          The ID of the copy.
+     * @return The copy.
+     */
+    static Appointment copy(Appointment appointment, int id) {
+        Contact contact = ReferenceDataCache.getContactById(appointment.getContactId());
+        Appointment copy = new Appointment(id, appointment.getTitle(), appointment.getDescription(),
+                appointment.getLocation(), appointment.getType(), appointment.getStartTime(),
+                appointment.getEndTime(), appointment.getCreateDate(), appointment.getCreatedBy(),
+                appointment.getLastUpdate(), appointment.getLastUpdatedBy(), appointment.getCustomerId(),
+                appointment.getUserId(), appointment.getContactId(), contact != null ? contact.getName() :
+                "Null Contact");
+        copy.setRecurrenceRule(appointment.getRecurrenceRule());
+        return copy;
+    }
+
+    /**
+     * Copies a customer, giving it an ID.
+     *
+     * @param customer The customer to copy.
+     * @param id       The ID of the copy.
+     * @return The copy.
+     */
+    static Customer copy(Customer customer, int id) {
+        Customer copy = new Customer(id, customer.getName(), customer.getAddress(), customer.getPhone(),
+                customer.getStateProvince(), customer.getPostalCode(), customer.getCountry(),
+                customer.getCreateDate(), customer.getCreatedBy(), customer.getLastUpdate(),
+                customer.getLastUpdatedBy());
+        copy.setDivisionId(customer.getDivisionId());
+        return copy;
+    }
+
+    /**
+     * Copies a user, giving it an ID.
+     *
+     * @param user The user to copy.
+     * @param id   The ID of the copy.
+     * @return The copy.
+     */
+    static User copy(User user, int id) {
+        return new User(id, user.getName(), user.getPassword(), user.getCreateDate(), user.getCreatedBy(),
+                user.getLastUpdate(), user.getLastUpdatedBy());
+    }
+
+    /**
+     * Copies a contact, giving it an ID.
+     *
+     * @param contact The contact to copy.
+     * @param id      The ID of the copy.
+     * @return The copy.
+     */
+    static Contact copy(Contact contact, int id) {
+        return new Contact(id, contact.getName(), contact.getEmail());
+    }
+}
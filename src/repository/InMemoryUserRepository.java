@@ -0,0 +1,92 @@
+package repository;
+
+import model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores users in an {@link InMemoryStore}. User names are unique, as in the database.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    /**
+     * The store holding the users.
+     */
+    private final InMemoryStore store;
+
+    /**
+     * Constructs an InMemoryUserRepository.
+     *
+     * @param store The store holding the users.
+     */
+    public InMemoryUserRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertUser(User user) {
+        synchronized (store) {
+            if (selectUserByUsername(user.getName()) != null) {
+                return false;
+            }
+            int id = store.lastUserId.incrementAndGet();
+            store.users.put(id, InMemoryStore.copy(user, id));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean updateUser(User user) {
+        synchronized (store) {
+            User existing = selectUserByUsername(user.getName());
+            if (!store.users.containsKey(user.getId()) || (existing != null && existing.getId() != user.getId())) {
+                return false;
+            }
+            store.users.put(user.getId(), InMemoryStore.copy(user, user.getId()));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean deleteUser(int userId) {
+        synchronized (store) {
+            // Appointments refer to their user, so a user with appointments cannot be deleted
+            if (store.appointments.values().stream().anyMatch(appointment -> appointment.getUserId() == userId)) {
+                return false;
+            }
+            return store.users.remove(userId) != null;
+        }
+    }
+
+    @Override
+    public User selectUserById(int userId) {
+        User user = store.users.get(userId);
+        return user == null ? null : InMemoryStore.copy(user, userId);
+    }
+
+    @Override
+    public User selectUserByUsername(String username) {
+        for (User user : store.users.values()) {
+            if (user.getName().equals(username)) {
+                return InMemoryStore.copy(user, user.getId());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<User> selectAllUsers() {
+        List<User> users = new ArrayList<>();
+        for (User user : store.users.values()) {
+            users.add(InMemoryStore.copy(user, user.getId()));
+        }
+        return users;
+    }
+
+    @Override
+    public boolean verifyLoginCredentials(String username, String password) {
+        User user = selectUserByUsername(username);
+        return user != null && user.getPassword().equals(password);
+    }
+}
@@ -0,0 +1,113 @@
+package repository;
+
+import DAO.AppointmentBatchWriter;
+import DAO.AppointmentDAO;
+import model.Appointment;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores appointments in the MySQL database through {@link AppointmentDAO}.
+ */
+public class JdbcAppointmentRepository implements AppointmentRepository {
+
+    @Override
+    public boolean insertAppointment(Appointment appointment) {
+        return AppointmentDAO.insertAppointment(appointment);
+    }
+
+    @Override
+    public UpdateResult<Appointment> updateAppointment(Appointment appointment, Timestamp expectedLastUpdate) {
+        return AppointmentDAO.updateAppointment(appointment, expectedLastUpdate);
+    }
+
+    @Override
+    public boolean deleteAppointment(int appointmentId) {
+        return AppointmentDAO.deleteAppointment(appointmentId);
+    }
+
+    @Override
+    public int deleteAppointments(List<Integer> appointmentIds) {
+        return AppointmentDAO.deleteAppointments(appointmentIds);
+    }
+
+    @Override
+    public List<Appointment> rescheduleAppointments(List<Appointment> appointments,
+                                                    Map<Integer, Timestamp> previewedLastUpdates) {
+        return AppointmentDAO.rescheduleAppointments(appointments, previewedLastUpdates);
+    }
+
+    @Override
+    public boolean cancelOccurrence(Appointment occurrence) {
+        return AppointmentDAO.cancelOccurrence(occurrence);
+    }
+
+    @Override
+    public Appointment selectAppointmentById(int appointmentId) {
+        return AppointmentDAO.selectAppointmentById(appointmentId);
+    }
+
+    @Override
+    public List<Appointment> selectAllAppointments() {
+        return AppointmentDAO.selectAllAppointments();
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsByCustomerId(int customerId) {
+        return AppointmentDAO.selectAppointmentsByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsByContactId(int contactId) {
+        return AppointmentDAO.selectAppointmentsByContactId(contactId);
+    }
+
+    @Override
+    public List<Appointment> selectUpcomingAppointmentsForCurrentUser() {
+        return AppointmentDAO.selectUpcomingAppointmentsForCurrentUser();
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsWithRangeConflictForCustomerID(int customerId,
+                                                                              LocalDateTime desiredStartDateTime,
+                                                                              LocalDateTime desiredEndDateTime) {
+        return AppointmentDAO.selectAppointmentsWithRangeConflictForCustomerID(customerId, desiredStartDateTime,
+                desiredEndDateTime);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsStartingBetween(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return AppointmentDAO.selectAppointmentsStartingBetween(rangeStart, rangeEnd);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsForContactStartingBetween(int contactId, LocalDateTime rangeStart,
+                                                                         LocalDateTime rangeEnd) {
+        return AppointmentDAO.selectAppointmentsForContactStartingBetween(contactId, rangeStart, rangeEnd);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsOverlapping(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return AppointmentDAO.selectAppointmentsOverlapping(rangeStart, rangeEnd);
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsForCurrentWeek() {
+        return AppointmentDAO.selectAppointmentsForCurrentWeek();
+    }
+
+    @Override
+    public List<Appointment> selectAppointmentsForCurrentMonth() {
+        return AppointmentDAO.selectAppointmentsForCurrentMonth();
+    }
+
+    @Override
+    public RecordWriter<Appointment> openBatchWriter(int batchSize, int commitSize) throws SQLException {
+        return new AppointmentBatchWriter(batchSize, commitSize);
+    }
+}
@@ -0,0 +1,37 @@
+package repository;
+
+import DAO.ContactDAO;
+import model.Contact;
+
+import java.util.List;
+
+/**
+ * Stores contacts in the MySQL database through {@link ContactDAO}.
+ */
+public class JdbcContactRepository implements ContactRepository {
+
+    @Override
+    public boolean insertContact(Contact contact) {
+        return ContactDAO.insertContact(contact);
+    }
+
+    @Override
+    public boolean updateContact(Contact contact) {
+        return ContactDAO.updateContact(contact);
+    }
+
+    @Override
+    public boolean deleteContact(int contactId) {
+        return ContactDAO.deleteContact(contactId);
+    }
+
+    @Override
+    public Contact selectContactById(int contactId) {
+        return ContactDAO.selectContactById(contactId);
+    }
+
+    @Override
+    public List<Contact> selectAllContacts() {
+        return ContactDAO.selectAllContacts();
+    }
+}
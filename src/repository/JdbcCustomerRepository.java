@@ -0,0 +1,45 @@
+package repository;
+
+import DAO.CustomerDAO;
+import model.Customer;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Stores customers in the MySQL database through {@link CustomerDAO}.
+ */
+public class JdbcCustomerRepository implements CustomerRepository {
+
+    @Override
+    public boolean insertCustomer(Customer customer) {
+        return CustomerDAO.insertCustomer(customer);
+    }
+
+    @Override
+    public UpdateResult<Customer> updateCustomer(Customer customer, Timestamp expectedLastUpdate) {
+        return CustomerDAO.updateCustomer(customer, expectedLastUpdate);
+    }
+
+    @Override
+    public int deleteCustomers(List<Integer> ids) {
+        return CustomerDAO.deleteCustomers(ids);
+    }
+
+    @Override
+    public List<Customer> selectAllCustomers() {
+        return CustomerDAO.selectAllCustomers();
+    }
+
+    @Override
+    public Customer selectCustomerById(int id) {
+        return CustomerDAO.selectCustomerById(id);
+    }
+
+    @Override
+    public RecordWriter<Customer> openBatchWriter(int batchSize, int commitSize) throws SQLException {
+        return CustomerDAO.openBatchWriter(batchSize, commitSize);
+    }
+}
@@ -0,0 +1,24 @@
+package repository;
+
+import DAO.CountryDAO;
+import DAO.DivisionDAO;
+import model.Country;
+import model.Division;
+
+import java.util.List;
+
+/**
+ * Reads countries and divisions from the MySQL database through {@link CountryDAO} and {@link DivisionDAO}.
+ */
+public class JdbcReferenceDataRepository implements ReferenceDataRepository {
+
+    @Override
+    public List<Country> selectAllCountries() {
+        return CountryDAO.selectAllCountries();
+    }
+
+    @Override
+    public List<Division> selectAllDivisions() {
+        return DivisionDAO.selectAllDivisions();
+    }
+}
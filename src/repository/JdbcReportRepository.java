@@ -0,0 +1,22 @@
+package repository;
+
+import DAO.ReportDAO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs reports against the MySQL database through {@link ReportDAO}.
+ */
+public class JdbcReportRepository implements ReportRepository {
+
+    @Override
+    public List<Map<String, Object>> showNumAppointmentsByTypeAndMonth() {
+        return ReportDAO.showNumAppointmentsByTypeAndMonth();
+    }
+
+    @Override
+    public List<Map<String, Object>> showNumAppointmentsByContactAndQuarter() {
+        return ReportDAO.showNumAppointmentsByContactAndQuarter();
+    }
+}
@@ -0,0 +1,48 @@
+package repository;
+
+import DAO.UserDAO;
+import model.User;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Stores users in the MySQL database through {@link UserDAO}.
+ */
+public class JdbcUserRepository implements UserRepository {
+
+    @Override
+    public boolean insertUser(User user) {
+        return UserDAO.insertUser(user);
+    }
+
+    @Override
+    public boolean updateUser(User user) {
+        return UserDAO.updateUser(user);
+    }
+
+    @Override
+    public boolean deleteUser(int userId) {
+        return UserDAO.deleteUser(userId);
+    }
+
+    @Override
+    public User selectUserById(int userId) {
+        return UserDAO.selectUserById(userId);
+    }
+
+    @Override
+    public User selectUserByUsername(String username) {
+        return UserDAO.selectUserByUsername(username);
+    }
+
+    @Override
+    public List<User> selectAllUsers() {
+        return UserDAO.selectAllUsers();
+    }
+
+    @Override
+    public boolean verifyLoginCredentials(String username, String password) throws SQLException {
+        return UserDAO.verifyLoginCredentials(username, password);
+    }
+}
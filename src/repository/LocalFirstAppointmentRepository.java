@@ -0,0 +1,112 @@
+package repository;
+
+import DAO.AppointmentDAO;
+import DAO.SyncDAO;
+import model.Appointment;
+import model.OutboxEntry;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores appointments in the local replica in local-first mode. Queries are inherited from
+ * {@link JdbcAppointmentRepository} and answered by the replica. Each change is written to the replica together with
+ * an outbox entry in one transaction, and pushed to the server in the background by {@link SyncEngine}.
+ */
+public class LocalFirstAppointmentRepository extends JdbcAppointmentRepository {
+
+    @Override
+    public boolean insertAppointment(Appointment appointment) {
+        return SyncEngine.writeLocally(() -> {
+            if (!AppointmentDAO.insertAppointment(appointment)) {
+                throw new SQLException("Appointment could not be saved locally");
+            }
+            SyncDAO.enqueue(OutboxEntry.Entity.APPOINTMENT, appointment.getId(), OutboxEntry.Operation.SAVE, null);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public UpdateResult<Appointment> updateAppointment(Appointment appointment, Timestamp expectedLastUpdate) {
+        return SyncEngine.writeLocally(() -> {
+            UpdateResult<Appointment> result = AppointmentDAO.updateAppointment(appointment, expectedLastUpdate);
+            if (result.getStatus() == UpdateResult.Status.FAILED) {
+                throw new SQLException("Appointment could not be updated locally");
+            }
+            if (result.isUpdated()) {
+                SyncDAO.enqueue(OutboxEntry.Entity.APPOINTMENT, appointment.getId(), OutboxEntry.Operation.SAVE,
+                        expectedLastUpdate);
+            }
+            return result;
+        }, UpdateResult.failed());
+    }
+
+    @Override
+    public boolean deleteAppointment(int appointmentId) {
+        return deleteAppointments(List.of(appointmentId)) >= 0;
+    }
+
+    @Override
+    public int deleteAppointments(List<Integer> appointmentIds) {
+        return SyncEngine.writeLocally(() -> {
+            int deleted = AppointmentDAO.deleteAppointments(appointmentIds);
+            if (deleted < 0) {
+                throw new SQLException("Appointments could not be deleted locally");
+            }
+            for (int appointmentId : appointmentIds) {
+                SyncDAO.enqueue(OutboxEntry.Entity.APPOINTMENT, appointmentId, OutboxEntry.Operation.DELETE, null);
+            }
+            return deleted;
+        }, -1);
+    }
+
+    @Override
+    public List<Appointment> rescheduleAppointments(List<Appointment> appointments,
+                                                    Map<Integer, Timestamp> previewedLastUpdates) {
+        return SyncEngine.writeLocally(() -> {
+            List<Appointment> changedSincePreview = AppointmentDAO.rescheduleAppointments(appointments,
+                    previewedLastUpdates);
+            if (changedSincePreview == null) {
+                throw new SQLException("Appointments could not be rescheduled locally");
+            }
+            // The server copy is overwritten only if it still has the Last_Update the change was previewed against
+            for (Appointment appointment : appointments) {
+                if (!changedSincePreview.contains(appointment)) {
+                    SyncDAO.enqueue(OutboxEntry.Entity.APPOINTMENT, appointment.getId(),
+                            OutboxEntry.Operation.SAVE, previewedLastUpdates.get(appointment.getId()));
+                }
+            }
+            return changedSincePreview;
+        }, null);
+    }
+
+    @Override
+    public boolean cancelOccurrence(Appointment occurrence) {
+        return SyncEngine.writeLocally(() -> {
+            if (!AppointmentDAO.cancelOccurrence(occurrence)) {
+                throw new SQLException("Occurrence could not be cancelled locally");
+            }
+            // The series keeps its Last_Update, so the server copy is overwritten only if it is unchanged
+            SyncDAO.enqueue(OutboxEntry.Entity.APPOINTMENT, occurrence.getId(), OutboxEntry.Operation.SAVE,
+                    occurrence.getLastUpdate());
+            return true;
+        }, false);
+    }
+
+    @Override
+    public RecordWriter<Appointment> openBatchWriter(int batchSize, int commitSize) {
+        return new InMemoryRecordWriter<>(commitSize, appointments -> SyncEngine.writeLocally(() -> {
+            for (Appointment appointment : appointments) {
+                if (!AppointmentDAO.insertAppointment(appointment)) {
+                    throw new SQLException("Appointment could not be saved locally");
+                }
+                SyncDAO.enqueue(OutboxEntry.Entity.APPOINTMENT, appointment.getId(), OutboxEntry.Operation.SAVE,
+                        null);
+            }
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,40 @@
+package repository;
+
+import helper.JDBC;
+import model.Contact;
+
+/**
+ * Stores contacts in local-first mode. Contacts are reference data managed on the server: changes are written to it
+ * directly and reach the local replica with the next synchronization, so they fail while the server is unreachable.
+ * Queries are inherited from {@link JdbcContactRepository} and answered by the replica.
+ */
+public class LocalFirstContactRepository extends JdbcContactRepository {
+
+    @Override
+    public boolean insertContact(Contact contact) {
+        return synced(JDBC.remote(() -> super.insertContact(contact)));
+    }
+
+    @Override
+    public boolean updateContact(Contact contact) {
+        return synced(JDBC.remote(() -> super.updateContact(contact)));
+    }
+
+    @Override
+    public boolean deleteContact(int contactId) {
+        return synced(JDBC.remote(() -> super.deleteContact(contactId)));
+    }
+
+    /**
+     * Asks for a synchronization after a successful change, so the replica picks it up.
+     *
+     * @param changed Whether the server was changed.
+     * @return The same value.
+     */
+    private static boolean synced(boolean changed) {
+        if (changed) {
+            SyncEngine.requestSync();
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,80 @@
+package repository;
+
+import DAO.CustomerDAO;
+import DAO.SyncDAO;
+import model.Customer;
+import model.OutboxEntry;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Stores customers in the local replica in local-first mode. Queries are inherited from
+ * {@link JdbcCustomerRepository} and answered by the replica. Each change is written to the replica together with an
+ * outbox entry in one transaction, and pushed to the server in the background by {@link SyncEngine}.
+ */
+public class LocalFirstCustomerRepository extends JdbcCustomerRepository {
+
+    @Override
+    public boolean insertCustomer(Customer customer) {
+        return SyncEngine.writeLocally(() -> {
+            insert(customer);
+            return true;
+        }, false);
+    }
+
+    @Override
+    public UpdateResult<Customer> updateCustomer(Customer customer, Timestamp expectedLastUpdate) {
+        return SyncEngine.writeLocally(() -> {
+            UpdateResult<Customer> result = CustomerDAO.updateCustomer(customer, expectedLastUpdate);
+            if (result.getStatus() == UpdateResult.Status.FAILED) {
+                throw new SQLException("Customer could not be updated locally");
+            }
+            if (result.isUpdated()) {
+                SyncDAO.enqueue(OutboxEntry.Entity.CUSTOMER, customer.getId(), OutboxEntry.Operation.SAVE,
+                        expectedLastUpdate);
+            }
+            return result;
+        }, UpdateResult.failed());
+    }
+
+    @Override
+    public int deleteCustomers(List<Integer> ids) {
+        return SyncEngine.writeLocally(() -> {
+            // The customers' appointments are deleted with them, here and on the server
+            int deleted = CustomerDAO.deleteCustomers(ids);
+            if (deleted < 0) {
+                throw new SQLException("Customers could not be deleted locally");
+            }
+            for (int id : ids) {
+                SyncDAO.enqueue(OutboxEntry.Entity.CUSTOMER, id, OutboxEntry.Operation.DELETE, null);
+            }
+            return deleted;
+        }, -1);
+    }
+
+    @Override
+    public RecordWriter<Customer> openBatchWriter(int batchSize, int commitSize) {
+        return new InMemoryRecordWriter<>(commitSize, customers -> SyncEngine.writeLocally(() -> {
+            for (Customer customer : customers) {
+                insert(customer);
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Inserts a customer into the replica and adds its outbox entry. Called within a unit of work.
+     *
+     * @param customer The customer.
+     * @throws SQLException If the customer cannot be inserted.
+     */
+    private static void insert(Customer customer) throws SQLException {
+        if (!CustomerDAO.insertCustomer(customer)) {
+            throw new SQLException("Customer could not be saved locally");
+        }
+        SyncDAO.enqueue(OutboxEntry.Entity.CUSTOMER, customer.getId(), OutboxEntry.Operation.SAVE, null);
+    }
+}
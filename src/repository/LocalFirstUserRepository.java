@@ -0,0 +1,40 @@
+package repository;
+
+import helper.JDBC;
+import model.User;
+
+/**
+ * Stores users in local-first mode. Users are managed on the server: changes are written to it directly and reach
+ * the local replica with the next synchronization, so they fail while the server is unreachable. Queries, including
+ * login checks, are inherited from {@link JdbcUserRepository} and answered by the replica.
+ */
+public class LocalFirstUserRepository extends JdbcUserRepository {
+
+    @Override
+    public boolean insertUser(User user) {
+        return synced(JDBC.remote(() -> super.insertUser(user)));
+    }
+
+    @Override
+    public boolean updateUser(User user) {
+        return synced(JDBC.remote(() -> super.updateUser(user)));
+    }
+
+    @Override
+    public boolean deleteUser(int userId) {
+        return synced(JDBC.remote(() -> super.deleteUser(userId)));
+    }
+
+    /**
+     * Asks for a synchronization after a successful change, so the replica picks it up.
+     *
+     * @param changed Whether the server was changed.
+     * @return The same value.
+     */
+    private static boolean synced(boolean changed) {
+        if (changed) {
+            SyncEngine.requestSync();
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,40 @@
+package repository;
+
+import java.sql.SQLException;
+
+/**
+ * Writes large numbers of new records, committing them in groups so a failure only loses the records written since
+ * the last commit. Returned by the repositories for bulk imports.
+ *
+ * @param <T> The type of record written.
+ */
+public interface RecordWriter<T> extends AutoCloseable {
+
+    /**
+     * Adds a record, writing and committing earlier records once enough have been added.
+     *
+     * @param item The record to write.
+     * @throws SQLException If writing or committing fails.
+     */
+    void add(T item) throws SQLException;
+
+    /**
+     * Returns the number of records committed so far.
+     *
+     * @return the committed count
+     */
+    int getCommittedCount();
+
+    /**
+     * Writes and commits the remaining records, then releases the writer.
+     *
+     * @throws SQLException If the final write or commit fails. Uncommitted records are discarded.
+     */
+    @Override
+    void close() throws SQLException;
+
+    /**
+     * Discards the records added since the last commit and releases the writer.
+     */
+    void abort();
+}
@@ -0,0 +1,26 @@
+package repository;
+
+import model.Country;
+import model.Division;
+
+import java.util.List;
+
+/**
+ * Reads the countries and first-level divisions customers are located in. This data is read-only in the application.
+ */
+public interface ReferenceDataRepository {
+
+    /**
+     * Gets all countries.
+     *
+     * @return All countries.
+     */
+    List<Country> selectAllCountries();
+
+    /**
+     * Gets all first-level divisions.
+     *
+     * @return All divisions.
+     */
+    List<Division> selectAllDivisions();
+}
@@ -0,0 +1,26 @@
+package repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the aggregate reports shown in the Reports view. Each row is a map from column name to value.
+ */
+public interface ReportRepository {
+
+    /**
+     * Counts appointments by month and type. Rows have "Month", "Type", and "NumAppointments" columns and are
+     * ordered by calendar month, then type.
+     *
+     * @return The report rows.
+     */
+    List<Map<String, Object>> showNumAppointmentsByTypeAndMonth();
+
+    /**
+     * Counts each contact's appointments by quarter. Rows have "Contact", "Q1", "Q2", "Q3", and "Q4" columns and
+     * are ordered by contact name.
+     *
+     * @return The report rows.
+     */
+    List<Map<String, Object>> showNumAppointmentsByContactAndQuarter();
+}
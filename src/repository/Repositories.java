@@ -0,0 +1,195 @@
+package repository;
+
+import helper.DaoMetrics;
+import helper.JDBC;
+import helper.Log;
+
+/**
+ * Holds the repositories the application reads and writes its data through. By default they store data in the
+ * MySQL database; starting the application with {@code -Drepository.backend=memory} stores data in memory instead,
+ * seeded with the sample data of a new database, so the application can be run and tried out without a database
+ * server. {@link #useInMemory(InMemoryStore)} switches to a given in-memory store at runtime. With
+ * {@code -Drepository.backend=local-first}, data is read from and written to a local replica that
+ * {@link SyncEngine} keeps in sync with the MySQL database in the background.
+ */
+public class Repositories {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(Repositories.class);
+
+    /**
+     * Stores appointments.
+     */
+    private static volatile AppointmentRepository appointments;
+
+    /**
+     * Stores customers.
+     */
+    private static volatile CustomerRepository customers;
+
+    /**
+     * Stores users.
+     */
+    private static volatile UserRepository users;
+
+    /**
+     * Stores contacts.
+     */
+    private static volatile ContactRepository contacts;
+
+    /**
+     * Reads countries and divisions.
+     */
+    private static volatile ReferenceDataRepository referenceData;
+
+    /**
+     * Computes reports.
+     */
+    private static volatile ReportRepository reports;
+
+    /**
+     * Whether the repositories store data in memory.
+     */
+    private static volatile boolean inMemory;
+
+    static {
+        if ("memory".equalsIgnoreCase(System.getProperty("repository.backend", "jdbc"))) {
+            useInMemory(InMemoryStore.withSampleData());
+        } else if (JDBC.isLocalFirst()) {
+            useLocalFirst();
+        } else {
+            useJdbc();
+        }
+    }
+
+    /**
+     * Stores data in the local replica, synchronized with the MySQL database by {@link SyncEngine}. Countries,
+     * divisions, and reports are read from the replica as they are from a database.
+     */
+    public static synchronized void useLocalFirst() {
+        log.trace("[Method Call]    Repositories.useLocalFirst");
+        install(new LocalFirstAppointmentRepository(), new LocalFirstCustomerRepository(),
+                new LocalFirstUserRepository(), new LocalFirstContactRepository(), new JdbcReferenceDataRepository(),
+                new JdbcReportRepository(), false);
+    }
+
+    /**
+     * Stores data in the MySQL database.
+     */
+    public static synchronized void useJdbc() {
+        log.trace("[Method Call]    Repositories.useJdbc");
+        install(new JdbcAppointmentRepository(), new JdbcCustomerRepository(), new JdbcUserRepository(),
+                new JdbcContactRepository(), new JdbcReferenceDataRepository(), new JdbcReportRepository(), false);
+    }
+
+    /**
+     * Stores data in memory.
+     *
+     * @param store The store holding the data.
+     */
+    public static synchronized void useInMemory(InMemoryStore store) {
+        log.trace("[Method Call]    Repositories.useInMemory");
+        install(new InMemoryAppointmentRepository(store), new InMemoryCustomerRepository(store),
+                new InMemoryUserRepository(store), new InMemoryContactRepository(store),
+                new InMemoryReferenceDataRepository(store), new InMemoryReportRepository(store), true);
+    }
+
+    /**
+     * Replaces the repositories, wrapping each so that its calls are recorded by {@link DaoMetrics}.
+     *
+     * @param appointmentRepository   Stores appointments.
+     * @param customerRepository      Stores customers.
+     * @param userRepository          Stores users.
+     * @param contactRepository       Stores contacts.
+     * @param referenceDataRepository Reads countries and divisions.
+     * @param reportRepository        Computes reports.
+     * @param storedInMemory          Whether the repositories store data in memory.
+     */
+    private static void install(AppointmentRepository appointmentRepository, CustomerRepository customerRepository,
+                                UserRepository userRepository, ContactRepository contactRepository,
+                                ReferenceDataRepository referenceDataRepository, ReportRepository reportRepository,
+                                boolean storedInMemory) {
+        appointments = DaoMetrics.instrument(AppointmentRepository.class, appointmentRepository);
+        customers = DaoMetrics.instrument(CustomerRepository.class, customerRepository);
+        users = DaoMetrics.instrument(UserRepository.class, userRepository);
+        contacts = DaoMetrics.instrument(ContactRepository.class, contactRepository);
+        referenceData = DaoMetrics.instrument(ReferenceDataRepository.class, referenceDataRepository);
+        reports = DaoMetrics.instrument(ReportRepository.class, reportRepository);
+        inMemory = storedInMemory;
+    }
+
+    /**
+     * Returns whether the repositories store data in memory.
+     *
+     * @return true if data is stored in memory, false if it is stored in the database.
+     */
+    public static boolean isInMemory() {
+        return inMemory;
+    }
+
+    /**
+     * Returns whether the repositories can currently be read and written. Memory is always available; the database
+     * is available unless its connection is down.
+     *
+     * @return true if the repositories are available.
+     */
+    public static boolean isAvailable() {
+        return inMemory || JDBC.isAvailable();
+    }
+
+    /**
+     * Returns the appointment repository.
+     *
+     * @return The appointment repository.
+     */
+    public static AppointmentRepository appointments() {
+        return appointments;
+    }
+
+    /**
+     * Returns the customer repository.
+     *
+     * @return The customer repository.
+     */
+    public static CustomerRepository customers() {
+        return customers;
+    }
+
+    /**
+     * Returns the user repository.
+     *
+     * @return The user repository.
+     */
+    public static UserRepository users() {
+        return users;
+    }
+
+    /**
+     * Returns the contact repository.
+     *
+     * @return The contact repository.
+     */
+    public static ContactRepository contacts() {
+        return contacts;
+    }
+
+    /**
+     * Returns the reference data repository.
+     *
+     * @return The reference data repository.
+     */
+    public static ReferenceDataRepository referenceData() {
+        return referenceData;
+    }
+
+    /**
+     * Returns the report repository.
+     *
+     * @return The report repository.
+     */
+    public static ReportRepository reports() {
+        return reports;
+    }
+}
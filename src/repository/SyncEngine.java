@@ -0,0 +1,830 @@
+package repository;
+
+import DAO.AppointmentDAO;
+import DAO.CustomerDAO;
+import DAO.ReferenceDataCache;
+import DAO.SyncDAO;
+import DAO.WorkingDataCache;
+import app.Global;
+import helper.JDBC;
+import helper.Log;
+import helper.SceneSwap;
+import helper.UnitOfWork;
+import javafx.application.Platform;
+import model.Appointment;
+import model.Customer;
+import model.OutboxEntry;
+import model.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the local replica used in local-first mode in sync with the MySQL server. The local-first repositories
+ * write appointment and customer changes to the replica together with an entry in its outbox, and return without
+ * waiting on the network. In the background, each synchronization pushes the outbox to the server in order and then
+ * pulls the rows the server has changed since the last pull, by Last_Update.
+ * <p>
+ * Conflicts are resolved deterministically. A local change is pushed as is when the server row still has the
+ * Last_Update the change was based on. Otherwise the later Last_Update wins, ties going to the server, and a row
+ * deleted on the server stays deleted. Rows created offline get IDs from {@link Global#LOCAL_ID_BASE} up and are
+ * moved to the IDs the server gives them when they are pushed. The server ID is reserved and recorded in the outbox
+ * before the row is written to the server, so a push interrupted by a crash is finished under the same ID rather
+ * than creating the row twice. Pulled changes are not applied to rows that still have changes waiting to be pushed.
+ * Reference data and users are copied from the server on every synchronization.
+ * <p>
+ * Changes to the replica are made in units of work on the shared connection, so they are serialized by a lock.
+ */
+public class SyncEngine {
+
+    /**
+     * Logs this class's tracing and events.
+     */
+    private static final Log log = Log.get(SyncEngine.class);
+
+    /**
+     * Runs the synchronizations in the background.
+     */
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Serializes units of work on the replica, which share its single connection.
+     */
+    private static final ReentrantLock localWrites = new ReentrantLock();
+
+    /**
+     * Reference tables copied from the server, parents first.
+     */
+    private static final String[] REFERENCE_TABLES = {"client_schedule.countries",
+            "client_schedule.first_level_divisions", "client_schedule.users", "client_schedule.contacts"};
+
+    /**
+     * Whether a synchronization has been requested and not yet started.
+     */
+    private static final AtomicBoolean syncRequested = new AtomicBoolean(false);
+
+    /**
+     * Whether background synchronization has been started.
+     */
+    private static volatile boolean started = false;
+
+    /**
+     * When the last synchronization completed, or null if none has.
+     */
+    private static volatile LocalDateTime lastSyncTime;
+
+    /**
+     * Why the last synchronization failed, or null if it succeeded.
+     */
+    private static volatile String lastError;
+
+    /**
+     * Number of local changes waiting to be pushed, as of the last synchronization.
+     */
+    private static volatile int pendingCount;
+
+    /**
+     * Whether the current synchronization has changed rows in the replica. Only used on the synchronizing thread.
+     */
+    private static boolean replicaChanged;
+
+    /**
+     * A change to the replica, made in a unit of work.
+     *
+     * @param <T> The type of result.
+     */
+    @FunctionalInterface
+    interface LocalWrite<T> {
+
+        /**
+         * Makes the change.
+         *
+         * @return The result of the change.
+         * @throws SQLException If the change fails, in which case the unit of work is rolled back.
+         */
+        T apply() throws SQLException;
+    }
+
+    /**
+     * A query against the server that reports failures.
+     *
+     * @param <T> The type of result.
+     */
+    @FunctionalInterface
+    private interface ServerQuery<T> {
+
+        /**
+         * Runs the query.
+         *
+         * @return The result.
+         * @throws SQLException If the query fails.
+         */
+        T run() throws SQLException;
+    }
+
+    /**
+     * Starts synchronizing in the background every {@link Global#SYNC_INTERVAL}. Called once during startup, after
+     * the replica is migrated. If the replica has never been synchronized, the first synchronization starts right
+     * away, but startup does not wait for it: until it finishes, the application runs on the starter data the replica
+     * was created with, and the views are refreshed once the server's data has been copied. If the server cannot be
+     * reached, the application runs on the data already in the replica.
+     */
+    public static void start() {
+        log.trace("[Method Call]    SyncEngine.start");
+        boolean neverSynchronized = true;
+        try {
+            neverSynchronized = locally(() -> SyncDAO.selectWatermark(OutboxEntry.Entity.APPOINTMENT)) == null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        started = true;
+        long interval = Global.SYNC_INTERVAL.toMillis();
+        executor.scheduleWithFixedDelay(SyncEngine::synchronizeAndRefresh, neverSynchronized ? 0 : interval, interval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Asks for a synchronization as soon as possible, for example after a local change. Requests made while one is
+     * waiting to start are combined.
+     */
+    public static void requestSync() {
+        if (started && syncRequested.compareAndSet(false, true)) {
+            executor.execute(SyncEngine::synchronizeAndRefresh);
+        }
+    }
+
+    /**
+     * Returns the number of local changes waiting to be pushed to the server.
+     *
+     * @return The number of pending changes, as of the last synchronization.
+     */
+    public static int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Returns when the last synchronization completed.
+     *
+     * @return The local time of the last completed synchronization, or null if none has completed.
+     */
+    public static LocalDateTime getLastSyncTime() {
+        return lastSyncTime;
+    }
+
+    /**
+     * Returns why the last synchronization failed.
+     *
+     * @return The error message, or null if the last synchronization succeeded.
+     */
+    public static String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Makes a change to the replica in a unit of work, then asks for a synchronization so the change is pushed.
+     * Used by the local-first repositories.
+     *
+     * @param write The change, which adds its outbox entries.
+     * @param <T>   The type of result.
+     * @return The result of the change.
+     * @throws SQLException If the change fails, in which case nothing is kept.
+     */
+    static <T> T writeLocally(LocalWrite<T> write) throws SQLException {
+        T result = locally(write);
+        requestSync();
+        return result;
+    }
+
+    /**
+     * Makes a change to the replica in a unit of work, then asks for a synchronization so the change is pushed.
+     * Failures are printed and reported by returning a given value, as the DAOs do.
+     *
+     * @param write   The change, which adds its outbox entries.
+     * @param failure The result to return if the change fails.
+     * @param <T>     The type of result.
+     * @return The result of the change, or the failure value.
+     */
+    static <T> T writeLocally(LocalWrite<T> write, T failure) {
+        try {
+            return writeLocally(write);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return failure;
+        }
+    }
+
+    /**
+     * Runs a synchronization and, if it changed the replica, discards cached data and marks the views stale so they
+     * show the changes.
+     */
+    private static void synchronizeAndRefresh() {
+        syncRequested.set(false);
+        if (synchronize()) {
+            WorkingDataCache.invalidateAppointments();
+            WorkingDataCache.invalidateCustomers();
+            Platform.runLater(SceneSwap::invalidateDataViews);
+        }
+    }
+
+    /**
+     * Pushes the outbox to the server and pulls the server's changes. Does nothing if the server cannot be reached.
+     *
+     * @return True if rows in the replica were changed.
+     */
+    private static synchronized boolean synchronize() {
+        log.trace("[Method Call]    SyncEngine.synchronize");
+        replicaChanged = false;
+        try {
+            if (!JDBC.remoteReachable()) {
+                lastError = "Server unreachable";
+                return false;
+            }
+            push();
+            pullReferenceData();
+            pull(CUSTOMERS);
+            pull(APPOINTMENTS);
+            lastSyncTime = LocalDateTime.now();
+            lastError = null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            lastError = e.getMessage();
+        } finally {
+            try {
+                pendingCount = locally(SyncDAO::countPending);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+        return replicaChanged;
+    }
+
+    /**
+     * Pushes the outbox entries to the server, oldest first. Stops at the first entry that cannot be pushed, so
+     * later changes are never applied before earlier ones; it is tried again on the next synchronization.
+     *
+     * @throws SQLException If the outbox cannot be read or updated.
+     */
+    private static void push() throws SQLException {
+        while (true) {
+            // Pushing a new row moves it, and the later entries for it, to its server ID, so reread the outbox
+            List<OutboxEntry> entries = locally(SyncDAO::selectPendingEntries);
+            if (entries.isEmpty()) {
+                return;
+            }
+            OutboxEntry entry = entries.get(0);
+            boolean pushed = entry.getEntity() == OutboxEntry.Entity.APPOINTMENT ? push(entry, APPOINTMENTS) :
+                    push(entry, CUSTOMERS);
+            if (!pushed) {
+                log.trace(() -> "                 Outbox entry " + entry.getId() + " not pushed, will retry");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pushes one outbox entry to the server and removes it from the outbox.
+     *
+     * @param entry The entry.
+     * @param table The table the entry changed.
+     * @param <T>   The type of row.
+     * @return True if the entry was pushed or is no longer needed, false if it should be tried again later.
+     * @throws SQLException If the replica cannot be updated.
+     */
+    private static <T> boolean push(OutboxEntry entry, SyncedTable<T> table) throws SQLException {
+        int id = entry.getEntityId();
+        boolean createdLocally = id >= Global.LOCAL_ID_BASE;
+
+        if (entry.getOperation() == OutboxEntry.Operation.DELETE) {
+            // A row created and deleted before it was pushed never reached the server
+            if (!createdLocally && JDBC.remote(() -> table.delete(id)) < 0) {
+                return false;
+            }
+            locally(() -> {
+                SyncDAO.deleteEntry(entry.getId());
+                return null;
+            });
+            return true;
+        }
+
+        T local = locally(() -> table.select(id));
+        if (local == null) {
+            // Deleted locally since; the delete has its own entry. If an interrupted push may already have written
+            // the row to the server under its reserved ID, that delete no longer reaches it, so delete it here.
+            Integer reservedId = entry.getServerId();
+            if (reservedId != null && JDBC.remote(() -> table.delete(reservedId)) < 0) {
+                return false;
+            }
+            locally(() -> {
+                SyncDAO.deleteEntry(entry.getId());
+                return null;
+            });
+            return true;
+        }
+
+        if (createdLocally) {
+            Integer reservedId = entry.getServerId();
+            if (reservedId == null) {
+                reservedId = reserveServerId(table, local);
+                if (reservedId == null) {
+                    return false;
+                }
+                int recordedId = reservedId;
+                locally(() -> {
+                    SyncDAO.saveServerId(entry.getId(), recordedId);
+                    return null;
+                });
+            }
+            int serverId = reservedId;
+            // A push interrupted after the write has already created the row, so it is not written again
+            if (!onServer(() -> SyncDAO.exists(table.entity, serverId))) {
+                table.setId(local, serverId);
+                onServer(() -> {
+                    try (UnitOfWork work = UnitOfWork.begin()) {
+                        table.saveCopy(local);
+                        work.commit();
+                    }
+                    return null;
+                });
+            }
+            T server = JDBC.remote(() -> table.select(serverId));
+            locally(() -> {
+                SyncDAO.rekey(table.entity, id, serverId);
+                finish(entry, table, serverId, server);
+                return null;
+            });
+            return true;
+        }
+
+        if (!onServer(() -> SyncDAO.exists(table.entity, id))) {
+            // Deleted on the server, and the server's delete wins
+            log.trace(() -> "                 " + table.entity + " " + id + " was deleted on the server");
+            locally(() -> {
+                table.deleteLocally(id);
+                SyncDAO.deleteEntry(entry.getId());
+                return null;
+            });
+            replicaChanged = true;
+            return true;
+        }
+
+        T server = JDBC.remote(() -> table.select(id));
+        if (server == null) {
+            return false;
+        }
+        Timestamp serverLastUpdate = table.getLastUpdate(server);
+        if (localChangeWins(entry.getBaseLastUpdate(), table.getLastUpdate(local), serverLastUpdate)) {
+            UpdateResult<T> result = JDBC.remote(() -> table.update(local, serverLastUpdate));
+            if (!result.isUpdated()) {
+                // Changed on the server in the meantime, or the server failed, so decide again next time
+                return false;
+            }
+            server = JDBC.remote(() -> table.select(id));
+        } else {
+            log.trace(() -> "                 " + table.entity + " " + id + " changed on the server later; " +
+                    "keeping the server's version");
+            replicaChanged = true;
+        }
+        T winner = server;
+        locally(() -> {
+            finish(entry, table, id, winner);
+            return null;
+        });
+        return true;
+    }
+
+    /**
+     * Reserves an ID on the server for a row created locally, by inserting the row in a transaction that is then
+     * rolled back. Other clients insert rows through the table's auto-increment counter, so only that counter can
+     * hand out an ID none of them will also be given; a separate allocation table would not stop them. MySQL 8, which
+     * persists the counter across restarts, and H2 never hand out an auto-increment value twice, even when the insert
+     * that took it is rolled back. The row itself is written under the ID once the ID is recorded in the outbox, so
+     * a push interrupted in between finds the row by its ID instead of creating it twice.
+     *
+     * @param table The table the row belongs to.
+     * @param row   The row.
+     * @param <T>   The type of row.
+     * @return The reserved ID, or null if the server could not be reached or the insert failed.
+     * @throws SQLException If the transaction cannot be started on the server.
+     */
+    private static <T> Integer reserveServerId(SyncedTable<T> table, T row) throws SQLException {
+        return onServer(() -> {
+            try (UnitOfWork work = UnitOfWork.begin()) {
+                Integer reservedId = table.insert(row) ? table.getId(row) : null;
+                work.rollback();
+                return reservedId;
+            }
+        });
+    }
+
+    /**
+     * Removes a pushed entry from the outbox and, unless the row has been changed again since, replaces the local row
+     * with the server's, so both have the same Last_Update as stored by the server.
+     *
+     * @param entry  The pushed entry.
+     * @param table  The table the entry changed.
+     * @param id     The ID of the row on the server.
+     * @param server The server's row, or null if it could not be read.
+     * @param <T>    The type of row.
+     * @throws SQLException If the replica cannot be updated.
+     */
+    private static <T> void finish(OutboxEntry entry, SyncedTable<T> table, int id, T server) throws SQLException {
+        SyncDAO.deleteEntry(entry.getId());
+        if (server != null && !SyncDAO.hasLaterEntry(table.entity, id, entry.getId())) {
+            table.saveCopy(server);
+        }
+    }
+
+    /**
+     * Copies the reference tables and users from the server, replacing the replica's rows if any differ.
+     *
+     * @throws SQLException If the tables cannot be read or saved.
+     */
+    private static void pullReferenceData() throws SQLException {
+        boolean changed = false;
+        for (String tableName : REFERENCE_TABLES) {
+            List<Map<String, Object>> serverRows = onServer(() -> SyncDAO.selectRows(tableName));
+            changed |= locally(() -> {
+                if (new HashSet<>(serverRows).equals(new HashSet<>(SyncDAO.selectRows(tableName)))) {
+                    return false;
+                }
+                SyncDAO.saveRows(tableName, serverRows);
+                return true;
+            });
+        }
+        if (changed) {
+            ReferenceDataCache.invalidate();
+            replicaChanged = true;
+        }
+    }
+
+    /**
+     * Pulls the rows of a table changed on the server since the last pull, and removes rows deleted on the server.
+     * Rows with changes waiting to be pushed are left alone.
+     *
+     * @param table The table.
+     * @param <T>   The type of row.
+     * @throws SQLException If the server's IDs or the replica cannot be read, or the replica cannot be updated.
+     */
+    private static <T> void pull(SyncedTable<T> table) throws SQLException {
+        Timestamp watermark = locally(() -> SyncDAO.selectWatermark(table.entity));
+        List<T> changedRows = watermark == null ? JDBC.remote(table::selectAll) : JDBC.remote(() ->
+                table.selectUpdatedSince(new Timestamp(watermark.getTime() - Global.SYNC_PULL_OVERLAP.toMillis())));
+        Set<Integer> serverIds = onServer(() -> SyncDAO.selectIds(table.entity));
+
+        replicaChanged |= locally(() -> {
+            boolean changed = false;
+            Set<Integer> pendingIds = SyncDAO.selectPendingIds(table.entity);
+            Timestamp newest = watermark;
+            for (T row : changedRows) {
+                Timestamp lastUpdate = table.getLastUpdate(row);
+                if (lastUpdate != null && (newest == null || lastUpdate.after(newest))) {
+                    newest = lastUpdate;
+                }
+                int id = table.getId(row);
+                if (pendingIds.contains(id)) {
+                    continue;
+                }
+                T local = table.select(id);
+                if (local == null || !Objects.equals(table.getLastUpdate(local), lastUpdate)) {
+                    table.saveCopy(row);
+                    changed = true;
+                }
+            }
+
+            for (int id : SyncDAO.selectIds(table.entity)) {
+                if (id < Global.LOCAL_ID_BASE && !serverIds.contains(id) && !pendingIds.contains(id)) {
+                    table.deleteLocally(id);
+                    changed = true;
+                }
+            }
+            SyncDAO.saveWatermark(table.entity, newest != null ? newest : new Timestamp(0));
+            return changed;
+        });
+    }
+
+    /**
+     * Makes a change to the replica in a unit of work, holding the lock on the replica's connection.
+     *
+     * @param write The change.
+     * @param <T>   The type of result.
+     * @return The result of the change.
+     * @throws SQLException If the change fails, in which case nothing is kept.
+     */
+    private static <T> T locally(LocalWrite<T> write) throws SQLException {
+        localWrites.lock();
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            T result = write.apply();
+            work.commit();
+            return result;
+        } finally {
+            localWrites.unlock();
+        }
+    }
+
+    /**
+     * Runs a query against the server, passing on its failure.
+     *
+     * @param query The query.
+     * @param <T>   The type of result.
+     * @return The result.
+     * @throws SQLException If the query fails.
+     */
+    private static <T> T onServer(ServerQuery<T> query) throws SQLException {
+        SQLException[] failure = new SQLException[1];
+        T result = JDBC.remote(() -> {
+            try {
+                return query.run();
+            } catch (SQLException e) {
+                failure[0] = e;
+                return null;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return result;
+    }
+
+    /**
+     * Decides whether a local change to a row that still exists on the server is pushed, or the server's version is
+     * kept. The local change wins if the server row still has the Last_Update the change was based on, or if the
+     * local Last_Update is later than the server's. Otherwise, including when both were updated within the same
+     * second, the server wins. A server row that already has the local change, from a push whose outbox entry was
+     * not removed, is kept as it is, which keeps the same change.
+     *
+     * @param baseLastUpdate   The row's Last_Update before the local change, or null if not known.
+     * @param localLastUpdate  The local row's Last_Update.
+     * @param serverLastUpdate The server row's Last_Update.
+     * @return True if the local change is pushed, false if the server's version is kept.
+     */
+    static boolean localChangeWins(Timestamp baseLastUpdate, Timestamp localLastUpdate, Timestamp serverLastUpdate) {
+        return sameTime(serverLastUpdate, baseLastUpdate) || isLater(localLastUpdate, serverLastUpdate);
+    }
+
+    /**
+     * Checks whether two Last_Update times are the same, within the whole seconds MySQL stores.
+     *
+     * @param first  The first time, or null.
+     * @param second The second time, or null.
+     * @return True if both are null, or both are within a second of each other.
+     */
+    private static boolean sameTime(Timestamp first, Timestamp second) {
+        if (first == null || second == null) {
+            return first == second;
+        }
+        return Math.abs(first.getTime() - second.getTime()) < 1000;
+    }
+
+    /**
+     * Checks whether a local Last_Update is later than the server's by more than MySQL's precision.
+     *
+     * @param local  The local time, or null.
+     * @param server The server's time, or null.
+     * @return True if the local time is at least a second later.
+     */
+    private static boolean isLater(Timestamp local, Timestamp server) {
+        return local != null && (server == null || local.getTime() - server.getTime() >= 1000);
+    }
+
+    /**
+     * The DAO operations the engine uses on a synchronized table. Selects and writes run against the server within
+     * {@link JDBC#remote} and against the replica otherwise.
+     *
+     * @param <T> The type of row.
+     */
+    private abstract static class SyncedTable<T> {
+
+        /**
+         * The kind of row the table holds.
+         */
+        private final OutboxEntry.Entity entity;
+
+        /**
+         * Constructs a SyncedTable.
+         *
+         * @param entity The kind of row the table holds.
+         */
+        private SyncedTable(OutboxEntry.Entity entity) {
+            this.entity = entity;
+        }
+
+        /**
+         * Gets a row by ID.
+         *
+         * @param id The ID of the row.
+         * @return The row, or null if not found or the query failed.
+         */
+        abstract T select(int id);
+
+        /**
+         * Gets all rows.
+         *
+         * @return The rows, or an empty list if the query failed.
+         */
+        abstract List<T> selectAll();
+
+        /**
+         * Gets the rows last updated at or after a given time.
+         *
+         * @param since The earliest last update time to include.
+         * @return The rows, or an empty list if the query failed.
+         */
+        abstract List<T> selectUpdatedSince(Timestamp since);
+
+        /**
+         * Inserts a row, setting its ID to the one generated for it.
+         *
+         * @param row The row.
+         * @return True if the row was inserted.
+         */
+        abstract boolean insert(T row);
+
+        /**
+         * Updates a row, provided its Last_Update is unchanged.
+         *
+         * @param row                The row.
+         * @param expectedLastUpdate The Last_Update the row must still have.
+         * @return The result of the update.
+         */
+        abstract UpdateResult<T> update(T row, Timestamp expectedLastUpdate);
+
+        /**
+         * Deletes a row.
+         *
+         * @param id The ID of the row.
+         * @return The number of rows deleted, or -1 if the deletion failed.
+         */
+        abstract int delete(int id);
+
+        /**
+         * Returns the ID of a row.
+         *
+         * @param row The row.
+         * @return The ID.
+         */
+        abstract int getId(T row);
+
+        /**
+         * Sets the ID of a row.
+         *
+         * @param row The row.
+         * @param id  The ID.
+         */
+        abstract void setId(T row, int id);
+
+        /**
+         * Returns the Last_Update of a row.
+         *
+         * @param row The row.
+         * @return The last update time, or null if never set.
+         */
+        abstract Timestamp getLastUpdate(T row);
+
+        /**
+         * Saves a copy of a server row in the replica under its server ID.
+         *
+         * @param row The server row.
+         * @throws SQLException If the copy cannot be saved.
+         */
+        abstract void saveCopy(T row) throws SQLException;
+
+        /**
+         * Deletes a row from the replica, reporting failures.
+         *
+         * @param id The ID of the row.
+         * @throws SQLException If the row cannot be deleted.
+         */
+        void deleteLocally(int id) throws SQLException {
+            if (delete(id) < 0) {
+                throw new SQLException("Could not delete " + entity + " " + id + " from the local replica");
+            }
+        }
+    }
+
+    /**
+     * The appointments table. A recurring series is one row, stored as its first occurrence.
+     */
+    private static final SyncedTable<Appointment> APPOINTMENTS = new SyncedTable<>(OutboxEntry.Entity.APPOINTMENT) {
+
+        @Override
+        Appointment select(int id) {
+            return AppointmentDAO.selectAppointmentById(id);
+        }
+
+        @Override
+        List<Appointment> selectAll() {
+            return AppointmentDAO.selectAllAppointments();
+        }
+
+        @Override
+        List<Appointment> selectUpdatedSince(Timestamp since) {
+            return AppointmentDAO.selectAppointmentsUpdatedSince(since);
+        }
+
+        @Override
+        boolean insert(Appointment row) {
+            return AppointmentDAO.insertAppointment(row);
+        }
+
+        @Override
+        UpdateResult<Appointment> update(Appointment row, Timestamp expectedLastUpdate) {
+            return AppointmentDAO.updateAppointment(row, expectedLastUpdate);
+        }
+
+        @Override
+        int delete(int id) {
+            return AppointmentDAO.deleteAppointments(List.of(id));
+        }
+
+        @Override
+        int getId(Appointment row) {
+            return row.getId();
+        }
+
+        @Override
+        void setId(Appointment row, int id) {
+            row.setId(id);
+        }
+
+        @Override
+        Timestamp getLastUpdate(Appointment row) {
+            return row.getLastUpdate();
+        }
+
+        @Override
+        void saveCopy(Appointment row) throws SQLException {
+            SyncDAO.saveAppointmentCopy(row);
+        }
+    };
+
+    /**
+     * The customers table. Deleting a customer deletes its appointments.
+     */
+    private static final SyncedTable<Customer> CUSTOMERS = new SyncedTable<>(OutboxEntry.Entity.CUSTOMER) {
+
+        @Override
+        Customer select(int id) {
+            return CustomerDAO.selectCustomerById(id);
+        }
+
+        @Override
+        List<Customer> selectAll() {
+            return CustomerDAO.selectAllCustomers();
+        }
+
+        @Override
+        List<Customer> selectUpdatedSince(Timestamp since) {
+            return CustomerDAO.selectCustomersUpdatedSince(since);
+        }
+
+        @Override
+        boolean insert(Customer row) {
+            return CustomerDAO.insertCustomer(row);
+        }
+
+        @Override
+        UpdateResult<Customer> update(Customer row, Timestamp expectedLastUpdate) {
+            return CustomerDAO.updateCustomer(row, expectedLastUpdate);
+        }
+
+        @Override
+        int delete(int id) {
+            return CustomerDAO.deleteCustomers(List.of(id));
+        }
+
+        @Override
+        int getId(Customer row) {
+            return row.getId();
+        }
+
+        @Override
+        void setId(Customer row, int id) {
+            row.setId(id);
+        }
+
+        @Override
+        Timestamp getLastUpdate(Customer row) {
+            return row.getLastUpdate();
+        }
+
+        @Override
+        void saveCopy(Customer row) throws SQLException {
+            SyncDAO.saveCustomerCopy(row);
+        }
+    };
+}
@@ -0,0 +1,69 @@
+package repository;
+
+import model.User;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Stores and queries the application's users.
+ */
+public interface UserRepository {
+
+    /**
+     * Inserts a new user.
+     *
+     * @param user The user to insert. Its ID is ignored.
+     * @return True if the user was inserted, false otherwise.
+     */
+    boolean insertUser(User user);
+
+    /**
+     * Updates a user's name, password, and last update details.
+     *
+     * @param user The user with updated details.
+     * @return True if the user was updated, false otherwise.
+     */
+    boolean updateUser(User user);
+
+    /**
+     * Deletes a user.
+     *
+     * @param userId The ID of the user.
+     * @return True if the user was deleted, false otherwise.
+     */
+    boolean deleteUser(int userId);
+
+    /**
+     * Gets a user by ID.
+     *
+     * @param userId The ID of the user.
+     * @return The user, or null if not found.
+     */
+    User selectUserById(int userId);
+
+    /**
+     * Gets a user by username.
+     *
+     * @param username The username.
+     * @return The user, or null if not found.
+     */
+    User selectUserByUsername(String username);
+
+    /**
+     * Gets all users.
+     *
+     * @return All users.
+     */
+    List<User> selectAllUsers();
+
+    /**
+     * Checks a username and password.
+     *
+     * @param username The username entered by the user.
+     * @param password The password entered by the user.
+     * @return True if the credentials are valid, false otherwise.
+     * @throws SQLException If the credentials cannot be checked.
+     */
+    boolean verifyLoginCredentials(String username, String password) throws SQLException;
+}
@@ -0,0 +1,153 @@
+package helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the state transitions of {@link CircuitBreaker}: closed to open after repeated failures, open to half-open
+ * once the backoff delay has passed, and half-open to closed or back to open depending on the trial request.
+ */
+class CircuitBreakerTest {
+
+    /**
+     * The backoff delay after the breaker first opens. Short, so the tests can wait it out.
+     */
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(50);
+
+    /**
+     * The longest backoff delay.
+     */
+    private static final Duration MAX_BACKOFF = Duration.ofMillis(150);
+
+    /**
+     * A new breaker is closed and allows requests.
+     */
+    @Test
+    void startsClosed() {
+        CircuitBreaker breaker = new CircuitBreaker(3, INITIAL_BACKOFF, MAX_BACKOFF);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertEquals(Duration.ZERO, breaker.getRetryDelay());
+    }
+
+    /**
+     * Failures below the threshold leave the breaker closed, and a success resets the count.
+     */
+    @Test
+    void failuresBelowThresholdStayClosed() {
+        CircuitBreaker breaker = new CircuitBreaker(3, INITIAL_BACKOFF, MAX_BACKOFF);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getConsecutiveFailures());
+
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Reaching the failure threshold opens the breaker, which then fails requests fast until the delay has passed.
+     */
+    @Test
+    void thresholdOpensBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        Duration delay = breaker.getRetryDelay();
+        assertTrue(delay.compareTo(Duration.ZERO) > 0 && delay.compareTo(Duration.ofMinutes(1)) <= 0,
+                "Retry delay " + delay);
+    }
+
+    /**
+     * Once the delay has passed, one trial request is allowed and the breaker is half-open until it completes.
+     */
+    @Test
+    void delayPassedAllowsOneTrialRequest() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, INITIAL_BACKOFF, MAX_BACKOFF);
+        breaker.recordFailure();
+
+        Thread.sleep(INITIAL_BACKOFF.toMillis() + 20);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    /**
+     * A successful trial request closes the breaker and resets the failure count.
+     */
+    @Test
+    void successfulTrialCloses() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, INITIAL_BACKOFF, MAX_BACKOFF);
+        breaker.recordFailure();
+        Thread.sleep(INITIAL_BACKOFF.toMillis() + 20);
+        breaker.allowRequest();
+
+        breaker.recordSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * A failed trial request opens the breaker again, even with a threshold above one, with the delay doubled up to
+     * the maximum.
+     */
+    @Test
+    void failedTrialReopensWithDoubledDelay() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(2, INITIAL_BACKOFF, MAX_BACKOFF);
+        breaker.recordFailure();
+        breaker.recordFailure();
+        Thread.sleep(INITIAL_BACKOFF.toMillis() + 20);
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Duration secondDelay = breaker.getRetryDelay();
+        assertTrue(secondDelay.compareTo(INITIAL_BACKOFF) > 0 &&
+                secondDelay.compareTo(INITIAL_BACKOFF.multipliedBy(2)) <= 0, "Second retry delay " + secondDelay);
+
+        Thread.sleep(INITIAL_BACKOFF.multipliedBy(2).toMillis() + 20);
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+
+        Duration thirdDelay = breaker.getRetryDelay();
+        assertTrue(thirdDelay.compareTo(INITIAL_BACKOFF.multipliedBy(2)) > 0 && thirdDelay.compareTo(MAX_BACKOFF) <= 0,
+                "Third retry delay " + thirdDelay);
+    }
+
+    /**
+     * A success after the breaker has backed off resets the delay, so the next opening starts from the initial delay.
+     */
+    @Test
+    void successResetsBackoff() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, INITIAL_BACKOFF, MAX_BACKOFF);
+        breaker.recordFailure();
+        Thread.sleep(INITIAL_BACKOFF.toMillis() + 20);
+        breaker.allowRequest();
+        breaker.recordFailure();
+        Thread.sleep(INITIAL_BACKOFF.multipliedBy(2).toMillis() + 20);
+        breaker.allowRequest();
+        breaker.recordSuccess();
+
+        breaker.recordFailure();
+
+        assertTrue(breaker.getRetryDelay().compareTo(INITIAL_BACKOFF) <= 0, "Retry delay " + breaker.getRetryDelay());
+    }
+}
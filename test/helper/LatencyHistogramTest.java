@@ -0,0 +1,129 @@
+package helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the bucket bounds of {@link LatencyHistogram}. A percentile is reported as the upper bound of the bucket it
+ * falls in, so the bounds decide how far a reported latency can be from the recorded one.
+ */
+class LatencyHistogramTest {
+
+    /**
+     * An empty histogram reports zero for every percentile.
+     */
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50));
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    /**
+     * Values below eight have a bucket each, so they are reported exactly.
+     */
+    @Test
+    void smallValuesAreExact() {
+        for (long value = 0; value < 8; value++) {
+            assertEquals(value, upperBoundOf(value));
+        }
+    }
+
+    /**
+     * Every value falls in a bucket whose upper bound is at least the value and less than an eighth above it.
+     */
+    @Test
+    void upperBoundIsWithinAnEighth() {
+        long[] values = {8, 9, 15, 16, 17, 100, 1_000, 1_023, 1_024, 123_456_789, (1L << 40) + 12_345,
+                Long.MAX_VALUE / 3};
+        for (long value : values) {
+            long bound = upperBoundOf(value);
+            assertTrue(bound >= value, "Bound " + bound + " below " + value);
+            assertTrue(bound - value < Math.max(value / 8, 1), "Bound " + bound + " too far above " + value);
+        }
+    }
+
+    /**
+     * The buckets cover every value without gaps: each bucket starts right after the previous one's upper bound.
+     */
+    @Test
+    void bucketsAreContiguous() {
+        long value = 0;
+        while (value < 1_000_000) {
+            long bound = upperBoundOf(value);
+            assertEquals(bound, upperBoundOf(bound), "Upper bound of " + bound + " is in another bucket");
+            assertTrue(upperBoundOf(bound + 1) > bound, "Value after " + bound + " is not in a later bucket");
+            value = bound + 1;
+        }
+    }
+
+    /**
+     * The largest value fits in the last bucket without the bound overflowing.
+     */
+    @Test
+    void largestValueDoesNotOverflow() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(100));
+    }
+
+    /**
+     * A reported percentile is never above the largest recorded value.
+     */
+    @Test
+    void percentileIsCappedAtMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+
+        assertEquals(1_000, histogram.getPercentileNanos(99));
+    }
+
+    /**
+     * Negative durations, as from a clock adjustment, are recorded as zero.
+     */
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentileNanos(100));
+    }
+
+    /**
+     * Percentiles are taken by rank across the buckets.
+     */
+    @Test
+    void percentilesFollowRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value * 1_000_000);
+        }
+
+        long median = histogram.getPercentileNanos(50);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(median >= 50_000_000 && median < 50_000_000 + 50_000_000 / 8, "Median " + median);
+        assertTrue(p99 >= 99_000_000 && p99 <= 100_000_000, "p99 " + p99);
+        assertEquals(100_000_000, histogram.getPercentileNanos(100));
+    }
+
+    /**
+     * Returns the upper bound of the bucket a value falls in, as reported for the lower of two recorded values.
+     * The other value is the largest possible, so the maximum does not cap the report.
+     *
+     * @param value The value.
+     * @return The upper bound of its bucket.
+     */
+    private static long upperBoundOf(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.getPercentileNanos(50);
+    }
+}
@@ -0,0 +1,182 @@
+package helper;
+
+import app.Global;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests how {@link JDBC} routes statements between the primary and the read replica, using two in-memory H2
+ * databases. Each database holds a marker row naming it, so a query shows which one answered. H2 reports no
+ * replication status, so the replica's lag is set by the tests.
+ */
+class ReplicaRoutingTest {
+
+    /**
+     * Reads the name of the database that answers.
+     */
+    private static final String SELECT_MARKER_SQL = "SELECT Name FROM client_schedule.routing_marker WHERE Id = 1";
+
+    @BeforeAll
+    static void openDatabases() throws SQLException {
+        TestDatabase.open();
+        createMarker(TestDatabase.PRIMARY_URL, "primary");
+        createMarker(TestDatabase.REPLICA_URL, "replica");
+    }
+
+    @BeforeEach
+    void replicaIsCaughtUp() {
+        JDBC.setReplicaLagForTesting(Duration.ZERO);
+    }
+
+    @AfterAll
+    static void forgetReplicaLag() {
+        // Later tests read as if the replica's lag were unknown, so they always read from the primary
+        JDBC.setReplicaLagForTesting(null);
+    }
+
+    /**
+     * Read-only queries go to a replica that is caught up.
+     */
+    @Test
+    void readOnlyQueryGoesToReplica() {
+        assertEquals("replica", JDBC.readOnly(ReplicaRoutingTest::answeringDatabase));
+    }
+
+    /**
+     * Single read-only statements go to the replica too.
+     */
+    @Test
+    void readConnectionIsReplica() throws SQLException {
+        assertEquals("replica", answeringDatabase(JDBC.getReadConnection()));
+    }
+
+    /**
+     * Queries not marked read-only go to the primary.
+     */
+    @Test
+    void otherQueryGoesToPrimary() {
+        assertEquals("primary", answeringDatabase());
+    }
+
+    /**
+     * Writes go to the primary, and reads marked read-only stay on the primary within the read-after-write window,
+     * so they see the write.
+     */
+    @Test
+    void writeGoesToPrimaryAndReadsFollowIt() throws SQLException {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            try (PreparedStatement statement = JDBC.getConnection().prepareStatement(
+                    "UPDATE client_schedule.routing_marker SET Writes = Writes + 1 WHERE Id = 1")) {
+                statement.executeUpdate();
+            }
+            work.commit();
+        }
+
+        assertEquals(1, countWrites(TestDatabase.PRIMARY_URL));
+        assertEquals(0, countWrites(TestDatabase.REPLICA_URL));
+        assertEquals("primary", JDBC.readOnly(ReplicaRoutingTest::answeringDatabase));
+    }
+
+    /**
+     * A replica whose lag cannot be measured is not read from, as it may be any distance behind.
+     */
+    @Test
+    void unknownLagFallsBackToPrimary() {
+        JDBC.setReplicaLagForTesting(null);
+
+        assertEquals("primary", JDBC.readOnly(ReplicaRoutingTest::answeringDatabase));
+    }
+
+    /**
+     * A replica lagging by more than the maximum is not read from.
+     */
+    @Test
+    void highLagFallsBackToPrimary() {
+        JDBC.setReplicaLagForTesting(Global.REPLICA_MAX_LAG.plusSeconds(1));
+
+        assertEquals("primary", JDBC.readOnly(ReplicaRoutingTest::answeringDatabase));
+    }
+
+    /**
+     * A replica lagging by no more than the maximum is still read from.
+     */
+    @Test
+    void lagWithinMaximumUsesReplica() {
+        JDBC.setReplicaLagForTesting(Global.REPLICA_MAX_LAG);
+
+        assertEquals("replica", JDBC.readOnly(ReplicaRoutingTest::answeringDatabase));
+    }
+
+    /**
+     * Creates the marker table in a database, holding a row with the database's name.
+     *
+     * @param url  The database.
+     * @param name The name stored in the marker row.
+     * @throws SQLException If the table cannot be created.
+     */
+    private static void createMarker(String url, String name) throws SQLException {
+        try (Connection connection = TestDatabase.connect(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS client_schedule.routing_marker " +
+                    "(Id INT NOT NULL PRIMARY KEY, Name VARCHAR(50), Writes INT NOT NULL)");
+            statement.execute("MERGE INTO client_schedule.routing_marker (Id, Name, Writes) KEY (Id) " +
+                    "VALUES (1, '" + name + "', 0)");
+        }
+    }
+
+    /**
+     * Names the database that answers a query on the connection JDBC currently returns.
+     *
+     * @return "primary" or "replica".
+     */
+    private static String answeringDatabase() {
+        try {
+            return answeringDatabase(JDBC.getConnection());
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Names the database a connection is to.
+     *
+     * @param connection The connection.
+     * @return "primary" or "replica".
+     * @throws SQLException If the query fails.
+     */
+    private static String answeringDatabase(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_MARKER_SQL)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    /**
+     * Counts the writes recorded in a database's marker row, reading the database directly.
+     *
+     * @param url The database.
+     * @return The number of writes.
+     * @throws SQLException If the query fails.
+     */
+    private static int countWrites(String url) throws SQLException {
+        try (Connection connection = TestDatabase.connect(url);
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT Writes FROM client_schedule.routing_marker WHERE Id = 1")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
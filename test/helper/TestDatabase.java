@@ -0,0 +1,86 @@
+package helper;
+
+import DAO.MigrationRunner;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Points {@link JDBC} at in-memory H2 databases for the tests that need one: a primary, migrated to the current
+ * schema, and a stand-in read replica. JDBC reads its configuration once, when it is first used, and all test classes
+ * run in one JVM, so every database test opens the databases through this class instead of setting the properties
+ * itself.
+ */
+public class TestDatabase {
+
+    /**
+     * The primary database.
+     */
+    public static final String PRIMARY_URL = url("test_primary");
+
+    /**
+     * The stand-in read replica. It is a separate database that nothing replicates to, so tests can tell which
+     * database answered a query.
+     */
+    public static final String REPLICA_URL = url("test_replica");
+
+    /**
+     * The username JDBC connects with.
+     */
+    private static final String USER_NAME = "sqlUser";
+
+    /**
+     * The password JDBC connects with.
+     */
+    private static final String PASSWORD = "Passw0rd!";
+
+    /**
+     * Whether the databases have been opened.
+     */
+    private static boolean opened = false;
+
+    /**
+     * Configures JDBC for the test databases, opens its connections, and migrates the primary. Does nothing after
+     * the first call.
+     *
+     * @throws IllegalStateException If the primary cannot be migrated.
+     */
+    public static synchronized void open() {
+        if (opened) {
+            return;
+        }
+        System.setProperty("db.embedded", "true");
+        System.setProperty("db.url", PRIMARY_URL);
+        System.setProperty("db.replica.url", REPLICA_URL);
+        JDBC.openConnection();
+        if (!MigrationRunner.migrate()) {
+            throw new IllegalStateException("The test database could not be migrated");
+        }
+        opened = true;
+    }
+
+    /**
+     * Opens a connection straight to one of the test databases, bypassing JDBC's routing.
+     *
+     * @param url {@link #PRIMARY_URL} or {@link #REPLICA_URL}.
+     * @return The connection, which the caller must close.
+     * @throws SQLException If the connection cannot be opened.
+     */
+    public static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, USER_NAME, PASSWORD);
+    }
+
+    /**
+     * Builds the URL of an in-memory H2 database with the same compatibility settings as the embedded mode. The
+     * database is kept until the JVM exits.
+     *
+     * @param name The database name.
+     * @return The URL.
+     */
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_UPPER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE" +
+                ";NON_KEYWORDS=END,MONTH;DB_CLOSE_DELAY=-1" +
+                ";INIT=CREATE SCHEMA IF NOT EXISTS client_schedule\\;SET SCHEMA client_schedule";
+    }
+}
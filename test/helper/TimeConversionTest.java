@@ -0,0 +1,123 @@
+package helper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests the conversions between local time and UTC in {@link TimeConversion}, including local times skipped or
+ * repeated by daylight saving changes. The tests run in New York time, where clocks went forward from 02:00 to
+ * 03:00 on March 10, 2024 and back from 02:00 to 01:00 on November 3, 2024.
+ */
+class TimeConversionTest {
+
+    /**
+     * The zone the tests run in.
+     */
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    /**
+     * The default zone before the test, restored afterwards.
+     */
+    private TimeZone originalZone;
+
+    @BeforeEach
+    void useNewYorkTime() {
+        originalZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(NEW_YORK));
+    }
+
+    @AfterEach
+    void restoreZone() {
+        TimeZone.setDefault(originalZone);
+    }
+
+    /**
+     * A time outside any daylight saving change converts to UTC and back unchanged.
+     */
+    @Test
+    void ordinaryTimeRoundTrips() {
+        LocalDateTime local = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+        assertEquals(LocalDateTime.of(2024, 7, 1, 16, 0), TimeConversion.toUtc(local));
+        assertEquals(local, TimeConversion.fromUtc(TimeConversion.toUtc(local)));
+    }
+
+    /**
+     * A local time skipped by the spring-forward gap is moved forward by the length of the gap.
+     */
+    @Test
+    void timeInGapMovesForward() {
+        LocalDateTime skipped = LocalDateTime.of(2024, 3, 10, 2, 30);
+
+        LocalDateTime utc = TimeConversion.toUtc(skipped);
+
+        assertEquals(LocalDateTime.of(2024, 3, 10, 7, 30), utc);
+        assertEquals(LocalDateTime.of(2024, 3, 10, 3, 30), TimeConversion.fromUtc(utc));
+    }
+
+    /**
+     * A local time repeated by the fall-back overlap uses the earlier offset, daylight time.
+     */
+    @Test
+    void timeInOverlapUsesEarlierOffset() {
+        LocalDateTime repeated = LocalDateTime.of(2024, 11, 3, 1, 30);
+
+        assertEquals(LocalDateTime.of(2024, 11, 3, 5, 30), TimeConversion.toUtc(repeated));
+    }
+
+    /**
+     * Both UTC instants in the fall-back overlap convert to the same local time.
+     */
+    @Test
+    void bothInstantsInOverlapShowSameLocalTime() {
+        LocalDateTime repeated = LocalDateTime.of(2024, 11, 3, 1, 30);
+
+        assertEquals(repeated, TimeConversion.fromUtc(LocalDateTime.of(2024, 11, 3, 5, 30)));
+        assertEquals(repeated, TimeConversion.fromUtc(LocalDateTime.of(2024, 11, 3, 6, 30)));
+    }
+
+    /**
+     * Every quarter hour around both daylight saving changes converts to the same instant as {@code ZonedDateTime}.
+     */
+    @Test
+    void matchesZonedDateTimeAroundTransitions() {
+        for (LocalDateTime day : new LocalDateTime[]{LocalDateTime.of(2024, 3, 10, 0, 0),
+                LocalDateTime.of(2024, 11, 3, 0, 0)}) {
+            for (LocalDateTime local = day; local.isBefore(day.plusHours(5)); local = local.plusMinutes(15)) {
+                assertEquals(ZonedDateTime.of(local, NEW_YORK).toEpochSecond(), TimeConversion.toEpochSecond(local),
+                        "Epoch second of " + local);
+            }
+        }
+    }
+
+    /**
+     * A change of the default zone is picked up by the next conversion.
+     */
+    @Test
+    void zoneChangeIsPickedUp() {
+        LocalDateTime local = LocalDateTime.of(2024, 7, 1, 12, 0);
+        assertEquals(LocalDateTime.of(2024, 7, 1, 16, 0), TimeConversion.toUtc(local));
+
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"));
+
+        assertEquals(LocalDateTime.of(2024, 7, 1, 11, 0), TimeConversion.toUtc(local));
+    }
+
+    /**
+     * Null converts to null in both directions.
+     */
+    @Test
+    void nullConvertsToNull() {
+        assertNull(TimeConversion.toUtc(null));
+        assertNull(TimeConversion.fromUtc(null));
+    }
+}
@@ -0,0 +1,360 @@
+package helper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the transaction semantics of {@link UnitOfWork} against an in-memory H2 database: commit and rollback,
+ * joining a unit already open on the thread, rollback-only marking by joined units, queued writes, and which
+ * connection each thread's units run on.
+ */
+class UnitOfWorkTest {
+
+    /**
+     * Inserts a row into the test table.
+     */
+    private static final String INSERT_SQL = "INSERT INTO client_schedule.unit_of_work_test (Id, Name) VALUES (?, ?)";
+
+    @BeforeAll
+    static void openDatabase() throws SQLException {
+        TestDatabase.open();
+        try (Statement statement = JDBC.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS client_schedule.unit_of_work_test " +
+                    "(Id INT NOT NULL PRIMARY KEY, Name VARCHAR(50))");
+        }
+    }
+
+    @BeforeEach
+    void clearTable() throws SQLException {
+        try (Statement statement = JDBC.getConnection().createStatement()) {
+            statement.execute("DELETE FROM client_schedule.unit_of_work_test");
+        }
+    }
+
+    @AfterEach
+    void checkClosed() {
+        JDBC.setConnectionOwner(null);
+        assertNull(UnitOfWork.current(), "A unit of work was left open");
+    }
+
+    /**
+     * Committed work is kept.
+     */
+    @Test
+    void commitKeepsWork() throws SQLException {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            insert(1);
+            work.commit();
+        }
+
+        assertEquals(1, countRows());
+    }
+
+    /**
+     * Closing a unit without committing rolls its work back.
+     */
+    @Test
+    void closeWithoutCommitRollsBack() throws SQLException {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            insert(1);
+            assertEquals(1, countRows());
+            assertSame(work, UnitOfWork.current());
+        }
+
+        assertEquals(0, countRows());
+    }
+
+    /**
+     * Work done after the last commit is rolled back on close, while the committed work is kept.
+     */
+    @Test
+    void workAfterLastCommitIsRolledBack() throws SQLException {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            insert(1);
+            work.commit();
+            insert(2);
+        }
+
+        assertEquals(1, countRows());
+    }
+
+    /**
+     * Closing a unit that was rolled back explicitly still discards work done after the rollback, without recording
+     * a second rollback.
+     */
+    @Test
+    void closeAfterExplicitRollbackDiscardsLaterWork() throws SQLException {
+        long rollbacks = TransactionMetrics.getRollbackCount();
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            insert(1);
+            work.rollback();
+            insert(2);
+        }
+
+        assertEquals(0, countRows());
+        assertEquals(rollbacks + 1, TransactionMetrics.getRollbackCount());
+    }
+
+    /**
+     * Closing the outermost unit on the owning thread unbinds it from the thread and returns the shared connection to
+     * auto-commit mode.
+     */
+    @Test
+    void closeRestoresAutoCommit() throws SQLException {
+        JDBC.setConnectionOwner(Thread.currentThread());
+        Connection shared = JDBC.getConnection();
+        Connection connection;
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            connection = work.getConnection();
+            assertSame(work, UnitOfWork.current());
+            assertSame(connection, JDBC.getConnection());
+        }
+
+        assertSame(shared, connection);
+        assertNull(UnitOfWork.current());
+        assertTrue(connection.getAutoCommit());
+    }
+
+    /**
+     * A unit begun on a thread that does not own the shared connection runs on a connection of its own, which is
+     * closed with the unit.
+     */
+    @Test
+    void otherThreadGetsOwnConnection() throws SQLException {
+        Connection shared = JDBC.getConnection();
+        Connection connection;
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            connection = work.getConnection();
+            assertNotSame(shared, connection);
+            assertSame(connection, JDBC.getConnection());
+            insert(1);
+            work.commit();
+        }
+
+        assertTrue(connection.isClosed());
+        assertTrue(shared.getAutoCommit());
+        assertEquals(1, countRows());
+    }
+
+    /**
+     * Units of work on two threads are separate transactions: a commit on one thread does not commit the other
+     * thread's open work, and that work can still be rolled back.
+     */
+    @Test
+    void unitsOnDifferentThreadsDoNotShareTransaction() throws Exception {
+        JDBC.setConnectionOwner(Thread.currentThread());
+        SQLException[] failure = new SQLException[1];
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            insert(1);
+            Connection connection = work.getConnection();
+            Thread other = new Thread(() -> {
+                try (UnitOfWork otherWork = UnitOfWork.begin()) {
+                    insert(2);
+                    otherWork.commit();
+                } catch (SQLException e) {
+                    failure[0] = e;
+                }
+            });
+            other.start();
+            other.join();
+            assertSame(connection, JDBC.getConnection());
+        }
+
+        assertNull(failure[0]);
+        assertEquals(1, countRows());
+    }
+
+    /**
+     * A unit begun while another is open joins it: it shares the connection, and its commit does not commit the
+     * transaction, so the outer unit still decides.
+     */
+    @Test
+    void joinedUnitSharesTransaction() throws SQLException {
+        try (UnitOfWork outer = UnitOfWork.begin()) {
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                assertNotSame(outer, inner);
+                assertSame(outer, UnitOfWork.current());
+                assertSame(outer.getConnection(), inner.getConnection());
+                insert(1);
+                inner.commit();
+            }
+        }
+
+        assertEquals(0, countRows());
+    }
+
+    /**
+     * Work done in a joined unit is committed with the outer unit.
+     */
+    @Test
+    void joinedWorkIsCommittedByOuterUnit() throws SQLException {
+        try (UnitOfWork outer = UnitOfWork.begin()) {
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                insert(1);
+                inner.commit();
+            }
+            insert(2);
+            outer.commit();
+        }
+
+        assertEquals(2, countRows());
+    }
+
+    /**
+     * A joined unit closed without committing marks the transaction rollback-only: the outer commit fails and none
+     * of the work is kept.
+     */
+    @Test
+    void joinedUnitClosedWithoutCommitForcesRollback() throws SQLException {
+        try (UnitOfWork outer = UnitOfWork.begin()) {
+            insert(1);
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                assertSame(outer.getConnection(), inner.getConnection());
+                insert(2);
+            }
+
+            assertThrows(SQLException.class, outer::commit);
+        }
+
+        assertEquals(0, countRows());
+    }
+
+    /**
+     * Rolling back a joined unit also marks the transaction rollback-only.
+     */
+    @Test
+    void joinedRollbackForcesRollback() throws SQLException {
+        try (UnitOfWork outer = UnitOfWork.begin()) {
+            insert(1);
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                inner.rollback();
+            }
+
+            assertThrows(SQLException.class, outer::commit);
+        }
+
+        assertEquals(0, countRows());
+    }
+
+    /**
+     * Rolling back the outermost unit clears the rollback-only mark, so the unit can go on and commit new work.
+     */
+    @Test
+    void outerRollbackClearsRollbackOnly() throws SQLException {
+        try (UnitOfWork outer = UnitOfWork.begin()) {
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                insert(1);
+                inner.rollback();
+            }
+            outer.rollback();
+            insert(2);
+            outer.commit();
+        }
+
+        assertEquals(1, countRows());
+    }
+
+    /**
+     * Queued writes are not sent until the commit.
+     */
+    @Test
+    void queuedWritesAreSentAtCommit() throws SQLException {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            for (int id = 1; id <= 3; id++) {
+                int rowId = id;
+                work.queue(INSERT_SQL, statement -> bind(statement, rowId));
+            }
+            assertEquals(0, countRows());
+
+            work.commit();
+        }
+
+        assertEquals(3, countRows());
+    }
+
+    /**
+     * Queued writes are discarded when the unit is closed without committing.
+     */
+    @Test
+    void queuedWritesAreDiscardedOnRollback() throws SQLException {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            work.queue(INSERT_SQL, statement -> bind(statement, 1));
+        }
+
+        assertEquals(0, countRows());
+    }
+
+    /**
+     * A queued update that must change a row fails the commit if it changes none, and nothing is kept.
+     */
+    @Test
+    void singleRowUpdateThatChangesNothingFailsCommit() throws SQLException {
+        try (UnitOfWork work = UnitOfWork.begin()) {
+            insert(1);
+            work.queueSingleRowUpdate("UPDATE client_schedule.unit_of_work_test SET Name = ? WHERE Id = ?",
+                    statement -> {
+                        statement.setString(1, "Renamed");
+                        statement.setInt(2, 99);
+                    });
+
+            assertThrows(SQLException.class, work::commit);
+        }
+
+        assertEquals(0, countRows());
+    }
+
+    /**
+     * Inserts a row with the given ID on the connection JDBC currently returns.
+     *
+     * @param id The ID of the row.
+     * @throws SQLException If the insert fails.
+     */
+    private static void insert(int id) throws SQLException {
+        try (PreparedStatement statement = JDBC.getConnection().prepareStatement(INSERT_SQL)) {
+            bind(statement, id);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Binds the parameters of {@link #INSERT_SQL}.
+     *
+     * @param statement The statement.
+     * @param id        The ID of the row.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private static void bind(PreparedStatement statement, int id) throws SQLException {
+        statement.setInt(1, id);
+        statement.setString(2, "Row " + id);
+    }
+
+    /**
+     * Counts the rows in the test table, within the current unit of work if one is open.
+     *
+     * @return The number of rows.
+     * @throws SQLException If the query fails.
+     */
+    private static int countRows() throws SQLException {
+        try (Statement statement = JDBC.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT COUNT(*) FROM client_schedule.unit_of_work_test")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the business-hours check in {@link OfficeHours#contains}, for daytime hours and for hours that run overnight
+ * past midnight.
+ */
+class OfficeHoursTest {
+
+    /**
+     * The zone of the offices used by the tests.
+     */
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    /**
+     * Hours from 08:00 to 22:00.
+     */
+    private static final OfficeHours DAYTIME = new OfficeHours(NEW_YORK, LocalTime.of(8, 0), LocalTime.of(22, 0));
+
+    /**
+     * Hours from 22:00 to 06:00 the next morning.
+     */
+    private static final OfficeHours OVERNIGHT = new OfficeHours(NEW_YORK, LocalTime.of(22, 0), LocalTime.of(6, 0));
+
+    /**
+     * A range within daytime hours, including one that fills them exactly, is accepted.
+     */
+    @Test
+    void daytimeRangeWithinHours() {
+        assertTrue(DAYTIME.contains(at("2024-05-01T09:00"), at("2024-05-01T10:00")));
+        assertTrue(DAYTIME.contains(at("2024-05-01T08:00"), at("2024-05-01T22:00")));
+    }
+
+    /**
+     * A range starting before opening or ending after closing is rejected.
+     */
+    @Test
+    void daytimeRangeOutsideHours() {
+        assertFalse(DAYTIME.contains(at("2024-05-01T07:45"), at("2024-05-01T08:30")));
+        assertFalse(DAYTIME.contains(at("2024-05-01T21:30"), at("2024-05-01T22:15")));
+        assertFalse(DAYTIME.contains(at("2024-05-01T23:00"), at("2024-05-01T23:30")));
+    }
+
+    /**
+     * An overnight range starting in the evening may run past midnight up to closing.
+     */
+    @Test
+    void overnightRangeStartingInEvening() {
+        assertTrue(OVERNIGHT.contains(at("2024-05-01T22:30"), at("2024-05-01T23:30")));
+        assertTrue(OVERNIGHT.contains(at("2024-05-01T23:30"), at("2024-05-02T01:00")));
+        assertTrue(OVERNIGHT.contains(at("2024-05-01T22:00"), at("2024-05-02T06:00")));
+    }
+
+    /**
+     * An overnight range starting after midnight belongs to the window that opened the evening before.
+     */
+    @Test
+    void overnightRangeStartingAfterMidnight() {
+        assertTrue(OVERNIGHT.contains(at("2024-05-02T01:00"), at("2024-05-02T02:00")));
+        assertTrue(OVERNIGHT.contains(at("2024-05-02T00:00"), at("2024-05-02T06:00")));
+    }
+
+    /**
+     * An overnight range running past closing, or starting in the daytime gap, is rejected.
+     */
+    @Test
+    void overnightRangeOutsideHours() {
+        assertFalse(OVERNIGHT.contains(at("2024-05-02T05:30"), at("2024-05-02T06:30")));
+        assertFalse(OVERNIGHT.contains(at("2024-05-02T06:00"), at("2024-05-02T07:00")));
+        assertFalse(OVERNIGHT.contains(at("2024-05-02T12:00"), at("2024-05-02T13:00")));
+        assertFalse(OVERNIGHT.contains(at("2024-05-01T21:30"), at("2024-05-01T22:30")));
+    }
+
+    /**
+     * Returns the instant of a New York local time.
+     *
+     * @param localDateTime The local time, as "yyyy-mm-ddThh:mm".
+     * @return The instant.
+     */
+    private static Instant at(String localDateTime) {
+        return LocalDateTime.parse(localDateTime).atZone(NEW_YORK).toInstant();
+    }
+}
@@ -0,0 +1,177 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the expansion of recurring appointments into occurrences by {@link RecurrenceRule}.
+ */
+class RecurrenceRuleTest {
+
+    /**
+     * The start of the series used by the tests: Monday, January 1, 2024 at 09:00.
+     */
+    private static final LocalDateTime SERIES_START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    /**
+     * A range wide enough to hold every occurrence of the bounded series used by the tests.
+     */
+    private static final LocalDateTime RANGE_END = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /**
+     * A series bounded by a count has exactly that many occurrences.
+     */
+    @Test
+    void countLimitsOccurrences() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, 3, null, Set.of());
+
+        assertEquals(List.of(SERIES_START, SERIES_START.plusDays(1), SERIES_START.plusDays(2)),
+                rule.occurrenceStartsBetween(SERIES_START, SERIES_START, RANGE_END));
+        assertEquals(SERIES_START.plusDays(2), rule.lastOccurrenceStart(SERIES_START));
+    }
+
+    /**
+     * The until date is inclusive: an occurrence on that date is part of the series.
+     */
+    @Test
+    void untilDateIsInclusive() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, LocalDate.of(2024, 1, 3),
+                Set.of());
+
+        assertEquals(List.of(SERIES_START, SERIES_START.plusDays(1), SERIES_START.plusDays(2)),
+                rule.occurrenceStartsBetween(SERIES_START, SERIES_START, RANGE_END));
+        assertEquals(SERIES_START.plusDays(2), rule.lastOccurrenceStart(SERIES_START));
+    }
+
+    /**
+     * The last occurrence of a series bounded by an until date is the last one on or before that date, not the
+     * date itself.
+     */
+    @Test
+    void lastOccurrenceFallsOnOrBeforeUntilDate() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, LocalDate.of(2024, 1, 20),
+                Set.of());
+
+        assertEquals(LocalDateTime.of(2024, 1, 15, 9, 0), rule.lastOccurrenceStart(SERIES_START));
+    }
+
+    /**
+     * When both a count and an until date are given, whichever ends the series first applies.
+     */
+    @Test
+    void earlierOfCountAndUntilApplies() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, 10, LocalDate.of(2024, 1, 2),
+                Set.of());
+
+        assertEquals(2, rule.occurrenceStartsBetween(SERIES_START, SERIES_START, RANGE_END).size());
+        assertEquals(SERIES_START.plusDays(1), rule.lastOccurrenceStart(SERIES_START));
+    }
+
+    /**
+     * An unbounded series has no last occurrence.
+     */
+    @Test
+    void unboundedSeriesHasNoLastOccurrence() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null, Set.of());
+
+        assertNull(rule.lastOccurrenceStart(SERIES_START));
+    }
+
+    /**
+     * The interval skips periods between occurrences.
+     */
+    @Test
+    void intervalSkipsPeriods() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 2, 3, null, Set.of());
+
+        assertEquals(List.of(SERIES_START, SERIES_START.plusWeeks(2), SERIES_START.plusWeeks(4)),
+                rule.occurrenceStartsBetween(SERIES_START, SERIES_START, RANGE_END));
+    }
+
+    /**
+     * An interval below one is treated as one.
+     */
+    @Test
+    void intervalBelowOneIsTreatedAsOne() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 0, 2, null, Set.of());
+
+        assertEquals(1, rule.getInterval());
+        assertEquals(List.of(SERIES_START, SERIES_START.plusDays(1)),
+                rule.occurrenceStartsBetween(SERIES_START, SERIES_START, RANGE_END));
+    }
+
+    /**
+     * Dates listed as exceptions are skipped, but still count towards the series' count.
+     */
+    @Test
+    void exceptionsAreSkipped() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, 3, null, Set.of())
+                .withException(LocalDate.of(2024, 1, 2));
+
+        assertEquals(List.of(SERIES_START, SERIES_START.plusDays(2)),
+                rule.occurrenceStartsBetween(SERIES_START, SERIES_START, RANGE_END));
+    }
+
+    /**
+     * Only occurrences starting in the range are returned; the range start is inclusive and its end exclusive.
+     */
+    @Test
+    void onlyOccurrencesInRangeAreReturned() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, null, Set.of());
+
+        List<LocalDateTime> starts = rule.occurrenceStartsBetween(SERIES_START,
+                LocalDateTime.of(2024, 3, 10, 9, 0), LocalDateTime.of(2024, 3, 13, 9, 0));
+
+        assertEquals(List.of(LocalDateTime.of(2024, 3, 10, 9, 0), LocalDateTime.of(2024, 3, 11, 9, 0),
+                LocalDateTime.of(2024, 3, 12, 9, 0)), starts);
+    }
+
+    /**
+     * A range that ends before the series starts has no occurrences.
+     */
+    @Test
+    void rangeBeforeSeriesIsEmpty() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, null, Set.of());
+
+        assertTrue(rule.occurrenceStartsBetween(SERIES_START, SERIES_START.minusDays(7), SERIES_START).isEmpty());
+    }
+
+    /**
+     * Monthly occurrences are counted from the series start, so a series starting on the 31st falls on the last day
+     * of shorter months and returns to the 31st afterwards instead of drifting.
+     */
+    @Test
+    void monthlySeriesDoesNotDriftAfterShortMonths() {
+        LocalDateTime seriesStart = LocalDateTime.of(2024, 1, 31, 9, 0);
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, 4, null, Set.of());
+
+        assertEquals(List.of(seriesStart, LocalDateTime.of(2024, 2, 29, 9, 0), LocalDateTime.of(2024, 3, 31, 9, 0),
+                        LocalDateTime.of(2024, 4, 30, 9, 0)),
+                rule.occurrenceStartsBetween(seriesStart, seriesStart, RANGE_END));
+    }
+
+    /**
+     * Starting the expansion part way through a monthly series finds the same occurrences as expanding it from the
+     * start.
+     */
+    @Test
+    void monthlyExpansionFromMidSeriesMatchesFullExpansion() {
+        LocalDateTime seriesStart = LocalDateTime.of(2024, 1, 31, 9, 0);
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, null, null, Set.of());
+        LocalDateTime rangeStart = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+        List<LocalDateTime> all = rule.occurrenceStartsBetween(seriesStart, seriesStart, RANGE_END);
+        List<LocalDateTime> fromJune = rule.occurrenceStartsBetween(seriesStart, rangeStart, RANGE_END);
+
+        assertEquals(all.subList(5, all.size()), fromJune);
+        assertEquals(LocalDateTime.of(2024, 6, 30, 9, 0), fromJune.get(0));
+    }
+}
@@ -0,0 +1,303 @@
+package repository;
+
+import model.Appointment;
+import model.RecurrenceFrequency;
+import model.RecurrenceRule;
+import helper.TestDatabase;
+import model.UpdateResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The behaviour every {@link AppointmentRepository} must share, so the in-memory repository can stand in for the
+ * database in tests. Each implementation's test class extends this one and supplies the repository; the tests start
+ * with no appointments and use the starter customers, users, and contacts.
+ */
+abstract class AppointmentRepositoryContract {
+
+    /**
+     * The Monday the tests' appointments start on.
+     */
+    private static final LocalDate MONDAY = LocalDate.of(2031, 6, 2);
+
+    /**
+     * The repository under test.
+     */
+    private AppointmentRepository repository;
+
+    /**
+     * Creates the repository under test.
+     *
+     * @return The repository.
+     */
+    protected abstract AppointmentRepository createRepository();
+
+    @BeforeAll
+    static void openDatabase() {
+        // The in-memory store names contacts through ReferenceDataCache, which loads them from the database
+        TestDatabase.open();
+    }
+
+    @BeforeEach
+    void startWithNoAppointments() {
+        repository = createRepository();
+        List<Integer> ids = new ArrayList<>();
+        for (Appointment appointment : repository.selectAllAppointments()) {
+            ids.add(appointment.getId());
+        }
+        if (!ids.isEmpty()) {
+            assertEquals(ids.size(), repository.deleteAppointments(ids));
+        }
+    }
+
+    /**
+     * An inserted appointment gets an ID and can be read back.
+     */
+    @Test
+    void insertedAppointmentCanBeReadBack() {
+        Appointment appointment = insert("Planning", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), null);
+
+        Appointment stored = repository.selectAppointmentById(appointment.getId());
+        assertNotNull(stored);
+        assertEquals("Planning", stored.getTitle());
+        assertEquals(MONDAY.atTime(10, 0), stored.getStartTime());
+        assertEquals(MONDAY.atTime(11, 0), stored.getEndTime());
+    }
+
+    /**
+     * The conflict query finds a customer's appointments that overlap the range, and not ones that only touch it or
+     * belong to another customer.
+     */
+    @Test
+    void conflictRangeFindsOverlappingAppointments() {
+        Appointment appointment = insert("Planning", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), null);
+
+        assertConflicts(1, MONDAY.atTime(10, 30), MONDAY.atTime(11, 30), appointment.getId());
+        assertConflicts(1, MONDAY.atTime(9, 30), MONDAY.atTime(10, 30), appointment.getId());
+        assertConflicts(1, MONDAY.atTime(10, 15), MONDAY.atTime(10, 45), appointment.getId());
+        assertConflicts(1, MONDAY.atTime(9, 0), MONDAY.atTime(12, 0), appointment.getId());
+        assertConflicts(1, MONDAY.atTime(11, 0), MONDAY.atTime(12, 0));
+        assertConflicts(1, MONDAY.atTime(9, 0), MONDAY.atTime(10, 0));
+        assertConflicts(2, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0));
+    }
+
+    /**
+     * The conflict query finds the occurrence of a recurring appointment that overlaps the range, with that
+     * occurrence's times, and nothing after the series ends.
+     */
+    @Test
+    void conflictRangeIncludesRecurringOccurrences() {
+        Appointment series = insert("Standup", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), weekly(4));
+        LocalDate thirdWeek = MONDAY.plusWeeks(2);
+
+        List<Appointment> conflicts = repository.selectAppointmentsWithRangeConflictForCustomerID(1,
+                thirdWeek.atTime(10, 30), thirdWeek.atTime(11, 30));
+        assertEquals(1, conflicts.size());
+        assertEquals(series.getId(), conflicts.get(0).getId());
+        assertEquals(thirdWeek.atTime(10, 0), conflicts.get(0).getStartTime());
+        assertEquals(thirdWeek.atTime(11, 0), conflicts.get(0).getEndTime());
+
+        LocalDate fifthWeek = MONDAY.plusWeeks(4);
+        assertConflicts(1, fifthWeek.atTime(10, 0), fifthWeek.atTime(11, 0));
+    }
+
+    /**
+     * Range queries expand a recurring series into its occurrences, in order, while unbounded queries return the
+     * series once.
+     */
+    @Test
+    void recurringSeriesIsExpandedByRangeQueries() {
+        Appointment series = insert("Standup", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), weekly(4));
+
+        List<Appointment> occurrences = repository.selectAppointmentsStartingBetween(MONDAY.atStartOfDay(),
+                MONDAY.plusWeeks(3).atStartOfDay());
+        assertEquals(3, occurrences.size());
+        for (int week = 0; week < 3; week++) {
+            assertEquals(series.getId(), occurrences.get(week).getId());
+            assertEquals(MONDAY.plusWeeks(week).atTime(10, 0), occurrences.get(week).getStartTime());
+        }
+
+        assertEquals(1, repository.selectAllAppointments().size());
+        assertEquals(4, repository.selectAppointmentsOverlapping(MONDAY.atStartOfDay(),
+                MONDAY.plusWeeks(5).atStartOfDay()).size());
+    }
+
+    /**
+     * Cancelling an occurrence removes only that occurrence; the rest of the series is kept.
+     */
+    @Test
+    void cancelOccurrenceRemovesOnlyThatOccurrence() {
+        Appointment series = insert("Standup", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), weekly(4));
+        LocalDate secondWeek = MONDAY.plusWeeks(1);
+        Appointment occurrence = repository.selectAppointmentsStartingBetween(secondWeek.atStartOfDay(),
+                secondWeek.plusDays(1).atStartOfDay()).get(0);
+
+        assertTrue(repository.cancelOccurrence(occurrence));
+
+        List<Appointment> remaining = repository.selectAppointmentsStartingBetween(MONDAY.atStartOfDay(),
+                MONDAY.plusWeeks(5).atStartOfDay());
+        assertEquals(3, remaining.size());
+        for (Appointment other : remaining) {
+            assertFalse(other.getStartTime().toLocalDate().equals(secondWeek), "Cancelled occurrence returned");
+        }
+        assertConflicts(1, secondWeek.atTime(10, 0), secondWeek.atTime(11, 0));
+        assertNotNull(repository.selectAppointmentById(series.getId()));
+    }
+
+    /**
+     * Only occurrences of recurring appointments can be cancelled.
+     */
+    @Test
+    void cancelOccurrenceOfSingleAppointmentFails() {
+        Appointment appointment = insert("Planning", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), null);
+
+        assertFalse(repository.cancelOccurrence(appointment));
+        assertNotNull(repository.selectAppointmentById(appointment.getId()));
+    }
+
+    /**
+     * An update made with the last update time the appointment was read with is applied.
+     */
+    @Test
+    void updateWithCurrentLastUpdateIsApplied() {
+        Appointment appointment = insert("Planning", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), null);
+
+        UpdateResult<Appointment> result = repository.updateAppointment(renamed(appointment, "Review"),
+                appointment.getLastUpdate());
+
+        assertEquals(UpdateResult.Status.UPDATED, result.getStatus());
+        assertEquals("Review", repository.selectAppointmentById(appointment.getId()).getTitle());
+    }
+
+    /**
+     * An appointment that was never updated can be updated by passing no last update time.
+     */
+    @Test
+    void updateOfNeverUpdatedAppointmentIsApplied() {
+        Appointment appointment = new Appointment(null, "Planning", "Notes", "Office", "Meeting",
+                MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), MONDAY.minusDays(7).atTime(9, 0), "test", null, null, 1,
+                1, 1, null);
+        assertTrue(repository.insertAppointment(appointment));
+
+        UpdateResult<Appointment> result = repository.updateAppointment(renamed(appointment, "Review"), null);
+
+        assertEquals(UpdateResult.Status.UPDATED, result.getStatus());
+    }
+
+    /**
+     * An update made with an out-of-date last update time is not applied, and the result carries the appointment as
+     * it is now.
+     */
+    @Test
+    void updateWithStaleLastUpdateConflicts() {
+        Appointment appointment = insert("Planning", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), null);
+        Timestamp readAt = appointment.getLastUpdate();
+        assertEquals(UpdateResult.Status.UPDATED,
+                repository.updateAppointment(renamed(appointment, "Review"), readAt).getStatus());
+
+        UpdateResult<Appointment> result = repository.updateAppointment(renamed(appointment, "Retro"), readAt);
+
+        assertEquals(UpdateResult.Status.CONFLICT, result.getStatus());
+        assertEquals("Review", result.getCurrent().getTitle());
+        assertEquals("Review", repository.selectAppointmentById(appointment.getId()).getTitle());
+    }
+
+    /**
+     * Updating an appointment that has been deleted reports that it was not found.
+     */
+    @Test
+    void updateOfDeletedAppointmentIsNotFound() {
+        Appointment appointment = insert("Planning", 1, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0), null);
+        assertTrue(repository.deleteAppointment(appointment.getId()));
+
+        UpdateResult<Appointment> result = repository.updateAppointment(renamed(appointment, "Review"),
+                appointment.getLastUpdate());
+
+        assertEquals(UpdateResult.Status.NOT_FOUND, result.getStatus());
+        assertNull(repository.selectAppointmentById(appointment.getId()));
+    }
+
+    /**
+     * Inserts an appointment for user 1 with contact 1, last updated a week before the test dates.
+     *
+     * @param title      The title.
+     * @param customerId The customer.
+     * @param start      The start.
+     * @param end        The end.
+     * @param rule       The recurrence rule, or null for a single appointment.
+     * @return The inserted appointment, with its ID set.
+     */
+    private Appointment insert(String title, int customerId, LocalDateTime start, LocalDateTime end,
+                               RecurrenceRule rule) {
+        LocalDateTime created = MONDAY.minusDays(7).atTime(9, 0);
+        Appointment appointment = new Appointment(null, title, "Notes", "Office", "Meeting", start, end, created,
+                "test", Timestamp.valueOf(created), "test", customerId, 1, 1, null);
+        appointment.setRecurrenceRule(rule);
+        assertTrue(repository.insertAppointment(appointment));
+        assertTrue(appointment.getId() > 0);
+        return appointment;
+    }
+
+    /**
+     * Copies an appointment with a new title and a later last update time, as the Appointments view does on save.
+     *
+     * @param appointment The appointment.
+     * @param title       The new title.
+     * @return The changed copy.
+     */
+    private static Appointment renamed(Appointment appointment, String title) {
+        LocalDateTime updated = MONDAY.minusDays(1).atTime(9, 0).plusMinutes(title.length());
+        Appointment copy = new Appointment(appointment.getId(), title, appointment.getDescription(),
+                appointment.getLocation(), appointment.getType(), appointment.getStartTime(),
+                appointment.getEndTime(), appointment.getCreateDate(), appointment.getCreatedBy(),
+                Timestamp.valueOf(updated), "test", appointment.getCustomerId(), appointment.getUserId(),
+                appointment.getContactId(), null);
+        copy.setRecurrenceRule(appointment.getRecurrenceRule());
+        return copy;
+    }
+
+    /**
+     * Creates a weekly rule with a fixed number of occurrences.
+     *
+     * @param count The number of occurrences.
+     * @return The rule.
+     */
+    private static RecurrenceRule weekly(int count) {
+        return new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, count, null, Collections.emptySet());
+    }
+
+    /**
+     * Checks which appointments the conflict query returns for a customer and range.
+     *
+     * @param customerId  The customer.
+     * @param rangeStart  The start of the range.
+     * @param rangeEnd    The end of the range.
+     * @param expectedIds The IDs of the expected conflicts, in any order.
+     */
+    private void assertConflicts(int customerId, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                 Integer... expectedIds) {
+        List<Integer> ids = new ArrayList<>();
+        for (Appointment conflict : repository.selectAppointmentsWithRangeConflictForCustomerID(customerId,
+                rangeStart, rangeEnd)) {
+            ids.add(conflict.getId());
+        }
+        Collections.sort(ids);
+        List<Integer> expected = new ArrayList<>(List.of(expectedIds));
+        Collections.sort(expected);
+        assertEquals(expected, ids, "Conflicts for " + rangeStart + " to " + rangeEnd);
+    }
+}
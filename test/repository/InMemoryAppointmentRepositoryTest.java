@@ -0,0 +1,13 @@
+package repository;
+
+/**
+ * Runs the appointment repository tests against {@link InMemoryAppointmentRepository}, on a store holding the starter
+ * data.
+ */
+class InMemoryAppointmentRepositoryTest extends AppointmentRepositoryContract {
+
+    @Override
+    protected AppointmentRepository createRepository() {
+        return new InMemoryAppointmentRepository(InMemoryStore.withSampleData());
+    }
+}
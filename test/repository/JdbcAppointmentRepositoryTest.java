@@ -0,0 +1,13 @@
+package repository;
+
+/**
+ * Runs the appointment repository tests against {@link JdbcAppointmentRepository}, on an in-memory H2 database
+ * migrated to the current schema.
+ */
+class JdbcAppointmentRepositoryTest extends AppointmentRepositoryContract {
+
+    @Override
+    protected AppointmentRepository createRepository() {
+        return new JdbcAppointmentRepository();
+    }
+}
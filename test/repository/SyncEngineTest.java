@@ -0,0 +1,102 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the rules {@link SyncEngine} uses to resolve a local change to a row that was also changed on the server.
+ * Last_Update times are compared to the whole second, as MySQL stores them.
+ */
+class SyncEngineTest {
+
+    /**
+     * When the user started the local change.
+     */
+    private static final Timestamp BASE = Timestamp.valueOf("2024-05-01 10:00:00");
+
+    /**
+     * A local change pushed to a server row that still has the Last_Update it was based on wins, whatever the
+     * local time.
+     */
+    @Test
+    void unchangedServerRowTakesLocalChange() {
+        assertTrue(SyncEngine.localChangeWins(BASE, at("2024-05-01 10:05:00"), BASE));
+        // Even if the local clock is behind the server's
+        assertTrue(SyncEngine.localChangeWins(BASE, at("2024-05-01 09:00:00"), BASE));
+    }
+
+    /**
+     * The base time matches the server's within MySQL's one-second precision, so a server time with its fraction
+     * dropped still counts as unchanged.
+     */
+    @Test
+    void baseTimeMatchesWithinOneSecond() {
+        Timestamp localBase = at("2024-05-01 10:00:00.600");
+
+        assertTrue(SyncEngine.localChangeWins(localBase, at("2024-05-01 09:00:00"), BASE));
+    }
+
+    /**
+     * A server row that already has the local Last_Update, after an earlier push whose outbox entry was not removed,
+     * is kept as it is rather than pushed again.
+     */
+    @Test
+    void serverRowWithLocalTimeIsKept() {
+        Timestamp local = at("2024-05-01 10:05:00");
+
+        assertFalse(SyncEngine.localChangeWins(BASE, local, local));
+    }
+
+    /**
+     * When both sides changed the row, the later Last_Update wins.
+     */
+    @Test
+    void laterChangeWins() {
+        Timestamp server = at("2024-05-01 10:05:00");
+
+        assertTrue(SyncEngine.localChangeWins(BASE, at("2024-05-01 10:06:00"), server));
+        assertFalse(SyncEngine.localChangeWins(BASE, at("2024-05-01 10:04:00"), server));
+    }
+
+    /**
+     * When both sides changed the row within the same second, the server wins.
+     */
+    @Test
+    void tieGoesToServer() {
+        Timestamp server = at("2024-05-01 10:05:00");
+
+        assertFalse(SyncEngine.localChangeWins(BASE, at("2024-05-01 10:05:00.900"), at("2024-05-01 10:05:01.100")));
+        assertFalse(SyncEngine.localChangeWins(BASE, at("2024-05-01 10:05:00.999"), server));
+    }
+
+    /**
+     * A local change with no Last_Update of its own cannot be later than the server's, so a row changed on the
+     * server keeps the server's version.
+     */
+    @Test
+    void localChangeWithoutTimeLosesToServerChange() {
+        assertFalse(SyncEngine.localChangeWins(BASE, null, at("2024-05-01 10:05:00")));
+    }
+
+    /**
+     * A server row that was never updated matches a change based on a row that was never updated.
+     */
+    @Test
+    void neverUpdatedServerRowTakesLocalChange() {
+        assertTrue(SyncEngine.localChangeWins(null, at("2024-05-01 10:05:00"), null));
+    }
+
+    /**
+     * Parses a timestamp.
+     *
+     * @param time The time, as "yyyy-mm-dd hh:mm:ss[.fff]".
+     * @return The timestamp.
+     */
+    private static Timestamp at(String time) {
+        return Timestamp.valueOf(time);
+    }
+}